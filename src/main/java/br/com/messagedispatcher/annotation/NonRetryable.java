@@ -0,0 +1,22 @@
+package br.com.messagedispatcher.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca exceções que nunca terão sucesso em uma nova tentativa. Mensagens que falham com uma exceção anotada
+ * (ou causada por uma) não passam pelas retentativas e são enviadas diretamente para a dead letter queue.
+ * <p>
+ * Marks exceptions that will never succeed on a new attempt. Messages failing with an annotated exception
+ * (or caused by one) skip the retries and are sent straight to the dead letter queue.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@Documented
+public @interface NonRetryable {
+}
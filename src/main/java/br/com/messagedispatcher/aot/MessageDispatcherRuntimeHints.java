@@ -0,0 +1,76 @@
+package br.com.messagedispatcher.aot;
+
+import br.com.messagedispatcher.config.properties.MessageDispatcherProperties;
+import br.com.messagedispatcher.constants.MessageDispatcherConstants;
+import br.com.messagedispatcher.model.MessageDispatcherErrorResponse;
+import br.com.messagedispatcher.model.MessageDispatcherRemoteInvocationResult;
+import br.com.messagedispatcher.model.MessageType;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Hints de runtime do dispatcher para imagens nativas (GraalVM).
+ * <p>
+ * Registra os modelos serializados nas respostas, o índice de handlers e as propriedades
+ * lidas via SpEL pelo {@code @RabbitListener} ({@code @messageDispatcherProperties.queueName}).
+ * Os handlers e seus payloads são registrados pelo {@link MessageHandlerBeanFactoryInitializationAotProcessor}.
+ * <p>
+ * Dispatcher runtime hints for native images (GraalVM).
+ * <p>
+ * Registers the models serialized in replies, the handler index and the properties
+ * read through SpEL by the {@code @RabbitListener} ({@code @messageDispatcherProperties.queueName}).
+ * Handlers and their payloads are registered by the {@link MessageHandlerBeanFactoryInitializationAotProcessor}.
+ *
+ * @author Cleber Souza
+ * @version 1.0
+ */
+public class MessageDispatcherRuntimeHints implements RuntimeHintsRegistrar {
+
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        bindingRegistrar.registerReflectionHints(hints.reflection(),
+                MessageDispatcherRemoteInvocationResult.class,
+                MessageDispatcherErrorResponse.class,
+                MessageType.class);
+
+        hints.reflection().registerType(MessageDispatcherProperties.class,
+                MemberCategory.INVOKE_PUBLIC_METHODS);
+        hints.reflection().registerType(MessageDispatcherProperties.Mapped.class,
+                MemberCategory.INVOKE_PUBLIC_METHODS);
+        hints.reflection().registerType(MessageDispatcherProperties.Batch.class,
+                MemberCategory.INVOKE_PUBLIC_METHODS);
+        hints.reflection().registerType(MessageDispatcherProperties.Confirm.class,
+                MemberCategory.INVOKE_PUBLIC_METHODS);
+        hints.reflection().registerType(MessageDispatcherProperties.Connection.class,
+                MemberCategory.INVOKE_PUBLIC_METHODS);
+        hints.reflection().registerType(MessageDispatcherProperties.AutoTune.class,
+                MemberCategory.INVOKE_PUBLIC_METHODS);
+        hints.reflection().registerType(MessageDispatcherProperties.AsyncDispatch.class,
+                MemberCategory.INVOKE_PUBLIC_METHODS);
+        hints.reflection().registerType(MessageDispatcherProperties.PinningDiagnostics.class,
+                MemberCategory.INVOKE_PUBLIC_METHODS);
+        hints.reflection().registerType(MessageDispatcherProperties.Metrics.class,
+                MemberCategory.INVOKE_PUBLIC_METHODS);
+        hints.reflection().registerType(MessageDispatcherProperties.Tracing.class,
+                MemberCategory.INVOKE_PUBLIC_METHODS);
+        hints.reflection().registerType(MessageDispatcherProperties.LocalDispatch.class,
+                MemberCategory.INVOKE_PUBLIC_METHODS);
+        hints.reflection().registerType(MessageDispatcherProperties.Outbox.class,
+                MemberCategory.INVOKE_PUBLIC_METHODS);
+        hints.reflection().registerType(MessageDispatcherProperties.Codec.class,
+                MemberCategory.INVOKE_PUBLIC_METHODS);
+
+        // factories dos codecs smile e cbor, instanciadas por nome pelo MessageCodecs
+        hints.reflection().registerTypeIfPresent(classLoader, "com.fasterxml.jackson.dataformat.smile.SmileFactory",
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.reflection().registerTypeIfPresent(classLoader, "com.fasterxml.jackson.dataformat.cbor.CBORFactory",
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+        hints.resources().registerPattern(MessageDispatcherConstants.HANDLER_INDEX_LOCATION);
+        hints.resources().registerPattern("META-INF/message-dispatcher/outbox-schema-*.sql");
+    }
+}
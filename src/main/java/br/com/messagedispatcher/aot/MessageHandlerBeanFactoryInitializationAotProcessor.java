@@ -0,0 +1,74 @@
+package br.com.messagedispatcher.aot;
+
+import br.com.messagedispatcher.annotation.MessageHandler;
+import br.com.messagedispatcher.annotation.MessageListener;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.ExecutableMode;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Contribuição AOT que registra os hints dos handlers das classes {@link MessageListener}.
+ * <p>
+ * Para cada handler é registrada a invocação do método e o binding (Jackson) do tipo de entrada e do tipo de retorno,
+ * permitindo que a descoberta, a deserialização do payload e a serialização da resposta funcionem em imagens nativas.
+ * <p>
+ * AOT contribution that registers the hints of the handlers declared by {@link MessageListener} classes.
+ * <p>
+ * For each handler the method invocation and the (Jackson) binding of the input and return types are registered,
+ * so discovery, payload deserialization and reply serialization work in native images.
+ *
+ * @author Cleber Souza
+ * @version 1.0
+ */
+public class MessageHandlerBeanFactoryInitializationAotProcessor implements BeanFactoryInitializationAotProcessor {
+
+    @Override
+    public BeanFactoryInitializationAotContribution processAheadOfTime(ConfigurableListableBeanFactory beanFactory) {
+        var listenerClasses = new LinkedHashSet<Class<?>>();
+        for (var beanName : beanFactory.getBeanDefinitionNames()) {
+            var beanType = beanFactory.getType(beanName, false);
+            if (beanType == null) {
+                continue;
+            }
+
+            var userClass = ClassUtils.getUserClass(beanType);
+            if (AnnotatedElementUtils.hasAnnotation(userClass, MessageListener.class)) {
+                listenerClasses.add(userClass);
+            }
+        }
+
+        if (listenerClasses.isEmpty()) {
+            return null;
+        }
+        return (generationContext, beanFactoryInitializationCode) ->
+                registerHints(generationContext.getRuntimeHints(), listenerClasses);
+    }
+
+    static void registerHints(RuntimeHints hints, Set<Class<?>> listenerClasses) {
+        var bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+        listenerClasses.forEach(listenerClass -> Arrays.stream(listenerClass.getMethods())
+                .filter(MessageHandlerBeanFactoryInitializationAotProcessor::isHandler)
+                .forEach(method -> {
+                    hints.reflection().registerMethod(method, ExecutableMode.INVOKE);
+                    bindingRegistrar.registerReflectionHints(hints.reflection(), method.getGenericParameterTypes());
+                    if (method.getReturnType() != void.class) {
+                        bindingRegistrar.registerReflectionHints(hints.reflection(), method.getGenericReturnType());
+                    }
+                }));
+    }
+
+    private static boolean isHandler(Method method) {
+        return method.getParameterCount() == 1 && AnnotatedElementUtils.hasAnnotation(method, MessageHandler.class);
+    }
+}
@@ -1,9 +1,25 @@
 package br.com.messagedispatcher.beandiscover;
 
+import br.com.messagedispatcher.beandiscover.invoker.MessageHandlerInvoker;
 import br.com.messagedispatcher.model.MessageType;
 
-import java.lang.reflect.Method;
-
 public interface MessageDispatcherAnnotatedMethodDiscover {
-    Method getHandler(MessageType actionType, String parameterType);
+    MessageHandlerInvoker getHandler(MessageType actionType, String parameterType);
+
+    /**
+     * Busca o handler sem lançar exceção quando ele não existe.
+     * Looks up the handler without throwing when there is none.
+     *
+     * @return o handler ou null se não existir / the handler or null if there is none
+     */
+    MessageHandlerInvoker findHandler(MessageType actionType, String parameterType);
+
+    /**
+     * Redescobre os listeners e publica atomicamente um novo snapshot do registro de handlers.
+     * Mensagens em processamento continuam usando o snapshot anterior.
+     * <p>
+     * Rediscovers the listeners and atomically publishes a new handler registry snapshot.
+     * Messages being processed keep using the previous snapshot.
+     */
+    void refresh();
 }
@@ -0,0 +1,90 @@
+package br.com.messagedispatcher.beandiscover;
+
+import br.com.messagedispatcher.constants.MessageDispatcherConstants;
+import br.com.messagedispatcher.exceptions.MessageDispatcherBeanResolutionException;
+import br.com.messagedispatcher.model.MessageType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Índice de handlers gerado em tempo de compilação pelo {@code MessageHandlerIndexProcessor}.
+ * <p>
+ * Todos os recursos {@value MessageDispatcherConstants#HANDLER_INDEX_LOCATION} do classpath são lidos,
+ * permitindo que listeners de módulos diferentes contribuam com o mesmo índice.
+ * <p>
+ * Handler index generated at compile time by the {@code MessageHandlerIndexProcessor}.
+ * <p>
+ * Every {@value MessageDispatcherConstants#HANDLER_INDEX_LOCATION} resource on the classpath is read,
+ * so listeners from different modules contribute to the same index.
+ */
+public final class MessageHandlerIndex {
+
+    private static final String SEPARATOR = "\\|";
+
+    private final List<Entry> entries;
+
+    private MessageHandlerIndex(List<Entry> entries) {
+        this.entries = Collections.unmodifiableList(entries);
+    }
+
+    /**
+     * Carrega o índice a partir do classloader informado.
+     * Loads the index from the given classloader.
+     *
+     * @return o índice, ou {@code null} se nenhum índice existir no classpath /
+     * the index, or {@code null} when there is no index on the classpath
+     */
+    public static MessageHandlerIndex load(ClassLoader classLoader) {
+        try {
+            var resources = classLoader.getResources(MessageDispatcherConstants.HANDLER_INDEX_LOCATION);
+            if (!resources.hasMoreElements()) {
+                return null;
+            }
+
+            var entries = new ArrayList<Entry>();
+            while (resources.hasMoreElements()) {
+                read(resources.nextElement(), entries);
+            }
+            return new MessageHandlerIndex(entries);
+        } catch (IOException e) {
+            throw new MessageDispatcherBeanResolutionException("Não foi possível ler o índice de handlers "
+                    + MessageDispatcherConstants.HANDLER_INDEX_LOCATION, e);
+        }
+    }
+
+    private static void read(URL resource, List<Entry> entries) throws IOException {
+        try (var reader = new BufferedReader(new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+
+                var fields = line.split(SEPARATOR);
+                if (fields.length != 4) {
+                    throw new MessageDispatcherBeanResolutionException("Entrada inválida no índice de handlers "
+                            + resource + ": " + line);
+                }
+                entries.add(new Entry(MessageType.valueOf(fields[0]), fields[1], fields[2], fields[3]));
+            }
+        }
+    }
+
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Entrada do índice: tipo de mensagem, classe do listener, nome do método e tipo do parâmetro (binary names).
+     * Index entry: message type, listener class, method name and parameter type (binary names).
+     */
+    public record Entry(MessageType messageType, String listenerClassName, String methodName, String parameterTypeName) {
+    }
+}
@@ -0,0 +1,172 @@
+package br.com.messagedispatcher.beandiscover;
+
+import br.com.messagedispatcher.beandiscover.invoker.MessageHandlerInvoker;
+import br.com.messagedispatcher.model.MessageType;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Registro imutável dos handlers, construído uma única vez e publicado como snapshot.
+ * <p>
+ * Os handlers são indexados pelo nome qualificado do tipo do payload e, quando não houver colisão entre pacotes,
+ * também pelo nome simples (formato publicado por padrão pelo {@code MessagePublisher}).
+ * Cada {@link MessageType} possui uma tabela de endereçamento aberto, de forma que a busca é feita
+ * apenas com leituras de array, sem alocação e sem locks.
+ * <p>
+ * Immutable handler registry, built once and published as a snapshot.
+ * <p>
+ * Handlers are indexed by the qualified name of the payload type and, when there is no collision between packages,
+ * also by the simple name (the format published by default by the {@code MessagePublisher}).
+ * Each {@link MessageType} has an open addressing table, so a lookup is only array reads, with no allocation and no locks.
+ *
+ * @author Cleber Souza
+ * @version 1.0
+ */
+public final class MessageHandlerRegistry {
+
+    private static final MessageHandlerRegistry EMPTY = builder().build();
+
+    private final EnumMap<MessageType, HandlerTable> tables;
+    private final EnumMap<MessageType, Set<String>> ambiguousSimpleNames;
+
+    private MessageHandlerRegistry(EnumMap<MessageType, HandlerTable> tables,
+                                   EnumMap<MessageType, Set<String>> ambiguousSimpleNames) {
+        this.tables = tables;
+        this.ambiguousSimpleNames = ambiguousSimpleNames;
+    }
+
+    public static MessageHandlerRegistry empty() {
+        return EMPTY;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Busca o handler do tipo de mensagem e tipo de payload informados.
+     * <p>
+     * Looks up the handler for the given message type and payload type.
+     *
+     * @param messageType tipo da mensagem / message type
+     * @param bodyType    nome qualificado ou simples do tipo do payload / qualified or simple name of the payload type
+     * @return o handler ou null se não existir / the handler or null if there is none
+     */
+    public MessageHandlerInvoker get(MessageType messageType, String bodyType) {
+        return tables.get(messageType).get(bodyType);
+    }
+
+    /**
+     * Indica se o nome simples informado é declarado por mais de um tipo de payload em pacotes diferentes.
+     * <p>
+     * Tells whether the given simple name is declared by more than one payload type in different packages.
+     */
+    public boolean isAmbiguous(MessageType messageType, String bodyType) {
+        return ambiguousSimpleNames.get(messageType).contains(bodyType);
+    }
+
+    /**
+     * Quantidade de handlers registrados para o tipo de mensagem.
+     * Number of handlers registered for the message type.
+     */
+    public int size(MessageType messageType) {
+        return tables.get(messageType).size;
+    }
+
+    public static final class Builder {
+
+        private final EnumMap<MessageType, Map<String, MessageHandlerInvoker>> handlers = new EnumMap<>(MessageType.class);
+
+        private Builder() {
+            for (var messageType : MessageType.values()) {
+                handlers.put(messageType, new LinkedHashMap<>());
+            }
+        }
+
+        public Builder register(MessageType messageType, MessageHandlerInvoker invoker) {
+            handlers.get(messageType).put(invoker.getPayloadType().getRawClass().getName(), invoker);
+            return this;
+        }
+
+        public MessageHandlerRegistry build() {
+            var tables = new EnumMap<MessageType, HandlerTable>(MessageType.class);
+            var ambiguous = new EnumMap<MessageType, Set<String>>(MessageType.class);
+
+            handlers.forEach((messageType, byQualifiedName) -> {
+                var simpleNames = new HashMap<String, MessageHandlerInvoker>();
+                var collisions = new HashSet<String>();
+                byQualifiedName.values().forEach(invoker -> {
+                    var simpleName = invoker.getPayloadType().getRawClass().getSimpleName();
+                    if (simpleNames.putIfAbsent(simpleName, invoker) != null) {
+                        collisions.add(simpleName);
+                    }
+                });
+                collisions.forEach(simpleNames::remove);
+
+                var keys = new LinkedHashMap<>(byQualifiedName);
+                simpleNames.forEach(keys::putIfAbsent);
+
+                tables.put(messageType, new HandlerTable(keys, byQualifiedName.size()));
+                ambiguous.put(messageType, Collections.unmodifiableSet(collisions));
+            });
+
+            return new MessageHandlerRegistry(tables, ambiguous);
+        }
+    }
+
+    /**
+     * Tabela de endereçamento aberto com sondagem linear.
+     * Open addressing table with linear probing.
+     */
+    private static final class HandlerTable {
+
+        private final String[] keys;
+        private final int[] hashes;
+        private final MessageHandlerInvoker[] values;
+        private final int mask;
+        private final int size;
+
+        private HandlerTable(Map<String, MessageHandlerInvoker> entries, int size) {
+            var capacity = Integer.highestOneBit(Math.max(2, entries.size() * 2 - 1)) << 1;
+            this.keys = new String[capacity];
+            this.hashes = new int[capacity];
+            this.values = new MessageHandlerInvoker[capacity];
+            this.mask = capacity - 1;
+            this.size = size;
+
+            entries.forEach((key, value) -> {
+                var hash = key.hashCode();
+                var index = spread(hash) & mask;
+                while (keys[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = key;
+                hashes[index] = hash;
+                values[index] = value;
+            });
+        }
+
+        private MessageHandlerInvoker get(String key) {
+            var hash = key.hashCode();
+            var index = spread(hash) & mask;
+            String candidate;
+            while ((candidate = keys[index]) != null) {
+                if (hashes[index] == hash && candidate.equals(key)) {
+                    return values[index];
+                }
+                index = (index + 1) & mask;
+            }
+            return null;
+        }
+
+        private static int spread(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+    }
+}
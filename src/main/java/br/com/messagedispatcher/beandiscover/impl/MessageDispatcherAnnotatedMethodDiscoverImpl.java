@@ -1,9 +1,16 @@
 package br.com.messagedispatcher.beandiscover.impl;
 
 import br.com.messagedispatcher.beandiscover.MessageDispatcherAnnotatedMethodDiscover;
+import br.com.messagedispatcher.beandiscover.MessageHandlerIndex;
+import br.com.messagedispatcher.beandiscover.MessageHandlerRegistry;
+import br.com.messagedispatcher.beandiscover.invoker.MessageHandlerInvoker;
+import br.com.messagedispatcher.beandiscover.invoker.MessageHandlerInvokerFactory;
+import br.com.messagedispatcher.config.properties.MessageDispatcherProperties;
+import br.com.messagedispatcher.exceptions.MessageDispatcherBeanResolutionException;
 import br.com.messagedispatcher.exceptions.MessageHandlerDuplicatedInputParameterException;
 import br.com.messagedispatcher.exceptions.MessageHandlerMultipleInputParametersException;
 import br.com.messagedispatcher.exceptions.MessageHandlerNotFoundException;
+import br.com.messagedispatcher.metrics.DispatcherMetrics;
 import br.com.messagedispatcher.model.MessageType;
 import br.com.messagedispatcher.annotation.Command;
 import br.com.messagedispatcher.annotation.Event;
@@ -11,16 +18,23 @@ import br.com.messagedispatcher.annotation.MessageHandler;
 import br.com.messagedispatcher.annotation.Notification;
 import br.com.messagedispatcher.annotation.Query;
 import br.com.messagedispatcher.util.validator.HandlerValidatorUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.aop.support.AopUtils;
 import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
 
 import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @SuppressWarnings("unused")
 @Component
@@ -28,68 +42,98 @@ public class MessageDispatcherAnnotatedMethodDiscoverImpl implements MessageDisp
 
     private static final Logger log = LoggerFactory.getLogger(MessageDispatcherAnnotatedMethodDiscoverImpl.class);
 
-    private final Map<MessageType, HashMap<String, Method>> handlers;
-
-    public MessageDispatcherAnnotatedMethodDiscoverImpl(ApplicationContext applicationContext) {
-        this.handlers = Map.of(
-                MessageType.COMMAND, new HashMap<>(),
-                MessageType.QUERY, new HashMap<>(),
-                MessageType.NOTIFICATION, new HashMap<>(),
-                MessageType.EVENT, new HashMap<>());
+    private final ApplicationContext applicationContext;
+    private final ObjectMapper objectMapper;
+    private final MessageDispatcherProperties properties;
+    private final DispatcherMetrics metrics;
+
+    /**
+     * Snapshot imutável dos handlers. Substituído por inteiro em {@link #refresh()}.
+     * Immutable handler snapshot. Replaced as a whole by {@link #refresh()}.
+     */
+    private volatile MessageHandlerRegistry registry = MessageHandlerRegistry.empty();
+
+    public MessageDispatcherAnnotatedMethodDiscoverImpl(ApplicationContext applicationContext, ObjectMapper objectMapper,
+                                                        MessageDispatcherProperties properties, DispatcherMetrics metrics) {
+        this.applicationContext = applicationContext;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.metrics = metrics;
+
+        if (!resolveIndexedMethods()) {
+            resolveAnnotatedMethods(MessageListenerBeanDiscover.getMessageListeners(applicationContext));
+        }
+    }
 
-        resolveAnnotatedMethods(applicationContext);
+    @Override
+    public void refresh() {
+        if (!resolveIndexedMethods()) {
+            resolveAnnotatedMethods(MessageListenerBeanDiscover.getMessageListeners(applicationContext));
+        }
     }
 
-    private void resolveAnnotatedMethods(ApplicationContext applicationContext) {
+    /**
+     * Registra os handlers a partir do índice gerado em tempo de compilação, sem varrer os métodos dos listeners.
+     * Entradas cujo listener não é um bean do contexto (ex: {@code @Profile} ou {@code @Conditional*} inativos) são
+     * ignoradas. Os beans {@code @MessageListener} só são buscados com {@code handler-index-verify}, que registra os
+     * listeners ausentes do índice (ex: de jars compilados sem o processador).
+     * <p>
+     * Registers the handlers from the compile-time index, without scanning the listeners' methods.
+     * Entries whose listener is not a bean of the context (e.g. inactive {@code @Profile} or {@code @Conditional*}) are
+     * skipped. The {@code @MessageListener} beans are only looked up with {@code handler-index-verify}, which registers
+     * the listeners missing from the index (e.g. from jars built without the processor).
+     *
+     * @return false se o índice estiver desabilitado ou ausente / false when the index is disabled or missing
+     */
+    private boolean resolveIndexedMethods() {
+        if (!properties.isHandlerIndexEnabled()) {
+            return false;
+        }
+
         var start = System.currentTimeMillis();
-        final var listeners = MessageListenerBeanDiscover.getMessageListeners(applicationContext);
-        listeners.forEach(this::registerMessageHandler);
-        if (log.isDebugEnabled()) {
-            log.debug("MessageHandlerMethodDiscover levou {} ms para descobrir todos o métodos handler.", System.currentTimeMillis() - start);
-            log.debug("Listeners descobertos: {}", listeners.size());
-            handlers.forEach((key, value) -> log.debug("Handlers {} descobertos: {}", key, value.size()));
+        var classLoader = resolveClassLoader();
+        var index = MessageHandlerIndex.load(classLoader);
+
+        if (index == null) {
+            log.warn("Índice de handlers habilitado, porém não encontrado no classpath. Utilizando a varredura dos listeners.");
+            return false;
         }
+
+        var registration = new Registration();
+        index.getEntries().forEach(entry -> registration.registerIndexedHandler(entry, classLoader));
+
+        if (properties.isHandlerIndexVerify()) {
+            MessageListenerBeanDiscover.getMessageListeners(applicationContext).stream()
+                    .filter(listener -> !registration.indexedListeners.contains(listener))
+                    .forEach(listener -> {
+                        log.warn("O listener {} não consta no índice de handlers e será registrado pela varredura. "
+                                + "Compile o módulo com o MessageHandlerIndexProcessor.", AopUtils.getTargetClass(listener).getName());
+                        registration.registerMessageHandler(listener);
+                    });
+        }
+        this.registry = registration.builder.build();
+
+        log.debug("MessageHandlerMethodDiscover levou {} ms para registrar {} handlers a partir do índice.",
+                System.currentTimeMillis() - start, index.getEntries().size());
+        return true;
     }
 
-    private void registerMessageHandler(Object listener) {
-        final var listenerClass = AopUtils.getTargetClass(listener);
-        final var listenerMethods = listenerClass.getMethods();
-
-        Arrays.stream(listenerMethods)
-                .filter(MessageDispatcherAnnotatedMethodDiscoverImpl::isAnnotationPresent)
-                .forEach(method -> {
-
-                    if (method.isAnnotationPresent(Command.class)) {
-                        registreHandler(MessageType.COMMAND, method);
-                        return;
-                    }
-
-                    if (method.isAnnotationPresent(Query.class)) {
-                        registreHandler(MessageType.QUERY, method);
-                        return;
-                    }
-
-                    if (method.isAnnotationPresent(Event.class)) {
-                        registreHandler(MessageType.EVENT, method);
-                        return;
-                    }
-
-                    if (method.isAnnotationPresent(Notification.class)) {
-                        registreHandler(MessageType.NOTIFICATION, method);
-                        return;
-                    }
-
-                    if (method.isAnnotationPresent(MessageHandler.class)) {
-                        var annotation = method.getAnnotation(MessageHandler.class);
-                        registreHandler(annotation.messageType(), method);
-                    }
-                });
+    private ClassLoader resolveClassLoader() {
+        var classLoader = applicationContext.getClassLoader();
+        return classLoader != null ? classLoader : ClassUtils.getDefaultClassLoader();
     }
 
-    private void registreHandler(MessageType messageType, Method method) throws MessageHandlerMultipleInputParametersException, MessageHandlerDuplicatedInputParameterException {
-        log.debug("Registrando handler {}", method.getName());
-        HandlerValidatorUtil.validate(messageType, method, handlers.get(messageType));
-        handlers.get(messageType).put(method.getParameterTypes()[0].getSimpleName(), method);
+    private void resolveAnnotatedMethods(List<Object> listeners) {
+        var start = System.currentTimeMillis();
+        var registration = new Registration();
+        listeners.forEach(registration::registerMessageHandler);
+        this.registry = registration.builder.build();
+
+        if (log.isDebugEnabled()) {
+            log.debug("MessageHandlerMethodDiscover levou {} ms para descobrir todos o métodos handler.", System.currentTimeMillis() - start);
+            log.debug("Listeners descobertos: {}", listeners.size());
+            registration.handlers.forEach((key, value) -> log.debug("Handlers {} descobertos: {}", key, value.size()));
+        }
     }
 
     private static boolean isAnnotationPresent(Method method) {
@@ -101,13 +145,103 @@ public class MessageDispatcherAnnotatedMethodDiscoverImpl implements MessageDisp
     }
 
     @Override
-    public Method getHandler(MessageType actionType, String parameterType) {
-        var method = handlers.get(actionType).get(parameterType);
-
-        if (method == null) {
+    public MessageHandlerInvoker getHandler(MessageType actionType, String parameterType) {
+        var snapshot = registry;
+        var invoker = snapshot.get(actionType, parameterType);
+
+        if (invoker == null) {
+            if (snapshot.isAmbiguous(actionType, parameterType)) {
+                throw new MessageHandlerNotFoundException("O tipo " + parameterType
+                        + " é declarado por mais de um handler em pacotes diferentes, publique a mensagem com o nome qualificado do tipo.");
+            }
             throw new MessageHandlerNotFoundException("Nenhum handler encontrado capaz de processar o tipo: " + parameterType);
         }
 
-        return method;
+        return invoker;
+    }
+
+    @Override
+    public MessageHandlerInvoker findHandler(MessageType actionType, String parameterType) {
+        return registry.get(actionType, parameterType);
+    }
+
+    /**
+     * Estado mutável de uma única descoberta, descartado após a construção do registro.
+     * Mutable state of a single discovery, discarded once the registry is built.
+     */
+    private final class Registration {
+
+        private final Map<MessageType, HashMap<String, Method>> handlers = new EnumMap<>(MessageType.class);
+        private final MessageHandlerRegistry.Builder builder = MessageHandlerRegistry.builder();
+        private final Set<Object> indexedListeners = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        private Registration() {
+            for (var messageType : MessageType.values()) {
+                handlers.put(messageType, new HashMap<>());
+            }
+        }
+
+        private void registerMessageHandler(Object listener) {
+            final var listenerClass = AopUtils.getTargetClass(listener);
+            final var listenerMethods = listenerClass.getMethods();
+
+            Arrays.stream(listenerMethods)
+                    .filter(MessageDispatcherAnnotatedMethodDiscoverImpl::isAnnotationPresent)
+                    .forEach(method -> {
+
+                        if (method.isAnnotationPresent(Command.class)) {
+                            registreHandler(MessageType.COMMAND, method, listener);
+                            return;
+                        }
+
+                        if (method.isAnnotationPresent(Query.class)) {
+                            registreHandler(MessageType.QUERY, method, listener);
+                            return;
+                        }
+
+                        if (method.isAnnotationPresent(Event.class)) {
+                            registreHandler(MessageType.EVENT, method, listener);
+                            return;
+                        }
+
+                        if (method.isAnnotationPresent(Notification.class)) {
+                            registreHandler(MessageType.NOTIFICATION, method, listener);
+                            return;
+                        }
+
+                        if (method.isAnnotationPresent(MessageHandler.class)) {
+                            var annotation = method.getAnnotation(MessageHandler.class);
+                            registreHandler(annotation.messageType(), method, listener);
+                        }
+                    });
+        }
+
+        private void registerIndexedHandler(MessageHandlerIndex.Entry entry, ClassLoader classLoader) {
+            try {
+                var listenerClass = ClassUtils.forName(entry.listenerClassName(), classLoader);
+                var parameterType = ClassUtils.forName(entry.parameterTypeName(), classLoader);
+                var beanNames = applicationContext.getBeanNamesForType(listenerClass);
+                if (beanNames.length == 0) {
+                    log.debug("Entrada do índice ignorada, o listener {} não é um bean do contexto.", entry.listenerClassName());
+                    return;
+                }
+                var listener = beanNames.length == 1
+                        ? applicationContext.getBean(beanNames[0])
+                        : applicationContext.getBean(listenerClass);
+                indexedListeners.add(listener);
+                registreHandler(entry.messageType(), listenerClass.getMethod(entry.methodName(), parameterType), listener);
+            } catch (ClassNotFoundException | NoSuchMethodException e) {
+                throw new MessageDispatcherBeanResolutionException("O índice de handlers está desatualizado, entrada: "
+                        + entry + ". Recompile o projeto ou desabilite message.dispatcher.handler-index-enabled.", e);
+            }
+        }
+
+        private void registreHandler(MessageType messageType, Method method, Object listener) throws MessageHandlerMultipleInputParametersException, MessageHandlerDuplicatedInputParameterException {
+            log.debug("Registrando handler {}", method.getName());
+            HandlerValidatorUtil.validate(messageType, method, handlers.get(messageType));
+            handlers.get(messageType).put(method.getParameterTypes()[0].getName(), method);
+            builder.register(messageType, MessageHandlerInvokerFactory.create(listener, method, objectMapper)
+                    .withMetrics(metrics, messageType));
+        }
     }
 }
@@ -4,27 +4,23 @@ import br.com.messagedispatcher.annotation.MessageListener;
 import org.springframework.context.ApplicationContext;
 
 import java.util.List;
-import java.util.Objects;
 
+/**
+ * Descobre os beans anotados com {@link MessageListener} do contexto informado. Não guarda estado: cada contexto
+ * (inclusive os de teste) tem os seus listeners, e quem precisa reutilizá-los mantém a própria referência.
+ * <p>
+ * Discovers the beans annotated with {@link MessageListener} of the given context. It keeps no state: each context
+ * (test contexts included) has its own listeners, and callers that need to reuse them keep their own reference.
+ */
 public final class MessageListenerBeanDiscover {
 
-    private static List<Object> listeners;
-
     private MessageListenerBeanDiscover() {
     }
 
-
-    private static List<Object> discoverMessageListener(ApplicationContext applicationContext) {
+    public static List<Object> getMessageListeners(ApplicationContext applicationContext) {
         return applicationContext.getBeansWithAnnotation(MessageListener.class)
                 .values()
                 .stream()
                 .toList();
     }
-
-    public static List<Object> getMessageListeners(ApplicationContext applicationContext) {
-        if (Objects.isNull(listeners)) {
-            listeners = discoverMessageListener(applicationContext);
-        }
-        return listeners;
-    }
 }
@@ -0,0 +1,14 @@
+package br.com.messagedispatcher.beandiscover.invoker;
+
+/**
+ * Função gerada em tempo de registro que invoca um handler com retorno já vinculado ao seu bean.
+ * <p>
+ * Function generated at registration time that invokes a handler with a return value, already bound to its bean.
+ *
+ * @see MessageHandlerInvokerFactory
+ */
+@FunctionalInterface
+public interface HandlerFunction {
+
+    Object apply(Object payload) throws Throwable;
+}
@@ -0,0 +1,113 @@
+package br.com.messagedispatcher.beandiscover.invoker;
+
+import br.com.messagedispatcher.metrics.DispatcherMetrics;
+import br.com.messagedispatcher.metrics.HandlerMetrics;
+import br.com.messagedispatcher.model.MessageType;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Invocador pré-compilado de um método handler.
+ * O bean alvo é resolvido uma única vez no registro do handler e vinculado à função gerada,
+ * de forma que o caminho de processamento de cada mensagem não utiliza reflection nem consultas ao bean factory.
+ * <p>
+ * Precompiled invoker of a handler method.
+ * The target bean is resolved once when the handler is registered and bound to the generated function,
+ * so the per-message path uses neither reflection nor bean factory lookups.
+ * <p>
+ * Cada invocador também mantém o {@link ObjectReader} do payload, resolvido a partir do tipo genérico do parâmetro
+ * (ex: {@code List<Foo>}) e com o deserializer já carregado no registro do handler, e os medidores do handler.
+ * <p>
+ * Each invoker also holds the payload {@link ObjectReader}, resolved from the generic parameter type
+ * (e.g. {@code List<Foo>}) and with its deserializer already loaded when the handler is registered, and the handler meters.
+ * <p>
+ * Payloads em outros formatos (Smile, CBOR...) são lidos por cópias do {@link ObjectReader} com a factory do formato,
+ * criadas na primeira mensagem de cada formato e que reaproveitam o deserializer já carregado.
+ * <p>
+ * Payloads in other formats (Smile, CBOR...) are read by copies of the {@link ObjectReader} with the format factory,
+ * created on the first message of each format and reusing the deserializer already loaded.
+ *
+ * @author Cleber Souza
+ * @version 1.0
+ */
+public final class MessageHandlerInvoker {
+
+    private final Method method;
+    private final Object bean;
+    private final JavaType payloadType;
+    private final ObjectReader payloadReader;
+    private final HandlerFunction function;
+    private final HandlerMetrics metrics;
+    private final Map<JsonFactory, ObjectReader> formatReaders = new ConcurrentHashMap<>();
+
+    MessageHandlerInvoker(Method method, Object bean, ObjectReader payloadReader, HandlerFunction function) {
+        this(method, bean, payloadReader, function, null);
+    }
+
+    private MessageHandlerInvoker(Method method, Object bean, ObjectReader payloadReader, HandlerFunction function,
+                                  HandlerMetrics metrics) {
+        this.method = method;
+        this.bean = bean;
+        this.payloadType = payloadReader.getValueType();
+        this.payloadReader = payloadReader;
+        this.function = function;
+        this.metrics = metrics != null ? metrics : HandlerMetrics.NOOP;
+    }
+
+    /**
+     * Cria uma cópia do invocador com os medidores do handler registrados em {@code dispatcherMetrics}.
+     * Creates a copy of the invoker with the handler meters registered in {@code dispatcherMetrics}.
+     */
+    public MessageHandlerInvoker withMetrics(DispatcherMetrics dispatcherMetrics, MessageType messageType) {
+        return new MessageHandlerInvoker(method, bean, payloadReader, function,
+                dispatcherMetrics.handler(messageType, method, payloadType.getRawClass()));
+    }
+
+    public Object readPayload(byte[] body) throws IOException {
+        return payloadReader.readValue(body);
+    }
+
+    /**
+     * Lê o payload no formato da {@code factory} informada (ex: a do {@code MessageCodec} da mensagem).
+     * Reads the payload in the format of the given {@code factory} (e.g. the one of the message {@code MessageCodec}).
+     */
+    public Object readPayload(byte[] body, JsonFactory factory) throws IOException {
+        var reader = factory == payloadReader.getFactory() ? payloadReader
+                : formatReaders.computeIfAbsent(factory, payloadReader::with);
+        return reader.readValue(body);
+    }
+
+    public Object invoke(Object payload) throws Throwable {
+        return function.apply(payload);
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    public Object getBean() {
+        return bean;
+    }
+
+    public HandlerMetrics getMetrics() {
+        return metrics;
+    }
+
+    public JavaType getPayloadType() {
+        return payloadType;
+    }
+
+    @Override
+    public String toString() {
+        return "MessageHandlerInvoker{" +
+                "method=" + method.getDeclaringClass().getSimpleName() + "." + method.getName() +
+                ", payloadType=" + payloadType.toCanonical() +
+                '}';
+    }
+}
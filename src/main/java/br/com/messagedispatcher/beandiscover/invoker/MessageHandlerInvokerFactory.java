@@ -0,0 +1,140 @@
+package br.com.messagedispatcher.beandiscover.invoker;
+
+import br.com.messagedispatcher.exceptions.MessageDispatcherBeanResolutionException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.core.NativeDetector;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Cria os {@link MessageHandlerInvoker} dos métodos handler.
+ * <p>
+ * O método é vinculado ao bean através do {@link LambdaMetafactory}, gerando uma classe que chama o handler
+ * diretamente. Quando não é possível gerar a função (ex: pacotes não abertos para a biblioteca), é utilizado
+ * um {@link MethodHandle} já vinculado ao bean. Em imagens nativas, onde não é possível gerar classes em tempo de
+ * execução, o handler é invocado via reflection (registrada pelos hints AOT).
+ * <p>
+ * Creates the {@link MessageHandlerInvoker} of handler methods.
+ * <p>
+ * The method is bound to the bean through {@link LambdaMetafactory}, generating a class that calls the handler
+ * directly. When the function can not be generated (e.g. packages not opened to the library), a {@link MethodHandle}
+ * already bound to the bean is used instead. In native images, where classes can not be generated at runtime,
+ * the handler is invoked through reflection (registered by the AOT hints).
+ *
+ * @author Cleber Souza
+ * @version 1.0
+ */
+public final class MessageHandlerInvokerFactory {
+
+    private static final Logger log = LoggerFactory.getLogger(MessageHandlerInvokerFactory.class);
+
+    private static final MethodType HANDLER_FUNCTION_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType VOID_HANDLER_FUNCTION_TYPE = MethodType.methodType(void.class, Object.class);
+
+    private MessageHandlerInvokerFactory() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Cria o invocador do método handler vinculado ao bean informado.
+     * <p>
+     * Creates the invoker of the handler method bound to the given bean.
+     *
+     * @param bean         bean (ou proxy) que declara o handler / bean (or proxy) that declares the handler
+     * @param handler      método handler / handler method
+     * @param objectMapper ObjectMapper usado para deserializar o payload / ObjectMapper used to deserialize the payload
+     * @return MessageHandlerInvoker
+     */
+    public static MessageHandlerInvoker create(Object bean, Method handler, ObjectMapper objectMapper) {
+        var method = AopUtils.selectInvocableMethod(handler, bean.getClass());
+        var payloadReader = payloadReader(bean, handler, objectMapper);
+
+        if (NativeDetector.inNativeImage()) {
+            return new MessageHandlerInvoker(handler, bean, payloadReader, reflectiveFunction(method, bean));
+        }
+
+        try {
+            var lookup = MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup());
+            var methodHandle = lookup.unreflect(method);
+            try {
+                return new MessageHandlerInvoker(handler, bean, payloadReader, generateFunction(lookup, methodHandle, method, bean));
+            } catch (Throwable e) {
+                log.debug("Não foi possível gerar a função do handler {}, utilizando MethodHandle.", method, e);
+                return new MessageHandlerInvoker(handler, bean, payloadReader, boundMethodHandle(methodHandle, bean));
+            }
+        } catch (IllegalAccessException e) {
+            throw new MessageDispatcherBeanResolutionException(
+                    String.format("Não foi possível acessar o handler %s: %s", method, e.getMessage()));
+        }
+    }
+
+    /**
+     * Resolve o tipo genérico do parâmetro no contexto da classe do listener e cria o {@link ObjectReader}.
+     * Com {@code DeserializationFeature.EAGER_DESERIALIZER_FETCH} (padrão do Jackson) o deserializer raiz
+     * é carregado aqui, durante o registro do handler, e não na primeira mensagem.
+     * <p>
+     * Resolves the generic parameter type against the listener class and creates the {@link ObjectReader}.
+     * With {@code DeserializationFeature.EAGER_DESERIALIZER_FETCH} (Jackson default) the root deserializer
+     * is loaded here, while registering the handler, instead of on the first message.
+     */
+    private static ObjectReader payloadReader(Object bean, Method handler, ObjectMapper objectMapper) {
+        var parameterType = GenericTypeResolver.resolveType(handler.getGenericParameterTypes()[0], AopUtils.getTargetClass(bean));
+        return objectMapper.readerFor(objectMapper.constructType(parameterType));
+    }
+
+    private static HandlerFunction generateFunction(MethodHandles.Lookup lookup, MethodHandle methodHandle,
+                                                    Method method, Object bean) throws Throwable {
+        var receiverType = method.getDeclaringClass();
+        var payloadType = ClassUtils.resolvePrimitiveIfNecessary(method.getParameterTypes()[0]);
+
+        if (method.getReturnType() == void.class) {
+            var callSite = LambdaMetafactory.metafactory(lookup,
+                    "accept",
+                    MethodType.methodType(VoidHandlerFunction.class, receiverType),
+                    VOID_HANDLER_FUNCTION_TYPE,
+                    methodHandle,
+                    MethodType.methodType(void.class, payloadType));
+            var function = (VoidHandlerFunction) callSite.getTarget().invoke(bean);
+            return payload -> {
+                function.accept(payload);
+                return null;
+            };
+        }
+
+        var callSite = LambdaMetafactory.metafactory(lookup,
+                "apply",
+                MethodType.methodType(HandlerFunction.class, receiverType),
+                HANDLER_FUNCTION_TYPE,
+                methodHandle,
+                MethodType.methodType(ClassUtils.resolvePrimitiveIfNecessary(method.getReturnType()), payloadType));
+        return (HandlerFunction) callSite.getTarget().invoke(bean);
+    }
+
+    private static HandlerFunction reflectiveFunction(Method method, Object bean) {
+        ReflectionUtils.makeAccessible(method);
+        return payload -> {
+            try {
+                return method.invoke(bean, payload);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        };
+    }
+
+    private static HandlerFunction boundMethodHandle(MethodHandle methodHandle, Object bean) {
+        var bound = methodHandle.bindTo(bean).asType(HANDLER_FUNCTION_TYPE);
+        return payload -> (Object) bound.invokeExact(payload);
+    }
+}
@@ -0,0 +1,14 @@
+package br.com.messagedispatcher.beandiscover.invoker;
+
+/**
+ * Função gerada em tempo de registro que invoca um handler sem retorno (void) já vinculado ao seu bean.
+ * <p>
+ * Function generated at registration time that invokes a void handler, already bound to its bean.
+ *
+ * @see MessageHandlerInvokerFactory
+ */
+@FunctionalInterface
+public interface VoidHandlerFunction {
+
+    void accept(Object payload) throws Throwable;
+}
@@ -0,0 +1,138 @@
+package br.com.messagedispatcher.codec;
+
+import br.com.messagedispatcher.config.properties.MessageDispatcherProperties;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.DefaultJackson2JavaTypeMapper;
+import org.springframework.amqp.support.converter.Jackson2JavaTypeMapper;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.SmartMessageConverter;
+import org.springframework.util.MimeTypeUtils;
+
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link SmartMessageConverter} que escolhe o {@link MessageCodec} de cada mensagem.
+ * <p>
+ * Na leitura o codec vem do content type da mensagem. Na escrita vem, em ordem: do content type já definido nas
+ * propriedades da mensagem (ex: respostas no formato da requisição), do formato configurado para o tipo do payload
+ * (ou um supertipo) em {@code codec.types} e do formato padrão {@code codec.format}. Cada codec é servido por um
+ * {@link Jackson2JsonMessageConverter} com o ObjectMapper do formato, que apesar do nome serializa qualquer formato
+ * de dados do Jackson.
+ * <p>
+ * {@link SmartMessageConverter} that picks the {@link MessageCodec} of each message.
+ * <p>
+ * When reading, the codec comes from the message content type. When writing it comes, in order: from the content type
+ * already set in the message properties (e.g. replies in the request format), from the format configured for the
+ * payload type (or a supertype) in {@code codec.types} and from the default format {@code codec.format}. Each codec is
+ * served by a {@link Jackson2JsonMessageConverter} with the ObjectMapper of the format which, despite its name,
+ * serializes any Jackson data format.
+ */
+public class CodecMessageConverter implements SmartMessageConverter {
+
+    private final MessageCodecs codecs;
+    private final Map<MessageCodec, Jackson2JsonMessageConverter> writers = new HashMap<>();
+    private final Map<MessageCodec, Jackson2JsonMessageConverter> readers = new HashMap<>();
+    private final MessageCodec defaultCodec;
+    private final ClassValue<MessageCodec> codecByType;
+
+    public CodecMessageConverter(MessageCodecs codecs, MessageDispatcherProperties.Codec properties) {
+        this.codecs = codecs;
+        codecs.codecs().forEach(codec -> {
+            var writer = converter(codec, codec.contentType());
+            writers.put(codec, writer);
+            // o converter só lê o corpo como bytes quando o content type suportado tem charset, e só escreve bytes
+            // quando não tem; formatos binários, que não aceitam String, precisam de um converter para cada sentido
+            readers.put(codec, codec.isBinary() ? converter(codec, codec.contentType() + ";charset=UTF-8") : writer);
+        });
+        this.defaultCodec = codecs.get(properties.getFormat());
+
+        Map<Class<?>, MessageCodec> types = new LinkedHashMap<>();
+        properties.getTypes().forEach((format, classes) -> {
+            var codec = codecs.get(format);
+            classes.forEach(type -> types.putIfAbsent(type, codec));
+        });
+        this.codecByType = codecByType(types, defaultCodec);
+    }
+
+    public MessageCodec getDefaultCodec() {
+        return defaultCodec;
+    }
+
+    /**
+     * Codec usado na escrita do payload, conforme a ordem descrita na classe.
+     * Codec used to write the payload, following the order described in the class.
+     */
+    public MessageCodec codecFor(Object object, MessageProperties messageProperties) {
+        var contentType = messageProperties.getContentType();
+        if (!MessageProperties.DEFAULT_CONTENT_TYPE.equals(contentType)) {
+            var codec = codecs.find(contentType);
+            if (codec != null) {
+                return codec;
+            }
+        }
+        return object != null ? codecByType.get(object.getClass()) : defaultCodec;
+    }
+
+    @Override
+    public Message toMessage(Object object, MessageProperties messageProperties) throws MessageConversionException {
+        return toMessage(object, messageProperties, null);
+    }
+
+    @Override
+    public Message toMessage(Object object, MessageProperties messageProperties, Type genericType)
+            throws MessageConversionException {
+        var codec = codecFor(object, messageProperties);
+        var message = writers.get(codec).toMessage(object, messageProperties, genericType);
+        if (codec.isBinary()) {
+            // o Jackson2JsonMessageConverter sempre informa o charset, que não se aplica a formatos binários
+            message.getMessageProperties().setContentEncoding(null);
+        }
+        return message;
+    }
+
+    @Override
+    public Object fromMessage(Message message) throws MessageConversionException {
+        return converterFor(message).fromMessage(message);
+    }
+
+    @Override
+    public Object fromMessage(Message message, Object conversionHint) throws MessageConversionException {
+        return converterFor(message).fromMessage(message, conversionHint);
+    }
+
+    private Jackson2JsonMessageConverter converterFor(Message message) {
+        return readers.get(codecs.forContentType(message.getMessageProperties().getContentType()));
+    }
+
+    private static Jackson2JsonMessageConverter converter(MessageCodec codec, String supportedContentType) {
+        var converter = new Jackson2JsonMessageConverter(codec.objectMapper());
+        converter.setSupportedContentType(MimeTypeUtils.parseMimeType(supportedContentType));
+        converter.setCreateMessageIds(true);
+        var typeMapper = new DefaultJackson2JavaTypeMapper();
+        typeMapper.setTypePrecedence(Jackson2JavaTypeMapper.TypePrecedence.INFERRED);
+        typeMapper.addTrustedPackages("*");
+        converter.setJavaTypeMapper(typeMapper);
+        return converter;
+    }
+
+    private static ClassValue<MessageCodec> codecByType(Map<Class<?>, MessageCodec> types, MessageCodec defaultCodec) {
+        var entries = List.copyOf(types.entrySet());
+        return new ClassValue<>() {
+            @Override
+            protected MessageCodec computeValue(Class<?> type) {
+                for (var entry : entries) {
+                    if (entry.getKey().isAssignableFrom(type)) {
+                        return entry.getValue();
+                    }
+                }
+                return defaultCodec;
+            }
+        };
+    }
+}
@@ -0,0 +1,55 @@
+package br.com.messagedispatcher.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.Locale;
+
+/**
+ * Formato de serialização dos payloads, baseado em um formato de dados do Jackson. O {@code name} é usado nas
+ * propriedades {@code message.dispatcher.codec.*} e o {@code contentType} identifica o formato em cada mensagem, de
+ * forma que os consumidores escolhem o codec pelo content type e mensagens em formatos diferentes convivem na mesma fila.
+ * <p>
+ * JSON está sempre disponível; Smile e CBOR são registrados quando o {@code jackson-dataformat-smile} e o
+ * {@code jackson-dataformat-cbor} estão no classpath. Outros formatos são registrados declarando um bean, ex:
+ * MessagePack com o {@code jackson-dataformat-msgpack}:
+ * <pre>{@code
+ * @Bean
+ * MessageCodec messagePackCodec(ObjectMapper objectMapper) {
+ *     return new MessageCodec("msgpack", "application/x-msgpack", objectMapper.copyWith(new MessagePackFactory()));
+ * }
+ * }</pre>
+ * <p>
+ * Payload serialization format, based on a Jackson data format. The {@code name} is used in the
+ * {@code message.dispatcher.codec.*} properties and the {@code contentType} identifies the format in each message, so
+ * consumers pick the codec by content type and messages in different formats coexist in the same queue.
+ * <p>
+ * JSON is always available; Smile and CBOR are registered when {@code jackson-dataformat-smile} and
+ * {@code jackson-dataformat-cbor} are on the classpath. Other formats are registered by declaring a bean, e.g.
+ * MessagePack with {@code jackson-dataformat-msgpack} as above.
+ *
+ * @param name         nome usado nas propriedades / name used in the properties
+ * @param contentType  content type das mensagens, sem parâmetros / message content type, without parameters
+ * @param objectMapper ObjectMapper do formato / ObjectMapper of the format
+ * @see MessageCodecs
+ */
+public record MessageCodec(String name, String contentType, ObjectMapper objectMapper) {
+
+    public static final String JSON = "json";
+    public static final String SMILE = "smile";
+    public static final String CBOR = "cbor";
+
+    public static final String SMILE_CONTENT_TYPE = "application/x-jackson-smile";
+    public static final String CBOR_CONTENT_TYPE = "application/cbor";
+
+    public MessageCodec {
+        contentType = contentType.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Indica se o formato é binário; mensagens binárias são enviadas sem {@code contentEncoding}.
+     * Whether the format is binary; binary messages are sent without {@code contentEncoding}.
+     */
+    public boolean isBinary() {
+        return objectMapper.getFactory().canHandleBinaryNatively();
+    }
+}
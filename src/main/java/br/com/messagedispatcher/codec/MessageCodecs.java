@@ -0,0 +1,134 @@
+package br.com.messagedispatcher.codec;
+
+import br.com.messagedispatcher.exceptions.MessageDispatcherRuntimeException;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.ClassUtils;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static br.com.messagedispatcher.codec.MessageCodec.CBOR;
+import static br.com.messagedispatcher.codec.MessageCodec.CBOR_CONTENT_TYPE;
+import static br.com.messagedispatcher.codec.MessageCodec.JSON;
+import static br.com.messagedispatcher.codec.MessageCodec.SMILE;
+import static br.com.messagedispatcher.codec.MessageCodec.SMILE_CONTENT_TYPE;
+
+/**
+ * Codecs disponíveis, por nome e por content type. Os codecs Smile e CBOR copiam a configuração (módulos, features)
+ * do ObjectMapper da aplicação. Content types desconhecidos ou ausentes são tratados como JSON, o formato usado antes
+ * da negociação por content type.
+ * <p>
+ * Available codecs, by name and by content type. The Smile and CBOR codecs copy the configuration (modules, features)
+ * of the application ObjectMapper. Unknown or missing content types are handled as JSON, the format used before
+ * content type negotiation.
+ */
+public final class MessageCodecs {
+
+    private static final String SMILE_FACTORY = "com.fasterxml.jackson.dataformat.smile.SmileFactory";
+    private static final String CBOR_FACTORY = "com.fasterxml.jackson.dataformat.cbor.CBORFactory";
+
+    private final MessageCodec json;
+    private final Map<String, MessageCodec> byName = new LinkedHashMap<>();
+    private final Map<String, MessageCodec> byContentType = new LinkedHashMap<>();
+
+    /**
+     * @param objectMapper ObjectMapper da aplicação / application ObjectMapper
+     * @param codecs       codecs adicionais, que substituem os embutidos de mesmo nome / additional codecs, which
+     *                     replace the built-in ones with the same name
+     */
+    public MessageCodecs(ObjectMapper objectMapper, List<MessageCodec> codecs) {
+        register(new MessageCodec(JSON, MessageProperties.CONTENT_TYPE_JSON, objectMapper));
+        registerIfPresent(objectMapper, SMILE, SMILE_CONTENT_TYPE, SMILE_FACTORY);
+        registerIfPresent(objectMapper, CBOR, CBOR_CONTENT_TYPE, CBOR_FACTORY);
+        codecs.forEach(this::register);
+        this.json = byName.get(JSON);
+    }
+
+    public static MessageCodecs of(ObjectMapper objectMapper) {
+        return new MessageCodecs(objectMapper, List.of());
+    }
+
+    public MessageCodec json() {
+        return json;
+    }
+
+    /**
+     * @throws MessageDispatcherRuntimeException se não houver codec com o nome informado / if there is no codec with
+     *                                           the given name
+     */
+    public MessageCodec get(String name) {
+        var codec = byName.get(name.toLowerCase(Locale.ROOT));
+        if (codec == null) {
+            throw new MessageDispatcherRuntimeException("Codec " + name + " não encontrado, codecs disponíveis: "
+                    + byName.keySet() + ". Para smile e cbor adicione o jackson-dataformat correspondente ao classpath.");
+        }
+        return codec;
+    }
+
+    /**
+     * Codec do content type informado, ou {@code null} se não houver. Parâmetros (ex: {@code charset}) são ignorados.
+     * Codec of the given content type, or {@code null} if there is none. Parameters (e.g. {@code charset}) are ignored.
+     */
+    public MessageCodec find(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        var codec = byContentType.get(contentType);
+        if (codec != null) {
+            return codec;
+        }
+        var parameters = contentType.indexOf(';');
+        var mimeType = (parameters < 0 ? contentType : contentType.substring(0, parameters)).trim().toLowerCase(Locale.ROOT);
+        return byContentType.get(mimeType);
+    }
+
+    /**
+     * Codec do content type informado, ou JSON se não houver.
+     * Codec of the given content type, or JSON if there is none.
+     */
+    public MessageCodec forContentType(String contentType) {
+        var codec = find(contentType);
+        return codec != null ? codec : json;
+    }
+
+    /**
+     * Propriedades da resposta a {@code request}, com o content type do codec com que a requisição foi lida: o
+     * solicitante recebe a resposta no formato em que publicou.
+     * <p>
+     * Properties of the reply to {@code request}, with the content type of the codec the request was read with: the
+     * requester gets the reply in the format it published.
+     */
+    public MessageProperties replyProperties(Message request) {
+        var properties = new MessageProperties();
+        properties.setContentType(forContentType(request.getMessageProperties().getContentType()).contentType());
+        return properties;
+    }
+
+    public Collection<MessageCodec> codecs() {
+        return byName.values();
+    }
+
+    private void register(MessageCodec codec) {
+        var previous = byName.put(codec.name().toLowerCase(Locale.ROOT), codec);
+        if (previous != null) {
+            byContentType.remove(previous.contentType());
+        }
+        byContentType.put(codec.contentType(), codec);
+    }
+
+    // a factory é instanciada por nome para que a ausência do jackson-dataformat não impeça o carregamento da classe
+    private void registerIfPresent(ObjectMapper objectMapper, String name, String contentType, String factoryClass) {
+        if (ClassUtils.isPresent(factoryClass, MessageCodecs.class.getClassLoader())) {
+            var factory = BeanUtils.instantiateClass(ClassUtils.resolveClassName(factoryClass,
+                    MessageCodecs.class.getClassLoader()), JsonFactory.class);
+            register(new MessageCodec(name, contentType, objectMapper.copyWith(factory)));
+        }
+    }
+}
@@ -1,12 +1,18 @@
 package br.com.messagedispatcher.config;
 
 import br.com.messagedispatcher.config.properties.MessageDispatcherProperties;
+import br.com.messagedispatcher.listener.ContainerType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.LocalizedQueueConnectionFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.util.concurrent.Executors;
 
 @Configuration
 public class ConnectionFactoryConfig {
@@ -14,19 +20,81 @@ public class ConnectionFactoryConfig {
     private final Logger log = LoggerFactory.getLogger(ConnectionFactoryConfig.class);
 
     @Bean
+    @Primary
     @SuppressWarnings("unused")
     protected ConnectionFactory connectionFactory(final MessageDispatcherProperties properties) {
         log.debug("Configurando ConnectionFactory");
+        CachingConnectionFactory connectionFactory = createConnectionFactory(properties);
+        connectionFactory.setConnectionNameStrategy(cf -> properties.getRoutingKey());
+
+        // no container DIRECT o listener executa na thread de entrega do cliente AMQP, que passa a ser virtual
+        if (properties.getContainerType() == ContainerType.DIRECT) {
+            connectionFactory.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        }
+
+        // os templates publicam pela conexão dedicada (usePublisherConnection), assim o flow control aplicado
+        // à conexão dos consumidores não bloqueia os publicadores
+        if (properties.getConnection().isDedicatedPublisher()) {
+            var publisherConnectionFactory = createConnectionFactory(properties);
+            publisherConnectionFactory.setConnectionNameStrategy(cf -> properties.getRoutingKey() + ".publisher");
+            connectionFactory.setPublisherConnectionFactory(publisherConnectionFactory);
+        }
+
+        log.debug("ConnectionFactory configurada: {}", properties.getConnection());
+        return connectionFactory;
+    }
+
+    /**
+     * Connection factory dos consumidores que conecta ao nó líder da fila consumida, evitando o salto entre nós do
+     * cluster a cada entrega. O nó é consultado na API de gerenciamento (requer o Apache HttpClient 5 no classpath);
+     * se nenhum nó responder, a {@code connectionFactory} padrão é usada.
+     * <p>
+     * Consumer connection factory that connects to the leader node of the consumed queue, avoiding the hop between
+     * cluster nodes on every delivery. The node is looked up through the management API (requires Apache HttpClient 5
+     * on the classpath); if no node answers, the default {@code connectionFactory} is used.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "message.dispatcher.connection.queue-leader-locator", havingValue = "true")
+    protected LocalizedQueueConnectionFactory queueLeaderConnectionFactory(final ConnectionFactory connectionFactory,
+                                                                           final MessageDispatcherProperties properties) {
+        var connection = properties.getConnection();
+        log.debug("Configurando LocalizedQueueConnectionFactory para os nós {}", connection.getNodes());
+
+        return new LocalizedQueueConnectionFactory(connectionFactory,
+                connection.getAddresses().toArray(String[]::new),
+                connection.getAdminUris().toArray(String[]::new),
+                connection.getNodes().toArray(String[]::new),
+                properties.getVirtualHost(),
+                properties.getUsername(),
+                properties.getPassword(),
+                false,
+                null);
+    }
+
+    private static CachingConnectionFactory createConnectionFactory(final MessageDispatcherProperties properties) {
+        var connection = properties.getConnection();
+
         CachingConnectionFactory connectionFactory = new CachingConnectionFactory();
-        connectionFactory.setHost(properties.getHost());
-        connectionFactory.setPort(properties.getPort());
+        if (connection.getAddresses().isEmpty()) {
+            connectionFactory.setHost(properties.getHost());
+            connectionFactory.setPort(properties.getPort());
+        } else {
+            // cada instância inicia por um nó diferente, distribuindo as conexões pelo cluster
+            connectionFactory.setAddresses(connection.getAddresses());
+            connectionFactory.setAddressShuffleMode(connection.getAddressShuffleMode());
+        }
         connectionFactory.setUsername(properties.getUsername());
         connectionFactory.setPassword(properties.getPassword());
         connectionFactory.setVirtualHost(properties.getVirtualHost());
         connectionFactory.setPublisherConfirmType(CachingConnectionFactory.ConfirmType.CORRELATED);
         connectionFactory.setPublisherReturns(true);
 
-        log.debug("ConnectionFactory configurada");
+        connectionFactory.setCacheMode(connection.getCacheMode());
+        connectionFactory.setChannelCacheSize(connection.getChannelCacheSize());
+        if (connection.getCacheMode() == CachingConnectionFactory.CacheMode.CONNECTION) {
+            connectionFactory.setConnectionCacheSize(connection.getConnectionCacheSize());
+        }
+        connectionFactory.setChannelCheckoutTimeout(connection.getChannelCheckoutTimeout());
         return connectionFactory;
     }
 }
@@ -0,0 +1,37 @@
+package br.com.messagedispatcher.config;
+
+import br.com.messagedispatcher.config.properties.MessageDispatcherProperties;
+import br.com.messagedispatcher.publisher.local.LocalMessageDispatcher;
+import br.com.messagedispatcher.router.impl.AnnotatedMessageRouter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Entrega local de eventos e notificações endereçados à própria aplicação
+ * ({@code message.dispatcher.local-dispatch.enabled=true}). Sem o router {@code annotated}, tudo segue pelo broker.
+ * Local delivery of events and notifications addressed to the application itself
+ * ({@code message.dispatcher.local-dispatch.enabled=true}). Without the {@code annotated} router, everything goes through the broker.
+ */
+@Configuration
+@ConditionalOnProperty(name = "message.dispatcher.local-dispatch.enabled", havingValue = "true")
+public class LocalDispatchConfig {
+
+    @Bean
+    protected LocalMessageDispatcher localMessageDispatcher(MessageDispatcherProperties properties,
+                                                            ObjectMapper objectMapper,
+                                                            ObjectProvider<AnnotatedMessageRouter> router,
+                                                            ObjectProvider<MeterRegistry> meterRegistry) {
+        var dispatcher = new LocalMessageDispatcher(properties, objectMapper, router::getIfAvailable);
+
+        Gauge.builder("message.dispatcher.local.in.flight", dispatcher, LocalMessageDispatcher::inFlight)
+                .description("Mensagens em processamento na entrega local do dispatcher")
+                .register(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+        return dispatcher;
+    }
+}
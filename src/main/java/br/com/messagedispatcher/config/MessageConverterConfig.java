@@ -1,11 +1,13 @@
 package br.com.messagedispatcher.config;
 
+import br.com.messagedispatcher.codec.CodecMessageConverter;
+import br.com.messagedispatcher.codec.MessageCodec;
+import br.com.messagedispatcher.codec.MessageCodecs;
+import br.com.messagedispatcher.config.properties.MessageDispatcherProperties;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.amqp.support.converter.DefaultJackson2JavaTypeMapper;
-import org.springframework.amqp.support.converter.Jackson2JavaTypeMapper;
-import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -15,17 +17,16 @@ public class MessageConverterConfig {
     private final Logger log = LoggerFactory.getLogger(MessageConverterConfig.class);
 
     @Bean
-    public Jackson2JsonMessageConverter jackson2JsonMessageConverter(ObjectMapper objectMapper) {
+    public MessageCodecs messageCodecs(ObjectMapper objectMapper, ObjectProvider<MessageCodec> codecs) {
+        return new MessageCodecs(objectMapper, codecs.orderedStream().toList());
+    }
+
+    @Bean
+    public CodecMessageConverter codecMessageConverter(MessageCodecs messageCodecs, MessageDispatcherProperties properties) {
         if (log.isDebugEnabled()) {
-            log.debug("Configurando Jackson2JsonMessageConverter");
+            log.debug("Configurando CodecMessageConverter com os codecs {} e o formato padrão {}",
+                    messageCodecs.codecs().stream().map(MessageCodec::name).toList(), properties.getCodec().getFormat());
         }
-        var converter = new Jackson2JsonMessageConverter(objectMapper);
-        converter.setCreateMessageIds(true);
-        var typeMapper = new DefaultJackson2JavaTypeMapper();
-        typeMapper.setTypePrecedence(Jackson2JavaTypeMapper.TypePrecedence.INFERRED);
-        typeMapper.addTrustedPackages("*");
-        converter.setJavaTypeMapper(typeMapper);
-
-        return converter;
+        return new CodecMessageConverter(messageCodecs, properties.getCodec());
     }
 }
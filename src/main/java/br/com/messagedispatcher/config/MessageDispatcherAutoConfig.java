@@ -17,15 +17,24 @@
 package br.com.messagedispatcher.config;
 
 import br.com.messagedispatcher.MessageDispatcherListener;
+import br.com.messagedispatcher.aot.MessageDispatcherRuntimeHints;
+import br.com.messagedispatcher.codec.MessageCodecs;
+import br.com.messagedispatcher.config.properties.MessageDispatcherProperties;
 import br.com.messagedispatcher.config.rabbitmq.ExchangesQueuesBindingConfig;
 import br.com.messagedispatcher.listener.RabbitMqMessageDispatcherListener;
+import br.com.messagedispatcher.metrics.DispatcherMetrics;
+import br.com.messagedispatcher.metrics.TimedMessageConverter;
 import br.com.messagedispatcher.router.MessageRouter;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import br.com.messagedispatcher.tracing.HandlerObservation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
 import org.springframework.boot.autoconfigure.amqp.RabbitAutoConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 /**
  * Auto Configuração do {@link RabbitMqMessageDispatcherListener}
@@ -39,11 +48,19 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 @AutoConfigureBefore({RabbitAutoConfiguration.class, ExchangesQueuesBindingConfig.class})
 @ComponentScan(basePackages = "br.com.messagedispatcher")
+@ImportRuntimeHints(MessageDispatcherRuntimeHints.class)
 public class MessageDispatcherAutoConfig {
 
     @Bean
-    public MessageDispatcherListener messageDispatcherListener(MessageRouter messageRouter, ObjectMapper objectMapper) {
-        return new RabbitMqMessageDispatcherListener(messageRouter, objectMapper);
+    public MessageDispatcherListener messageDispatcherListener(MessageRouter messageRouter, MessageCodecs messageCodecs,
+                                                               MessageConverter messageConverter, DispatcherMetrics metrics,
+                                                               MessageDispatcherProperties properties,
+                                                               ObjectProvider<ObservationRegistry> observationRegistry) {
+        var handlerObservation = properties.getTracing().isEnabled()
+                ? new HandlerObservation(observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP))
+                : HandlerObservation.noop();
+        return new RabbitMqMessageDispatcherListener(messageRouter, messageCodecs,
+                new TimedMessageConverter(messageConverter, metrics.replySerialization()), handlerObservation);
     }
 
 }
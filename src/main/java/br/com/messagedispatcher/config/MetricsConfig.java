@@ -0,0 +1,23 @@
+package br.com.messagedispatcher.config;
+
+import br.com.messagedispatcher.config.properties.MessageDispatcherProperties;
+import br.com.messagedispatcher.metrics.DispatcherMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    protected DispatcherMetrics dispatcherMetrics(MessageDispatcherProperties properties,
+                                                  ObjectProvider<MeterRegistry> meterRegistry) {
+        var metrics = properties.getMetrics();
+        if (!metrics.isEnabled()) {
+            return DispatcherMetrics.noop();
+        }
+        return new DispatcherMetrics(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry), metrics.isHistogram());
+    }
+}
@@ -0,0 +1,50 @@
+package br.com.messagedispatcher.config;
+
+import br.com.messagedispatcher.config.properties.MessageDispatcherProperties;
+import br.com.messagedispatcher.publisher.outbox.JdbcOutboxStore;
+import br.com.messagedispatcher.publisher.outbox.OutboxRelay;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * Outbox transacional ({@code message.dispatcher.outbox.enabled=true}). Requer o spring-jdbc e um {@link DataSource};
+ * sem um {@link PlatformTransactionManager} único, o relay usa um {@link DataSourceTransactionManager}.
+ * Transactional outbox ({@code message.dispatcher.outbox.enabled=true}). Requires spring-jdbc and a {@link DataSource};
+ * without a unique {@link PlatformTransactionManager}, the relay uses a {@link DataSourceTransactionManager}.
+ */
+@Configuration
+@ConditionalOnClass(name = "org.springframework.jdbc.core.JdbcTemplate")
+@ConditionalOnProperty(name = "message.dispatcher.outbox.enabled", havingValue = "true")
+public class OutboxConfig {
+
+    @Bean
+    protected JdbcOutboxStore jdbcOutboxStore(DataSource dataSource, MessageDispatcherProperties properties) {
+        var store = new JdbcOutboxStore(dataSource);
+        if (properties.getOutbox().isInitializeSchema()) {
+            store.initializeSchema();
+        }
+        return store;
+    }
+
+    @Bean
+    protected OutboxRelay outboxRelay(JdbcOutboxStore jdbcOutboxStore, DataSource dataSource,
+                                      ObjectProvider<PlatformTransactionManager> transactionManager,
+                                      RabbitTemplate rabbitTemplate, MessageDispatcherProperties properties,
+                                      ObjectProvider<MeterRegistry> meterRegistry) {
+        var transactionTemplate = new TransactionTemplate(
+                transactionManager.getIfUnique(() -> new DataSourceTransactionManager(dataSource)));
+        return new OutboxRelay(jdbcOutboxStore, transactionTemplate, rabbitTemplate, properties,
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+}
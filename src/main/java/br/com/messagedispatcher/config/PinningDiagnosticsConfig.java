@@ -0,0 +1,53 @@
+package br.com.messagedispatcher.config;
+
+import br.com.messagedispatcher.beandiscover.impl.MessageListenerBeanDiscover;
+import br.com.messagedispatcher.config.properties.MessageDispatcherProperties;
+import br.com.messagedispatcher.listener.diagnostics.PinnedThreadMonitor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Diagnóstico de virtual threads fixadas (pinning) nos handlers
+ * ({@code message.dispatcher.pinning-diagnostics.enabled=true}).
+ * Diagnostics of pinned virtual threads in handlers ({@code message.dispatcher.pinning-diagnostics.enabled=true}).
+ */
+@Configuration
+@ConditionalOnProperty(name = "message.dispatcher.pinning-diagnostics.enabled", havingValue = "true")
+public class PinningDiagnosticsConfig {
+
+    private final Logger log = LoggerFactory.getLogger(PinningDiagnosticsConfig.class);
+
+    @Bean(initMethod = "start")
+    protected PinnedThreadMonitor pinnedThreadMonitor(ApplicationContext applicationContext,
+                                                      MessageDispatcherProperties properties,
+                                                      ObjectProvider<MeterRegistry> meterRegistry) {
+        Set<String> listenerClassNames = new HashSet<>();
+
+        MessageListenerBeanDiscover.getMessageListeners(applicationContext).forEach(listener -> {
+            var listenerClass = AopUtils.getTargetClass(listener);
+            listenerClassNames.add(listenerClass.getName());
+
+            var synchronizedMethods = PinnedThreadMonitor.synchronizedMethods(listenerClass);
+            if (!synchronizedMethods.isEmpty()) {
+                log.warn("O listener {} possui métodos synchronized {}. Bloqueios dentro deles fixam (pinning) a carrier " +
+                        "thread das virtual threads que executam os handlers.", listenerClass.getName(), synchronizedMethods);
+            }
+        });
+
+        return new PinnedThreadMonitor(listenerClassNames,
+                Duration.ofMillis(properties.getPinningDiagnostics().getThreshold()),
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+}
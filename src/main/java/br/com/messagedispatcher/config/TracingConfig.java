@@ -0,0 +1,35 @@
+package br.com.messagedispatcher.config;
+
+import br.com.messagedispatcher.config.properties.MessageDispatcherProperties;
+import br.com.messagedispatcher.tracing.MessageDispatcherObservationPredicate;
+import io.micrometer.observation.ObservationRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Propagação do contexto de trace na publicação e no consumo ({@code message.dispatcher.tracing.enabled=true}).
+ * Registra a amostragem do dispatcher no {@link ObservationRegistry} da aplicação.
+ * Trace context propagation on publish and consume ({@code message.dispatcher.tracing.enabled=true}).
+ * Registers the dispatcher sampling on the application {@link ObservationRegistry}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "message.dispatcher.tracing.enabled", havingValue = "true")
+public class TracingConfig {
+
+    private final Logger log = LoggerFactory.getLogger(TracingConfig.class);
+
+    // o predicate não é exposto como bean para não ser registrado uma segunda vez pelo Spring Boot
+    public TracingConfig(MessageDispatcherProperties properties, ObjectProvider<ObservationRegistry> observationRegistry) {
+        var registry = observationRegistry.getIfAvailable();
+        if (registry == null) {
+            log.warn("message.dispatcher.tracing.enabled=true, mas nenhum ObservationRegistry foi encontrado. " +
+                    "Adicione o spring-boot-starter-actuator e uma bridge do micrometer-tracing para propagar o trace.");
+            return;
+        }
+        registry.observationConfig().observationPredicate(
+                new MessageDispatcherObservationPredicate(registry, properties.getTracing().getSamplingProbability()));
+    }
+}
@@ -16,19 +16,31 @@
 
 package br.com.messagedispatcher.config.properties;
 
+import br.com.messagedispatcher.codec.MessageCodec;
 import br.com.messagedispatcher.config.MessageDispatcherAutoConfig;
+import br.com.messagedispatcher.listener.ContainerType;
+import br.com.messagedispatcher.publisher.ReplyMode;
+import br.com.messagedispatcher.publisher.confirm.WindowFullPolicy;
+import br.com.messagedispatcher.retry.RetryMode;
 import jakarta.annotation.PostConstruct;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.connection.AbstractConnectionFactory.AddressShuffleMode;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory.CacheMode;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.annotation.Validated;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 
 /**
@@ -88,6 +100,8 @@ import java.util.Arrays;
 @Validated
 public class MessageDispatcherProperties {
 
+    private static final int MAX_PREFETCH = 65_535;
+
     @PostConstruct
     public void init() {
         final Logger log = LoggerFactory.getLogger(MessageDispatcherProperties.class);
@@ -227,11 +241,80 @@ public class MessageDispatcherProperties {
 
     private Mapped mapped = new Mapped();
 
+    private Batch batch = new Batch();
+
+    private Confirm confirm = new Confirm();
+
+    private Connection connection = new Connection();
+
+    private AutoTune autoTune = new AutoTune();
+
+    private AsyncDispatch asyncDispatch = new AsyncDispatch();
+
+    private PinningDiagnostics pinningDiagnostics = new PinningDiagnostics();
+
+    private Metrics metrics = new Metrics();
+
+    private Tracing tracing = new Tracing();
+
+    private LocalDispatch localDispatch = new LocalDispatch();
+
+    private Outbox outbox = new Outbox();
+
+    private Codec codec = new Codec();
+
     /**
      * Indica se exceções ocorridas durante o processamento das mensagens dem ser retornadas ao cliente publicador.
      */
     private boolean returnExceptions = true;
 
+    /**
+     * Se true, o header de tipo do corpo é publicado com o nome qualificado da classe (ex: com.acme.CreateOrder),
+     * evitando colisão entre classes de mesmo nome em pacotes diferentes. Padrão é false (nome simples).
+     */
+    private boolean qualifiedBodyType = false;
+
+    /**
+     * Se true, os handlers são registrados a partir do índice gerado em tempo de compilação pelo
+     * {@code MessageHandlerIndexProcessor}, evitando a varredura dos listeners na inicialização.
+     * Quando o índice não existir no classpath a varredura é utilizada. Padrão é false.
+     */
+    private boolean handlerIndexEnabled = false;
+
+    /**
+     * Se true, com o índice de handlers em uso os beans {@code @MessageListener} também são varridos para registrar
+     * listeners ausentes do índice (ex: de jars compilados sem o processador). Padrão é false.
+     */
+    private boolean handlerIndexVerify = false;
+
+    /**
+     * Modo de retentativa. LOCAL aguarda o backoff na thread do consumidor; BROKER rejeita a mensagem
+     * e a republica em filas de retentativa com TTL ({queueName}.retry.{delay}). Padrão é LOCAL.
+     */
+    private RetryMode retryMode = RetryMode.LOCAL;
+
+    /**
+     * Exceções que não devem ser retentadas, além das padrões do dispatcher
+     * (MessageHandlerNotFoundException, MessageRouterMissingHeaderException, MessageConversionException,
+     * JsonProcessingException e ConstraintViolationException) e das anotadas com {@code @NonRetryable}.
+     * Mensagens que falham com essas exceções vão direto para a dead letter queue.
+     */
+    private List<Class<? extends Throwable>> nonRetryableExceptions = new ArrayList<>();
+
+    /**
+     * Forma de recebimento das respostas de doCommand/doQuery. FIXED usa uma fila de respostas por instância
+     * consumida por um listener container, DIRECT usa o direct reply-to do RabbitMQ e TEMPORARY declara uma fila
+     * temporária por requisição. Padrão é FIXED.
+     */
+    private ReplyMode replyMode = ReplyMode.FIXED;
+
+    /**
+     * Tipo de listener container do consumidor. SIMPLE usa o SimpleMessageListenerContainer; DIRECT usa o
+     * DirectMessageListenerContainer, que invoca o listener na thread de entrega do cliente AMQP e usa o limite
+     * superior de {concurrency} como consumidores por fila. Padrão é SIMPLE.
+     */
+    private ContainerType containerType = ContainerType.SIMPLE;
+
     public long getReplyTimeOut() {
         return replyTimeOut;
     }
@@ -420,6 +503,62 @@ public class MessageDispatcherProperties {
         this.returnExceptions = returnExceptions;
     }
 
+    public boolean isQualifiedBodyType() {
+        return qualifiedBodyType;
+    }
+
+    public void setQualifiedBodyType(boolean qualifiedBodyType) {
+        this.qualifiedBodyType = qualifiedBodyType;
+    }
+
+    public RetryMode getRetryMode() {
+        return retryMode;
+    }
+
+    public void setRetryMode(RetryMode retryMode) {
+        this.retryMode = retryMode;
+    }
+
+    public List<Class<? extends Throwable>> getNonRetryableExceptions() {
+        return nonRetryableExceptions;
+    }
+
+    public void setNonRetryableExceptions(List<Class<? extends Throwable>> nonRetryableExceptions) {
+        this.nonRetryableExceptions = nonRetryableExceptions;
+    }
+
+    public ReplyMode getReplyMode() {
+        return replyMode;
+    }
+
+    public void setReplyMode(ReplyMode replyMode) {
+        this.replyMode = replyMode;
+    }
+
+    public ContainerType getContainerType() {
+        return containerType;
+    }
+
+    public void setContainerType(ContainerType containerType) {
+        this.containerType = containerType;
+    }
+
+    public boolean isHandlerIndexEnabled() {
+        return handlerIndexEnabled;
+    }
+
+    public void setHandlerIndexEnabled(boolean handlerIndexEnabled) {
+        this.handlerIndexEnabled = handlerIndexEnabled;
+    }
+
+    public boolean isHandlerIndexVerify() {
+        return handlerIndexVerify;
+    }
+
+    public void setHandlerIndexVerify(boolean handlerIndexVerify) {
+        this.handlerIndexVerify = handlerIndexVerify;
+    }
+
     @Override
     public String toString() {
         return "DispatcherConfigurationProperties{" +
@@ -444,6 +583,24 @@ public class MessageDispatcherProperties {
                 ", prefetchCount=" + prefetchCount +
                 ", replyTimeOut= " + replyTimeOut +
                 ", mappedHeaders=" + mapped +
+                ", batch=" + batch +
+                ", confirm=" + confirm +
+                ", connection=" + connection +
+                ", autoTune=" + autoTune +
+                ", asyncDispatch=" + asyncDispatch +
+                ", pinningDiagnostics=" + pinningDiagnostics +
+                ", metrics=" + metrics +
+                ", tracing=" + tracing +
+                ", localDispatch=" + localDispatch +
+                ", outbox=" + outbox +
+                ", codec=" + codec +
+                ", qualifiedBodyType=" + qualifiedBodyType +
+                ", handlerIndexEnabled=" + handlerIndexEnabled +
+                ", handlerIndexVerify=" + handlerIndexVerify +
+                ", retryMode=" + retryMode +
+                ", nonRetryableExceptions=" + nonRetryableExceptions +
+                ", replyMode=" + replyMode +
+                ", containerType=" + containerType +
                 '}';
     }
 
@@ -455,6 +612,94 @@ public class MessageDispatcherProperties {
         this.mapped = mapped;
     }
 
+    public Batch getBatch() {
+        return batch;
+    }
+
+    public void setBatch(Batch batch) {
+        this.batch = batch;
+    }
+
+    public Confirm getConfirm() {
+        return confirm;
+    }
+
+    public void setConfirm(Confirm confirm) {
+        this.confirm = confirm;
+    }
+
+    public Connection getConnection() {
+        return connection;
+    }
+
+    public void setConnection(Connection connection) {
+        this.connection = connection;
+    }
+
+    public AutoTune getAutoTune() {
+        return autoTune;
+    }
+
+    public void setAutoTune(AutoTune autoTune) {
+        this.autoTune = autoTune;
+    }
+
+    public AsyncDispatch getAsyncDispatch() {
+        return asyncDispatch;
+    }
+
+    public void setAsyncDispatch(AsyncDispatch asyncDispatch) {
+        this.asyncDispatch = asyncDispatch;
+    }
+
+    public PinningDiagnostics getPinningDiagnostics() {
+        return pinningDiagnostics;
+    }
+
+    public void setPinningDiagnostics(PinningDiagnostics pinningDiagnostics) {
+        this.pinningDiagnostics = pinningDiagnostics;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public Tracing getTracing() {
+        return tracing;
+    }
+
+    public void setTracing(Tracing tracing) {
+        this.tracing = tracing;
+    }
+
+    public LocalDispatch getLocalDispatch() {
+        return localDispatch;
+    }
+
+    public void setLocalDispatch(LocalDispatch localDispatch) {
+        this.localDispatch = localDispatch;
+    }
+
+    public Outbox getOutbox() {
+        return outbox;
+    }
+
+    public void setOutbox(Outbox outbox) {
+        this.outbox = outbox;
+    }
+
+    public Codec getCodec() {
+        return codec;
+    }
+
+    public void setCodec(Codec codec) {
+        this.codec = codec;
+    }
+
     public int minConsumers() {
         return Integer.parseInt(getConcurrency().split("-")[0]);
     }
@@ -463,6 +708,36 @@ public class MessageDispatcherProperties {
         return Integer.parseInt(getConcurrency().split("-")[1]);
     }
 
+    /**
+     * Concorrência informada ao {@code @RabbitListener}: o intervalo "min-max" no container SIMPLE e a quantidade de
+     * consumidores por fila (limite superior) no container DIRECT, que não aceita intervalos.
+     * <p>
+     * Concurrency handed to {@code @RabbitListener}: the "min-max" range for the SIMPLE container and the number of
+     * consumers per queue (upper bound) for the DIRECT container, which does not accept ranges.
+     */
+    public String listenerConcurrency() {
+        return containerType == ContainerType.DIRECT ? String.valueOf(maxConsumers()) : getConcurrency();
+    }
+
+    /**
+     * Prefetch por consumidor aplicado ao listener container. Com {@code async-dispatch.enabled}, é o suficiente para
+     * os consumidores juntos manterem {@code maxInFlight} mensagens em processamento, sem ficar abaixo de
+     * {@code prefetchCount}; o limite efetivo passa a ser o semáforo do {@code VirtualThreadDispatchInterceptor}.
+     * <p>
+     * Per-consumer prefetch applied to the listener container. With {@code async-dispatch.enabled}, it is enough for
+     * the consumers together to keep {@code maxInFlight} messages in flight, and never below {@code prefetchCount};
+     * the effective bound becomes the {@code VirtualThreadDispatchInterceptor} semaphore.
+     */
+    public int listenerPrefetch() {
+        if (!asyncDispatch.isEnabled()) {
+            return prefetchCount;
+        }
+        var consumers = maxConsumers();
+        var prefetch = (asyncDispatch.getMaxInFlight() + consumers - 1) / consumers;
+        // o prefetch do AMQP 0-9-1 é um unsigned short
+        return Math.min(MAX_PREFETCH, Math.max(prefetchCount, prefetch));
+    }
+
     /**
      * Mapeia os headers que serão mapeados para o objeto MessageProperties do RabbitMQ.
      * <p>
@@ -490,8 +765,9 @@ public class MessageDispatcherProperties {
         }
 
         public String[] getMappedHeadersArray() {
-            if (mappedHeadersArray == null && headers != null) {
-                mappedHeadersArray = Arrays.stream(headers.split(","))
+            if (mappedHeadersArray == null) {
+                // sem message.dispatcher.mapped.headers nenhum header é mapeado
+                mappedHeadersArray = headers == null ? new String[0] : Arrays.stream(headers.split(","))
                         .filter(s -> !s.isEmpty())
                         .map(String::trim)
                         .toArray(String[]::new);
@@ -509,4 +785,851 @@ public class MessageDispatcherProperties {
                     "headers=" + Arrays.toString(mappedHeadersArray) + '}';
         }
     }
+
+    /**
+     * Agrupamento de eventos e notificações publicados em lotes, liberados por quantidade de mensagens,
+     * tamanho em bytes ou tempo de espera (o que ocorrer primeiro).
+     * <p>
+     * Batching of published events and notifications, released by message count, size in bytes
+     * or linger time (whichever comes first).
+     */
+    public static class Batch {
+
+        /**
+         * Habilita a publicação em lotes de eventos e notificações. Padrão é false.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Quantidade máxima de mensagens por lote. Padrão é 100
+         */
+        @Min(1)
+        private int size = 100;
+
+        /**
+         * Tamanho máximo do lote em bytes. Padrão é 65536
+         */
+        @Min(1)
+        private int bufferLimit = 65_536;
+
+        /**
+         * Tempo máximo em ms que um lote incompleto aguarda antes de ser publicado. Padrão é 50ms
+         */
+        @Min(1)
+        private long lingerTime = 50;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public void setSize(int size) {
+            this.size = size;
+        }
+
+        public int getBufferLimit() {
+            return bufferLimit;
+        }
+
+        public void setBufferLimit(int bufferLimit) {
+            this.bufferLimit = bufferLimit;
+        }
+
+        public long getLingerTime() {
+            return lingerTime;
+        }
+
+        public void setLingerTime(long lingerTime) {
+            this.lingerTime = lingerTime;
+        }
+
+        @Override
+        public String toString() {
+            return "Batch{" +
+                    "enabled=" + enabled +
+                    ", size=" + size +
+                    ", bufferLimit=" + bufferLimit +
+                    ", lingerTime=" + lingerTime +
+                    '}';
+        }
+    }
+
+    /**
+     * Janela de publicações aguardando confirmação (publisher confirms) do broker.
+     * <p>
+     * Window of publishes waiting for broker confirmation (publisher confirms).
+     */
+    public static class Confirm {
+
+        /**
+         * Quantidade máxima de mensagens publicadas aguardando confirmação do broker. Padrão é 1000
+         */
+        @Min(1)
+        private int maxInFlight = 1_000;
+
+        /**
+         * Comportamento quando a janela está cheia: BLOCK aguarda uma vaga, FAIL falha imediatamente. Padrão é BLOCK
+         */
+        private WindowFullPolicy windowFullPolicy = WindowFullPolicy.BLOCK;
+
+        /**
+         * Tempo máximo em ms que a publicação aguarda por uma vaga na janela no modo BLOCK. Padrão é 5000ms
+         */
+        @Min(0)
+        private long blockTimeout = 5_000;
+
+        /**
+         * Quantidade de republicações de uma mensagem recusada (nack) pelo broker. Padrão é 3
+         */
+        @Min(0)
+        private int maxNackRetries = 3;
+
+        public int getMaxInFlight() {
+            return maxInFlight;
+        }
+
+        public void setMaxInFlight(int maxInFlight) {
+            this.maxInFlight = maxInFlight;
+        }
+
+        public WindowFullPolicy getWindowFullPolicy() {
+            return windowFullPolicy;
+        }
+
+        public void setWindowFullPolicy(WindowFullPolicy windowFullPolicy) {
+            this.windowFullPolicy = windowFullPolicy;
+        }
+
+        public long getBlockTimeout() {
+            return blockTimeout;
+        }
+
+        public void setBlockTimeout(long blockTimeout) {
+            this.blockTimeout = blockTimeout;
+        }
+
+        public int getMaxNackRetries() {
+            return maxNackRetries;
+        }
+
+        public void setMaxNackRetries(int maxNackRetries) {
+            this.maxNackRetries = maxNackRetries;
+        }
+
+        @Override
+        public String toString() {
+            return "Confirm{" +
+                    "maxInFlight=" + maxInFlight +
+                    ", windowFullPolicy=" + windowFullPolicy +
+                    ", blockTimeout=" + blockTimeout +
+                    ", maxNackRetries=" + maxNackRetries +
+                    '}';
+        }
+    }
+
+    /**
+     * Conexões e cache de canais usados pelos publicadores e pelo listener container.
+     * <p>
+     * Connections and channel cache used by publishers and by the listener container.
+     */
+    public static class Connection {
+
+        /**
+         * Endereços dos nós do cluster RabbitMQ (host:porta). Quando informado, substitui {@code host} e {@code port}.
+         */
+        private List<String> addresses = new ArrayList<>();
+
+        /**
+         * Ordem em que os endereços são tentados a cada nova conexão: RANDOM embaralha (padrão), INORDER alterna
+         * entre os nós (round-robin) e NONE sempre tenta na ordem informada.
+         */
+        private AddressShuffleMode addressShuffleMode = AddressShuffleMode.RANDOM;
+
+        /**
+         * Conecta os consumidores ao nó líder da fila (quorum queue), consultado na API de gerenciamento. Padrão é false
+         */
+        private boolean queueLeaderLocator = false;
+
+        /**
+         * URIs da API de gerenciamento de cada nó, na mesma ordem de {@code addresses}.
+         */
+        private List<String> adminUris = new ArrayList<>();
+
+        /**
+         * Nomes dos nós (ex.: rabbit@node1), na mesma ordem de {@code addresses}.
+         */
+        private List<String> nodes = new ArrayList<>();
+
+        /**
+         * Usa uma conexão dedicada para publicação, evitando que o controle de fluxo (flow control) aplicado à conexão
+         * dos consumidores bloqueie os publicadores. Padrão é true
+         */
+        private boolean dedicatedPublisher = true;
+
+        /**
+         * Modo de cache da connection factory: CHANNEL (uma conexão, canais em cache) ou CONNECTION
+         * (conexões e canais em cache). Padrão é CHANNEL
+         */
+        private CacheMode cacheMode = CacheMode.CHANNEL;
+
+        /**
+         * Quantidade de canais mantidos em cache por conexão. Padrão é 25
+         */
+        @Min(1)
+        private int channelCacheSize = 25;
+
+        /**
+         * Quantidade de conexões mantidas em cache no modo CONNECTION. Padrão é 1
+         */
+        @Min(1)
+        private int connectionCacheSize = 1;
+
+        /**
+         * Tempo máximo em ms de espera por um canal quando {@code channelCacheSize} canais estão em uso.
+         * Com 0 (padrão) não há limite de canais e novos canais são criados sob demanda.
+         */
+        @Min(0)
+        private long channelCheckoutTimeout = 0;
+
+        public List<String> getAddresses() {
+            return addresses;
+        }
+
+        public void setAddresses(List<String> addresses) {
+            this.addresses = addresses;
+        }
+
+        public AddressShuffleMode getAddressShuffleMode() {
+            return addressShuffleMode;
+        }
+
+        public void setAddressShuffleMode(AddressShuffleMode addressShuffleMode) {
+            this.addressShuffleMode = addressShuffleMode;
+        }
+
+        public boolean isQueueLeaderLocator() {
+            return queueLeaderLocator;
+        }
+
+        public void setQueueLeaderLocator(boolean queueLeaderLocator) {
+            this.queueLeaderLocator = queueLeaderLocator;
+        }
+
+        public List<String> getAdminUris() {
+            return adminUris;
+        }
+
+        public void setAdminUris(List<String> adminUris) {
+            this.adminUris = adminUris;
+        }
+
+        public List<String> getNodes() {
+            return nodes;
+        }
+
+        public void setNodes(List<String> nodes) {
+            this.nodes = nodes;
+        }
+
+        public boolean isDedicatedPublisher() {
+            return dedicatedPublisher;
+        }
+
+        public void setDedicatedPublisher(boolean dedicatedPublisher) {
+            this.dedicatedPublisher = dedicatedPublisher;
+        }
+
+        public CacheMode getCacheMode() {
+            return cacheMode;
+        }
+
+        public void setCacheMode(CacheMode cacheMode) {
+            this.cacheMode = cacheMode;
+        }
+
+        public int getChannelCacheSize() {
+            return channelCacheSize;
+        }
+
+        public void setChannelCacheSize(int channelCacheSize) {
+            this.channelCacheSize = channelCacheSize;
+        }
+
+        public int getConnectionCacheSize() {
+            return connectionCacheSize;
+        }
+
+        public void setConnectionCacheSize(int connectionCacheSize) {
+            this.connectionCacheSize = connectionCacheSize;
+        }
+
+        public long getChannelCheckoutTimeout() {
+            return channelCheckoutTimeout;
+        }
+
+        public void setChannelCheckoutTimeout(long channelCheckoutTimeout) {
+            this.channelCheckoutTimeout = channelCheckoutTimeout;
+        }
+
+        @Override
+        public String toString() {
+            return "Connection{" +
+                    "addresses=" + addresses +
+                    ", addressShuffleMode=" + addressShuffleMode +
+                    ", queueLeaderLocator=" + queueLeaderLocator +
+                    ", adminUris=" + adminUris +
+                    ", nodes=" + nodes +
+                    ", dedicatedPublisher=" + dedicatedPublisher +
+                    ", cacheMode=" + cacheMode +
+                    ", channelCacheSize=" + channelCacheSize +
+                    ", connectionCacheSize=" + connectionCacheSize +
+                    ", channelCheckoutTimeout=" + channelCheckoutTimeout +
+                    '}';
+        }
+    }
+
+    /**
+     * Ajuste automático de consumidores e prefetch do listener container em tempo de execução (AIMD), dentro dos
+     * limites de {@code concurrency} e de {@code minPrefetch}/{@code maxPrefetch}.
+     * <p>
+     * Runtime auto-tuning of the listener container consumers and prefetch (AIMD), within the {@code concurrency}
+     * bounds and {@code minPrefetch}/{@code maxPrefetch}.
+     */
+    public static class AutoTune {
+
+        /**
+         * Habilita o ajuste automático. Padrão é false
+         */
+        private boolean enabled = false;
+
+        /**
+         * Intervalo em ms entre as avaliações. Padrão é 5000ms
+         */
+        @Min(100)
+        private long interval = 5_000;
+
+        /**
+         * Latência média alvo do processamento em ms; acima dela consumidores e prefetch são reduzidos. Padrão é 500ms
+         */
+        @Min(1)
+        private long targetLatency = 500;
+
+        /**
+         * Taxa de erro máxima (0 a 1); acima dela consumidores e prefetch são reduzidos. Padrão é 0.1
+         */
+        private double maxErrorRate = 0.1;
+
+        /**
+         * Prefetch mínimo. Padrão é 1
+         */
+        @Min(1)
+        private int minPrefetch = 1;
+
+        /**
+         * Prefetch máximo. Padrão é 100
+         */
+        @Min(1)
+        private int maxPrefetch = 100;
+
+        /**
+         * Incremento do prefetch a cada aumento. Padrão é 10
+         */
+        @Min(1)
+        private int prefetchStep = 10;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getInterval() {
+            return interval;
+        }
+
+        public void setInterval(long interval) {
+            this.interval = interval;
+        }
+
+        public long getTargetLatency() {
+            return targetLatency;
+        }
+
+        public void setTargetLatency(long targetLatency) {
+            this.targetLatency = targetLatency;
+        }
+
+        public double getMaxErrorRate() {
+            return maxErrorRate;
+        }
+
+        public void setMaxErrorRate(double maxErrorRate) {
+            this.maxErrorRate = maxErrorRate;
+        }
+
+        public int getMinPrefetch() {
+            return minPrefetch;
+        }
+
+        public void setMinPrefetch(int minPrefetch) {
+            this.minPrefetch = minPrefetch;
+        }
+
+        public int getMaxPrefetch() {
+            return maxPrefetch;
+        }
+
+        public void setMaxPrefetch(int maxPrefetch) {
+            this.maxPrefetch = maxPrefetch;
+        }
+
+        public int getPrefetchStep() {
+            return prefetchStep;
+        }
+
+        public void setPrefetchStep(int prefetchStep) {
+            this.prefetchStep = prefetchStep;
+        }
+
+        @Override
+        public String toString() {
+            return "AutoTune{" +
+                    "enabled=" + enabled +
+                    ", interval=" + interval +
+                    ", targetLatency=" + targetLatency +
+                    ", maxErrorRate=" + maxErrorRate +
+                    ", minPrefetch=" + minPrefetch +
+                    ", maxPrefetch=" + maxPrefetch +
+                    ", prefetchStep=" + prefetchStep +
+                    '}';
+        }
+    }
+
+    /**
+     * Processamento de cada mensagem em uma virtual thread própria, fora da thread do consumidor AMQP, com ack
+     * manual ao término do processamento. Permite poucos consumidores com prefetch alto alimentarem milhares de
+     * handlers bloqueantes simultâneos.
+     * <p>
+     * Processing of each message on its own virtual thread, off the AMQP consumer thread, with a manual ack when
+     * processing completes. Lets a few consumers with a large prefetch feed thousands of concurrent blocking handlers.
+     */
+    public static class AsyncDispatch {
+
+        /**
+         * Habilita o processamento em uma virtual thread por mensagem. Padrão é false
+         */
+        private boolean enabled = false;
+
+        /**
+         * Quantidade máxima de mensagens em processamento na instância. Padrão é 1000
+         */
+        @Min(1)
+        private int maxInFlight = 1_000;
+
+        /**
+         * Tempo máximo, em milissegundos, de espera pelas mensagens em processamento no encerramento, antes da parada
+         * dos listener containers. Padrão é 30000
+         */
+        @Min(0)
+        private long shutdownTimeout = 30_000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxInFlight() {
+            return maxInFlight;
+        }
+
+        public void setMaxInFlight(int maxInFlight) {
+            this.maxInFlight = maxInFlight;
+        }
+
+        public long getShutdownTimeout() {
+            return shutdownTimeout;
+        }
+
+        public void setShutdownTimeout(long shutdownTimeout) {
+            this.shutdownTimeout = shutdownTimeout;
+        }
+
+        @Override
+        public String toString() {
+            return "AsyncDispatch{" +
+                    "enabled=" + enabled +
+                    ", maxInFlight=" + maxInFlight +
+                    ", shutdownTimeout=" + shutdownTimeout +
+                    '}';
+        }
+    }
+
+    /**
+     * Diagnóstico de virtual threads fixadas (pinning) à carrier thread durante a execução dos handlers, a partir dos
+     * eventos JFR {@code jdk.VirtualThreadPinned}.
+     * <p>
+     * Diagnostics of virtual threads pinned to their carrier thread while handlers run, based on the
+     * {@code jdk.VirtualThreadPinned} JFR events.
+     */
+    public static class PinningDiagnostics {
+
+        /**
+         * Habilita o diagnóstico. Padrão é false
+         */
+        private boolean enabled = false;
+
+        /**
+         * Tempo mínimo em ms que a virtual thread deve ficar fixada para o evento ser registrado. Padrão é 20ms
+         */
+        @Min(0)
+        private long threshold = 20;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getThreshold() {
+            return threshold;
+        }
+
+        public void setThreshold(long threshold) {
+            this.threshold = threshold;
+        }
+
+        @Override
+        public String toString() {
+            return "PinningDiagnostics{" +
+                    "enabled=" + enabled +
+                    ", threshold=" + threshold +
+                    '}';
+        }
+    }
+
+    /**
+     * Métricas Micrometer das etapas de consumo e publicação: deserialização, execução dos handlers, serialização
+     * das respostas, publicação, ida e volta de comandos e consultas, retentativas e dead letter queue.
+     * <p>
+     * Micrometer metrics for the consumption and publishing stages: deserialization, handler execution, reply
+     * serialization, publishing, command and query round trip, retries and dead letter queue.
+     */
+    public static class Metrics {
+
+        /**
+         * Habilita as métricas. Padrão é true
+         */
+        private boolean enabled = true;
+
+        /**
+         * Publica histogramas de percentis nos timers. Padrão é false
+         */
+        private boolean histogram = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public boolean isHistogram() {
+            return histogram;
+        }
+
+        public void setHistogram(boolean histogram) {
+            this.histogram = histogram;
+        }
+
+        @Override
+        public String toString() {
+            return "Metrics{" +
+                    "enabled=" + enabled +
+                    ", histogram=" + histogram +
+                    '}';
+        }
+    }
+
+    /**
+     * Propagação do contexto de trace via Micrometer Observation: o RabbitTemplate injeta o contexto nos headers
+     * das mensagens publicadas e o container o restaura no consumo, com um span por execução de handler.
+     * <p>
+     * Trace context propagation via Micrometer Observation: the RabbitTemplate injects the context into the headers
+     * of published messages and the container restores it on consumption, with a span per handler execution.
+     */
+    public static class Tracing {
+
+        /**
+         * Habilita o tracing. Padrão é false
+         */
+        private boolean enabled = false;
+
+        /**
+         * Probabilidade de amostragem das mensagens sem trace de origem, entre 0.0 e 1.0. Padrão é 1.0
+         */
+        private double samplingProbability = 1.0;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getSamplingProbability() {
+            return samplingProbability;
+        }
+
+        public void setSamplingProbability(double samplingProbability) {
+            this.samplingProbability = samplingProbability;
+        }
+
+        @Override
+        public String toString() {
+            return "Tracing{" +
+                    "enabled=" + enabled +
+                    ", samplingProbability=" + samplingProbability +
+                    '}';
+        }
+    }
+
+    /**
+     * Entrega local dos eventos e notificações publicados na exchange e routing key da própria aplicação: o payload
+     * vai direto ao handler, sem serialização e sem passar pelo broker.
+     * <p>
+     * Local delivery of events and notifications published to the application's own exchange and routing key: the
+     * payload goes straight to the handler, without serialization and without going through the broker.
+     */
+    public static class LocalDispatch {
+
+        /**
+         * Habilita a entrega local. Padrão é false
+         */
+        private boolean enabled = false;
+
+        /**
+         * Quantidade máxima de mensagens em processamento local. Padrão é 1000
+         */
+        @Min(1)
+        private int maxInFlight = 1_000;
+
+        /**
+         * Tipos (e subtipos) entregues localmente. Os demais sempre são publicados no broker.
+         */
+        private List<Class<?>> types = new ArrayList<>();
+
+        /**
+         * Entrega ao handler uma cópia do payload feita com o ObjectMapper, em vez do próprio objeto publicado.
+         * Padrão é false
+         */
+        private boolean copyPayload = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxInFlight() {
+            return maxInFlight;
+        }
+
+        public void setMaxInFlight(int maxInFlight) {
+            this.maxInFlight = maxInFlight;
+        }
+
+        public List<Class<?>> getTypes() {
+            return types;
+        }
+
+        public void setTypes(List<Class<?>> types) {
+            this.types = types;
+        }
+
+        public boolean isCopyPayload() {
+            return copyPayload;
+        }
+
+        public void setCopyPayload(boolean copyPayload) {
+            this.copyPayload = copyPayload;
+        }
+
+        @Override
+        public String toString() {
+            return "LocalDispatch{" +
+                    "enabled=" + enabled +
+                    ", maxInFlight=" + maxInFlight +
+                    ", types=" + types +
+                    ", copyPayload=" + copyPayload +
+                    '}';
+        }
+    }
+
+    /**
+     * Outbox transacional: eventos e notificações são gravados em uma tabela via JDBC, na transação do chamador,
+     * e publicados no broker em lotes por um relay em background.
+     * <p>
+     * Transactional outbox: events and notifications are stored in a table through JDBC, in the caller's transaction,
+     * and published to the broker in batches by a background relay.
+     */
+    public static class Outbox {
+
+        /**
+         * Habilita o outbox. Padrão é false
+         */
+        private boolean enabled = false;
+
+        /**
+         * Cria a tabela message_dispatcher_outbox se não existir (H2, PostgreSQL e MySQL). Padrão é true
+         */
+        private boolean initializeSchema = true;
+
+        /**
+         * Quantidade máxima de mensagens publicadas por lote. Padrão é 500
+         */
+        @Min(1)
+        private int batchSize = 500;
+
+        /**
+         * Intervalo, em milissegundos, entre as leituras do outbox quando não há lote cheio. Padrão é 1000
+         */
+        @Min(1)
+        private long pollInterval = 1_000;
+
+        /**
+         * Tempo máximo, em milissegundos, de espera pelas confirmações de um lote. Padrão é 30000
+         */
+        @Min(1)
+        private long confirmTimeout = 30_000;
+
+        /**
+         * Prazo, em milissegundos, da reserva de um lote pelo relay; expirado, outro relay pode publicá-lo. Deve ser
+         * maior que o confirmTimeout. Padrão é 60000
+         */
+        @Min(1)
+        private long claimTimeout = 60_000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public boolean isInitializeSchema() {
+            return initializeSchema;
+        }
+
+        public void setInitializeSchema(boolean initializeSchema) {
+            this.initializeSchema = initializeSchema;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public long getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(long pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+
+        public long getConfirmTimeout() {
+            return confirmTimeout;
+        }
+
+        public void setConfirmTimeout(long confirmTimeout) {
+            this.confirmTimeout = confirmTimeout;
+        }
+
+        public long getClaimTimeout() {
+            return claimTimeout;
+        }
+
+        public void setClaimTimeout(long claimTimeout) {
+            this.claimTimeout = claimTimeout;
+        }
+
+        @Override
+        public String toString() {
+            return "Outbox{" +
+                    "enabled=" + enabled +
+                    ", initializeSchema=" + initializeSchema +
+                    ", batchSize=" + batchSize +
+                    ", pollInterval=" + pollInterval +
+                    ", confirmTimeout=" + confirmTimeout +
+                    ", claimTimeout=" + claimTimeout +
+                    '}';
+        }
+    }
+
+    /**
+     * Formato de serialização dos payloads publicados. Os consumidores escolhem o formato pelo content type de cada
+     * mensagem, de forma que JSON e formatos binários convivem durante uma migração.
+     * <p>
+     * Serialization format of the published payloads. Consumers pick the format by the content type of each message,
+     * so JSON and binary formats coexist during a migration.
+     */
+    public static class Codec {
+
+        /**
+         * Formato padrão dos payloads publicados: json, smile, cbor ou o nome de um MessageCodec registrado. Padrão é json
+         */
+        @NotBlank
+        private String format = MessageCodec.JSON;
+
+        /**
+         * Formato por tipo de payload (e subtipos), sobrepondo o formato padrão. A chave é o nome do formato.
+         */
+        private Map<String, List<Class<?>>> types = new LinkedHashMap<>();
+
+        public String getFormat() {
+            return format;
+        }
+
+        public void setFormat(String format) {
+            this.format = format;
+        }
+
+        public Map<String, List<Class<?>>> getTypes() {
+            return types;
+        }
+
+        public void setTypes(Map<String, List<Class<?>>> types) {
+            this.types = types;
+        }
+
+        @Override
+        public String toString() {
+            return "Codec{" +
+                    "format='" + format + '\'' +
+                    ", types=" + types +
+                    '}';
+        }
+    }
 }
@@ -0,0 +1,58 @@
+package br.com.messagedispatcher.config.rabbitmq;
+
+import br.com.messagedispatcher.config.properties.MessageDispatcherProperties;
+import br.com.messagedispatcher.listener.dispatch.VirtualThreadDispatchInterceptor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.ContextClosedEvent;
+
+import java.time.Duration;
+
+/**
+ * Processamento de uma virtual thread por mensagem ({@code message.dispatcher.async-dispatch.enabled=true}).
+ * Virtual-thread-per-message processing ({@code message.dispatcher.async-dispatch.enabled=true}).
+ */
+@Configuration
+@ConditionalOnProperty(name = "message.dispatcher.async-dispatch.enabled", havingValue = "true")
+public class AsyncDispatchConfig {
+
+    @Bean
+    protected VirtualThreadDispatchInterceptor virtualThreadDispatchInterceptor(MessageDispatcherProperties properties,
+                                                                                RabbitTemplate rabbitTemplate,
+                                                                                ObjectProvider<MeterRegistry> meterRegistry) {
+        var interceptor = new VirtualThreadDispatchInterceptor(properties.getAsyncDispatch().getMaxInFlight(), rabbitTemplate);
+
+        Gauge.builder("message.dispatcher.dispatch.in.flight", interceptor, VirtualThreadDispatchInterceptor::inFlight)
+                .description("Mensagens em processamento nas virtual threads do dispatcher")
+                .register(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+        return interceptor;
+    }
+
+    /**
+     * O ContextClosedEvent é publicado antes da parada dos listener containers: as mensagens em processamento
+     * terminam e recebem o ack pelos canais ainda abertos.
+     * <p>
+     * The ContextClosedEvent is published before the listener containers stop: the messages in flight complete and
+     * are acknowledged on the still open channels.
+     */
+    @Bean
+    protected ApplicationListener<ContextClosedEvent> virtualThreadDispatchDrain(VirtualThreadDispatchInterceptor interceptor,
+                                                                                 MessageDispatcherProperties properties,
+                                                                                 ApplicationContext applicationContext) {
+        var timeout = Duration.ofMillis(properties.getAsyncDispatch().getShutdownTimeout());
+        return event -> {
+            //ignora o encerramento de contextos filhos
+            if (event.getApplicationContext() == applicationContext) {
+                interceptor.drain(timeout);
+            }
+        };
+    }
+}
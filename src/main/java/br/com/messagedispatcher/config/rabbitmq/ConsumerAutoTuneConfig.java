@@ -0,0 +1,36 @@
+package br.com.messagedispatcher.config.rabbitmq;
+
+import br.com.messagedispatcher.config.properties.MessageDispatcherProperties;
+import br.com.messagedispatcher.listener.autotune.ConsumerAutoTuner;
+import br.com.messagedispatcher.listener.autotune.ListenerStatsInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Ajuste automático de consumidores e prefetch ({@code message.dispatcher.auto-tune.enabled=true}).
+ * Consumer and prefetch auto-tuning ({@code message.dispatcher.auto-tune.enabled=true}).
+ */
+@Configuration
+@ConditionalOnProperty(name = "message.dispatcher.auto-tune.enabled", havingValue = "true")
+public class ConsumerAutoTuneConfig {
+
+    @Bean
+    protected ListenerStatsInterceptor listenerStatsInterceptor() {
+        return new ListenerStatsInterceptor();
+    }
+
+    @Bean
+    protected ConsumerAutoTuner consumerAutoTuner(RabbitListenerEndpointRegistry registry, RabbitTemplate rabbitTemplate,
+                                                  ListenerStatsInterceptor listenerStatsInterceptor,
+                                                  MessageDispatcherProperties properties,
+                                                  ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ConsumerAutoTuner(registry, rabbitTemplate, listenerStatsInterceptor, properties,
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+}
@@ -17,10 +17,13 @@
 package br.com.messagedispatcher.config.rabbitmq;
 
 import br.com.messagedispatcher.config.properties.MessageDispatcherProperties;
+import br.com.messagedispatcher.retry.RetryMode;
+import br.com.messagedispatcher.retry.RetryTiers;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarable;
 import org.springframework.amqp.core.Declarables;
 import org.springframework.amqp.core.Exchange;
 import org.springframework.amqp.core.ExchangeBuilder;
@@ -101,6 +104,33 @@ public class ExchangesQueuesBindingConfig {
         );
     }
 
+    /**
+     * Filas de retentativa do modo {@link RetryMode#BROKER}, uma por camada de atraso. As mensagens expiram após o TTL
+     * e são devolvidas pela exchange padrão diretamente para a fila principal.
+     * <p>
+     * Retry queues of the {@link RetryMode#BROKER} mode, one per delay tier. Messages expire after the TTL
+     * and are routed back by the default exchange straight to the main queue.
+     */
+    @Bean
+    @SuppressWarnings("unused")
+    @ConditionalOnProperty(name = "message.dispatcher.retry-mode", havingValue = "broker")
+    public Declarables retryQueues(MessageDispatcherProperties properties) {
+        var retryTiers = RetryTiers.of(properties);
+
+        var queues = retryTiers.distinctDelays().stream()
+                .map(delay -> (Declarable) QueueBuilder
+                        .durable(retryTiers.retryQueueName(delay))
+                        .ttl(Math.toIntExact(delay))
+                        .deadLetterExchange("")
+                        .deadLetterRoutingKey(properties.getQueueName())
+                        .build())
+                .toList();
+
+        queues.forEach(queue -> log.debug("Queue de retentativa {} criada", ((Queue) queue).getName()));
+
+        return new Declarables(queues);
+    }
+
     private void log(String info, Exchange exchange, Queue queue, Binding binding) {
         log.debug("Criando Exchange, Queue e Binding para {}", info);
         log.debug("Exchange {} criada", exchange.getName());
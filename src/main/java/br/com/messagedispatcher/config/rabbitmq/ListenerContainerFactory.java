@@ -1,13 +1,26 @@
 package br.com.messagedispatcher.config.rabbitmq;
 
 import br.com.messagedispatcher.config.properties.MessageDispatcherProperties;
+import br.com.messagedispatcher.listener.autotune.ListenerStatsInterceptor;
+import br.com.messagedispatcher.listener.batch.DebatchingInterceptor;
+import br.com.messagedispatcher.listener.dispatch.VirtualThreadDispatchInterceptor;
+import br.com.messagedispatcher.publisher.batch.HeaderPreservingBatchingStrategy;
+import org.aopalliance.aop.Advice;
+import org.springframework.amqp.core.AcknowledgeMode;
+import org.springframework.amqp.rabbit.config.AbstractRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.config.DirectRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.LocalizedQueueConnectionFactory;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.retry.interceptor.RetryOperationsInterceptor;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Executors;
 
 
@@ -18,21 +31,19 @@ import java.util.concurrent.Executors;
 @Configuration
 public class ListenerContainerFactory {
 
-    @Bean
+    @Bean("rabbitListenerContainerFactory")
+    @ConditionalOnProperty(name = "message.dispatcher.container-type", havingValue = "simple", matchIfMissing = true)
     protected SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(ConnectionFactory connectionFactory,
                                                                                   MessageConverter messageConverter,
                                                                                   RetryOperationsInterceptor retryOperationsInterceptor,
-                                                                                  MessageDispatcherProperties properties) {
+                                                                                  MessageDispatcherProperties properties,
+                                                                                  ObjectProvider<LocalizedQueueConnectionFactory> queueLeaderConnectionFactory,
+                                                                                  ObjectProvider<ListenerStatsInterceptor> listenerStatsInterceptor,
+                                                                                  ObjectProvider<VirtualThreadDispatchInterceptor> dispatchInterceptor) {
 
         SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
-        factory.setConnectionFactory(connectionFactory);
-        factory.setMessageConverter(messageConverter);
-        factory.setDefaultRequeueRejected(false);
-        factory.setAdviceChain(retryOperationsInterceptor);
-        factory.setConsumerTagStrategy(queue -> queue + "-consumer");
-
-        //configura o número de mensagens que serão consumidas de uma vez
-        factory.setPrefetchCount(properties.getPrefetchCount());
+        configure(factory, connectionFactory, messageConverter, retryOperationsInterceptor, properties, queueLeaderConnectionFactory,
+                listenerStatsInterceptor, dispatchInterceptor);
 
         var minConsumers = properties.minConsumers();
         var maxConsumers = properties.maxConsumers();
@@ -44,4 +55,76 @@ public class ListenerContainerFactory {
         factory.setTaskExecutor(Executors.newFixedThreadPool(maxConsumers, Thread.ofVirtual().factory()));
         return factory;
     }
+
+    /**
+     * Container DIRECT: o listener roda na thread de entrega do cliente AMQP (virtual, ver {@code ConnectionFactoryConfig}),
+     * sem a fila interna do SimpleMessageListenerContainer. A quantidade de consumidores por fila vem de
+     * {@code listenerConcurrency()}.
+     * <p>
+     * DIRECT container: the listener runs on the AMQP client delivery thread (virtual, see {@code ConnectionFactoryConfig}),
+     * without the SimpleMessageListenerContainer internal queue. The number of consumers per queue comes from
+     * {@code listenerConcurrency()}.
+     */
+    @Bean("rabbitListenerContainerFactory")
+    @ConditionalOnProperty(name = "message.dispatcher.container-type", havingValue = "direct")
+    protected DirectRabbitListenerContainerFactory directRabbitListenerContainerFactory(ConnectionFactory connectionFactory,
+                                                                                        MessageConverter messageConverter,
+                                                                                        RetryOperationsInterceptor retryOperationsInterceptor,
+                                                                                        MessageDispatcherProperties properties,
+                                                                                        ObjectProvider<LocalizedQueueConnectionFactory> queueLeaderConnectionFactory,
+                                                                                        ObjectProvider<ListenerStatsInterceptor> listenerStatsInterceptor,
+                                                                                        ObjectProvider<VirtualThreadDispatchInterceptor> dispatchInterceptor) {
+
+        DirectRabbitListenerContainerFactory factory = new DirectRabbitListenerContainerFactory();
+        configure(factory, connectionFactory, messageConverter, retryOperationsInterceptor, properties, queueLeaderConnectionFactory,
+                listenerStatsInterceptor, dispatchInterceptor);
+
+        //configura a quantidade de consumidores por fila
+        factory.setConsumersPerQueue(properties.maxConsumers());
+
+        factory.setTaskExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        return factory;
+    }
+
+    private static void configure(AbstractRabbitListenerContainerFactory<?> factory,
+                                  ConnectionFactory connectionFactory,
+                                  MessageConverter messageConverter,
+                                  RetryOperationsInterceptor retryOperationsInterceptor,
+                                  MessageDispatcherProperties properties,
+                                  ObjectProvider<LocalizedQueueConnectionFactory> queueLeaderConnectionFactory,
+                                  ObjectProvider<ListenerStatsInterceptor> listenerStatsInterceptor,
+                                  ObjectProvider<VirtualThreadDispatchInterceptor> dispatchInterceptor) {
+
+        //com connection.queue-leader-locator os consumidores conectam ao nó líder da fila
+        var leaderConnectionFactory = queueLeaderConnectionFactory.getIfAvailable();
+        factory.setConnectionFactory(leaderConnectionFactory != null ? leaderConnectionFactory : connectionFactory);
+        //as respostas de comandos e consultas chegam serializadas no formato da requisição (ver RabbitMqMessageDispatcherListener)
+        factory.setMessageConverter(messageConverter);
+        factory.setDefaultRequeueRejected(false);
+
+        //lotes publicados com message.dispatcher.batch.enabled, entregues ao listener uma mensagem por vez
+        var batch = properties.getBatch();
+        var batchingStrategy = new HeaderPreservingBatchingStrategy(batch.getSize(), batch.getBufferLimit(), batch.getLingerTime());
+        factory.setBatchingStrategy(batchingStrategy);
+
+        List<Advice> adviceChain = new ArrayList<>();
+        //com async-dispatch.enabled o restante da cadeia roda em uma virtual thread por mensagem, com ack manual
+        var virtualThreadDispatch = dispatchInterceptor.getIfAvailable();
+        if (virtualThreadDispatch != null) {
+            adviceChain.add(virtualThreadDispatch);
+            factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+        }
+        //desagrupa antes das retentativas, para que cada mensagem do lote seja retentada e recuperada individualmente
+        adviceChain.add(new DebatchingInterceptor(batchingStrategy));
+        //com auto-tune.enabled a latência e as falhas (após as retentativas) alimentam o ConsumerAutoTuner
+        listenerStatsInterceptor.ifAvailable(adviceChain::add);
+        adviceChain.add(retryOperationsInterceptor);
+        factory.setAdviceChain(adviceChain.toArray(Advice[]::new));
+        factory.setConsumerTagStrategy(queue -> queue + "-consumer");
+        //com tracing.enabled o contexto de trace é restaurado dos headers das mensagens recebidas
+        factory.setObservationEnabled(properties.getTracing().isEnabled());
+
+        //configura o número de mensagens que serão consumidas de uma vez (maior com async-dispatch.enabled)
+        factory.setPrefetchCount(properties.listenerPrefetch());
+    }
 }
@@ -1,6 +1,15 @@
 package br.com.messagedispatcher.config.rabbitmq;
 
 import br.com.messagedispatcher.config.properties.MessageDispatcherProperties;
+import br.com.messagedispatcher.jfr.DeadLetterEvent;
+import br.com.messagedispatcher.metrics.DispatcherMetrics;
+import br.com.messagedispatcher.retry.BrokerRetryMessageRecoverer;
+import br.com.messagedispatcher.retry.ClassifyingMessageRecoverer;
+import br.com.messagedispatcher.retry.MessageDispatcherRetryClassifier;
+import br.com.messagedispatcher.retry.RetryMode;
+import br.com.messagedispatcher.retry.RetryTiers;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,6 +18,7 @@ import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.rabbit.retry.MessageRecoverer;
 import org.springframework.amqp.rabbit.retry.RepublishMessageRecoverer;
 import org.springframework.amqp.rabbit.support.ListenerExecutionFailedException;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -23,7 +33,29 @@ public class MessageRecoverConfig {
     private final Logger log = LoggerFactory.getLogger(MessageRecoverConfig.class);
 
     @Bean
-    protected MessageRecoverer messageRecoverer(RabbitTemplate rabbitTemplate, MessageDispatcherProperties properties) {
+    protected MessageDispatcherRetryClassifier messageDispatcherRetryClassifier(MessageDispatcherProperties properties) {
+        return new MessageDispatcherRetryClassifier(properties.getNonRetryableExceptions());
+    }
+
+    @Bean
+    protected MessageRecoverer messageRecoverer(RabbitTemplate rabbitTemplate, MessageDispatcherProperties properties,
+                                                MessageDispatcherRetryClassifier retryClassifier,
+                                                ObjectProvider<MeterRegistry> meterRegistry,
+                                                DispatcherMetrics metrics) {
+        var deadLetterRecoverer = deadLetterRecoverer(rabbitTemplate, properties, metrics);
+
+        MessageRecoverer recoverer = deadLetterRecoverer;
+        if (properties.getRetryMode() == RetryMode.BROKER) {
+            recoverer = new BrokerRetryMessageRecoverer(rabbitTemplate, RetryTiers.of(properties), deadLetterRecoverer,
+                    metrics.brokerRetries());
+        }
+
+        return new ClassifyingMessageRecoverer(retryClassifier, recoverer, deadLetterRecoverer,
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    private MessageRecoverer deadLetterRecoverer(RabbitTemplate rabbitTemplate, MessageDispatcherProperties properties,
+                                                 DispatcherMetrics metrics) {
         return new RepublishMessageRecoverer(rabbitTemplate,
                 properties.getDeadLetterExchangeName(),
                 properties.getDeadLetterRoutingKey()) {
@@ -39,6 +71,12 @@ public class MessageRecoverConfig {
                     log.debug("Enviando mensagem para dead letter queue.", rootCause);
                 }
 
+                metrics.deadLetter().increment();
+
+                var deadLetterEvent = new DeadLetterEvent();
+                deadLetterEvent.cause(rootCause);
+                deadLetterEvent.commit(message);
+
                 Map<String, Object> headers = message.getMessageProperties().getHeaders();
                 headers.put(EXCEPTION_ROOT_CAUSE, rootCause.getClass().getSimpleName());
                 headers.put(EXCEPTION_MESSAGE, rootCause.getMessage());
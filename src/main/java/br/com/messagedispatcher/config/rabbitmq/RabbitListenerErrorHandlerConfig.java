@@ -1,6 +1,9 @@
 package br.com.messagedispatcher.config.rabbitmq;
 
+import br.com.messagedispatcher.codec.MessageCodecs;
 import br.com.messagedispatcher.exceptions.MessageDispatcherRetryableException;
+import br.com.messagedispatcher.metrics.DispatcherMetrics;
+import br.com.messagedispatcher.metrics.TimedMessageConverter;
 import br.com.messagedispatcher.model.MessageDispatcherRemoteInvocationResult;
 import br.com.messagedispatcher.model.MessageType;
 import org.apache.commons.lang3.StringUtils;
@@ -8,6 +11,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.listener.api.RabbitListenerErrorHandler;
+import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -24,12 +28,17 @@ public class RabbitListenerErrorHandlerConfig {
     private final List<String> retryableMessageTypes = List.of(MessageType.QUERY.name(), MessageType.COMMAND.name());
 
     @Bean
-    public RabbitListenerErrorHandler messageDispatcherErrorHandler() {
+    public RabbitListenerErrorHandler messageDispatcherErrorHandler(MessageCodecs messageCodecs,
+                                                                    MessageConverter messageConverter,
+                                                                    DispatcherMetrics metrics) {
+        var replyConverter = new TimedMessageConverter(messageConverter, metrics.replySerialization());
         return (amqpMessage, channel, message, exception) -> {
             String messageType = (String) amqpMessage.getMessageProperties().getHeaders().get(MessageDispatcherHeaders.MESSAGE_TYPE);
 
             if (retryableMessageTypes.contains(messageType) && shouldReply(amqpMessage)) {
-                return MessageDispatcherRemoteInvocationResult.of(getRootCause(exception));
+                //a resposta de erro segue o formato da requisição, como as respostas do listener
+                return replyConverter.toMessage(MessageDispatcherRemoteInvocationResult.of(getRootCause(exception)),
+                        messageCodecs.replyProperties(amqpMessage));
             } else {
                 log.error("Erro processando mensagem do tipo: {}", messageType, exception);
                 throw new MessageDispatcherRetryableException("Erro processando mensagem do tipo: " + messageType,
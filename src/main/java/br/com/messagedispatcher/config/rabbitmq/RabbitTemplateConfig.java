@@ -1,13 +1,27 @@
 package br.com.messagedispatcher.config.rabbitmq;
 
 import br.com.messagedispatcher.config.properties.MessageDispatcherProperties;
+import br.com.messagedispatcher.publisher.FixedReplyQueues;
+import br.com.messagedispatcher.publisher.ReplyMode;
+import br.com.messagedispatcher.publisher.ReplyModeConfigurer;
+import br.com.messagedispatcher.publisher.batch.HeaderPreservingBatchingStrategy;
+import br.com.messagedispatcher.publisher.connection.MeteredConnectionFactory;
+import br.com.messagedispatcher.publisher.proxy.RabbitTemplateProxy;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.AsyncRabbitTemplate;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.BatchingRabbitTemplate;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
 import java.util.concurrent.Executors;
 
@@ -17,19 +31,27 @@ public class RabbitTemplateConfig {
     private final Logger log = LoggerFactory.getLogger(RabbitTemplateConfig.class);
 
     @Bean
-    protected RabbitTemplate rabbitTemplate(final ConnectionFactory connectionFactory, final MessageConverter messageConverter, final MessageDispatcherProperties properties) {
+    @Primary
+    protected RabbitTemplate rabbitTemplate(final ConnectionFactory connectionFactory, final MessageConverter messageConverter, final MessageDispatcherProperties properties,
+                                            final FixedReplyQueues replyQueues,
+                                            final ObjectProvider<MeterRegistry> meterRegistry) {
         log.debug("Configurando RabbitTemplate");
-        RabbitTemplate template = new RabbitTemplate(connectionFactory);
+        RabbitTemplate template = new RabbitTemplate(meteredConnectionFactory(connectionFactory, meterRegistry));
+        template.setUsePublisherConnection(properties.getConnection().isDedicatedPublisher());
         template.setMessageConverter(messageConverter);
         template.setExchange(properties.getExchangeName());
         template.setRoutingKey(properties.getRoutingKey());
         template.setMandatory(true);
         template.setReplyTimeout(properties.getReplyTimeOut());
+        //com tracing.enabled o contexto de trace é injetado nos headers das mensagens publicadas
+        template.setObservationEnabled(properties.getTracing().isEnabled());
+        if (properties.getReplyMode() == ReplyMode.FIXED) {
+            replyQueues.bind(template);
+        } else {
+            ReplyModeConfigurer.configure(template, properties.getReplyMode(), null);
+        }
         template.setTaskExecutor(Executors.newVirtualThreadPerTaskExecutor());
-        template.addBeforePublishPostProcessors(message -> {
-            message.getMessageProperties().getHeaders().remove("__TypeId__");
-            return message;
-        });
+        template.addBeforePublishPostProcessors(RabbitTemplateProxy::removeTypeId);
 
         template.setConfirmCallback((correlationData, ack, cause) -> {
             if (ack) {
@@ -49,4 +71,77 @@ public class RabbitTemplateConfig {
 
         return template;
     }
+
+    /**
+     * Filas de resposta da instância, declaradas e consumidas apenas a partir da primeira requisição.
+     * Instance reply queues, declared and consumed only from the first request on.
+     */
+    @Bean
+    protected FixedReplyQueues fixedReplyQueues(final ConnectionFactory connectionFactory,
+                                                final MessageDispatcherProperties properties) {
+        return new FixedReplyQueues(connectionFactory, properties.getQueueName());
+    }
+
+    /**
+     * Template assíncrono usado por {@code doCommandAsync}/{@code doQueryAsync}. As respostas chegam por direct
+     * reply-to apenas com {@code reply-mode=direct}; nos demais modos, por uma fila fixa da instância. O timeout é
+     * aplicado por chamada pelo {@code RabbitTemplateProxy}.
+     * <p>
+     * Asynchronous template used by {@code doCommandAsync}/{@code doQueryAsync}. Replies arrive through direct
+     * reply-to only with {@code reply-mode=direct}; in the other modes, through a fixed instance queue. The timeout is
+     * applied per call by the {@code RabbitTemplateProxy}.
+     */
+    @Bean
+    protected AsyncRabbitTemplate asyncRabbitTemplate(final RabbitTemplate rabbitTemplate,
+                                                      final MessageDispatcherProperties properties,
+                                                      final FixedReplyQueues replyQueues) {
+        var asyncTemplate = properties.getReplyMode() == ReplyMode.DIRECT
+                ? new AsyncRabbitTemplate(rabbitTemplate)
+                : replyQueues.asyncTemplate(rabbitTemplate);
+        asyncTemplate.setReceiveTimeout(0);
+        return asyncTemplate;
+    }
+
+    /**
+     * Template usado na publicação em lotes de eventos e notificações ({@code message.dispatcher.batch.enabled=true}).
+     * Os lotes são liberados por quantidade, bytes ou tempo de espera pelo {@link HeaderPreservingBatchingStrategy}.
+     * <p>
+     * Template used for batched publishing of events and notifications ({@code message.dispatcher.batch.enabled=true}).
+     * Batches are released by count, bytes or linger time by the {@link HeaderPreservingBatchingStrategy}.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "message.dispatcher.batch.enabled", havingValue = "true")
+    protected BatchingRabbitTemplate batchingRabbitTemplate(final ConnectionFactory connectionFactory,
+                                                            final MessageConverter messageConverter,
+                                                            final MessageDispatcherProperties properties,
+                                                            final ObjectProvider<MeterRegistry> meterRegistry) {
+        var batch = properties.getBatch();
+        log.debug("Configurando BatchingRabbitTemplate: {}", batch);
+
+        var scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setThreadNamePrefix("message-dispatcher-batch-");
+        scheduler.setDaemon(true);
+        scheduler.initialize();
+
+        var strategy = new HeaderPreservingBatchingStrategy(batch.getSize(), batch.getBufferLimit(), batch.getLingerTime());
+        var template = new BatchingRabbitTemplate(meteredConnectionFactory(connectionFactory, meterRegistry), strategy, scheduler);
+        template.setUsePublisherConnection(properties.getConnection().isDedicatedPublisher());
+        template.setMessageConverter(messageConverter);
+        template.setExchange(properties.getExchangeName());
+        template.setRoutingKey(properties.getRoutingKey());
+        template.setMandatory(true);
+        template.setReturnsCallback(returned -> log.info("Lote retornado: {}", returned.getMessage() +
+                " code: " + returned.getReplyCode() +
+                " reason: " + returned.getReplyText()));
+        return template;
+    }
+
+    /**
+     * Mede o tempo de espera por canais ({@code message.dispatcher.channel.acquisition}) nos templates de publicação.
+     * Measures the channel wait time ({@code message.dispatcher.channel.acquisition}) on the publishing templates.
+     */
+    private static ConnectionFactory meteredConnectionFactory(final ConnectionFactory connectionFactory,
+                                                              final ObjectProvider<MeterRegistry> meterRegistry) {
+        return new MeteredConnectionFactory(connectionFactory, meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
 }
@@ -1,25 +1,47 @@
 package br.com.messagedispatcher.config.rabbitmq;
 
 import br.com.messagedispatcher.config.properties.MessageDispatcherProperties;
+import br.com.messagedispatcher.metrics.DispatcherMetrics;
+import br.com.messagedispatcher.metrics.RetryMetricsListener;
+import br.com.messagedispatcher.retry.MessageDispatcherRetryClassifier;
+import br.com.messagedispatcher.retry.RetryMode;
 import org.springframework.amqp.rabbit.config.RetryInterceptorBuilder;
 import org.springframework.amqp.rabbit.retry.MessageRecoverer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.retry.interceptor.RetryOperationsInterceptor;
+import org.springframework.retry.backoff.ExponentialBackOffPolicy;
+import org.springframework.retry.policy.SimpleRetryPolicy;
+import org.springframework.retry.support.RetryTemplate;
 
 @Configuration
 public class RetryInterceptorConfig {
 
     @Bean
     protected RetryOperationsInterceptor retryOperationsInterceptor(MessageRecoverer messageRecoverer,
-                                                                    MessageDispatcherProperties properties) {
+                                                                    MessageDispatcherRetryClassifier retryClassifier,
+                                                                    MessageDispatcherProperties properties,
+                                                                    DispatcherMetrics metrics) {
+        if (properties.getRetryMode() == RetryMode.BROKER) {
+            // as retentativas são feitas pelo broker, a falha é entregue ao recoverer sem aguardar
+            return RetryInterceptorBuilder.stateless()
+                    .maxAttempts(1)
+                    .recoverer(messageRecoverer).build();
+        }
+
+        var backOffPolicy = new ExponentialBackOffPolicy();
+        backOffPolicy.setInitialInterval(properties.getInitialInterval());
+        backOffPolicy.setMultiplier(properties.getMultiplier());
+        backOffPolicy.setMaxInterval(properties.getMaxInterval());
+
+        // RetryTemplate próprio para registrar o listener que conta as retentativas
+        var retryTemplate = new RetryTemplate();
+        retryTemplate.setRetryPolicy(new SimpleRetryPolicy(properties.getMaxRetryAttempts(), retryClassifier));
+        retryTemplate.setBackOffPolicy(backOffPolicy);
+        retryTemplate.registerListener(new RetryMetricsListener(metrics.localRetries()));
+
         return RetryInterceptorBuilder.stateless()
-                .maxAttempts(properties.getMaxRetryAttempts())
-                .backOffOptions(
-                        properties.getInitialInterval(),
-                        properties.getMultiplier(),
-                        properties.getMaxInterval()
-                )
+                .retryOperations(retryTemplate)
                 .recoverer(messageRecoverer).build();
     }
 }
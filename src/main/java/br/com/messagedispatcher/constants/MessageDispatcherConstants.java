@@ -4,6 +4,24 @@ public final class MessageDispatcherConstants {
     private MessageDispatcherConstants() {
     }
 
+    /**
+     * Índice de handlers gerado em tempo de compilação pelo {@code MessageHandlerIndexProcessor}.
+     * Handler index generated at compile time by the {@code MessageHandlerIndexProcessor}.
+     */
+    public static final String HANDLER_INDEX_LOCATION = "META-INF/message-dispatcher/handlers.index";
+
+    /**
+     * Scripts de criação da tabela de outbox, por banco ({@code h2}, {@code postgresql}, {@code mysql}).
+     * Outbox table creation scripts, per database ({@code h2}, {@code postgresql}, {@code mysql}).
+     */
+    public static final String OUTBOX_SCHEMA_LOCATION = "META-INF/message-dispatcher/outbox-schema-%s.sql";
+
+    /**
+     * Id do listener container do {@code RabbitMqMessageDispatcherListener} no {@code RabbitListenerEndpointRegistry}.
+     * Listener container id of the {@code RabbitMqMessageDispatcherListener} in the {@code RabbitListenerEndpointRegistry}.
+     */
+    public static final String LISTENER_ID = "messageDispatcherListener";
+
     public static class MessageDispatcherHeaders {
         private MessageDispatcherHeaders() {
         }
@@ -18,5 +36,8 @@ public final class MessageDispatcherConstants {
         public static final String EXCEPTION_MESSAGE = HEADER_PREFIX + "exception-message";
         public static final String EXCEPTION_ROOT_CAUSE = HEADER_PREFIX + "exception-root-cause";
         public static final String FAILED_AT = HEADER_PREFIX + "failed-at";
+        public static final String RETRY_ATTEMPT = HEADER_PREFIX + "retry-attempt";
+        public static final String BATCH_FORMAT = HEADER_PREFIX + "batch-format";
+        public static final String BATCH_SIZE = HEADER_PREFIX + "batch-size";
     }
 }
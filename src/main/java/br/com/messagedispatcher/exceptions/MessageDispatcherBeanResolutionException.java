@@ -6,4 +6,8 @@ public class MessageDispatcherBeanResolutionException extends BeanInitialization
     public MessageDispatcherBeanResolutionException(String message) {
         super(message);
     }
+
+    public MessageDispatcherBeanResolutionException(String message, Throwable cause) {
+        super(message, cause);
+    }
 }
@@ -0,0 +1,16 @@
+package br.com.messagedispatcher.exceptions;
+
+import org.springframework.http.HttpStatus;
+
+public class MessagePublisherWindowFullException extends MessagePublisherException {
+
+    private final HttpStatus httpStatus = HttpStatus.SERVICE_UNAVAILABLE;
+
+    public MessagePublisherWindowFullException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public HttpStatus getStatus() {
+        return httpStatus;
+    }
+}
@@ -0,0 +1,23 @@
+package br.com.messagedispatcher.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Mensagem enviada para a dead letter queue; {@code cause} é a classe da causa raiz da falha.
+ * <p>
+ * Message sent to the dead letter queue; {@code cause} is the class of the failure root cause.
+ */
+@Name("br.com.messagedispatcher.DeadLetter")
+@Label("Recovered to DLQ")
+@Description("Message sent to the dead letter queue after exhausting the retries.")
+public class DeadLetterEvent extends DispatchEvent {
+
+    @Label("Cause")
+    String cause;
+
+    public void cause(Throwable rootCause) {
+        cause = rootCause.getClass().getName();
+    }
+}
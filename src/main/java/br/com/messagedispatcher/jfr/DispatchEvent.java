@@ -0,0 +1,99 @@
+package br.com.messagedispatcher.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import org.springframework.amqp.core.Message;
+
+import java.lang.reflect.Method;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import static br.com.messagedispatcher.constants.MessageDispatcherConstants.MessageDispatcherHeaders.BODY_TYPE;
+import static br.com.messagedispatcher.constants.MessageDispatcherConstants.MessageDispatcherHeaders.MESSAGE_TYPE;
+
+/**
+ * Base dos eventos JFR do ciclo de despacho. Os campos são preenchidos a partir da mensagem apenas quando o evento
+ * será gravado ({@link #shouldCommit()}).
+ * O handler é informado por quem o resolveu (o router); eventos emitidos antes disso, ou fora do router, são
+ * correlacionados ao handler pelo tipo da mensagem e do payload. Nos caminhos de cada mensagem os eventos são criados
+ * por {@code start()}, que nem aloca o evento quando nenhuma gravação o habilita.
+ * <p>
+ * Base of the dispatch lifecycle JFR events. Fields are filled from the message only when the event is going to be
+ * recorded ({@link #shouldCommit()}).
+ * The handler is passed by whoever resolved it (the router); events emitted before that, or outside the router, are
+ * correlated to the handler by message type and body type. On per-message paths the events are created by
+ * {@code start()}, which does not even allocate the event when no recording enables it.
+ */
+@Category("Message Dispatcher")
+@StackTrace(false)
+public abstract class DispatchEvent extends Event {
+
+    @Label("Message Type")
+    String messageType;
+
+    @Label("Body Type")
+    String bodyType;
+
+    @Label("Handler")
+    String handler;
+
+    @Label("Payload Size")
+    @DataAmount
+    int payloadSize;
+
+    /**
+     * Preenche os campos e grava o evento, se habilitado.
+     * Fills the fields and records the event, if enabled.
+     */
+    public void commit(Message message) {
+        commit(message, null);
+    }
+
+    /**
+     * Preenche os campos, incluindo o handler que processa a mensagem, e grava o evento, se habilitado.
+     * Fills the fields, including the handler that processes the message, and records the event, if enabled.
+     */
+    public void commit(Message message, Method handlerMethod) {
+        if (shouldCommit()) {
+            describe(message, handlerMethod);
+            commit();
+        }
+    }
+
+    /**
+     * Preenche os campos a partir da mensagem, para eventos cuja mensagem não está disponível na gravação.
+     * Fills the fields from the message, for events whose message is not available when recording.
+     */
+    public void describe(Message message) {
+        describe(message, null);
+    }
+
+    void describe(Message message, Method handlerMethod) {
+        var properties = message.getMessageProperties();
+        messageType = Objects.toString(properties.getHeader(MESSAGE_TYPE), null);
+        bodyType = Objects.toString(properties.getHeader(BODY_TYPE), null);
+        handler = handlerMethod == null ? null : handlerMethod.getDeclaringClass().getSimpleName() + "#" + handlerMethod.getName();
+        payloadSize = payloadSize(message);
+    }
+
+    /**
+     * Cria e inicia o evento apenas se alguma gravação o habilita; caso contrário retorna null.
+     * Creates and begins the event only if a recording enables it; otherwise returns null.
+     */
+    static <E extends DispatchEvent> E start(EventType type, Supplier<E> factory) {
+        if (!type.isEnabled()) {
+            return null;
+        }
+        var event = factory.get();
+        event.begin();
+        return event;
+    }
+
+    static int payloadSize(Message message) {
+        return message.getBody() == null ? 0 : message.getBody().length;
+    }
+}
@@ -0,0 +1,34 @@
+package br.com.messagedispatcher.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Execução do handler da mensagem; {@code exception} é a classe da exceção lançada pelo handler, se houver.
+ * <p>
+ * Execution of the message handler; {@code exception} is the class of the exception thrown by the handler, if any.
+ */
+@Name("br.com.messagedispatcher.HandlerInvoked")
+@Label("Handler Invoked")
+@Description("Execution of the message handler.")
+public class HandlerInvokedEvent extends DispatchEvent {
+
+    private static final EventType TYPE = EventType.getEventType(HandlerInvokedEvent.class);
+
+    @Label("Exception")
+    String exception;
+
+    /**
+     * Evento iniciado, ou null sem gravação que o habilite.
+     * Begun event, or null without a recording that enables it.
+     */
+    public static HandlerInvokedEvent start() {
+        return start(TYPE, HandlerInvokedEvent::new);
+    }
+
+    public void failed(Throwable e) {
+        exception = e.getClass().getName();
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.messagedispatcher.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Deserialização do payload da mensagem para o tipo do parâmetro do handler.
+ * <p>
+ * Deserialization of the message payload into the handler parameter type.
+ */
+@Name("br.com.messagedispatcher.MessageDeserialized")
+@Label("Message Deserialized")
+@Description("Deserialization of the message payload into the handler parameter type.")
+public class MessageDeserializedEvent extends DispatchEvent {
+
+    private static final EventType TYPE = EventType.getEventType(MessageDeserializedEvent.class);
+
+    /**
+     * Evento iniciado, ou null sem gravação que o habilite.
+     * Begun event, or null without a recording that enables it.
+     */
+    public static MessageDeserializedEvent start() {
+        return start(TYPE, MessageDeserializedEvent::new);
+    }
+}
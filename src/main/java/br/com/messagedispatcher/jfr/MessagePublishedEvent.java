@@ -0,0 +1,27 @@
+package br.com.messagedispatcher.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Publicação de uma mensagem pelo RabbitTemplateProxy, incluindo a serialização e o envio ao broker.
+ * <p>
+ * Message publishing by the RabbitTemplateProxy, including serialization and the send to the broker.
+ */
+@Name("br.com.messagedispatcher.MessagePublished")
+@Label("Message Published")
+@Description("Message publishing by the RabbitTemplateProxy, including serialization and the send to the broker.")
+public class MessagePublishedEvent extends DispatchEvent {
+
+    private static final EventType TYPE = EventType.getEventType(MessagePublishedEvent.class);
+
+    /**
+     * Evento iniciado, ou null sem gravação que o habilite.
+     * Begun event, or null without a recording that enables it.
+     */
+    public static MessagePublishedEvent start() {
+        return start(TYPE, MessagePublishedEvent::new);
+    }
+}
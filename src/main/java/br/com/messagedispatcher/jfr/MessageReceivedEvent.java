@@ -0,0 +1,27 @@
+package br.com.messagedispatcher.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Processamento de uma mensagem recebida pelo listener, da entrega ao fim do roteamento.
+ * <p>
+ * Processing of a message received by the listener, from delivery to the end of routing.
+ */
+@Name("br.com.messagedispatcher.MessageReceived")
+@Label("Message Received")
+@Description("Processing of a message received by the listener, from delivery to the end of routing.")
+public class MessageReceivedEvent extends DispatchEvent {
+
+    private static final EventType TYPE = EventType.getEventType(MessageReceivedEvent.class);
+
+    /**
+     * Evento iniciado, ou null sem gravação que o habilite.
+     * Begun event, or null without a recording that enables it.
+     */
+    public static MessageReceivedEvent start() {
+        return start(TYPE, MessageReceivedEvent::new);
+    }
+}
@@ -0,0 +1,40 @@
+package br.com.messagedispatcher.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.springframework.amqp.core.Message;
+
+/**
+ * Resposta montada para um comando ou consulta; os tipos são os da requisição e o tamanho do payload é o da resposta.
+ * <p>
+ * Reply built for a command or query; the types are those of the request and the payload size is that of the reply.
+ */
+@Name("br.com.messagedispatcher.ReplySent")
+@Label("Reply Sent")
+@Description("Reply built for a command or query; the payload size is that of the reply.")
+public class ReplySentEvent extends DispatchEvent {
+
+    private static final EventType TYPE = EventType.getEventType(ReplySentEvent.class);
+
+    /**
+     * Evento iniciado, ou null sem gravação que o habilite.
+     * Begun event, or null without a recording that enables it.
+     */
+    public static ReplySentEvent start() {
+        return start(TYPE, ReplySentEvent::new);
+    }
+
+    /**
+     * Grava o evento com os tipos da requisição e o tamanho da resposta, se habilitado.
+     * Records the event with the request types and the reply size, if enabled.
+     */
+    public void commit(Message request, Message reply) {
+        if (shouldCommit()) {
+            describe(request);
+            payloadSize = payloadSize(reply);
+            commit();
+        }
+    }
+}
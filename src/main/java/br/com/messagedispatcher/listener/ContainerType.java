@@ -0,0 +1,26 @@
+package br.com.messagedispatcher.listener;
+
+/**
+ * Tipo de listener container usado pelo {@link RabbitMqMessageDispatcherListener}.
+ * Listener container type used by the {@link RabbitMqMessageDispatcherListener}.
+ */
+public enum ContainerType {
+
+    /**
+     * {@code SimpleMessageListenerContainer}: cada consumidor tem uma thread própria que recebe as entregas do cliente
+     * AMQP através de uma fila interna. A quantidade de consumidores varia entre os limites de {@code concurrency}.
+     * <p>
+     * {@code SimpleMessageListenerContainer}: each consumer has its own thread that receives the AMQP client
+     * deliveries through an internal queue. The number of consumers varies within the {@code concurrency} bounds.
+     */
+    SIMPLE,
+
+    /**
+     * {@code DirectMessageListenerContainer}: o listener é invocado diretamente na thread de entrega do cliente AMQP,
+     * sem a troca de contexto da fila interna. O limite superior de {@code concurrency} define os consumidores por fila.
+     * <p>
+     * {@code DirectMessageListenerContainer}: the listener is invoked directly on the AMQP client delivery thread,
+     * without the internal queue context switch. The upper bound of {@code concurrency} sets the consumers per queue.
+     */
+    DIRECT
+}
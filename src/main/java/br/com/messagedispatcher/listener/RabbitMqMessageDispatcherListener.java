@@ -18,20 +18,24 @@
 package br.com.messagedispatcher.listener;
 
 import br.com.messagedispatcher.MessageDispatcherListener;
+import br.com.messagedispatcher.codec.MessageCodecs;
 import br.com.messagedispatcher.exceptions.MessageDispatcherLoggerException;
+import br.com.messagedispatcher.jfr.MessageReceivedEvent;
+import br.com.messagedispatcher.jfr.ReplySentEvent;
 import br.com.messagedispatcher.model.MessageDispatcherRemoteInvocationResult;
 import br.com.messagedispatcher.router.MessageRouter;
+import br.com.messagedispatcher.tracing.HandlerObservation;
 import br.com.messagedispatcher.util.EnvironmentUtils;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.converter.MessageConverter;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
 
+import static br.com.messagedispatcher.constants.MessageDispatcherConstants.LISTENER_ID;
 import static br.com.messagedispatcher.constants.MessageDispatcherConstants.MessageDispatcherHeaders.*;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 
@@ -39,6 +43,12 @@ import static org.apache.commons.lang3.StringUtils.isNotBlank;
  * Classe responsável por receber as mensagens do RabbitMQ e despachá-las para a implementação de {@link MessageRouter}.
  * <p>
  * Class responsible for receiving messages from RabbitMQ and dispatching them to the {@link MessageRouter} implementation.
+ * <p>
+ * As respostas de comandos e consultas são serializadas aqui, no formato em que a requisição foi lida, de forma que
+ * solicitantes que ainda usam JSON recebem JSON mesmo quando a aplicação publica em um formato binário.
+ * <p>
+ * Command and query replies are serialized here, in the format the request was read with, so requesters still on
+ * JSON get JSON back even when the application publishes in a binary format.
  *
  * @author Cleber Souza
  * @version 1.0
@@ -51,42 +61,63 @@ public class RabbitMqMessageDispatcherListener implements MessageDispatcherListe
 
     private final MessageRouter messageRouter;
 
-    private final ObjectMapper objectMapper;
+    private final MessageCodecs messageCodecs;
+
+    private final MessageConverter replyConverter;
+
+    private final HandlerObservation handlerObservation;
 
     private static final String returnExceptions = "false";
 
-    public RabbitMqMessageDispatcherListener(MessageRouter messageRouter, ObjectMapper objectMapper) {
+    public RabbitMqMessageDispatcherListener(MessageRouter messageRouter, MessageCodecs messageCodecs,
+                                             MessageConverter replyConverter, HandlerObservation handlerObservation) {
         this.messageRouter = messageRouter;
-        this.objectMapper = objectMapper;
+        this.messageCodecs = messageCodecs;
+        this.replyConverter = replyConverter;
+        this.handlerObservation = handlerObservation;
         log.debug("MessageDispatcherListener inicializado com o MessageRouter: {} ", messageRouter.getClass().getSimpleName());
     }
 
-    @RabbitListener(queues = "#{@messageDispatcherProperties.queueName}",
-            concurrency = "#{@messageDispatcherProperties.concurrency}",
+    @RabbitListener(id = LISTENER_ID, queues = "#{@messageDispatcherProperties.queueName}",
+            concurrency = "#{@messageDispatcherProperties.listenerConcurrency()}",
             returnExceptions = returnExceptions, errorHandler = "messageDispatcherErrorHandler")
     @Override
-    public MessageDispatcherRemoteInvocationResult onMessage(Message message) {
+    public Message onMessage(Message message) {
         if (log.isDebugEnabled()) {
 //            sleep();
             log(message);
         }
 
-        var resultProcess = messageRouter.routeMessage(message);
+        var receivedEvent = MessageReceivedEvent.start();
+        Object resultProcess;
+        try {
+            resultProcess = handlerObservation.route(message, messageRouter);
+        } finally {
+            if (receivedEvent != null) {
+                receivedEvent.commit(message);
+            }
+        }
 
         if (resultProcess == null) {
             return null;
         }
 
         if (requiresReplyTo(message)) {
+            var replyEvent = ReplySentEvent.start();
             setResponseHeaders(message);
-            return buildResponse(resultProcess);
+            var response = buildResponse(resultProcess, message);
+            if (replyEvent != null) {
+                replyEvent.commit(message, response);
+            }
+            return response;
         }
 
         return null;
     }
 
-    private MessageDispatcherRemoteInvocationResult buildResponse(Object resultProcess) {
-        return MessageDispatcherRemoteInvocationResult.of(resultProcess);
+    private Message buildResponse(Object resultProcess, Message request) {
+        return replyConverter.toMessage(MessageDispatcherRemoteInvocationResult.of(resultProcess),
+                messageCodecs.replyProperties(request));
     }
 
     @SuppressWarnings("unused")
@@ -114,7 +145,8 @@ public class RabbitMqMessageDispatcherListener implements MessageDispatcherListe
                             .getHeaders().get(MESSAGE_TYPE),
                     message.getMessageProperties()
                             .getHeaders().get(BODY_TYPE),
-                    objectMapper.readValue(message.getBody(), JsonNode.class));
+                    messageCodecs.forContentType(message.getMessageProperties().getContentType())
+                            .objectMapper().readTree(message.getBody()));
         } catch (IOException e) {
             throw new MessageDispatcherLoggerException("Erro ao gerar logs", e);
         }
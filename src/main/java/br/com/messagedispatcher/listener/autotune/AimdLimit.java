@@ -0,0 +1,78 @@
+package br.com.messagedispatcher.listener.autotune;
+
+/**
+ * Algoritmo AIMD (additive increase, multiplicative decrease) para consumidores e prefetch.
+ * <p>
+ * Com fila acumulada além do que os consumidores já têm em mãos ({@code consumers * prefetch}), latência dentro do
+ * alvo e taxa de erro aceitável, soma um consumidor e {@code prefetchStep} ao prefetch. Com latência acima do alvo ou
+ * taxa de erro acima do limite, reduz ambos pela metade. Nos demais casos mantém os valores.
+ * <p>
+ * AIMD (additive increase, multiplicative decrease) algorithm for consumers and prefetch.
+ * <p>
+ * With a backlog larger than what the consumers already hold ({@code consumers * prefetch}), latency within the target
+ * and an acceptable error rate, it adds one consumer and {@code prefetchStep} to the prefetch. With latency above the
+ * target or error rate above the limit, it halves both. Otherwise it keeps the current values.
+ */
+public class AimdLimit {
+
+    private static final double DECREASE_FACTOR = 0.5;
+
+    private final int minConsumers;
+    private final int maxConsumers;
+    private final int minPrefetch;
+    private final int maxPrefetch;
+    private final int prefetchStep;
+    private final double targetLatencyMs;
+    private final double maxErrorRate;
+
+    public AimdLimit(int minConsumers, int maxConsumers, int minPrefetch, int maxPrefetch, int prefetchStep,
+                     double targetLatencyMs, double maxErrorRate) {
+        this.minConsumers = minConsumers;
+        this.maxConsumers = maxConsumers;
+        this.minPrefetch = minPrefetch;
+        this.maxPrefetch = maxPrefetch;
+        this.prefetchStep = prefetchStep;
+        this.targetLatencyMs = targetLatencyMs;
+        this.maxErrorRate = maxErrorRate;
+    }
+
+    public Decision next(ListenerStatsInterceptor.Stats stats, long queueDepth, int consumers, int prefetch) {
+        if (stats.processed() > 0 && stats.errorRate() > maxErrorRate) {
+            return decrease(consumers, prefetch, Reason.ERROR_RATE);
+        }
+        if (stats.processed() > 0 && stats.averageLatencyMs() > targetLatencyMs) {
+            return decrease(consumers, prefetch, Reason.LATENCY);
+        }
+        if (queueDepth > (long) consumers * prefetch) {
+            var decision = new Decision(Math.min(maxConsumers, consumers + 1),
+                    Math.min(maxPrefetch, prefetch + prefetchStep), Reason.BACKLOG);
+            return decision.changed(consumers, prefetch) ? decision : new Decision(consumers, prefetch, Reason.AT_LIMIT);
+        }
+        return new Decision(consumers, prefetch, Reason.STABLE);
+    }
+
+    private Decision decrease(int consumers, int prefetch, Reason reason) {
+        var decision = new Decision(Math.max(minConsumers, (int) (consumers * DECREASE_FACTOR)),
+                Math.max(minPrefetch, (int) (prefetch * DECREASE_FACTOR)), reason);
+        return decision.changed(consumers, prefetch) ? decision : new Decision(consumers, prefetch, Reason.AT_LIMIT);
+    }
+
+    /**
+     * Motivo da decisão, exposto na tag {@code reason} das métricas.
+     * Reason of the decision, exposed on the {@code reason} metric tag.
+     */
+    public enum Reason {
+        BACKLOG, LATENCY, ERROR_RATE, STABLE, AT_LIMIT;
+
+        public String tag() {
+            return name().toLowerCase().replace('_', '-');
+        }
+    }
+
+    public record Decision(int consumers, int prefetch, Reason reason) {
+
+        public boolean changed(int currentConsumers, int currentPrefetch) {
+            return consumers != currentConsumers || prefetch != currentPrefetch;
+        }
+    }
+}
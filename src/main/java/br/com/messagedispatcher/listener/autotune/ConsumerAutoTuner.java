@@ -0,0 +1,170 @@
+package br.com.messagedispatcher.listener.autotune;
+
+import br.com.messagedispatcher.config.properties.MessageDispatcherProperties;
+import br.com.messagedispatcher.listener.ContainerType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.DirectMessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.MessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static br.com.messagedispatcher.constants.MessageDispatcherConstants.LISTENER_ID;
+
+/**
+ * Ajusta periodicamente os consumidores e o prefetch do listener container do dispatcher com o {@link AimdLimit},
+ * a partir da latência e taxa de erro medidas pelo {@link ListenerStatsInterceptor} e da profundidade da fila
+ * (declaração passiva).
+ * <p>
+ * No container SIMPLE o auto tuner assume o controle da escala de consumidores ({@code concurrentConsumers} e
+ * {@code maxConcurrentConsumers} recebem o mesmo valor). O prefetch de um consumidor é fixado quando ele inicia, então
+ * uma alteração de prefetch reinicia os consumidores do container SIMPLE, que terminam as mensagens já recebidas antes
+ * de parar. No container DIRECT e com {@code async-dispatch.enabled} os consumidores não são reiniciados e o prefetch
+ * fica fixo no valor aplicado pelo container factory. Os gauges expõem apenas os valores aplicados aos consumidores.
+ * <p>
+ * Periodically adjusts the dispatcher listener container consumers and prefetch with the {@link AimdLimit},
+ * based on the latency and error rate measured by the {@link ListenerStatsInterceptor} and on the queue depth
+ * (passive declare).
+ * <p>
+ * On the SIMPLE container the auto tuner takes over consumer scaling ({@code concurrentConsumers} and
+ * {@code maxConcurrentConsumers} get the same value). A consumer's prefetch is fixed when it starts, so a prefetch
+ * change restarts the SIMPLE container consumers, which finish the messages already received before stopping. On the
+ * DIRECT container and with {@code async-dispatch.enabled} the consumers are not restarted and the prefetch stays at
+ * the value applied by the container factory. The gauges only expose the values applied to the consumers.
+ */
+public class ConsumerAutoTuner {
+
+    public static final String CONSUMERS_METRIC = "message.dispatcher.autotune.consumers";
+    public static final String PREFETCH_METRIC = "message.dispatcher.autotune.prefetch";
+    public static final String QUEUE_DEPTH_METRIC = "message.dispatcher.autotune.queue.depth";
+    public static final String ADJUSTMENTS_METRIC = "message.dispatcher.autotune.adjustments";
+
+    private static final Logger log = LoggerFactory.getLogger(ConsumerAutoTuner.class);
+
+    private final RabbitListenerEndpointRegistry registry;
+    private final RabbitTemplate rabbitTemplate;
+    private final ListenerStatsInterceptor statsInterceptor;
+    private final AimdLimit limit;
+    private final MeterRegistry meterRegistry;
+    private final String queueName;
+    private final long interval;
+
+    private final AtomicInteger consumers;
+    private final AtomicInteger prefetch;
+    private final AtomicLong queueDepth = new AtomicLong();
+
+    private final ScheduledExecutorService scheduler = new ScheduledThreadPoolExecutor(1,
+            Thread.ofPlatform().name("message-dispatcher-autotune").daemon().factory());
+
+    public ConsumerAutoTuner(RabbitListenerEndpointRegistry registry, RabbitTemplate rabbitTemplate,
+                             ListenerStatsInterceptor statsInterceptor, MessageDispatcherProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.registry = registry;
+        this.rabbitTemplate = rabbitTemplate;
+        this.statsInterceptor = statsInterceptor;
+        this.meterRegistry = meterRegistry;
+        this.queueName = properties.getQueueName();
+
+        var autoTune = properties.getAutoTune();
+        this.interval = autoTune.getInterval();
+        // os valores iniciais são os aplicados pelo ListenerContainerFactory; com async-dispatch as mensagens são
+        // confirmadas no canal do consumidor depois que ele as entrega, então os consumidores não são reiniciados
+        var initialPrefetch = properties.listenerPrefetch();
+        var prefetchTunable = properties.getContainerType() == ContainerType.SIMPLE
+                && !properties.getAsyncDispatch().isEnabled();
+        this.limit = new AimdLimit(properties.minConsumers(), properties.maxConsumers(),
+                prefetchTunable ? Math.min(autoTune.getMinPrefetch(), initialPrefetch) : initialPrefetch,
+                prefetchTunable ? Math.max(autoTune.getMaxPrefetch(), initialPrefetch) : initialPrefetch,
+                autoTune.getPrefetchStep(), autoTune.getTargetLatency(), autoTune.getMaxErrorRate());
+
+        var initialConsumers = properties.getContainerType() == ContainerType.DIRECT
+                ? properties.maxConsumers() : properties.minConsumers();
+        this.consumers = meterRegistry.gauge(CONSUMERS_METRIC, new AtomicInteger(initialConsumers));
+        this.prefetch = meterRegistry.gauge(PREFETCH_METRIC, new AtomicInteger(initialPrefetch));
+        meterRegistry.gauge(QUEUE_DEPTH_METRIC, queueDepth);
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::tune, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    void tune() {
+        try {
+            var container = registry.getListenerContainer(LISTENER_ID);
+            if (container == null || !container.isRunning()) {
+                return;
+            }
+
+            var stats = statsInterceptor.snapshot();
+            queueDepth.set(queueDepth());
+
+            var decision = limit.next(stats, queueDepth.get(), consumers.get(), prefetch.get());
+            if (!decision.changed(consumers.get(), prefetch.get())) {
+                return;
+            }
+
+            log.info("Ajustando consumidores {} -> {} e prefetch {} -> {} ({}): {} mensagens, latência média {} ms, " +
+                            "taxa de erro {}, fila {}",
+                    consumers.get(), decision.consumers(), prefetch.get(), decision.prefetch(), decision.reason().tag(),
+                    stats.processed(), String.format("%.1f", stats.averageLatencyMs()),
+                    String.format("%.3f", stats.errorRate()), queueDepth.get());
+
+            apply(container, decision);
+            Counter.builder(ADJUSTMENTS_METRIC)
+                    .description("Ajustes de consumidores e prefetch feitos pelo auto tuner")
+                    .tag("reason", decision.reason().tag())
+                    .register(meterRegistry)
+                    .increment();
+        } catch (Exception e) {
+            log.warn("Erro ao ajustar consumidores e prefetch: {}", e.getMessage(), e);
+        }
+    }
+
+    private long queueDepth() {
+        Long depth = rabbitTemplate.execute(channel -> (long) channel.queueDeclarePassive(queueName).getMessageCount());
+        return depth == null ? 0 : depth;
+    }
+
+    private void apply(MessageListenerContainer container, AimdLimit.Decision decision) {
+        var newConsumers = decision.consumers();
+
+        if (container instanceof SimpleMessageListenerContainer simple) {
+            // o prefetch é alterado antes, para valer nos consumidores iniciados pelo ajuste de concorrência
+            simple.setPrefetchCount(decision.prefetch());
+            if (newConsumers > consumers.get()) {
+                simple.setMaxConcurrentConsumers(newConsumers);
+                simple.setConcurrentConsumers(newConsumers);
+            } else {
+                simple.setConcurrentConsumers(newConsumers);
+                simple.setMaxConcurrentConsumers(newConsumers);
+            }
+            if (decision.prefetch() != prefetch.get()) {
+                // redefinir as filas cancela os consumidores, que terminam as mensagens já recebidas, e os reinicia
+                // com o novo prefetch
+                simple.setQueueNames(simple.getQueueNames());
+            }
+            prefetch.set(decision.prefetch());
+        } else if (container instanceof DirectMessageListenerContainer direct) {
+            direct.setConsumersPerQueue(newConsumers);
+        }
+
+        consumers.set(newConsumers);
+    }
+}
@@ -0,0 +1,57 @@
+package br.com.messagedispatcher.listener.autotune;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Advice do listener container que acumula latência e falhas do processamento das mensagens (incluindo as
+ * retentativas locais) para o {@link ConsumerAutoTuner}.
+ * <p>
+ * Listener container advice that accumulates message processing latency and failures (including local retries)
+ * for the {@link ConsumerAutoTuner}.
+ */
+public class ListenerStatsInterceptor implements MethodInterceptor {
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        var start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            errors.increment();
+            throw e;
+        } finally {
+            totalNanos.add(System.nanoTime() - start);
+            count.increment();
+        }
+    }
+
+    /**
+     * Retorna as estatísticas acumuladas desde a última chamada e reinicia os contadores.
+     * Returns the statistics accumulated since the last call and resets the counters.
+     */
+    public Stats snapshot() {
+        var processed = count.sumThenReset();
+        var failed = errors.sumThenReset();
+        var nanos = totalNanos.sumThenReset();
+        return new Stats(processed, failed, processed == 0 ? 0 : nanos / processed / 1_000_000.0);
+    }
+
+    /**
+     * @param processed        - mensagens processadas no intervalo
+     * @param errors           - mensagens que falharam no intervalo
+     * @param averageLatencyMs - latência média em ms
+     */
+    public record Stats(long processed, long errors, double averageLatencyMs) {
+
+        public double errorRate() {
+            return processed == 0 ? 0 : (double) errors / processed;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package br.com.messagedispatcher.listener.batch;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.batch.BatchingStrategy;
+import org.springframework.aop.ProxyMethodInvocation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Advice do listener container que desagrupa os lotes antes das retentativas. O container desagrupa dentro da cadeia
+ * de advices, de forma que uma mensagem com falha faria o lote inteiro ser retentado (reprocessando as demais) e
+ * enviado à dead letter queue. Aqui cada mensagem do lote segue pelo restante da cadeia individualmente: as
+ * retentativas e o recoverer atuam apenas sobre a mensagem que falhou, e as demais seguem normalmente.
+ * <p>
+ * Se o recoverer de uma mensagem também falhar, as mensagens seguintes do lote ainda são processadas, e só então a
+ * primeira falha é lançada (as demais como suprimidas), para que a entrega seja rejeitada como a de uma mensagem
+ * avulsa cujo recoverer falhou. Como a entrega é o lote inteiro, um requeue reprocessa também as mensagens que não
+ * falharam.
+ * <p>
+ * Deve ficar antes do {@code RetryOperationsInterceptor} e depois do {@code VirtualThreadDispatchInterceptor}, que
+ * confirma a entrega (o lote inteiro) uma única vez.
+ * <p>
+ * Listener container advice that splits batches before the retries. The container splits batches inside the advice
+ * chain, so one failing message would make the whole batch be retried (processing its siblings again) and sent to the
+ * dead letter queue. Here each message of the batch goes through the rest of the chain on its own: retries and the
+ * recoverer only act on the failing message, and its siblings proceed normally.
+ * <p>
+ * If the recoverer of a message fails too, the following messages of the batch are still processed, and only then
+ * the first failure is thrown (the others as suppressed), so the delivery is rejected like that of a single message
+ * whose recoverer failed. Since the delivery is the whole batch, a requeue also reprocesses the messages that did not
+ * fail.
+ * <p>
+ * It must come before the {@code RetryOperationsInterceptor} and after the {@code VirtualThreadDispatchInterceptor},
+ * which acknowledges the delivery (the whole batch) only once.
+ */
+public class DebatchingInterceptor implements MethodInterceptor {
+
+    private final BatchingStrategy batchingStrategy;
+
+    public DebatchingInterceptor(BatchingStrategy batchingStrategy) {
+        this.batchingStrategy = batchingStrategy;
+    }
+
+    /**
+     * @param invocation - {@code invokeListener(Channel, Object)} do container
+     */
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        var arguments = invocation.getArguments();
+        if (!(invocation instanceof ProxyMethodInvocation proxyInvocation)
+                || !(arguments[1] instanceof Message message)
+                || !batchingStrategy.canDebatch(message.getMessageProperties())) {
+            return invocation.proceed();
+        }
+
+        List<Message> fragments = new ArrayList<>();
+        batchingStrategy.deBatch(message, fragments::add);
+        Throwable failure = null;
+        for (var fragment : fragments) {
+            try {
+                proxyInvocation.invocableClone(arguments[0], fragment).proceed();
+            } catch (Throwable e) {
+                // uma falha não impede as mensagens seguintes do lote
+                if (failure == null) {
+                    failure = e;
+                } else if (failure != e) {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return null;
+    }
+}
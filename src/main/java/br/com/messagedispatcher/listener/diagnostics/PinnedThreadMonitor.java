@@ -0,0 +1,135 @@
+package br.com.messagedispatcher.listener.diagnostics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Consome os eventos JFR {@code jdk.VirtualThreadPinned} da própria JVM e os atribui ao handler que estava em
+ * execução, identificado pelo frame mais externo da pilha que pertence a uma classe {@code @MessageListener}.
+ * O tempo fixado é registrado no timer {@value #PINNED_METRIC} com a tag {@code handler}; eventos fora dos
+ * handlers recebem {@code handler=none}.
+ * <p>
+ * Consumes the JVM's own {@code jdk.VirtualThreadPinned} JFR events and attributes them to the handler that was
+ * running, identified by the outermost stack frame that belongs to a {@code @MessageListener} class. The pinned time
+ * is recorded on the {@value #PINNED_METRIC} timer with the {@code handler} tag; events outside handlers get
+ * {@code handler=none}.
+ */
+public class PinnedThreadMonitor implements AutoCloseable {
+
+    public static final String PINNED_METRIC = "message.dispatcher.handler.pinned";
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    static final String NO_HANDLER = "none";
+
+    private static final Logger log = LoggerFactory.getLogger(PinnedThreadMonitor.class);
+
+    private final Set<String> listenerClassNames;
+    private final Duration threshold;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    private RecordingStream stream;
+
+    public PinnedThreadMonitor(Set<String> listenerClassNames, Duration threshold, MeterRegistry meterRegistry) {
+        this.listenerClassNames = listenerClassNames;
+        this.threshold = threshold;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public synchronized void start() {
+        if (stream != null) {
+            return;
+        }
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("Diagnóstico de virtual threads fixadas (pinning) habilitado, limite de {} ms", threshold.toMillis());
+    }
+
+    private void onPinned(RecordedEvent event) {
+        var stackTrace = event.getStackTrace();
+        var frames = stackTrace == null ? List.<String>of() : stackTrace.getFrames().stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .map(frame -> frame.getMethod().getType().getName() + "#" + frame.getMethod().getName())
+                .toList();
+
+        var handler = attribute(frames);
+        var duration = event.getDuration();
+
+        timers.computeIfAbsent(handler, tag -> {
+            if (!NO_HANDLER.equals(tag)) {
+                log.warn("Handler {} fixou (pinning) a carrier thread por {} ms. Evite synchronized e chamadas nativas " +
+                        "bloqueantes no handler. Ocorrências seguintes são registradas apenas na métrica {}.",
+                        tag, duration.toMillis(), PINNED_METRIC);
+            }
+            return Timer.builder(PINNED_METRIC)
+                    .description("Tempo em que virtual threads ficaram fixadas (pinned) à carrier thread")
+                    .tag("handler", tag)
+                    .register(meterRegistry);
+        }).record(duration);
+
+        if (log.isDebugEnabled()) {
+            log.debug("Virtual thread fixada por {} ms no handler {}: {}", duration.toMillis(), handler, frames);
+        }
+    }
+
+    /**
+     * Retorna o handler ({@code ClasseSimples#metodo}) do frame mais externo pertencente a um listener, ou
+     * {@value #NO_HANDLER}.
+     * <p>
+     * Returns the handler ({@code SimpleClass#method}) of the outermost frame that belongs to a listener, or
+     * {@value #NO_HANDLER}.
+     *
+     * @param frames - frames no formato {@code nome.qualificado.Classe#metodo}, do topo para a base da pilha
+     */
+    String attribute(List<String> frames) {
+        for (int i = frames.size() - 1; i >= 0; i--) {
+            var frame = frames.get(i);
+            var separator = frame.indexOf('#');
+            var className = frame.substring(0, separator);
+            if (listenerClassNames.contains(className)) {
+                var simpleName = className.substring(Math.max(className.lastIndexOf('.'), className.lastIndexOf('$')) + 1);
+                return simpleName + frame.substring(separator);
+            }
+        }
+        return NO_HANDLER;
+    }
+
+    /**
+     * Métodos {@code synchronized} declarados na classe, que fixam a carrier thread quando bloqueiam dentro de uma
+     * virtual thread.
+     * <p>
+     * {@code synchronized} methods declared by the class, which pin the carrier thread when they block inside a
+     * virtual thread.
+     */
+    public static List<String> synchronizedMethods(Class<?> type) {
+        return Arrays.stream(type.getDeclaredMethods())
+                .filter(method -> Modifier.isSynchronized(method.getModifiers()))
+                .map(Method::getName)
+                .sorted()
+                .toList();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package br.com.messagedispatcher.listener.dispatch;
+
+import com.rabbitmq.client.Channel;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.ImmediateRequeueAmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Advice do listener container que tira o processamento da thread do consumidor AMQP: cada mensagem é processada
+ * em uma virtual thread própria e confirmada (ack) quando o processamento termina. O número de mensagens em
+ * processamento é limitado por um semáforo de {@code maxInFlight} permissões; com o semáforo cheio a thread do
+ * consumidor aguarda, e o broker deixa de entregar quando o prefetch se esgota.
+ * <p>
+ * Deve ser o primeiro advice da cadeia, com o container em {@code AcknowledgeMode.MANUAL}. Falhas que chegam até
+ * aqui (após retentativas e recoverer) resultam em nack sem requeue, exceto {@link ImmediateRequeueAmqpException}.
+ * Acks e nacks de um mesmo canal são serializados, e as respostas de comandos e consultas são publicadas pelo
+ * template em vez do canal do consumidor, que as virtual threads compartilham. {@link #drain(Duration)} aguarda as
+ * mensagens em processamento antes da parada dos containers.
+ * <p>
+ * Listener container advice that moves processing off the AMQP consumer thread: each message is processed on its
+ * own virtual thread and acknowledged when processing completes. The number of messages in flight is bounded by a
+ * semaphore with {@code maxInFlight} permits; when it is full the consumer thread waits, and the broker stops
+ * delivering once the prefetch is used up.
+ * <p>
+ * It must be the first advice of the chain, with the container in {@code AcknowledgeMode.MANUAL}. Failures that
+ * reach it (after retries and the recoverer) are nacked without requeue, except {@link ImmediateRequeueAmqpException}.
+ * Acks and nacks on the same channel are serialized, and command and query replies are published through the
+ * template instead of the consumer channel, which the virtual threads share. {@link #drain(Duration)} waits for the
+ * messages in flight before the containers stop.
+ */
+public class VirtualThreadDispatchInterceptor implements MethodInterceptor, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadDispatchInterceptor.class);
+
+    private final Semaphore permits;
+    private final int maxInFlight;
+    private final ExecutorService executor;
+    private final RabbitOperations replyTemplate;
+    // ReentrantLock em vez de synchronized: a escrita no socket não fixa a virtual thread na carrier
+    private final Map<Channel, Lock> channelLocks = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private volatile boolean draining;
+
+    public VirtualThreadDispatchInterceptor(int maxInFlight, RabbitOperations replyTemplate) {
+        this(maxInFlight, replyTemplate,
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("message-dispatcher-", 0).factory()));
+    }
+
+    VirtualThreadDispatchInterceptor(int maxInFlight, RabbitOperations replyTemplate, ExecutorService executor) {
+        this.permits = new Semaphore(maxInFlight);
+        this.maxInFlight = maxInFlight;
+        this.replyTemplate = replyTemplate;
+        this.executor = executor;
+    }
+
+    /**
+     * @param invocation - {@code invokeListener(Channel, Object)} do container
+     */
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        var arguments = invocation.getArguments();
+        if (!(arguments[0] instanceof Channel channel) || !(arguments[1] instanceof Message message)) {
+            return invocation.proceed();
+        }
+
+        var deliveryTag = message.getMessageProperties().getDeliveryTag();
+        if (draining) {
+            // em AcknowledgeMode.MANUAL o container não devolve a mensagem ao broker
+            nack(channel, deliveryTag, new ImmediateRequeueAmqpException("Dispatcher em encerramento"));
+            return null;
+        }
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            var requeue = new ImmediateRequeueAmqpException("Consumidor interrompido aguardando permissão de processamento", e);
+            nack(channel, deliveryTag, requeue);
+            throw requeue;
+        }
+        if (draining) {
+            permits.release();
+            nack(channel, deliveryTag, new ImmediateRequeueAmqpException("Dispatcher em encerramento"));
+            return null;
+        }
+
+        // o restante da cadeia recebe o canal que publica as respostas pelo template
+        arguments[0] = replyChannel(channel);
+        try {
+            executor.execute(() -> process(invocation, channel, deliveryTag));
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        return null;
+    }
+
+    private void process(MethodInvocation invocation, Channel channel, long deliveryTag) {
+        try {
+            try {
+                invocation.proceed();
+            } catch (Throwable e) {
+                nack(channel, deliveryTag, e);
+                return;
+            }
+            ack(channel, deliveryTag);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void ack(Channel channel, long deliveryTag) {
+        var lock = lock(channel);
+        lock.lock();
+        try {
+            channel.basicAck(deliveryTag, false);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Erro ao enviar ack da mensagem deliveryTag:{}, ela será entregue novamente pelo broker: {}",
+                    deliveryTag, e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void nack(Channel channel, long deliveryTag, Throwable cause) {
+        var requeue = isImmediateRequeue(cause);
+        log.warn("Falha ao processar a mensagem deliveryTag:{}, enviando nack (requeue={}): {}",
+                deliveryTag, requeue, cause.getMessage());
+        var lock = lock(channel);
+        lock.lock();
+        try {
+            channel.basicNack(deliveryTag, false, requeue);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Erro ao enviar nack da mensagem deliveryTag:{}, ela será entregue novamente pelo broker: {}",
+                    deliveryTag, e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Lock lock(Channel channel) {
+        return channelLocks.computeIfAbsent(channel, ignored -> new ReentrantLock());
+    }
+
+    /**
+     * Canal entregue ao listener: publicações (respostas) vão pelo template, confirmações usam o lock do canal do
+     * consumidor e as demais operações são delegadas a ele.
+     * <p>
+     * Channel handed to the listener: publishes (replies) go through the template, acknowledgements take the consumer
+     * channel lock and every other operation is delegated to it.
+     */
+    private Channel replyChannel(Channel channel) {
+        return (Channel) Proxy.newProxyInstance(Channel.class.getClassLoader(), new Class<?>[]{Channel.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "basicPublish" -> publish(method, args);
+                    case "basicAck", "basicNack", "basicReject" -> {
+                        var lock = lock(channel);
+                        lock.lock();
+                        try {
+                            yield invoke(method, channel, args);
+                        } finally {
+                            lock.unlock();
+                        }
+                    }
+                    default -> invoke(method, channel, args);
+                });
+    }
+
+    private Object publish(Method method, Object[] args) {
+        return replyTemplate.execute(replyChannel -> {
+            try {
+                return method.invoke(replyChannel, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause() instanceof Exception cause ? cause : e;
+            }
+        });
+    }
+
+    private static Object invoke(Method method, Channel target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static boolean isImmediateRequeue(Throwable cause) {
+        for (var current = cause; current != null; current = current.getCause()) {
+            if (current instanceof ImmediateRequeueAmqpException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Quantidade de mensagens em processamento.
+     * Number of messages in flight.
+     */
+    public int inFlight() {
+        return maxInFlight - permits.availablePermits();
+    }
+
+    /**
+     * Deixa de aceitar mensagens, que passam a ser devolvidas ao broker, e aguarda até {@code timeout} o término das
+     * mensagens em processamento, enquanto os canais dos consumidores ainda estão abertos para o ack.
+     * <p>
+     * Stops accepting messages, which are returned to the broker from then on, and waits up to {@code timeout} for the
+     * messages in flight to complete, while the consumer channels are still open for the ack.
+     *
+     * @return se todas as mensagens terminaram no prazo / whether every message completed in time
+     */
+    public boolean drain(Duration timeout) {
+        draining = true;
+        try {
+            if (permits.tryAcquire(maxInFlight, timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                permits.release(maxInFlight);
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.warn("{} mensagens ainda em processamento no encerramento, elas serão entregues novamente pelo broker",
+                inFlight());
+        return false;
+    }
+
+    /**
+     * Aguarda o término das mensagens em processamento.
+     * Waits for the messages in flight to complete.
+     */
+    @Override
+    public void close() {
+        executor.close();
+    }
+}
@@ -0,0 +1,138 @@
+package br.com.messagedispatcher.metrics;
+
+import br.com.messagedispatcher.model.MessageType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Métricas de cada etapa do dispatcher. Os medidores são resolvidos no registro do handler (consumo) ou no primeiro
+ * envio de cada tipo de payload (publicação), de forma que o registro de uma medição não faz busca no
+ * {@link MeterRegistry} nem aloca objetos.
+ * <p>
+ * Metrics for each dispatcher stage. Meters are resolved when the handler is registered (consumption) or on the first
+ * send of each payload type (publishing), so recording a measurement neither looks up the {@link MeterRegistry} nor
+ * allocates objects.
+ */
+public class DispatcherMetrics {
+
+    public static final String DESERIALIZATION_METRIC = "message.dispatcher.consume.deserialization";
+    public static final String HANDLER_METRIC = "message.dispatcher.consume.handler";
+    public static final String REPLY_SERIALIZATION_METRIC = "message.dispatcher.consume.reply.serialization";
+    public static final String PUBLISH_METRIC = "message.dispatcher.publish";
+    public static final String REQUEST_REPLY_METRIC = "message.dispatcher.request.reply";
+    public static final String RETRY_METRIC = "message.dispatcher.retry.attempts";
+    public static final String DEAD_LETTER_METRIC = "message.dispatcher.dead.letter";
+
+    private static final DispatcherMetrics NOOP = new DispatcherMetrics(new CompositeMeterRegistry(), false);
+
+    private final MeterRegistry meterRegistry;
+    private final boolean histogram;
+
+    private final Timer replySerialization;
+    private final Counter localRetries;
+    private final Counter brokerRetries;
+    private final Counter deadLetter;
+
+    private final List<ClassValue<PublishMetrics>> publishMetrics;
+
+    /**
+     * @param meterRegistry - registro dos medidores
+     * @param histogram     - publica histogramas de percentis nos timers
+     */
+    public DispatcherMetrics(MeterRegistry meterRegistry, boolean histogram) {
+        this.meterRegistry = meterRegistry;
+        this.histogram = histogram;
+        this.replySerialization = timer(REPLY_SERIALIZATION_METRIC, "Serialização das respostas de comandos e consultas", Tags.empty());
+        this.localRetries = retries("local");
+        this.brokerRetries = retries("broker");
+        this.deadLetter = Counter.builder(DEAD_LETTER_METRIC)
+                .description("Mensagens enviadas para a dead letter queue")
+                .register(meterRegistry);
+        this.publishMetrics = Arrays.stream(MessageType.values())
+                .map(this::publishMetrics)
+                .toList();
+    }
+
+    /**
+     * Métricas sem registro, usadas quando {@code message.dispatcher.metrics.enabled=false}.
+     * Metrics without a registry, used when {@code message.dispatcher.metrics.enabled=false}.
+     */
+    public static DispatcherMetrics noop() {
+        return NOOP;
+    }
+
+    public HandlerMetrics handler(MessageType messageType, Method method, Class<?> payloadType) {
+        var tags = Tags.of("message.type", messageType.name(),
+                "body.type", payloadType.getName(),
+                "handler", method.getDeclaringClass().getSimpleName() + "#" + method.getName());
+        return new HandlerMetrics(
+                timer(DESERIALIZATION_METRIC, "Deserialização do payload das mensagens recebidas", tags),
+                timer(HANDLER_METRIC, "Execução dos handlers", tags.and("outcome", "success")),
+                timer(HANDLER_METRIC, "Execução dos handlers", tags.and("outcome", "error")));
+    }
+
+    public PublishMetrics publish(MessageType messageType, Class<?> bodyType) {
+        return publishMetrics.get(messageType.ordinal()).get(bodyType);
+    }
+
+    public Timer replySerialization() {
+        return replySerialization;
+    }
+
+    public Counter localRetries() {
+        return localRetries;
+    }
+
+    public Counter brokerRetries() {
+        return brokerRetries;
+    }
+
+    public Counter deadLetter() {
+        return deadLetter;
+    }
+
+    private Timer timer(String name, String description, Tags tags) {
+        return Timer.builder(name)
+                .description(description)
+                .tags(tags)
+                .publishPercentileHistogram(histogram)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Medidores de publicação resolvidos no primeiro envio de cada tipo de payload, apenas os que o tipo de mensagem
+     * produz: eventos e notificações são apenas publicados e comandos e consultas registram apenas a ida e volta.
+     * <p>
+     * Publishing meters resolved on the first send of each payload type, only the ones the message type produces:
+     * events and notifications are only published and commands and queries only record the round trip.
+     */
+    private ClassValue<PublishMetrics> publishMetrics(MessageType messageType) {
+        return new ClassValue<>() {
+            @Override
+            protected PublishMetrics computeValue(Class<?> bodyType) {
+                var tags = Tags.of("message.type", messageType.name(), "body.type", bodyType.getName());
+                if (messageType == MessageType.EVENT || messageType == MessageType.NOTIFICATION) {
+                    return new PublishMetrics(timer(PUBLISH_METRIC, "Envio de mensagens ao broker", tags), null, null, null);
+                }
+                return new PublishMetrics(null,
+                        timer(REQUEST_REPLY_METRIC, "Ida e volta de comandos e consultas", tags.and("outcome", "success")),
+                        timer(REQUEST_REPLY_METRIC, "Ida e volta de comandos e consultas", tags.and("outcome", "error")),
+                        timer(REQUEST_REPLY_METRIC, "Ida e volta de comandos e consultas", tags.and("outcome", "timeout")));
+            }
+        };
+    }
+
+    private Counter retries(String mode) {
+        return Counter.builder(RETRY_METRIC)
+                .description("Retentativas de processamento de mensagens")
+                .tag("mode", mode)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,26 @@
+package br.com.messagedispatcher.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+/**
+ * Medidores de um handler, resolvidos no registro do handler.
+ * Meters of a handler, resolved when the handler is registered.
+ *
+ * @param deserialization - deserialização do payload
+ * @param success         - execução do handler concluída
+ * @param failure         - execução do handler com exceção
+ */
+public record HandlerMetrics(Timer deserialization, Timer success, Timer failure) {
+
+    /**
+     * Medidores sem registro, usados por invocadores criados sem {@link DispatcherMetrics}.
+     * Meters without a registry, used by invokers created without {@link DispatcherMetrics}.
+     */
+    public static final HandlerMetrics NOOP;
+
+    static {
+        var timer = Timer.builder(DispatcherMetrics.HANDLER_METRIC).register(new CompositeMeterRegistry());
+        NOOP = new HandlerMetrics(timer, timer, timer);
+    }
+}
@@ -0,0 +1,20 @@
+package br.com.messagedispatcher.metrics;
+
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Medidores de publicação de um tipo de mensagem e tipo de payload, resolvidos no primeiro envio do tipo. Eventos e
+ * notificações têm apenas {@code publish} e comandos e consultas apenas os timers de ida e volta; os demais são
+ * {@code null}.
+ * <p>
+ * Publishing meters of a message type and payload type, resolved on the first send of the type. Events and
+ * notifications only have {@code publish} and commands and queries only the round trip timers; the others are
+ * {@code null}.
+ *
+ * @param publish      - envio da mensagem ao broker
+ * @param replySuccess - ida e volta de comandos e consultas com resposta
+ * @param replyFailure - ida e volta de comandos e consultas com falha
+ * @param replyTimeout - ida e volta de comandos e consultas sem resposta no tempo limite
+ */
+public record PublishMetrics(Timer publish, Timer replySuccess, Timer replyFailure, Timer replyTimeout) {
+}
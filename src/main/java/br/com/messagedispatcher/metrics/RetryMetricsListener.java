@@ -0,0 +1,30 @@
+package br.com.messagedispatcher.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+
+/**
+ * Conta as retentativas locais feitas pelo {@code RetryOperationsInterceptor}: cada tentativa com falha seguida de
+ * uma nova tentativa.
+ * <p>
+ * Counts the local retries made by the {@code RetryOperationsInterceptor}: each failed attempt followed by a new attempt.
+ */
+public class RetryMetricsListener implements RetryListener {
+
+    private final Counter retries;
+
+    public RetryMetricsListener(Counter retries) {
+        this.retries = retries;
+    }
+
+    @Override
+    public <T, E extends Throwable> void close(RetryContext context, RetryCallback<T, E> callback, Throwable throwable) {
+        // a última falha não é seguida de retentativa
+        var count = context.getRetryCount() - (throwable != null ? 1 : 0);
+        if (count > 0) {
+            retries.increment(count);
+        }
+    }
+}
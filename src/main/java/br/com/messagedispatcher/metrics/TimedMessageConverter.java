@@ -0,0 +1,51 @@
+package br.com.messagedispatcher.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MessageConverter} que mede a serialização das respostas enviadas pelo listener e pelo error handler.
+ * {@link MessageConverter} that measures the serialization of the replies sent by the listener and the error handler.
+ */
+public class TimedMessageConverter implements MessageConverter {
+
+    private final MessageConverter delegate;
+    private final Timer timer;
+
+    public TimedMessageConverter(MessageConverter delegate, Timer timer) {
+        this.delegate = delegate;
+        this.timer = timer;
+    }
+
+    @Override
+    public Message toMessage(Object object, MessageProperties messageProperties) throws MessageConversionException {
+        var start = System.nanoTime();
+        try {
+            return delegate.toMessage(object, messageProperties);
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public Message toMessage(Object object, MessageProperties messageProperties, Type genericType)
+            throws MessageConversionException {
+        var start = System.nanoTime();
+        try {
+            return delegate.toMessage(object, messageProperties, genericType);
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public Object fromMessage(Message message) throws MessageConversionException {
+        return delegate.fromMessage(message);
+    }
+}
@@ -0,0 +1,260 @@
+package br.com.messagedispatcher.processor;
+
+import br.com.messagedispatcher.constants.MessageDispatcherConstants;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Processador de anotações que gera o índice de handlers em {@value MessageDispatcherConstants#HANDLER_INDEX_LOCATION}.
+ * <p>
+ * Para cada classe anotada com {@code @MessageListener} são indexados os métodos públicos anotados com
+ * {@code @Command}, {@code @Query}, {@code @Event}, {@code @Notification} ou {@code @MessageHandler}, permitindo que
+ * a descoberta de handlers não precise varrer o contexto Spring nem usar reflection sobre os listeners.
+ * <p>
+ * Handlers sem parâmetro de entrada, com mais de um parâmetro ou que declaram o mesmo tipo de entrada
+ * para o mesmo tipo de mensagem são reportados como erro de compilação.
+ * <p>
+ * Annotation processor that generates the handler index at {@value MessageDispatcherConstants#HANDLER_INDEX_LOCATION}.
+ * <p>
+ * For each class annotated with {@code @MessageListener} the public methods annotated with
+ * {@code @Command}, {@code @Query}, {@code @Event}, {@code @Notification} or {@code @MessageHandler} are indexed,
+ * so handler discovery does not need to scan the Spring context nor reflect over the listeners.
+ * <p>
+ * Handlers with no input parameter, with more than one parameter or declaring the same input type
+ * for the same message type are reported as compilation errors.
+ *
+ * @author Cleber Souza
+ * @version 1.0
+ */
+public class MessageHandlerIndexProcessor extends AbstractProcessor {
+
+    private static final String ANNOTATION_PACKAGE = "br.com.messagedispatcher.annotation.";
+    private static final String MESSAGE_LISTENER = ANNOTATION_PACKAGE + "MessageListener";
+    private static final String MESSAGE_HANDLER = ANNOTATION_PACKAGE + "MessageHandler";
+
+    /**
+     * Anotações de handler na mesma ordem de precedência usada na descoberta em tempo de execução.
+     * Handler annotations in the same precedence order used by runtime discovery.
+     */
+    private static final Map<String, String> HANDLER_ANNOTATIONS = Map.of(
+            ANNOTATION_PACKAGE + "Command", "COMMAND",
+            ANNOTATION_PACKAGE + "Query", "QUERY",
+            ANNOTATION_PACKAGE + "Event", "EVENT",
+            ANNOTATION_PACKAGE + "Notification", "NOTIFICATION");
+
+    private static final List<String> HANDLER_ANNOTATION_ORDER = List.of(
+            ANNOTATION_PACKAGE + "Command",
+            ANNOTATION_PACKAGE + "Query",
+            ANNOTATION_PACKAGE + "Event",
+            ANNOTATION_PACKAGE + "Notification",
+            MESSAGE_HANDLER);
+
+    static final String SEPARATOR = "|";
+
+    /**
+     * Entradas do índice agrupadas pela classe do listener, acumuladas entre as rodadas.
+     * Index entries grouped by listener class, accumulated across rounds.
+     */
+    private final Map<String, List<String>> entriesByListener = new LinkedHashMap<>();
+
+    /**
+     * Handlers já registrados por tipo de mensagem e tipo de entrada, para detectar duplicidade.
+     * Handlers already registered by message type and input type, used to detect duplicates.
+     */
+    private final Map<String, ExecutableElement> registeredHandlers = new LinkedHashMap<>();
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Set.of(MESSAGE_LISTENER, MESSAGE_HANDLER,
+                ANNOTATION_PACKAGE + "Command",
+                ANNOTATION_PACKAGE + "Query",
+                ANNOTATION_PACKAGE + "Event",
+                ANNOTATION_PACKAGE + "Notification");
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (var annotation : annotations) {
+            var annotationName = annotation.getQualifiedName().toString();
+
+            if (MESSAGE_LISTENER.equals(annotationName)) {
+                ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(annotation)).forEach(this::indexListener);
+                continue;
+            }
+
+            ElementFilter.methodsIn(roundEnv.getElementsAnnotatedWith(annotation)).forEach(this::validateParameters);
+        }
+
+        if (roundEnv.processingOver()) {
+            writeIndex();
+        }
+        return false;
+    }
+
+    private void indexListener(TypeElement listener) {
+        if (listener.getKind() != ElementKind.CLASS || listener.getModifiers().contains(Modifier.ABSTRACT)) {
+            return;
+        }
+
+        var listenerName = processingEnv.getElementUtils().getBinaryName(listener).toString();
+        var entries = entriesByListener.computeIfAbsent(listenerName, key -> new ArrayList<>());
+
+        ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(listener)).stream()
+                .filter(method -> method.getModifiers().contains(Modifier.PUBLIC))
+                .filter(method -> !method.getModifiers().contains(Modifier.STATIC))
+                .forEach(method -> {
+                    var messageType = resolveMessageType(method);
+                    if (messageType == null || method.getParameters().size() != 1) {
+                        return;
+                    }
+
+                    var parameterType = typeName(method.getParameters().get(0).asType());
+                    var previous = registeredHandlers.putIfAbsent(messageType + SEPARATOR + parameterType, method);
+                    if (previous != null && previous != method) {
+                        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, String.format(
+                                "Handler: @%s %s.%s já declara o tipo de entrada %s, não são permitidos Handlers duplicados para o mesmo Tipo de Entrada.",
+                                messageType, previous.getEnclosingElement(), previous.getSimpleName(), parameterType), method);
+                        return;
+                    }
+
+                    entries.add(String.join(SEPARATOR, messageType, listenerName, method.getSimpleName(), parameterType));
+                });
+    }
+
+    private void validateParameters(ExecutableElement method) {
+        var messageType = resolveMessageType(method);
+        if (method.getParameters().isEmpty()) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, String.format(
+                    "Handler: @%s %s não possui parâmetros de entrada.", messageType, method), method);
+            return;
+        }
+
+        if (method.getParameters().size() > 1) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, String.format(
+                    "Handler: @%s %s possui mais de um parâmetro de entrada.", messageType, method), method);
+        }
+    }
+
+    private String resolveMessageType(ExecutableElement method) {
+        for (var annotationName : HANDLER_ANNOTATION_ORDER) {
+            var mirror = findAnnotation(method, annotationName);
+            if (mirror == null) {
+                continue;
+            }
+            if (!MESSAGE_HANDLER.equals(annotationName)) {
+                return HANDLER_ANNOTATIONS.get(annotationName);
+            }
+            return mirror.getElementValues().entrySet().stream()
+                    .filter(entry -> entry.getKey().getSimpleName().contentEquals("messageType"))
+                    .map(entry -> ((VariableElement) entry.getValue().getValue()).getSimpleName().toString())
+                    .findFirst()
+                    .orElse(null);
+        }
+        return null;
+    }
+
+    private static AnnotationMirror findAnnotation(Element element, String annotationName) {
+        for (var mirror : element.getAnnotationMirrors()) {
+            var type = (TypeElement) mirror.getAnnotationType().asElement();
+            if (type.getQualifiedName().contentEquals(annotationName)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private String typeName(TypeMirror type) {
+        var erasure = processingEnv.getTypeUtils().erasure(type);
+        if (erasure.getKind() == TypeKind.DECLARED) {
+            var element = (TypeElement) ((DeclaredType) erasure).asElement();
+            return processingEnv.getElementUtils().getBinaryName(element).toString();
+        }
+        return erasure.toString();
+    }
+
+    private void writeIndex() {
+        mergePreviousIndex();
+
+        if (entriesByListener.values().stream().allMatch(List::isEmpty)) {
+            return;
+        }
+
+        try {
+            FileObject resource = processingEnv.getFiler()
+                    .createResource(StandardLocation.CLASS_OUTPUT, "", MessageDispatcherConstants.HANDLER_INDEX_LOCATION);
+            try (Writer writer = new OutputStreamWriter(resource.openOutputStream(), StandardCharsets.UTF_8)) {
+                writer.write("# Gerado por / Generated by " + getClass().getName() + "\n");
+                writer.write("# messageType|listener|method|parameterType\n");
+                for (var entries : entriesByListener.values()) {
+                    for (var entry : entries) {
+                        writer.write(entry);
+                        writer.write('\n');
+                    }
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Não foi possível gerar o índice de handlers: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Em compilações incrementais apenas parte dos listeners é processada; as entradas do índice anterior
+     * são mantidas para os listeners que não foram recompilados e que ainda existem.
+     * <p>
+     * On incremental builds only part of the listeners is processed; entries of the previous index
+     * are kept for listeners that were not recompiled and still exist.
+     */
+    private void mergePreviousIndex() {
+        try {
+            var previous = processingEnv.getFiler()
+                    .getResource(StandardLocation.CLASS_OUTPUT, "", MessageDispatcherConstants.HANDLER_INDEX_LOCATION);
+            try (var reader = new BufferedReader(new InputStreamReader(previous.openInputStream(), StandardCharsets.UTF_8))) {
+                reader.lines()
+                        .filter(line -> !line.isBlank() && !line.startsWith("#"))
+                        .forEach(line -> {
+                            var listener = line.split("\\" + SEPARATOR)[1];
+                            if (entriesByListener.containsKey(listener)
+                                    || processingEnv.getElementUtils().getTypeElement(listener.replace('$', '.')) == null) {
+                                return;
+                            }
+                            entriesByListener.computeIfAbsent(listener, key -> new ArrayList<>()).add(line);
+                        });
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // não existe índice anterior / there is no previous index
+        }
+    }
+}
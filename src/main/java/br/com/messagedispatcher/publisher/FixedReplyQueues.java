@@ -0,0 +1,130 @@
+package br.com.messagedispatcher.publisher;
+
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.AsyncRabbitTemplate;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.Lifecycle;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Filas de resposta do modo {@link ReplyMode#FIXED}, criadas sob demanda: nada é declarado nem consumido até a
+ * primeira requisição ({@link #start()}), de forma que aplicações que não enviam comandos ou consultas não mantêm
+ * fila nem listener container de respostas.
+ * <p>
+ * As filas não são exclusivas, então podem ser declaradas e consumidas por conexões diferentes do
+ * {@link ConnectionFactory} (ex: {@code cacheMode=CONNECTION}), e são removidas pelo broker depois de
+ * {@value ReplyModeConfigurer#REPLY_QUEUE_EXPIRES} ms sem consumidor, como após uma queda da instância. São
+ * redeclaradas a cada nova conexão e removidas no encerramento da aplicação.
+ * <p>
+ * Reply queues of the {@link ReplyMode#FIXED} mode, created on demand: nothing is declared or consumed until the
+ * first request ({@link #start()}), so applications that never send commands or queries hold no reply queue or reply
+ * listener container.
+ * <p>
+ * The queues are not exclusive, so they can be declared and consumed on different connections of the
+ * {@link ConnectionFactory} (e.g. {@code cacheMode=CONNECTION}), and the broker removes them after
+ * {@value ReplyModeConfigurer#REPLY_QUEUE_EXPIRES} ms without a consumer, as after an instance crash. They are
+ * redeclared on every new connection and deleted when the application shuts down.
+ */
+public class FixedReplyQueues implements DisposableBean {
+
+    private final ConnectionFactory connectionFactory;
+    private final String queueName;
+    private final RabbitAdmin admin;
+    private final List<Queue> queues = new ArrayList<>();
+    private final List<Lifecycle> consumers = new ArrayList<>();
+
+    private volatile boolean started;
+
+    public FixedReplyQueues(ConnectionFactory connectionFactory, String queueName) {
+        this.connectionFactory = connectionFactory;
+        this.queueName = queueName;
+        this.admin = new RabbitAdmin(connectionFactory);
+        // filas declaradas pelo admin são redeclaradas a cada nova conexão
+        this.admin.setRedeclareManualDeclarations(true);
+    }
+
+    /**
+     * Configura o template para receber as respostas de {@code doCommand}/{@code doQuery} em uma fila fixa.
+     * Configures the template to receive {@code doCommand}/{@code doQuery} replies on a fixed queue.
+     */
+    public void bind(RabbitTemplate template) {
+        var replyQueue = ReplyModeConfigurer.replyQueue(queueName);
+        ReplyModeConfigurer.configure(template, ReplyMode.FIXED, replyQueue);
+        var container = ReplyModeConfigurer.replyListenerContainer(connectionFactory, template, replyQueue);
+        container.afterPropertiesSet();
+        register(replyQueue, container);
+    }
+
+    /**
+     * Cria o template assíncrono sobre uma fila de respostas própria, separada da fila do template síncrono para que
+     * cada um só receba as respostas que correlaciona. O template é iniciado junto com as demais filas.
+     * <p>
+     * Creates the asynchronous template on its own reply queue, separate from the synchronous template queue so that
+     * each one only receives the replies it correlates. The template is started along with the other queues.
+     */
+    public AsyncRabbitTemplate asyncTemplate(RabbitTemplate template) {
+        var replyQueue = ReplyModeConfigurer.replyQueue(queueName + ".async");
+        var container = ReplyModeConfigurer.replyListenerContainer(connectionFactory, replyQueue);
+        var asyncTemplate = new AsyncRabbitTemplate(template, container, replyQueue.getName());
+        container.afterPropertiesSet();
+        asyncTemplate.setAutoStartup(false);
+        register(replyQueue, asyncTemplate);
+        return asyncTemplate;
+    }
+
+    private synchronized void register(Queue queue, Lifecycle consumer) {
+        queues.add(queue);
+        consumers.add(consumer);
+        if (started) {
+            admin.declareQueue(queue);
+            consumer.start();
+        }
+    }
+
+    /**
+     * Declara as filas e inicia os consumidores, se ainda não iniciados. Chamado antes de cada requisição.
+     * Declares the queues and starts the consumers, unless already started. Called before every request.
+     */
+    public void start() {
+        if (started) {
+            return;
+        }
+        synchronized (this) {
+            if (!started) {
+                if (!queues.isEmpty()) {
+                    admin.afterPropertiesSet();
+                    queues.forEach(admin::declareQueue);
+                    consumers.forEach(Lifecycle::start);
+                }
+                started = true;
+            }
+        }
+    }
+
+    public boolean isStarted() {
+        return started;
+    }
+
+    public List<String> getQueueNames() {
+        return queues.stream().map(Queue::getName).toList();
+    }
+
+    List<Queue> getQueues() {
+        return List.copyOf(queues);
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (!started) {
+            return;
+        }
+        consumers.reversed().forEach(Lifecycle::stop);
+        queues.forEach(queue -> admin.deleteQueue(queue.getName()));
+        started = false;
+    }
+}
@@ -2,14 +2,68 @@ package br.com.messagedispatcher.publisher;
 
 import org.springframework.lang.NonNull;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
 @SuppressWarnings("unused")
 public interface MessagePublisher {
+
     void sendEvent(Object body);
 
     void sendEvent(String routingKey, Object body);
 
     void sendEvent(String exchange, String routingKey, Object body);
 
+    /**
+     * Publica vários eventos de uma vez. Com {@code message.dispatcher.batch.enabled} os eventos são agrupados em lotes
+     * e cada um mantém os seus headers ({@code BODY_TYPE}, {@code MESSAGE_TYPE}...).
+     * <p>
+     * Publishes several events at once. With {@code message.dispatcher.batch.enabled} the events are grouped in batches
+     * and each one keeps its own headers ({@code BODY_TYPE}, {@code MESSAGE_TYPE}...).
+     */
+    void sendEvents(Collection<?> bodies);
+
+    void sendEvents(String routingKey, Collection<?> bodies);
+
+    void sendEvents(String exchange, String routingKey, Collection<?> bodies);
+
+    /**
+     * Publica um evento e retorna um future completado quando o broker confirma a mensagem (publisher confirm). O future
+     * falha quando a mensagem é recusada após {@code message.dispatcher.confirm.max-nack-retries} republicações. Com a
+     * janela de confirmações cheia a chamada aguarda ou falha com {@code MessagePublisherWindowFullException}, conforme
+     * {@code message.dispatcher.confirm.window-full-policy}. Com {@code message.dispatcher.outbox.enabled} o future é
+     * completado quando a mensagem é gravada no outbox e, com {@code message.dispatcher.local-dispatch.enabled}, quando
+     * o handler local termina. Mensagens em lotes ({@code message.dispatcher.batch.enabled}) não têm confirmação
+     * individual e a chamada falha com {@code MessagePublisherException} sem publicar.
+     * <p>
+     * Publishes an event and returns a future completed when the broker confirms the message (publisher confirm). The
+     * future fails when the message is nacked after {@code message.dispatcher.confirm.max-nack-retries} republishes.
+     * When the confirm window is full the call waits or fails with {@code MessagePublisherWindowFullException},
+     * according to {@code message.dispatcher.confirm.window-full-policy}. With {@code message.dispatcher.outbox.enabled}
+     * the future completes when the message is stored in the outbox and, with
+     * {@code message.dispatcher.local-dispatch.enabled}, when the local handler finishes. Batched messages
+     * ({@code message.dispatcher.batch.enabled}) have no individual confirm and the call fails with
+     * {@code MessagePublisherException} without publishing.
+     */
+    CompletableFuture<Void> sendEventConfirmed(Object body);
+
+    CompletableFuture<Void> sendEventConfirmed(String routingKey, Object body);
+
+    CompletableFuture<Void> sendEventConfirmed(String exchange, String routingKey, Object body);
+
+    /**
+     * Versões de {@code sendEvents} completadas quando o broker confirma todos os eventos, com a mesma semântica de
+     * {@code sendEventConfirmed}.
+     * Versions of {@code sendEvents} completed when the broker confirms every event, with the same semantics as
+     * {@code sendEventConfirmed}.
+     */
+    CompletableFuture<Void> sendEventsConfirmed(Collection<?> bodies);
+
+    CompletableFuture<Void> sendEventsConfirmed(String routingKey, Collection<?> bodies);
+
+    CompletableFuture<Void> sendEventsConfirmed(String exchange, String routingKey, Collection<?> bodies);
+
     <T> T doCommand(Object body, @NonNull Class<T> responseClass);
 
     <T> T doCommand(String routingKey, Object body, @NonNull Class<T> responseClass);
@@ -22,7 +76,44 @@ public interface MessagePublisher {
 
     <T> T doQuery(String exchange, String routingKey, Object body, @NonNull Class<T> responseClass);
 
+    /**
+     * Versões assíncronas de {@code doCommand}: não bloqueiam a thread chamadora e completam o future com a resposta.
+     * O timeout padrão é {@code message.dispatcher.reply-time-out}; cancelar o future descarta a resposta pendente.
+     * <p>
+     * Asynchronous versions of {@code doCommand}: they do not block the calling thread and complete the future with the response.
+     * The default timeout is {@code message.dispatcher.reply-time-out}; cancelling the future discards the pending reply.
+     */
+    <T> CompletableFuture<T> doCommandAsync(Object body, @NonNull Class<T> responseClass);
+
+    <T> CompletableFuture<T> doCommandAsync(String routingKey, Object body, @NonNull Class<T> responseClass);
+
+    <T> CompletableFuture<T> doCommandAsync(String exchange, String routingKey, Object body, @NonNull Class<T> responseClass);
+
+    <T> CompletableFuture<T> doCommandAsync(String exchange, String routingKey, Object body, @NonNull Class<T> responseClass,
+                                            @NonNull Duration timeout);
+
+    /**
+     * Versões assíncronas de {@code doQuery}, com a mesma semântica de {@code doCommandAsync}.
+     * Asynchronous versions of {@code doQuery}, with the same semantics as {@code doCommandAsync}.
+     */
+    <T> CompletableFuture<T> doQueryAsync(Object body, @NonNull Class<T> responseClass);
+
+    <T> CompletableFuture<T> doQueryAsync(String routingKey, Object body, @NonNull Class<T> responseClass);
+
+    <T> CompletableFuture<T> doQueryAsync(String exchange, String routingKey, Object body, @NonNull Class<T> responseClass);
+
+    <T> CompletableFuture<T> doQueryAsync(String exchange, String routingKey, Object body, @NonNull Class<T> responseClass,
+                                          @NonNull Duration timeout);
+
     void sendNotification(Object body);
 
     void sendNotification(String routingKey, Object body);
+
+    /**
+     * Publica uma notificação, com a mesma semântica de confirmação de {@code sendEventConfirmed}.
+     * Publishes a notification, with the same confirmation semantics as {@code sendEventConfirmed}.
+     */
+    CompletableFuture<Void> sendNotificationConfirmed(Object body);
+
+    CompletableFuture<Void> sendNotificationConfirmed(String routingKey, Object body);
 }
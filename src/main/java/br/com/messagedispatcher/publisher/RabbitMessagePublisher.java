@@ -1,11 +1,20 @@
 package br.com.messagedispatcher.publisher;
 
 import br.com.messagedispatcher.config.properties.MessageDispatcherProperties;
+import br.com.messagedispatcher.exceptions.MessagePublisherException;
 import br.com.messagedispatcher.model.MessageType;
+import br.com.messagedispatcher.publisher.local.LocalMessageDispatcher;
 import br.com.messagedispatcher.publisher.proxy.TemplateProxy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
 import static br.com.messagedispatcher.model.MessageType.COMMAND;
 import static br.com.messagedispatcher.model.MessageType.EVENT;
 import static br.com.messagedispatcher.model.MessageType.NOTIFICATION;
@@ -15,21 +24,26 @@ import static br.com.messagedispatcher.model.MessageType.QUERY;
 @Component
 public final class RabbitMessagePublisher implements MessagePublisher {
 
+    private static final Logger log = LoggerFactory.getLogger(RabbitMessagePublisher.class);
+
     private final TemplateProxy templateProxy;
     private final MessageDispatcherProperties properties;
+    private final LocalMessageDispatcher localDispatcher;
 
 
-    public RabbitMessagePublisher(TemplateProxy templateProxy, MessageDispatcherProperties properties) {
+    public RabbitMessagePublisher(TemplateProxy templateProxy, MessageDispatcherProperties properties,
+                                  ObjectProvider<LocalMessageDispatcher> localDispatcher) {
         this.templateProxy = templateProxy;
         this.properties = properties;
+        this.localDispatcher = localDispatcher.getIfAvailable();
     }
 
     /**
      * Publica um evento para a aplicação local através da exchange global.
-     * Atua como um fire and forget, não esperando por uma resposta.
+     * Não espera por uma resposta nem pela confirmação do broker.
      * <p>
      * Publishes an event to local application through the global exchange.
-     * Acts as a fire and forget, not waiting for a response.
+     * Does not wait for a response nor for the broker confirmation.
      *
      * @param body - corpo da mensagem
      */
@@ -40,10 +54,10 @@ public final class RabbitMessagePublisher implements MessagePublisher {
 
     /**
      * Publica um evento para uma aplicação através da exchange global.
-     * Atua como um fire and forget, não esperando por uma resposta.
+     * Não espera por uma resposta nem pela confirmação do broker.
      * <p>
      * Publishes an event to am application through the global exchange.
-     * Acts as a fire and forget, not waiting for a response.
+     * Does not wait for a response nor for the broker confirmation.
      *
      * @param routingKey - chave de roteamento
      * @param body       - corpo da mensagem
@@ -55,10 +69,10 @@ public final class RabbitMessagePublisher implements MessagePublisher {
 
     /**
      * Publica um evento para uma aplicação através da exchange informada.
-     * Atua como um fire and forget, não esperando por uma resposta.
+     * Não espera por uma resposta nem pela confirmação do broker.
      * <p>
      * Publishes an event to an application through the defined exchange.
-     * Acts as a fire and forget, not waiting for a response.
+     * Does not wait for a response nor for the broker confirmation.
      *
      * @param exchange   - nome da exchange
      * @param routingKey - chave de roteamento
@@ -66,7 +80,84 @@ public final class RabbitMessagePublisher implements MessagePublisher {
      */
     @Override
     public void sendEvent(final String exchange, final String routingKey, final Object body) {
-        this.convertAndSend(exchange, routingKey, body, EVENT);
+        logFailure(this.convertAndSend(exchange, routingKey, body, EVENT));
+    }
+
+    /**
+     * Publica vários eventos para a aplicação local através da exchange global.
+     * <p>
+     * Publishes several events to local application through the global exchange.
+     *
+     * @param bodies - corpos das mensagens
+     */
+    @Override
+    public void sendEvents(final Collection<?> bodies) {
+        this.sendEvents(properties.getExchangeName(), properties.getRoutingKey(), bodies);
+    }
+
+    @Override
+    public void sendEvents(final String routingKey, final Collection<?> bodies) {
+        this.sendEvents(properties.getExchangeName(), routingKey, bodies);
+    }
+
+    /**
+     * Publica vários eventos através da exchange informada, agrupados em lotes quando
+     * {@code message.dispatcher.batch.enabled} está habilitado.
+     * <p>
+     * Publishes several events through the defined exchange, grouped in batches when
+     * {@code message.dispatcher.batch.enabled} is enabled.
+     *
+     * @param exchange   - nome da exchange
+     * @param routingKey - chave de roteamento
+     * @param bodies     - corpos das mensagens
+     */
+    @Override
+    public void sendEvents(final String exchange, final String routingKey, final Collection<?> bodies) {
+        logFailure(this.convertAndSendAll(exchange, routingKey, bodies));
+    }
+
+    @Override
+    public CompletableFuture<Void> sendEventConfirmed(final Object body) {
+        return this.sendEventConfirmed(properties.getExchangeName(), properties.getRoutingKey(), body);
+    }
+
+    @Override
+    public CompletableFuture<Void> sendEventConfirmed(final String routingKey, final Object body) {
+        return this.sendEventConfirmed(properties.getExchangeName(), routingKey, body);
+    }
+
+    /**
+     * Publica um evento através da exchange informada e retorna um future completado com a confirmação do broker.
+     * Com {@code message.dispatcher.local-dispatch.enabled}, é completado quando o handler local termina.
+     * <p>
+     * Publishes an event through the defined exchange and returns a future completed with the broker confirmation.
+     * With {@code message.dispatcher.local-dispatch.enabled}, it completes when the local handler finishes.
+     *
+     * @param exchange   - nome da exchange
+     * @param routingKey - chave de roteamento
+     * @param body       - corpo da mensagem
+     * @throws MessagePublisherException com {@code message.dispatcher.batch.enabled}, que não confirma cada mensagem
+     */
+    @Override
+    public CompletableFuture<Void> sendEventConfirmed(final String exchange, final String routingKey, final Object body) {
+        requireConfirm(EVENT);
+        return this.convertAndSend(exchange, routingKey, body, EVENT);
+    }
+
+    @Override
+    public CompletableFuture<Void> sendEventsConfirmed(final Collection<?> bodies) {
+        return this.sendEventsConfirmed(properties.getExchangeName(), properties.getRoutingKey(), bodies);
+    }
+
+    @Override
+    public CompletableFuture<Void> sendEventsConfirmed(final String routingKey, final Collection<?> bodies) {
+        return this.sendEventsConfirmed(properties.getExchangeName(), routingKey, bodies);
+    }
+
+    @Override
+    public CompletableFuture<Void> sendEventsConfirmed(final String exchange, final String routingKey, final Collection<?> bodies) {
+        requireConfirm(EVENT);
+        return this.convertAndSendAll(exchange, routingKey, bodies);
     }
 
     @Override
@@ -99,18 +190,117 @@ public final class RabbitMessagePublisher implements MessagePublisher {
         return this.convertSendAndReceive(exchange, routingKey, body, responseClass, QUERY);
     }
 
+    @Override
+    public <T> CompletableFuture<T> doCommandAsync(final Object body, final @NonNull Class<T> responseClass) {
+        return this.convertSendAndReceiveAsync(properties.getExchangeName(), properties.getRoutingKey(), body, responseClass, COMMAND, replyTimeOut());
+    }
+
+    @Override
+    public <T> CompletableFuture<T> doCommandAsync(final String routingKey, final Object body, final @NonNull Class<T> responseClass) {
+        return this.convertSendAndReceiveAsync(properties.getExchangeName(), routingKey, body, responseClass, COMMAND, replyTimeOut());
+    }
+
+    @Override
+    public <T> CompletableFuture<T> doCommandAsync(final String exchange, final String routingKey, final Object body,
+                                                   final @NonNull Class<T> responseClass) {
+        return this.convertSendAndReceiveAsync(exchange, routingKey, body, responseClass, COMMAND, replyTimeOut());
+    }
+
+    @Override
+    public <T> CompletableFuture<T> doCommandAsync(final String exchange, final String routingKey, final Object body,
+                                                   final @NonNull Class<T> responseClass, final @NonNull Duration timeout) {
+        return this.convertSendAndReceiveAsync(exchange, routingKey, body, responseClass, COMMAND, timeout);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> doQueryAsync(final Object body, final @NonNull Class<T> responseClass) {
+        return this.convertSendAndReceiveAsync(properties.getExchangeName(), properties.getRoutingKey(), body, responseClass, QUERY, replyTimeOut());
+    }
+
+    @Override
+    public <T> CompletableFuture<T> doQueryAsync(final String routingKey, final Object body, final @NonNull Class<T> responseClass) {
+        return this.convertSendAndReceiveAsync(properties.getExchangeName(), routingKey, body, responseClass, QUERY, replyTimeOut());
+    }
+
+    @Override
+    public <T> CompletableFuture<T> doQueryAsync(final String exchange, final String routingKey, final Object body,
+                                                 final @NonNull Class<T> responseClass) {
+        return this.convertSendAndReceiveAsync(exchange, routingKey, body, responseClass, QUERY, replyTimeOut());
+    }
+
+    @Override
+    public <T> CompletableFuture<T> doQueryAsync(final String exchange, final String routingKey, final Object body,
+                                                 final @NonNull Class<T> responseClass, final @NonNull Duration timeout) {
+        return this.convertSendAndReceiveAsync(exchange, routingKey, body, responseClass, QUERY, timeout);
+    }
+
     @Override
     public void sendNotification(final Object body) {
-        this.convertAndSend(properties.getExchangeName(), properties.getRoutingKey(), body, NOTIFICATION);
+        this.sendNotification(properties.getRoutingKey(), body);
     }
 
     @Override
     public void sendNotification(final String routingKey, final Object body) {
-        this.convertAndSend(properties.getExchangeName(), routingKey, body, NOTIFICATION);
+        logFailure(this.convertAndSend(properties.getExchangeName(), routingKey, body, NOTIFICATION));
+    }
+
+    @Override
+    public CompletableFuture<Void> sendNotificationConfirmed(final Object body) {
+        return this.sendNotificationConfirmed(properties.getRoutingKey(), body);
+    }
+
+    @Override
+    public CompletableFuture<Void> sendNotificationConfirmed(final String routingKey, final Object body) {
+        requireConfirm(NOTIFICATION);
+        return this.convertAndSend(properties.getExchangeName(), routingKey, body, NOTIFICATION);
+    }
+
+    private CompletableFuture<Void> convertAndSendAll(String exchangeName, String routingKey, Collection<?> bodies) {
+        if (bodies.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return templateProxy.convertAndSendAll(exchangeName, routingKey, bodies, EVENT);
+    }
+
+    /**
+     * Os métodos {@code ...Confirmed} falham antes de publicar quando o future não refletiria a confirmação da mensagem.
+     * The {@code ...Confirmed} methods fail before publishing when the future would not reflect the message confirmation.
+     */
+    private void requireConfirm(MessageType messageType) {
+        if (!templateProxy.isConfirmed(messageType)) {
+            throw new MessagePublisherException("Mensagens em lotes (message.dispatcher.batch.enabled) não têm confirmação individual, "
+                    + "utilize os métodos sem confirmação.", null);
+        }
+    }
+
+    /**
+     * Sem um future para o chamador, falhas de confirmação são apenas registradas no log.
+     * Without a future for the caller, confirmation failures are only logged.
+     */
+    private static void logFailure(CompletableFuture<Void> result) {
+        result.whenComplete((ignored, error) -> {
+            if (error != null) {
+                log.error("Mensagem não confirmada pelo broker: {}", error.getMessage());
+            }
+        });
+    }
+
+    private CompletableFuture<Void> convertAndSend(String exchangeName, String routingKey, Object body, MessageType messageType) {
+        //com local-dispatch.enabled mensagens para a própria aplicação vão direto ao handler, sem passar pelo broker
+        if (localDispatcher != null && localDispatcher.accepts(exchangeName, routingKey, body, messageType)) {
+            return localDispatcher.dispatch(body, messageType,
+                    () -> templateProxy.convertAndSend(exchangeName, routingKey, body, messageType));
+        }
+        return templateProxy.convertAndSend(exchangeName, routingKey, body, messageType);
+    }
+
+    private Duration replyTimeOut() {
+        return Duration.ofMillis(properties.getReplyTimeOut());
     }
 
-    private void convertAndSend(String exchangeName, String routingKey, Object body, MessageType messageType) {
-        templateProxy.convertAndSend(exchangeName, routingKey, body, messageType);
+    private <T> CompletableFuture<T> convertSendAndReceiveAsync(String exchangeName, String routingKey, Object body, Class<T> responseClass,
+                                                                MessageType messageType, Duration timeout) {
+        return templateProxy.convertSendAndReceiveAsync(exchangeName, routingKey, body, responseClass, messageType, timeout);
     }
 
     private <T> T convertSendAndReceive(String exchangeName, String routingKey, Object body, Class<T> responseClass, MessageType messageType) {
@@ -0,0 +1,32 @@
+package br.com.messagedispatcher.publisher;
+
+/**
+ * Forma como as respostas de {@code doCommand}/{@code doQuery} são recebidas.
+ * How {@code doCommand}/{@code doQuery} replies are received.
+ */
+public enum ReplyMode {
+
+    /**
+     * Fila de respostas fixa por instância, consumida por um listener container e correlacionada pelo correlation id.
+     * Nenhuma fila é declarada por requisição e as respostas são recebidas em paralelo pelo container.
+     * <p>
+     * Fixed reply queue per instance, consumed by a listener container and correlated by correlation id.
+     * No queue is declared per request and replies are received in parallel by the container.
+     */
+    FIXED,
+
+    /**
+     * Direct reply-to do RabbitMQ ({@code amq.rabbitmq.reply-to}). Cada requisição em andamento ocupa um canal.
+     * Brokers sem suporte ao direct reply-to utilizam filas temporárias.
+     * <p>
+     * RabbitMQ direct reply-to ({@code amq.rabbitmq.reply-to}). Each in-flight request holds a channel.
+     * Brokers without direct reply-to support fall back to temporary queues.
+     */
+    DIRECT,
+
+    /**
+     * Uma fila temporária exclusiva é declarada para cada requisição.
+     * An exclusive temporary queue is declared for each request.
+     */
+    TEMPORARY
+}
@@ -0,0 +1,81 @@
+package br.com.messagedispatcher.publisher;
+
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+
+import java.util.UUID;
+import java.util.concurrent.Executors;
+
+/**
+ * Aplica o {@link ReplyMode} ao {@link RabbitTemplate}.
+ * Applies the {@link ReplyMode} to the {@link RabbitTemplate}.
+ */
+public final class ReplyModeConfigurer {
+
+    /**
+     * Tempo, em ms, sem consumidor após o qual o broker remove a fila de respostas ({@code x-expires}).
+     * Time, in ms, without a consumer after which the broker removes the reply queue ({@code x-expires}).
+     */
+    public static final int REPLY_QUEUE_EXPIRES = 60_000;
+
+    private ReplyModeConfigurer() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Configura a forma de recebimento das respostas do template.
+     * Configures how the template receives replies.
+     *
+     * @param replyQueue fila de respostas, obrigatória no modo {@link ReplyMode#FIXED} /
+     *                   reply queue, required by the {@link ReplyMode#FIXED} mode
+     */
+    public static void configure(RabbitTemplate template, ReplyMode replyMode, Queue replyQueue) {
+        switch (replyMode) {
+            case FIXED -> template.setReplyAddress(replyQueue.getName());
+            case DIRECT -> template.setUseDirectReplyToContainer(true);
+            case TEMPORARY -> {
+                template.setUseDirectReplyToContainer(false);
+                template.setUseTemporaryReplyQueues(true);
+            }
+        }
+    }
+
+    /**
+     * Fila de respostas da instância. Não é exclusiva, para poder ser declarada e consumida por conexões diferentes,
+     * e é removida pelo broker após {@value #REPLY_QUEUE_EXPIRES} ms sem consumidor.
+     * <p>
+     * Instance reply queue. It is not exclusive, so it can be declared and consumed on different connections, and the
+     * broker removes it after {@value #REPLY_QUEUE_EXPIRES} ms without a consumer.
+     */
+    public static Queue replyQueue(String queueName) {
+        var instanceId = UUID.randomUUID().toString().substring(0, 8);
+        return QueueBuilder.nonDurable(queueName + ".replies." + instanceId)
+                .expires(REPLY_QUEUE_EXPIRES)
+                .build();
+    }
+
+    /**
+     * Container que entrega as respostas da fila fixa ao template, que as correlaciona com as requisições pendentes.
+     * Container that hands fixed queue replies to the template, which correlates them with the pending requests.
+     */
+    public static SimpleMessageListenerContainer replyListenerContainer(ConnectionFactory connectionFactory,
+                                                                        RabbitTemplate template, Queue replyQueue) {
+        var container = replyListenerContainer(connectionFactory, replyQueue);
+        container.setMessageListener(template);
+        return container;
+    }
+
+    /**
+     * Container da fila de respostas sem listener, para quem o define depois (ex: {@code AsyncRabbitTemplate}).
+     * Reply queue container without a listener, for owners that set it later (e.g. {@code AsyncRabbitTemplate}).
+     */
+    public static SimpleMessageListenerContainer replyListenerContainer(ConnectionFactory connectionFactory, Queue replyQueue) {
+        var container = new SimpleMessageListenerContainer(connectionFactory);
+        container.setQueues(replyQueue);
+        container.setTaskExecutor(Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("message-dispatcher-replies-", 0).factory()));
+        return container;
+    }
+}
@@ -0,0 +1,218 @@
+package br.com.messagedispatcher.publisher.batch;
+
+import br.com.messagedispatcher.exceptions.MessageDispatcherRuntimeException;
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Envelope;
+import com.rabbitmq.client.impl.ContentHeaderPropertyWriter;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.batch.BatchingStrategy;
+import org.springframework.amqp.rabbit.batch.MessageBatch;
+import org.springframework.amqp.rabbit.support.DefaultMessagePropertiesConverter;
+import org.springframework.amqp.rabbit.support.MessagePropertiesConverter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import static br.com.messagedispatcher.constants.MessageDispatcherConstants.MessageDispatcherHeaders.BATCH_FORMAT;
+import static br.com.messagedispatcher.constants.MessageDispatcherConstants.MessageDispatcherHeaders.BATCH_SIZE;
+
+/**
+ * {@link BatchingStrategy} que preserva as propriedades de cada mensagem dentro do lote.
+ * <p>
+ * O {@code SimpleBatchingStrategy} do Spring AMQP mantém apenas as propriedades da primeira mensagem, o que faria
+ * todas as mensagens do lote herdarem o mesmo {@code BODY_TYPE}/{@code MESSAGE_TYPE}. Aqui cada mensagem é gravada
+ * como o content header do AMQP 0-9-1 (propriedades básicas e tabela de headers tipada) seguido do corpo, da mesma
+ * forma que o broker a entregaria. O consumidor reconstrói as mensagens através de {@link #deBatch(Message, Consumer)}
+ * com os mesmos tipos de uma entrega individual: headers numéricos e datas mantêm o tipo, e {@code messageId},
+ * {@code correlationId}, {@code priority}, {@code expiration}, {@code deliveryMode} e {@code timestamp} são
+ * preservados.
+ * <p>
+ * As mensagens são acumuladas por exchange/routing key e content type (o lote tem um único content type) e o lote é
+ * liberado ao atingir {@code batchSize} mensagens, {@code bufferLimit} bytes ou {@code lingerTime} ms. Lotes no
+ * formato anterior ({@value #LEGACY_FORMAT}) continuam sendo lidos.
+ * <p>
+ * {@link BatchingStrategy} that preserves the properties of each message inside the batch.
+ * <p>
+ * Spring AMQP's {@code SimpleBatchingStrategy} keeps only the properties of the first message, which would make
+ * every message of the batch inherit the same {@code BODY_TYPE}/{@code MESSAGE_TYPE}. Here each message is written
+ * as the AMQP 0-9-1 content header (basic properties and typed header table) followed by the body, the same way the
+ * broker would deliver it. The consumer rebuilds the messages through {@link #deBatch(Message, Consumer)} with the
+ * same types as an individual delivery: numeric and date headers keep their type, and {@code messageId},
+ * {@code correlationId}, {@code priority}, {@code expiration}, {@code deliveryMode} and {@code timestamp} are
+ * preserved.
+ * <p>
+ * Messages are accumulated per exchange/routing key and content type (the batch has a single content type) and the
+ * batch is released when it reaches {@code batchSize} messages, {@code bufferLimit} bytes or {@code lingerTime} ms.
+ * Batches in the previous format ({@value #LEGACY_FORMAT}) are still read.
+ */
+public class HeaderPreservingBatchingStrategy implements BatchingStrategy {
+
+    public static final String FORMAT = "properties-v2";
+    public static final String LEGACY_FORMAT = "headers-v1";
+
+    private static final String CHARSET = StandardCharsets.UTF_8.name();
+
+    private final int batchSize;
+    private final int bufferLimit;
+    private final long lingerTime;
+    private final MessagePropertiesConverter propertiesConverter = new DefaultMessagePropertiesConverter();
+
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private MessageProperties firstProperties;
+    private int count;
+    private String exchange;
+    private String routingKey;
+
+    public HeaderPreservingBatchingStrategy(int batchSize, int bufferLimit, long lingerTime) {
+        this.batchSize = batchSize;
+        this.bufferLimit = bufferLimit;
+        this.lingerTime = lingerTime;
+    }
+
+    @Override
+    public MessageBatch addToBatch(String exchange, String routingKey, Message message) {
+        MessageBatch released = null;
+
+        var encoded = encode(message);
+        if (count > 0
+                && (!Objects.equals(this.exchange, exchange) || !Objects.equals(this.routingKey, routingKey)
+                || !Objects.equals(firstProperties.getContentType(), message.getMessageProperties().getContentType())
+                || buffer.size() + encoded.length > bufferLimit)) {
+            released = doReleaseBatch();
+        }
+
+        if (count == 0) {
+            firstProperties = message.getMessageProperties();
+        }
+        this.exchange = exchange;
+        this.routingKey = routingKey;
+        buffer.writeBytes(encoded);
+        count++;
+
+        if (released == null && (count >= batchSize || buffer.size() >= bufferLimit)) {
+            released = doReleaseBatch();
+        }
+        return released;
+    }
+
+    @Override
+    public Date nextRelease() {
+        if (count == 0 || lingerTime <= 0) {
+            return null;
+        }
+        return new Date(System.currentTimeMillis() + lingerTime);
+    }
+
+    @Override
+    public Collection<MessageBatch> releaseBatches() {
+        var batch = doReleaseBatch();
+        return batch == null ? Collections.emptyList() : List.of(batch);
+    }
+
+    @Override
+    public boolean canDebatch(MessageProperties properties) {
+        var format = properties.getHeader(BATCH_FORMAT);
+        return FORMAT.equals(format) || LEGACY_FORMAT.equals(format);
+    }
+
+    @Override
+    public void deBatch(Message batch, Consumer<Message> fragmentListener) {
+        var batchProperties = batch.getMessageProperties();
+        var legacy = LEGACY_FORMAT.equals(batchProperties.getHeader(BATCH_FORMAT));
+        var envelope = new Envelope(batchProperties.getDeliveryTag(), Boolean.TRUE.equals(batchProperties.getRedelivered()),
+                batchProperties.getReceivedExchange(), batchProperties.getReceivedRoutingKey());
+
+        try (var input = new DataInputStream(new ByteArrayInputStream(batch.getBody()))) {
+            while (input.available() > 0) {
+                var fragment = legacy ? readLegacy(input, batchProperties) : read(input, envelope);
+                var properties = fragment.getMessageProperties();
+                properties.setConsumerQueue(batchProperties.getConsumerQueue());
+                properties.setConsumerTag(batchProperties.getConsumerTag());
+                properties.setLastInBatch(input.available() == 0);
+                fragmentListener.accept(fragment);
+            }
+        } catch (IOException e) {
+            throw new MessageDispatcherRuntimeException("Lote de mensagens inválido", e);
+        }
+    }
+
+    /**
+     * Grava a mensagem como {@code [content header AMQP (weight, tamanho do corpo, propriedades)][corpo]}.
+     * Writes the message as {@code [AMQP content header (weight, body size, properties)][body]}.
+     */
+    private byte[] encode(Message message) {
+        var body = message.getBody();
+        var basicProperties = propertiesConverter.fromMessageProperties(message.getMessageProperties(), CHARSET);
+
+        var output = new ByteArrayOutputStream(body.length + 128);
+        try (var data = new DataOutputStream(output)) {
+            data.writeShort(0);
+            data.writeLong(body.length);
+            basicProperties.writePropertiesTo(new ContentHeaderPropertyWriter(data));
+            data.write(body);
+        } catch (IOException e) {
+            throw new MessageDispatcherRuntimeException("Erro ao adicionar a mensagem ao lote", e);
+        }
+        return output.toByteArray();
+    }
+
+    private Message read(DataInputStream input, Envelope envelope) throws IOException {
+        var basicProperties = new AMQP.BasicProperties(input);
+        var body = new byte[Math.toIntExact(basicProperties.getBodySize())];
+        input.readFully(body);
+        return new Message(body, propertiesConverter.toMessageProperties(basicProperties, envelope, CHARSET));
+    }
+
+    /**
+     * Formato {@value #LEGACY_FORMAT}: {@code [qtd headers]([chave][valor])*[tamanho corpo][corpo]}, headers como String.
+     * Format {@value #LEGACY_FORMAT}: {@code [header count]([key][value])*[body length][body]}, headers as String.
+     */
+    private static Message readLegacy(DataInputStream input, MessageProperties batchProperties) throws IOException {
+        var properties = new MessageProperties();
+        properties.setContentType(batchProperties.getContentType());
+        properties.setContentEncoding(batchProperties.getContentEncoding());
+        properties.setReceivedExchange(batchProperties.getReceivedExchange());
+        properties.setReceivedRoutingKey(batchProperties.getReceivedRoutingKey());
+        properties.setDeliveryTag(batchProperties.getDeliveryTag());
+        properties.setRedelivered(batchProperties.getRedelivered());
+
+        var headerCount = input.readInt();
+        for (int i = 0; i < headerCount; i++) {
+            properties.setHeader(input.readUTF(), input.readUTF());
+        }
+
+        var body = new byte[input.readInt()];
+        input.readFully(body);
+        return new Message(body, properties);
+    }
+
+    private MessageBatch doReleaseBatch() {
+        if (count == 0) {
+            return null;
+        }
+
+        var properties = new MessageProperties();
+        properties.setContentType(firstProperties.getContentType());
+        properties.setContentEncoding(firstProperties.getContentEncoding());
+        properties.setDeliveryMode(firstProperties.getDeliveryMode());
+        properties.setHeader(BATCH_FORMAT, FORMAT);
+        properties.setHeader(BATCH_SIZE, count);
+
+        var batch = new MessageBatch(exchange, routingKey, new Message(buffer.toByteArray(), properties));
+        buffer.reset();
+        firstProperties = null;
+        count = 0;
+        return batch;
+    }
+}
@@ -0,0 +1,151 @@
+package br.com.messagedispatcher.publisher.confirm;
+
+import br.com.messagedispatcher.config.properties.MessageDispatcherProperties;
+import br.com.messagedispatcher.exceptions.MessagePublisherException;
+import br.com.messagedispatcher.exceptions.MessagePublisherWindowFullException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Acompanha as confirmações (publisher confirms) das mensagens publicadas sem resposta.
+ * <p>
+ * Mantém uma janela limitada de publicações aguardando confirmação; quando a janela está cheia a publicação aguarda
+ * uma vaga ou falha imediatamente, conforme {@link WindowFullPolicy}. Mensagens recusadas (nack) pelo broker são
+ * republicadas até {@code maxNackRetries} vezes, ocupando a mesma vaga da janela.
+ * <p>
+ * As confirmações chegam na thread de I/O da conexão, que não pode publicar: uma republicação ali aguardaria um canal
+ * ou um flow control que depende da própria thread. Por isso o tratamento da confirmação (republicação e conclusão do
+ * future, com os callbacks do chamador) é executado em outra thread.
+ * <p>
+ * Tracks the confirmations (publisher confirms) of messages published without a reply.
+ * <p>
+ * Keeps a bounded window of publishes waiting for confirmation; when the window is full the publish waits
+ * for a slot or fails immediately, according to {@link WindowFullPolicy}. Messages nacked by the broker are
+ * republished up to {@code maxNackRetries} times, holding the same window slot.
+ * <p>
+ * Confirms arrive on the connection I/O thread, which must not publish: a republish there would wait for a channel
+ * or for flow control that depends on that very thread. So the confirm handling (republish and completion of the
+ * future, with the caller's callbacks) runs on another thread.
+ */
+@Component
+public class PublisherConfirmTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(PublisherConfirmTracker.class);
+
+    private final int maxInFlight;
+    private final Semaphore window;
+    private final WindowFullPolicy windowFullPolicy;
+    private final long blockTimeout;
+    private final int maxNackRetries;
+    private final Executor confirmExecutor;
+
+    @Autowired
+    public PublisherConfirmTracker(MessageDispatcherProperties properties) {
+        // virtual threads: não há o que encerrar e confirmações pendentes no shutdown ainda são tratadas
+        this(properties, Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("message-dispatcher-confirm-", 0).factory()));
+    }
+
+    PublisherConfirmTracker(MessageDispatcherProperties properties, Executor confirmExecutor) {
+        var confirm = properties.getConfirm();
+        this.maxInFlight = confirm.getMaxInFlight();
+        this.window = new Semaphore(maxInFlight);
+        this.windowFullPolicy = confirm.getWindowFullPolicy();
+        this.blockTimeout = confirm.getBlockTimeout();
+        this.maxNackRetries = confirm.getMaxNackRetries();
+        this.confirmExecutor = confirmExecutor;
+    }
+
+    /**
+     * Publica a mensagem através de {@code publisher}, que deve repassar o {@link CorrelationData} recebido ao template.
+     * O {@code publisher} é chamado novamente a cada republicação após um nack.
+     * <p>
+     * Publishes the message through {@code publisher}, which must hand the received {@link CorrelationData} to the template.
+     * The {@code publisher} is called again for every republish after a nack.
+     *
+     * @param publisher - publicação da mensagem com o correlation data informado
+     * @return future completado quando o broker confirma a mensagem
+     * @throws MessagePublisherWindowFullException quando não há vaga na janela
+     */
+    public CompletableFuture<Void> publish(Consumer<CorrelationData> publisher) {
+        acquire();
+
+        var result = new CompletableFuture<Void>();
+        result.whenComplete((value, error) -> window.release());
+
+        try {
+            doPublish(publisher, result, 0);
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+            throw e;
+        }
+        return result;
+    }
+
+    /**
+     * Quantidade de mensagens aguardando confirmação do broker.
+     * Number of messages waiting for broker confirmation.
+     */
+    public int inFlight() {
+        return maxInFlight - window.availablePermits();
+    }
+
+    private void doPublish(Consumer<CorrelationData> publisher, CompletableFuture<Void> result, int attempt) {
+        var correlationData = new CorrelationData(UUID.randomUUID().toString());
+        publisher.accept(correlationData);
+
+        correlationData.getFuture().whenCompleteAsync((confirm, error) -> {
+            if (error != null) {
+                result.completeExceptionally(new MessagePublisherException("Erro ao aguardar a confirmação do broker.", error));
+                return;
+            }
+            if (confirm.isAck()) {
+                result.complete(null);
+                return;
+            }
+            if (attempt >= maxNackRetries) {
+                result.completeExceptionally(new MessagePublisherException(
+                        "Mensagem não confirmada pelo broker: " + confirm.getReason(), null));
+                return;
+            }
+
+            log.warn("Mensagem não confirmada pelo broker ({}), republicando. Tentativa {} de {}",
+                    confirm.getReason(), attempt + 1, maxNackRetries);
+            try {
+                doPublish(publisher, result, attempt + 1);
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        }, confirmExecutor);
+    }
+
+    private void acquire() {
+        if (windowFullPolicy == WindowFullPolicy.FAIL) {
+            if (!window.tryAcquire()) {
+                throw new MessagePublisherWindowFullException("Janela de confirmações do publicador está cheia.", null);
+            }
+            return;
+        }
+
+        try {
+            if (!window.tryAcquire(blockTimeout, TimeUnit.MILLISECONDS)) {
+                throw new MessagePublisherWindowFullException(
+                        "Tempo de espera por uma vaga na janela de confirmações excedido.", null);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagePublisherWindowFullException("Publicação interrompida aguardando a janela de confirmações.", e);
+        }
+    }
+}
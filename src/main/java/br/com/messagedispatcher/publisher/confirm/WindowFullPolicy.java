@@ -0,0 +1,20 @@
+package br.com.messagedispatcher.publisher.confirm;
+
+/**
+ * Comportamento da publicação quando a janela de mensagens aguardando confirmação do broker está cheia.
+ * Publishing behaviour when the window of messages waiting for broker confirmation is full.
+ */
+public enum WindowFullPolicy {
+
+    /**
+     * A thread chamadora aguarda até {@code message.dispatcher.confirm.block-timeout} ms por uma vaga na janela.
+     * The calling thread waits up to {@code message.dispatcher.confirm.block-timeout} ms for a slot in the window.
+     */
+    BLOCK,
+
+    /**
+     * A publicação falha imediatamente com {@code MessagePublisherWindowFullException}.
+     * The publish fails immediately with {@code MessagePublisherWindowFullException}.
+     */
+    FAIL
+}
@@ -0,0 +1,171 @@
+package br.com.messagedispatcher.publisher.connection;
+
+import com.rabbitmq.client.BlockedListener;
+import com.rabbitmq.client.Channel;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.connection.Connection;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionListener;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ConnectionFactory} que mede o tempo de espera para obter um canal do cache
+ * ({@code message.dispatcher.channel.acquisition}). Inclui a espera pelo limite de checkout
+ * ({@code message.dispatcher.connection.channel-checkout-timeout}) e a criação de canais quando o cache está vazio.
+ * <p>
+ * O {@code CachingConnectionFactory} não expõe esse ponto de extensão, por isso os templates de publicação
+ * recebem este wrapper; o listener container continua usando a fábrica original.
+ * <p>
+ * {@link ConnectionFactory} that measures the wait time to obtain a channel from the cache
+ * ({@code message.dispatcher.channel.acquisition}). It includes the wait for the checkout limit
+ * ({@code message.dispatcher.connection.channel-checkout-timeout}) and channel creation when the cache is empty.
+ * <p>
+ * {@code CachingConnectionFactory} does not expose this extension point, so the publishing templates
+ * receive this wrapper; the listener container keeps using the original factory.
+ */
+public class MeteredConnectionFactory implements ConnectionFactory {
+
+    public static final String CHANNEL_ACQUISITION_METRIC = "message.dispatcher.channel.acquisition";
+
+    private final ConnectionFactory delegate;
+    private final Timer acquisitionTimer;
+    private final MeteredConnectionFactory publisherConnectionFactory;
+
+    public MeteredConnectionFactory(ConnectionFactory delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.acquisitionTimer = acquisitionTimer(meterRegistry, "shared");
+
+        var publisherDelegate = delegate.getPublisherConnectionFactory();
+        this.publisherConnectionFactory = publisherDelegate == null ? null
+                : new MeteredConnectionFactory(publisherDelegate, acquisitionTimer(meterRegistry, "publisher"));
+    }
+
+    private MeteredConnectionFactory(ConnectionFactory delegate, Timer acquisitionTimer) {
+        this.delegate = delegate;
+        this.acquisitionTimer = acquisitionTimer;
+        this.publisherConnectionFactory = null;
+    }
+
+    private static Timer acquisitionTimer(MeterRegistry meterRegistry, String connection) {
+        return Timer.builder(CHANNEL_ACQUISITION_METRIC)
+                .description("Tempo de espera para obter um canal do cache")
+                .tag("connection", connection)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection createConnection() throws AmqpException {
+        return new MeteredConnection(delegate.createConnection(), acquisitionTimer);
+    }
+
+    @Override
+    public ConnectionFactory getPublisherConnectionFactory() {
+        return publisherConnectionFactory;
+    }
+
+    @Override
+    public String getHost() {
+        return delegate.getHost();
+    }
+
+    @Override
+    public int getPort() {
+        return delegate.getPort();
+    }
+
+    @Override
+    public String getVirtualHost() {
+        return delegate.getVirtualHost();
+    }
+
+    @Override
+    public String getUsername() {
+        return delegate.getUsername();
+    }
+
+    @Override
+    public void addConnectionListener(ConnectionListener listener) {
+        delegate.addConnectionListener(listener);
+    }
+
+    @Override
+    public boolean removeConnectionListener(ConnectionListener listener) {
+        return delegate.removeConnectionListener(listener);
+    }
+
+    @Override
+    public void clearConnectionListeners() {
+        delegate.clearConnectionListeners();
+    }
+
+    @Override
+    public boolean isSimplePublisherConfirms() {
+        return delegate.isSimplePublisherConfirms();
+    }
+
+    @Override
+    public boolean isPublisherConfirms() {
+        return delegate.isPublisherConfirms();
+    }
+
+    @Override
+    public boolean isPublisherReturns() {
+        return delegate.isPublisherReturns();
+    }
+
+    @Override
+    public void resetConnection() {
+        delegate.resetConnection();
+    }
+
+    private record MeteredConnection(Connection delegate, Timer acquisitionTimer) implements Connection {
+
+        @Override
+        public Channel createChannel(boolean transactional) throws AmqpException {
+            var start = System.nanoTime();
+            try {
+                return delegate.createChannel(transactional);
+            } finally {
+                acquisitionTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        @Override
+        public void close() throws AmqpException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isOpen() {
+            return delegate.isOpen();
+        }
+
+        @Override
+        public int getLocalPort() {
+            return delegate.getLocalPort();
+        }
+
+        @Override
+        public void addBlockedListener(BlockedListener listener) {
+            delegate.addBlockedListener(listener);
+        }
+
+        @Override
+        public boolean removeBlockedListener(BlockedListener listener) {
+            return delegate.removeBlockedListener(listener);
+        }
+
+        @Override
+        public com.rabbitmq.client.Connection getDelegate() {
+            return delegate.getDelegate();
+        }
+
+        @Override
+        public void closeThreadChannel() {
+            delegate.closeThreadChannel();
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package br.com.messagedispatcher.publisher.local;
+
+import br.com.messagedispatcher.config.properties.MessageDispatcherProperties;
+import br.com.messagedispatcher.model.MessageType;
+import br.com.messagedispatcher.router.impl.AnnotatedMessageRouter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+import static br.com.messagedispatcher.model.MessageType.EVENT;
+import static br.com.messagedispatcher.model.MessageType.NOTIFICATION;
+
+/**
+ * Entrega eventos e notificações endereçados à própria aplicação direto ao {@link AnnotatedMessageRouter}, sem passar
+ * pelo broker ({@code message.dispatcher.local-dispatch.enabled=true}). Cada mensagem é processada em uma virtual
+ * thread própria; o número de mensagens em processamento é limitado por um semáforo de {@code maxInFlight} permissões
+ * e, com o semáforo cheio, quem publica aguarda.
+ * <p>
+ * A entrega local é opt-in: só são entregues localmente mensagens de um dos tipos em {@code types} (ou subtipos),
+ * publicadas na exchange e routing key da aplicação e com um handler local. Os tipos informados não devem ter outros
+ * consumidores ligados à mesma routing key, que deixariam de recebê-los. O handler recebe o próprio objeto publicado,
+ * que por isso deve ser imutável; com {@code copyPayload}, recebe uma cópia feita com o ObjectMapper na thread de quem
+ * publica. Dentro de uma transação, a entrega só acontece após o commit. Se o handler falhar, a mensagem é publicada
+ * no broker, onde seguem as retentativas e a dead letter queue. Mensagens em memória não sobrevivem a uma queda da
+ * instância.
+ * <p>
+ * Delivers events and notifications addressed to the application itself straight to the {@link AnnotatedMessageRouter},
+ * without going through the broker ({@code message.dispatcher.local-dispatch.enabled=true}). Each message is processed
+ * on its own virtual thread; the number of messages in flight is bounded by a semaphore with {@code maxInFlight}
+ * permits and, when it is full, the publisher waits.
+ * <p>
+ * Local delivery is opt-in: only messages of one of the {@code types} (or subtypes), published to the application
+ * exchange and routing key and with a local handler, are delivered locally. The listed types must not have other
+ * consumers bound to the same routing key, since those would stop receiving them. The handler gets the published
+ * object itself, which must therefore be immutable; with {@code copyPayload}, it gets a copy made with the
+ * ObjectMapper on the publisher thread. Inside a transaction, delivery only happens after the commit. If the handler
+ * fails, the message is published to the broker, where retries and the dead letter queue apply. In-memory messages do
+ * not survive an instance crash.
+ */
+public class LocalMessageDispatcher implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalMessageDispatcher.class);
+
+    private final String exchangeName;
+    private final String routingKey;
+    private final Supplier<AnnotatedMessageRouter> routerSupplier;
+    private final Semaphore permits;
+    private final int maxInFlight;
+    private final ExecutorService executor;
+    private final ObjectMapper objectMapper;
+    private final boolean copyPayload;
+    private final ClassValue<Boolean> local;
+
+    // resolvido no primeiro envio: os listeners, que dependem do publisher, são criados antes do router
+    private volatile AnnotatedMessageRouter router;
+
+    public LocalMessageDispatcher(MessageDispatcherProperties properties, ObjectMapper objectMapper,
+                                  Supplier<AnnotatedMessageRouter> routerSupplier) {
+        this(properties, objectMapper, routerSupplier,
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("message-dispatcher-local-", 0).factory()));
+    }
+
+    LocalMessageDispatcher(MessageDispatcherProperties properties, ObjectMapper objectMapper,
+                           Supplier<AnnotatedMessageRouter> routerSupplier, ExecutorService executor) {
+        var localDispatch = properties.getLocalDispatch();
+        this.exchangeName = properties.getExchangeName();
+        this.routingKey = properties.getRoutingKey();
+        this.routerSupplier = routerSupplier;
+        this.maxInFlight = localDispatch.getMaxInFlight();
+        this.permits = new Semaphore(maxInFlight);
+        this.executor = executor;
+        this.objectMapper = objectMapper;
+        this.copyPayload = localDispatch.isCopyPayload();
+        this.local = localTypes(List.copyOf(localDispatch.getTypes()));
+    }
+
+    /**
+     * Indica se a mensagem pode ser entregue localmente.
+     * Whether the message can be delivered locally.
+     */
+    public boolean accepts(String exchange, String routingKey, Object body, MessageType messageType) {
+        return (messageType == EVENT || messageType == NOTIFICATION)
+                && body != null
+                && Objects.equals(this.exchangeName, exchange)
+                && Objects.equals(this.routingKey, routingKey)
+                && local.get(body.getClass())
+                && hasHandler(messageType, body);
+    }
+
+    /**
+     * Entrega a mensagem ao handler local. O future é completado quando o handler termina ou, se ele falhar, com a
+     * confirmação do broker da publicação feita por {@code brokerFallback}. Com uma transação ativa, a entrega é
+     * adiada para após o commit e, no rollback, a mensagem é descartada e o future completado.
+     * <p>
+     * Delivers the message to the local handler. The future completes when the handler finishes or, if it fails,
+     * with the broker confirmation of the publication made by {@code brokerFallback}. With an active transaction,
+     * delivery is deferred until after the commit and, on rollback, the message is discarded and the future completed.
+     */
+    public CompletableFuture<Void> dispatch(Object body, MessageType messageType,
+                                            Supplier<CompletableFuture<Void>> brokerFallback) {
+        Object payload;
+        try {
+            payload = copyPayload ? copy(body) : body;
+        } catch (IOException e) {
+            // o broker serializa o mesmo payload e reporta o erro pelo caminho normal
+            return brokerFallback.get();
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return submit(payload, messageType, brokerFallback);
+        }
+        // o handler não deve ver mensagens de uma transação que ainda pode ser desfeita
+        var future = new CompletableFuture<Void>();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    forward(submit(payload, messageType, brokerFallback), future);
+                } else {
+                    future.complete(null);
+                }
+            }
+        });
+        return future;
+    }
+
+    private CompletableFuture<Void> submit(Object payload, MessageType messageType,
+                                           Supplier<CompletableFuture<Void>> brokerFallback) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return brokerFallback.get();
+        }
+
+        var future = new CompletableFuture<Void>();
+        try {
+            executor.execute(() -> process(payload, messageType, brokerFallback, future));
+        } catch (RuntimeException e) {
+            // executor encerrado
+            permits.release();
+            return brokerFallback.get();
+        }
+        return future;
+    }
+
+    private void process(Object body, MessageType messageType, Supplier<CompletableFuture<Void>> brokerFallback,
+                         CompletableFuture<Void> future) {
+        try {
+            router().routePayload(messageType, body);
+            future.complete(null);
+        } catch (Throwable e) {
+            log.warn("Falha ao processar localmente a mensagem do tipo {}, publicando no broker: {}",
+                    body.getClass().getName(), e.getMessage());
+            fallback(brokerFallback, future);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static void fallback(Supplier<CompletableFuture<Void>> brokerFallback, CompletableFuture<Void> future) {
+        try {
+            forward(brokerFallback.get(), future);
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    private static void forward(CompletableFuture<Void> source, CompletableFuture<Void> target) {
+        source.whenComplete((ignored, e) -> {
+            if (e != null) {
+                target.completeExceptionally(e);
+            } else {
+                target.complete(null);
+            }
+        });
+    }
+
+    /**
+     * Cópia profunda do payload, para que o handler em outra thread não compartilhe o objeto de quem publica.
+     * Deep copy of the payload, so the handler on another thread does not share the publisher's object.
+     */
+    private Object copy(Object body) throws IOException {
+        return objectMapper.readValue(objectMapper.writeValueAsBytes(body), body.getClass());
+    }
+
+    private boolean hasHandler(MessageType messageType, Object body) {
+        var current = router();
+        // sem o router annotated (message.dispatcher.router) tudo segue pelo broker
+        return current != null && current.hasHandler(messageType, body);
+    }
+
+    private AnnotatedMessageRouter router() {
+        var current = router;
+        if (current == null) {
+            current = routerSupplier.get();
+            router = current;
+        }
+        return current;
+    }
+
+    private static ClassValue<Boolean> localTypes(List<Class<?>> localTypes) {
+        return new ClassValue<>() {
+            @Override
+            protected Boolean computeValue(Class<?> type) {
+                return localTypes.stream().anyMatch(localType -> localType.isAssignableFrom(type));
+            }
+        };
+    }
+
+    /**
+     * Quantidade de mensagens em processamento.
+     * Number of messages in flight.
+     */
+    public int inFlight() {
+        return maxInFlight - permits.availablePermits();
+    }
+
+    /**
+     * Aguarda o término das mensagens em processamento.
+     * Waits for the messages in flight to complete.
+     */
+    @Override
+    public void close() {
+        executor.close();
+    }
+}
@@ -0,0 +1,246 @@
+package br.com.messagedispatcher.publisher.outbox;
+
+import br.com.messagedispatcher.exceptions.MessagePublisherException;
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.impl.ContentHeaderPropertyWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.support.DefaultMessagePropertiesConverter;
+import org.springframework.amqp.rabbit.support.MessagePropertiesConverter;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static br.com.messagedispatcher.constants.MessageDispatcherConstants.OUTBOX_SCHEMA_LOCATION;
+
+/**
+ * Tabela de outbox ({@value #TABLE}) acessada via JDBC. As gravações usam a conexão da transação Spring em curso,
+ * de forma que a mensagem só fica visível para o {@link OutboxRelay} se a transação de negócio for confirmada.
+ * <p>
+ * As propriedades da mensagem são gravadas como o content header do AMQP 0-9-1 (propriedades básicas e tabela de
+ * headers tipada), o mesmo formato do {@code HeaderPreservingBatchingStrategy}: {@code messageId},
+ * {@code correlationId}, {@code priority}, {@code deliveryMode}, {@code expiration} e {@code timestamp} são
+ * preservados, e headers que não são tipos AMQP são gravados com {@code toString()}, como o {@code RabbitTemplate}
+ * faria ao enviá-los ao broker.
+ * <p>
+ * As mensagens são reservadas ({@link #claim(int, Duration)}) por um prazo em vez de ficarem bloqueadas durante a
+ * publicação: o {@code SELECT ... FOR UPDATE SKIP LOCKED} de cada banco só dura a transação curta da reserva, e os
+ * relays das outras instâncias ignoram as linhas reservadas até o prazo expirar.
+ * <p>
+ * Outbox table ({@value #TABLE}) accessed through JDBC. Writes use the connection of the ongoing Spring transaction,
+ * so the message only becomes visible to the {@link OutboxRelay} if the business transaction commits.
+ * <p>
+ * The message properties are stored as the AMQP 0-9-1 content header (basic properties and typed header table), the
+ * same format as the {@code HeaderPreservingBatchingStrategy}: {@code messageId}, {@code correlationId},
+ * {@code priority}, {@code deliveryMode}, {@code expiration} and {@code timestamp} are preserved, and headers that are
+ * not AMQP types are stored with {@code toString()}, as the {@code RabbitTemplate} would do when sending them to the
+ * broker.
+ * <p>
+ * Messages are claimed ({@link #claim(int, Duration)}) for a period instead of being locked while they are
+ * published: each database's {@code SELECT ... FOR UPDATE SKIP LOCKED} only lasts the short claim transaction, and
+ * the relays of other instances skip claimed rows until the claim expires.
+ */
+public class JdbcOutboxStore {
+
+    public static final String TABLE = "message_dispatcher_outbox";
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcOutboxStore.class);
+
+    private static final String CHARSET = StandardCharsets.UTF_8.name();
+
+    private static final String INSERT = "INSERT INTO " + TABLE +
+            " (exchange, routing_key, properties, body, created_at) VALUES (?, ?, ?, ?, ?)";
+    private static final String COLUMNS = "id, exchange, routing_key, properties, body, created_at";
+    private static final String UNCLAIMED = " WHERE (claimed_until IS NULL OR claimed_until < ?) ORDER BY id ";
+    private static final String CLAIM = "UPDATE " + TABLE + " SET claimed_until = ? WHERE id = ?";
+    private static final String RELEASE = "UPDATE " + TABLE + " SET claimed_until = NULL WHERE id = ?";
+    private static final String DELETE = "DELETE FROM " + TABLE + " WHERE id = ?";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final MessagePropertiesConverter propertiesConverter = new DefaultMessagePropertiesConverter();
+    private final DatabaseDriver databaseDriver;
+    private final String select;
+    private final boolean limitInSql;
+
+    public JdbcOutboxStore(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.databaseDriver = databaseDriver(dataSource);
+        this.select = select(databaseDriver);
+        this.limitInSql = databaseDriver != DatabaseDriver.ORACLE;
+    }
+
+    /**
+     * Leitura das mensagens não reservadas com a cláusula de limite e bloqueio de cada banco. O limite vai no SQL:
+     * com apenas {@code setMaxRows} alguns bancos leem e bloqueiam o outbox inteiro a cada lote. A exceção é o
+     * Oracle, que não aceita {@code FOR UPDATE} com {@code FETCH FIRST} e, com {@code SKIP LOCKED}, só bloqueia as
+     * linhas efetivamente lidas.
+     * <p>
+     * Read of the unclaimed messages with each database's limit and lock clause. The limit goes in the SQL: with only
+     * {@code setMaxRows} some databases read and lock the whole outbox on every batch. The exception is Oracle, which
+     * does not accept {@code FOR UPDATE} with {@code FETCH FIRST} and, with {@code SKIP LOCKED}, only locks the rows
+     * actually fetched.
+     */
+    private static String select(DatabaseDriver databaseDriver) {
+        return switch (databaseDriver) {
+            case MYSQL, MARIADB, POSTGRESQL ->
+                    "SELECT " + COLUMNS + " FROM " + TABLE + UNCLAIMED + "LIMIT ? FOR UPDATE SKIP LOCKED";
+            case ORACLE -> "SELECT " + COLUMNS + " FROM " + TABLE + UNCLAIMED + "FOR UPDATE SKIP LOCKED";
+            case SQLSERVER -> "SELECT " + COLUMNS + " FROM " + TABLE + " WITH (UPDLOCK, ROWLOCK, READPAST)" + UNCLAIMED
+                    + "OFFSET 0 ROWS FETCH NEXT ? ROWS ONLY";
+            case H2 -> "SELECT " + COLUMNS + " FROM " + TABLE + UNCLAIMED + "FETCH FIRST ? ROWS ONLY FOR UPDATE SKIP LOCKED";
+            // sem SKIP LOCKED as outras instâncias aguardam a transação curta da reserva
+            default -> "SELECT " + COLUMNS + " FROM " + TABLE + UNCLAIMED + "FETCH FIRST ? ROWS ONLY FOR UPDATE";
+        };
+    }
+
+    /**
+     * Cria a tabela, se não existir, com o script do banco em uso.
+     * Creates the table, if it does not exist, with the script of the database in use.
+     */
+    public void initializeSchema() {
+        if (databaseDriver == DatabaseDriver.UNKNOWN) {
+            log.warn("Banco de dados não identificado, a tabela {} não será criada; crie a tabela manualmente.", TABLE);
+            return;
+        }
+
+        var platform = databaseDriver.getId();
+        var script = new ClassPathResource(OUTBOX_SCHEMA_LOCATION.formatted(platform));
+        if (!script.exists()) {
+            log.warn("Não há script de criação da tabela {} para o banco {}; crie a tabela manualmente.", TABLE, platform);
+            return;
+        }
+        new ResourceDatabasePopulator(script).execute(dataSource);
+    }
+
+    public void append(String exchange, String routingKey, Message message) {
+        jdbcTemplate.update(INSERT, ps -> bind(ps, exchange, routingKey, message, Timestamp.from(Instant.now())));
+    }
+
+    public void appendAll(String exchange, String routingKey, List<Message> messages) {
+        var createdAt = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(INSERT, messages, messages.size(),
+                (ps, message) -> bind(ps, exchange, routingKey, message, createdAt));
+    }
+
+    /**
+     * Reserva as mensagens mais antigas ainda não reservadas, ou com a reserva expirada, por {@code claimTimeout}.
+     * Deve ser chamado em uma transação curta: as linhas ficam bloqueadas apenas até a reserva ser gravada, e os
+     * relays das outras instâncias pulam as linhas bloqueadas em vez de aguardá-las.
+     * <p>
+     * Claims the oldest messages not yet claimed, or whose claim has expired, for {@code claimTimeout}. Must be called
+     * in a short transaction: the rows are locked only until the claim is written, and the relays of other instances
+     * skip the locked rows instead of waiting for them.
+     */
+    public List<OutboxMessage> claim(int limit, Duration claimTimeout) {
+        var now = Instant.now();
+        var messages = jdbcTemplate.query(connection -> {
+            var ps = connection.prepareStatement(select);
+            ps.setTimestamp(1, Timestamp.from(now));
+            if (limitInSql) {
+                ps.setInt(2, limit);
+            }
+            ps.setMaxRows(limit);
+            return ps;
+        }, (rs, rowNum) -> toOutboxMessage(rs));
+
+        if (!messages.isEmpty()) {
+            var claimedUntil = Timestamp.from(now.plus(claimTimeout));
+            jdbcTemplate.batchUpdate(CLAIM, messages, messages.size(), (ps, message) -> {
+                ps.setTimestamp(1, claimedUntil);
+                ps.setLong(2, message.id());
+            });
+        }
+        return messages;
+    }
+
+    /**
+     * Desfaz a reserva, para que as mensagens sejam publicadas no próximo ciclo.
+     * Releases the claim, so the messages are published in the next cycle.
+     */
+    public void release(List<Long> ids) {
+        jdbcTemplate.batchUpdate(RELEASE, ids, ids.size(), (ps, id) -> ps.setLong(1, id));
+    }
+
+    public void delete(List<Long> ids) {
+        jdbcTemplate.batchUpdate(DELETE, ids, ids.size(), (ps, id) -> ps.setLong(1, id));
+    }
+
+    private static DatabaseDriver databaseDriver(DataSource dataSource) {
+        try {
+            return DatabaseDriver.fromProductName(
+                    JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName));
+        } catch (MetaDataAccessException e) {
+            log.warn("Não foi possível identificar o banco de dados do outbox: {}", e.getMessage());
+            return DatabaseDriver.UNKNOWN;
+        }
+    }
+
+    private void bind(PreparedStatement ps, String exchange, String routingKey, Message message,
+                      Timestamp createdAt) throws SQLException {
+        ps.setString(1, exchange);
+        ps.setString(2, routingKey);
+        ps.setBytes(3, writeProperties(message));
+        ps.setBytes(4, message.getBody());
+        ps.setTimestamp(5, createdAt);
+    }
+
+    private OutboxMessage toOutboxMessage(ResultSet rs) throws SQLException {
+        return new OutboxMessage(rs.getLong("id"), rs.getString("exchange"), rs.getString("routing_key"),
+                new Message(rs.getBytes("body"), readProperties(rs.getBytes("properties"))),
+                rs.getTimestamp("created_at").toInstant());
+    }
+
+    /**
+     * Grava as propriedades como {@code [content header AMQP (weight, tamanho do corpo, propriedades)]}.
+     * Writes the properties as {@code [AMQP content header (weight, body size, properties)]}.
+     */
+    private byte[] writeProperties(Message message) {
+        var basicProperties = propertiesConverter.fromMessageProperties(message.getMessageProperties(), CHARSET);
+
+        var output = new ByteArrayOutputStream(256);
+        try (var data = new DataOutputStream(output)) {
+            data.writeShort(0);
+            data.writeLong(message.getBody().length);
+            basicProperties.writePropertiesTo(new ContentHeaderPropertyWriter(data));
+        } catch (IOException e) {
+            throw new MessagePublisherException("Erro ao serializar as propriedades da mensagem para o outbox.", e);
+        }
+        return output.toByteArray();
+    }
+
+    private MessageProperties readProperties(byte[] properties) {
+        try (var input = new DataInputStream(new ByteArrayInputStream(properties))) {
+            var messageProperties = propertiesConverter.toMessageProperties(new AMQP.BasicProperties(input), null, CHARSET);
+            // o conversor preenche as propriedades de recebimento; a mensagem do outbox volta a ser publicada
+            messageProperties.setDeliveryMode(messageProperties.getReceivedDeliveryMode());
+            messageProperties.setUserId(messageProperties.getReceivedUserId());
+            messageProperties.setDelayLong(messageProperties.getReceivedDelayLong());
+            return messageProperties;
+        } catch (IOException e) {
+            throw new MessagePublisherException("Erro ao ler as propriedades da mensagem do outbox.", e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package br.com.messagedispatcher.publisher.outbox;
+
+import org.springframework.amqp.core.Message;
+
+import java.time.Instant;
+
+/**
+ * Mensagem gravada no outbox, aguardando publicação pelo {@link OutboxRelay}.
+ * Message stored in the outbox, waiting to be published by the {@link OutboxRelay}.
+ *
+ * @param id         - id da linha na tabela de outbox
+ * @param exchange   - exchange de destino
+ * @param routingKey - routing key de destino
+ * @param message    - mensagem AMQP, já serializada e com os headers do dispatcher
+ * @param createdAt  - instante da gravação
+ */
+public record OutboxMessage(long id, String exchange, String routingKey, Message message, Instant createdAt) {
+}
@@ -0,0 +1,215 @@
+package br.com.messagedispatcher.publisher.outbox;
+
+import br.com.messagedispatcher.config.properties.MessageDispatcherProperties;
+import br.com.messagedispatcher.jfr.MessagePublishedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publica no broker as mensagens gravadas no outbox. A cada ciclo reserva, em uma transação curta, um lote de até
+ * {@code batchSize} mensagens; fora da transação publica todas antes de aguardar as confirmações (publisher confirms)
+ * e então remove do outbox as confirmadas. Nenhuma conexão ou lock do banco fica preso enquanto o broker confirma.
+ * Enquanto os lotes vêm cheios o relay continua drenando sem esperar o intervalo.
+ * <p>
+ * A entrega é at-least-once: uma queda entre a confirmação do broker e a remoção publica o lote de novo quando a
+ * reserva expirar ({@code claimTimeout}). Mensagens recusadas (nack) ou sem confirmação no prazo têm a reserva
+ * desfeita e são publicadas no próximo ciclo.
+ * <p>
+ * Publishes the messages stored in the outbox to the broker. Each cycle claims, in a short transaction, a batch of
+ * up to {@code batchSize} messages; outside the transaction it publishes all of them before waiting for the publisher
+ * confirms and then removes the confirmed ones from the outbox. No database connection or lock is held while the
+ * broker confirms. While batches come back full the relay keeps draining without waiting for the interval.
+ * <p>
+ * Delivery is at-least-once: a crash between the broker confirmation and the removal publishes the batch again once
+ * the claim expires ({@code claimTimeout}). Messages nacked or not confirmed in time have their claim released and
+ * are published in the next cycle.
+ */
+public class OutboxRelay {
+
+    public static final String RELAYED_METRIC = "message.dispatcher.outbox.relayed";
+    public static final String RELAY_METRIC = "message.dispatcher.outbox.relay";
+    public static final String LAG_METRIC = "message.dispatcher.outbox.lag";
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final JdbcOutboxStore store;
+    private final TransactionTemplate transactionTemplate;
+    private final RabbitTemplate rabbitTemplate;
+    private final int batchSize;
+    private final long pollInterval;
+    private final long confirmTimeout;
+    private final Duration claimTimeout;
+
+    private final Counter relayed;
+    private final Timer relaySuccess;
+    private final Timer relayFailure;
+    private final AtomicLong lag = new AtomicLong();
+
+    private final ScheduledExecutorService scheduler = new ScheduledThreadPoolExecutor(1,
+            Thread.ofPlatform().name("message-dispatcher-outbox-relay").daemon().factory());
+
+    public OutboxRelay(JdbcOutboxStore store, TransactionTemplate transactionTemplate, RabbitTemplate rabbitTemplate,
+                       MessageDispatcherProperties properties, MeterRegistry meterRegistry) {
+        this.store = store;
+        this.transactionTemplate = transactionTemplate;
+        this.rabbitTemplate = rabbitTemplate;
+
+        var outbox = properties.getOutbox();
+        this.batchSize = outbox.getBatchSize();
+        this.pollInterval = outbox.getPollInterval();
+        this.confirmTimeout = outbox.getConfirmTimeout();
+        this.claimTimeout = Duration.ofMillis(outbox.getClaimTimeout());
+
+        this.relayed = Counter.builder(RELAYED_METRIC)
+                .description("Mensagens do outbox publicadas e confirmadas pelo broker")
+                .register(meterRegistry);
+        this.relaySuccess = relayTimer(meterRegistry, "success");
+        this.relayFailure = relayTimer(meterRegistry, "error");
+        TimeGauge.builder(LAG_METRIC, lag, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Idade da mensagem mais antiga do último lote lido do outbox")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::drain, pollInterval, pollInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    void drain() {
+        try {
+            while (relayBatch() == batchSize) {
+                // lote cheio e todo confirmado: há mais mensagens aguardando
+            }
+        } catch (Exception e) {
+            log.warn("Erro ao publicar as mensagens do outbox, nova tentativa em {} ms: {}", pollInterval, e.getMessage());
+        }
+    }
+
+    /**
+     * @return quantidade de mensagens confirmadas e removidas do outbox
+     */
+    int relayBatch() {
+        var start = System.nanoTime();
+        try {
+            var messages = transactionTemplate.execute(status -> store.claim(batchSize, claimTimeout));
+            var confirmed = messages == null ? 0 : publish(messages);
+            relaySuccess.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return confirmed;
+        } catch (RuntimeException e) {
+            relayFailure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private int publish(List<OutboxMessage> messages) {
+        if (messages.isEmpty()) {
+            lag.set(0);
+            return 0;
+        }
+        lag.set(Duration.between(messages.getFirst().createdAt(), Instant.now()).toMillis());
+
+        // todas as mensagens do lote são publicadas no mesmo canal antes de aguardar as confirmações; fora do invoke
+        // cada envio abriria um canal novo, pois o canal só volta ao cache depois de receber todas as confirmações
+        List<CorrelationData> correlations = new ArrayList<>(messages.size());
+        try {
+            rabbitTemplate.invoke(operations -> {
+                for (var message : messages) {
+                    var publishedEvent = MessagePublishedEvent.start();
+                    var correlationData = new CorrelationData(String.valueOf(message.id()));
+                    operations.send(message.exchange(), message.routingKey(), message.message(), correlationData);
+                    correlations.add(correlationData);
+                    if (publishedEvent != null) {
+                        publishedEvent.commit(message.message());
+                    }
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            // as mensagens já enviadas podem ser confirmadas mesmo assim; publicá-las de novo é aceito pelo at-least-once
+            transactionTemplate.executeWithoutResult(status -> store.release(ids(messages)));
+            throw e;
+        }
+
+        List<Long> confirmed = new ArrayList<>(messages.size());
+        List<Long> unconfirmed = new ArrayList<>();
+        var deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(confirmTimeout);
+        for (int i = 0; i < messages.size(); i++) {
+            if (isAck(correlations.get(i), deadline)) {
+                confirmed.add(messages.get(i).id());
+            } else {
+                unconfirmed.add(messages.get(i).id());
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!confirmed.isEmpty()) {
+                store.delete(confirmed);
+            }
+            if (!unconfirmed.isEmpty()) {
+                store.release(unconfirmed);
+            }
+        });
+        relayed.increment(confirmed.size());
+        if (confirmed.size() < messages.size()) {
+            log.warn("{} de {} mensagens do outbox não foram confirmadas pelo broker e serão publicadas novamente",
+                    messages.size() - confirmed.size(), messages.size());
+        }
+        return confirmed.size();
+    }
+
+    private static List<Long> ids(List<OutboxMessage> messages) {
+        return messages.stream().map(OutboxMessage::id).toList();
+    }
+
+    private static boolean isAck(CorrelationData correlationData, long deadline) {
+        try {
+            var confirm = correlationData.getFuture().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return confirm.isAck();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            return false;
+        }
+    }
+
+    private static Timer relayTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder(RELAY_METRIC)
+                .description("Publicação de um lote do outbox, da reserva à remoção das mensagens confirmadas")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Idade, em milissegundos, da mensagem mais antiga do último lote lido.
+     * Age, in milliseconds, of the oldest message of the last batch read.
+     */
+    public long lag() {
+        return lag.get();
+    }
+}
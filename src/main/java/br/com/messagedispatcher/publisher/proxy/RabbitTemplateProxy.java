@@ -4,23 +4,46 @@ import br.com.messagedispatcher.config.properties.MessageDispatcherProperties;
 import br.com.messagedispatcher.exceptions.MessageDispatcherRemoteProcessException;
 import br.com.messagedispatcher.exceptions.MessagePublisherException;
 import br.com.messagedispatcher.exceptions.MessagePublisherTimeOutException;
+import br.com.messagedispatcher.jfr.MessagePublishedEvent;
+import br.com.messagedispatcher.metrics.DispatcherMetrics;
+import br.com.messagedispatcher.metrics.PublishMetrics;
 import br.com.messagedispatcher.model.MessageDispatcherRemoteInvocationResult;
 import br.com.messagedispatcher.model.MessageType;
+import br.com.messagedispatcher.publisher.FixedReplyQueues;
+import br.com.messagedispatcher.publisher.confirm.PublisherConfirmTracker;
+import br.com.messagedispatcher.publisher.outbox.JdbcOutboxStore;
 import br.com.messagedispatcher.util.EnvironmentUtils;
 import br.com.messagedispatcher.util.httpservlet.RequestContextUtil;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
 import org.springframework.amqp.AmqpRemoteException;
 import org.springframework.amqp.core.AmqpReplyTimeoutException;
 import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.AsyncRabbitTemplate;
+import org.springframework.amqp.rabbit.RabbitConverterFuture;
+import org.springframework.amqp.rabbit.core.BatchingRabbitTemplate;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import static br.com.messagedispatcher.constants.MessageDispatcherConstants.MessageDispatcherHeaders.*;
 
@@ -46,14 +69,52 @@ public class RabbitTemplateProxy implements TemplateProxy {
     private static final Logger log = LoggerFactory.getLogger(RabbitTemplateProxy.class);
 
     private final RabbitTemplate rabbitTemplate;
+    private final AsyncRabbitTemplate asyncRabbitTemplate;
+    private final BatchingRabbitTemplate batchingRabbitTemplate;
+    private final JdbcOutboxStore outboxStore;
+    private final FixedReplyQueues replyQueues;
+    private final PublisherConfirmTracker confirmTracker;
     private final ObjectMapper objectMapper;
     private final MessageDispatcherProperties properties;
+    private final DispatcherMetrics metrics;
 
+    /**
+     * Decodifica as respostas assíncronas fora da thread chamadora e da thread do listener de respostas.
+     * Decodes asynchronous replies off the calling thread and the reply listener thread.
+     */
+    private final ExecutorService replyExecutor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("message-dispatcher-reply-", 0).factory());
 
-    public RabbitTemplateProxy(RabbitTemplate rabbitTemplate, ObjectMapper objectMapper, MessageDispatcherProperties properties) {
+    /**
+     * Agenda os timeouts por chamada; as tarefas são removidas assim que a resposta chega.
+     * Schedules per call timeouts; tasks are removed as soon as the reply arrives.
+     */
+    private final ScheduledThreadPoolExecutor timeoutScheduler = new ScheduledThreadPoolExecutor(1,
+            Thread.ofPlatform().name("message-dispatcher-reply-timeout").daemon().factory());
+
+    public RabbitTemplateProxy(RabbitTemplate rabbitTemplate, AsyncRabbitTemplate asyncRabbitTemplate,
+                               ObjectProvider<BatchingRabbitTemplate> batchingRabbitTemplate,
+                               ObjectProvider<JdbcOutboxStore> outboxStore,
+                               ObjectProvider<FixedReplyQueues> replyQueues,
+                               PublisherConfirmTracker confirmTracker,
+                               ObjectMapper objectMapper, MessageDispatcherProperties properties,
+                               DispatcherMetrics metrics) {
         this.rabbitTemplate = rabbitTemplate;
+        this.asyncRabbitTemplate = asyncRabbitTemplate;
+        this.batchingRabbitTemplate = batchingRabbitTemplate.getIfAvailable();
+        this.outboxStore = outboxStore.getIfAvailable();
+        this.replyQueues = replyQueues.getIfAvailable();
+        this.confirmTracker = confirmTracker;
         this.objectMapper = objectMapper;
         this.properties = properties;
+        this.metrics = metrics;
+        this.timeoutScheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timeoutScheduler.shutdownNow();
+        replyExecutor.shutdown();
     }
 
     @Override
@@ -63,15 +124,88 @@ public class RabbitTemplateProxy implements TemplateProxy {
     }
 
     @Override
-    public void convertAndSend(final String exchange, final String routingKey, final Object body, MessageType messageType) {
-        this.send(exchange, routingKey, body, messageType);
+    public <T> CompletableFuture<T> convertSendAndReceiveAsync(final String exchange, final String routingKey, final Object body,
+                                                               final Class<T> responseClass, MessageType messageType,
+                                                               final Duration timeout) {
+        var result = new CompletableFuture<T>();
+        var publishMetrics = metrics.publish(messageType, body.getClass());
+        var start = System.nanoTime();
+
+        // headers mapeados são lidos do request na thread chamadora, antes do envio
+        RabbitConverterFuture<Object> reply;
+        try {
+            startReplyQueues();
+            reply = asyncRabbitTemplate.convertSendAndReceive(exchange, routingKey, body,
+                    m -> setMessageHeaders(body, m, messageType));
+        } catch (AmqpException e) {
+            return CompletableFuture.failedFuture(new MessagePublisherException("Erro ao publicar mensagem.", e));
+        }
+
+        reply.whenCompleteAsync((response, error) -> {
+            if (error != null) {
+                result.completeExceptionally(translateReplyFailure(error));
+                return;
+            }
+            try {
+                result.complete(toResponse(response, responseClass, routingKey));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        }, replyExecutor);
+
+        var timeoutTask = timeoutScheduler.schedule(() -> result.completeExceptionally(
+                        new MessagePublisherTimeOutException("Tempo de espera pela reposta excedido.", null)),
+                timeout.toMillis(), TimeUnit.MILLISECONDS);
+
+        // timeout ou cancelamento pelo chamador descartam a correlação pendente
+        result.whenComplete((value, error) -> {
+            timeoutTask.cancel(false);
+            if (error != null) {
+                reply.cancel(true);
+            }
+            recordReply(publishMetrics, start, error);
+        });
+
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<Void> convertAndSend(final String exchange, final String routingKey, final Object body, MessageType messageType) {
+        return this.send(exchange, routingKey, body, messageType);
+    }
+
+    @Override
+    public CompletableFuture<Void> convertAndSendAll(final String exchange, final String routingKey, final Collection<?> bodies,
+                                                     MessageType messageType) {
+        if (isOutboxed(messageType)) {
+            return appendAll(exchange, routingKey, bodies, messageType);
+        }
+
+        if (isBatched(messageType)) {
+            bodies.forEach(body -> this.send(exchange, routingKey, body, messageType));
+            batchingRabbitTemplate.flush();
+            return CompletableFuture.completedFuture(null);
+        }
+
+        // sem lotes, todas as mensagens são publicadas no canal dedicado da thread; as republicações após nack
+        // ocorrem fora do invoke e utilizam qualquer canal do cache
+        return rabbitTemplate.invoke(operations -> CompletableFuture.allOf(bodies.stream()
+                .map(body -> this.send(exchange, routingKey, body, messageType))
+                .toArray(CompletableFuture[]::new)));
     }
 
+    @Override
+    public boolean isConfirmed(MessageType messageType) {
+        return isOutboxed(messageType) || !isBatched(messageType);
+    }
 
     private <T> T sendAndReceive(final String exchange, final String routingKey, final Object body, final Class<T> responseClass,
                                  MessageType messageType) {
+        var publishMetrics = metrics.publish(messageType, body.getClass());
+        var start = System.nanoTime();
+        var timer = publishMetrics.replyFailure();
         try {
-
+            startReplyQueues();
             var response = Optional.ofNullable(
                     rabbitTemplate.convertSendAndReceive(exchange,
                             routingKey,
@@ -79,37 +213,196 @@ public class RabbitTemplateProxy implements TemplateProxy {
                             m ->
                                     setMessageHeaders(body, m, messageType)));
 
-            var remoteInvocationResult = objectMapper
-                    .convertValue(response.orElseThrow(() ->
-                            new MessageDispatcherRemoteProcessException(HttpStatus.FAILED_DEPENDENCY, "Nenhuma resposta recebida do consumidor", routingKey)), MessageDispatcherRemoteInvocationResult.class);
-
-            if (log.isDebugEnabled()) {
-                log.debug("Resposta recebida: {}", remoteInvocationResult);
-            }
-            if (remoteInvocationResult.hasException()) {
-                throw new MessageDispatcherRemoteProcessException(remoteInvocationResult.exception(), remoteInvocationResult.remoteService());
+            if (response.isEmpty()) {
+                // o RabbitTemplate retorna null quando o tempo de espera pela resposta se esgota
+                timer = publishMetrics.replyTimeout();
             }
 
-            return objectMapper.convertValue(remoteInvocationResult.value(), responseClass);
+            var result = toResponse(response.orElseThrow(() ->
+                    new MessageDispatcherRemoteProcessException(HttpStatus.FAILED_DEPENDENCY, "Nenhuma resposta recebida do consumidor", routingKey)),
+                    responseClass, routingKey);
+            timer = publishMetrics.replySuccess();
+            return result;
         } catch (AmqpReplyTimeoutException e) {
+            timer = publishMetrics.replyTimeout();
             throw new MessagePublisherTimeOutException("Tempo de espera pela reposta excedido.", e);
         } catch (AmqpRemoteException e) {
             throw new MessagePublisherException("Erro ao publicar mensagem.", e.getCause());
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
     }
 
-    private void send(final String exchange, final String routingKey, final Object body, MessageType messageType) {
-        rabbitTemplate.convertAndSend(exchange,
-                routingKey,
-                body,
-                m ->
-                        setMessageHeaders(body, m, messageType));
+    /**
+     * As filas de resposta só são declaradas e consumidas a partir da primeira requisição.
+     * Reply queues are only declared and consumed from the first request on.
+     */
+    private void startReplyQueues() {
+        if (replyQueues != null) {
+            replyQueues.start();
+        }
+    }
+
+    private static void recordReply(PublishMetrics publishMetrics, long start, Throwable error) {
+        var timer = error == null ? publishMetrics.replySuccess()
+                : error instanceof MessagePublisherTimeOutException ? publishMetrics.replyTimeout()
+                : publishMetrics.replyFailure();
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private <T> T toResponse(final Object response, final Class<T> responseClass, final String routingKey) {
+        if (response == null) {
+            throw new MessageDispatcherRemoteProcessException(HttpStatus.FAILED_DEPENDENCY, "Nenhuma resposta recebida do consumidor", routingKey);
+        }
+
+        var remoteInvocationResult = objectMapper.convertValue(response, MessageDispatcherRemoteInvocationResult.class);
+
+        if (log.isDebugEnabled()) {
+            log.debug("Resposta recebida: {}", remoteInvocationResult);
+        }
+        if (remoteInvocationResult.hasException()) {
+            throw new MessageDispatcherRemoteProcessException(remoteInvocationResult.exception(), remoteInvocationResult.remoteService());
+        }
+
+        return objectMapper.convertValue(remoteInvocationResult.value(), responseClass);
+    }
+
+    private static Throwable translateReplyFailure(Throwable error) {
+        if (error instanceof AmqpReplyTimeoutException) {
+            return new MessagePublisherTimeOutException("Tempo de espera pela reposta excedido.", error);
+        }
+        if (error instanceof AmqpRemoteException) {
+            return new MessagePublisherException("Erro ao publicar mensagem.", error.getCause());
+        }
+        if (error instanceof CancellationException) {
+            return error;
+        }
+        return new MessagePublisherException("Erro ao publicar mensagem.", error);
+    }
+
+    private CompletableFuture<Void> send(final String exchange, final String routingKey, final Object body, MessageType messageType) {
+        var publishTimer = metrics.publish(messageType, body.getClass()).publish();
+
+        if (isOutboxed(messageType)) {
+            var start = System.nanoTime();
+            var result = append(exchange, routingKey, body, messageType);
+            publishTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        }
+
+        if (isBatched(messageType)) {
+            var publishedEvent = MessagePublishedEvent.start();
+            var start = System.nanoTime();
+            // os before publish post processors só enxergam o lote montado, por isso o __TypeId__ é removido em cada mensagem
+            batchingRabbitTemplate.convertAndSend(exchange, routingKey, body,
+                    m -> describe(publishedEvent, setMessageHeaders(body, removeTypeId(m), messageType)));
+            publishTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            commit(publishedEvent);
+            // o BatchingRabbitTemplate não correlaciona confirmações por mensagem
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return confirmTracker.publish(correlationData -> {
+            var publishedEvent = MessagePublishedEvent.start();
+            var start = System.nanoTime();
+            rabbitTemplate.convertAndSend(exchange,
+                    routingKey,
+                    body,
+                    m ->
+                            describe(publishedEvent, setMessageHeaders(body, m, messageType)),
+                    correlationData);
+            publishTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            commit(publishedEvent);
+        });
+    }
+
+    /**
+     * Grava a mensagem no outbox, na transação do chamador; o {@code OutboxRelay} a publica depois.
+     * Stores the message in the outbox, in the caller's transaction; the {@code OutboxRelay} publishes it later.
+     */
+    private CompletableFuture<Void> append(String exchange, String routingKey, Object body, MessageType messageType) {
+        try {
+            outboxStore.append(exchange, routingKey, toMessage(body, messageType));
+        } catch (DataAccessException e) {
+            throw new MessagePublisherException("Erro ao gravar a mensagem no outbox.", e);
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private CompletableFuture<Void> appendAll(String exchange, String routingKey, Collection<?> bodies, MessageType messageType) {
+        try {
+            outboxStore.appendAll(exchange, routingKey, bodies.stream()
+                    .map(body -> toMessage(body, messageType))
+                    .toList());
+        } catch (DataAccessException e) {
+            throw new MessagePublisherException("Erro ao gravar as mensagens no outbox.", e);
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private Message toMessage(Object body, MessageType messageType) {
+        return setMessageHeaders(body, rabbitTemplate.getMessageConverter().toMessage(body, new MessageProperties()), messageType);
+    }
+
+    /**
+     * Com {@code message.dispatcher.outbox.enabled}, eventos e notificações passam pelo outbox; comandos e consultas
+     * aguardam resposta e seguem direto para o broker.
+     * With {@code message.dispatcher.outbox.enabled}, events and notifications go through the outbox; commands and
+     * queries wait for a reply and go straight to the broker.
+     */
+    private boolean isOutboxed(MessageType messageType) {
+        return outboxStore != null
+                && (messageType == MessageType.EVENT || messageType == MessageType.NOTIFICATION);
+    }
+
+    /**
+     * Apenas eventos e notificações são agrupados; comandos e consultas aguardam resposta individual.
+     * Only events and notifications are batched; commands and queries wait for an individual response.
+     */
+    private boolean isBatched(MessageType messageType) {
+        return batchingRabbitTemplate != null
+                && (messageType == MessageType.EVENT || messageType == MessageType.NOTIFICATION);
+    }
+
+    /**
+     * A mensagem só existe dentro do post processor, por isso os campos do evento são preenchidos ali e o evento é
+     * gravado após o envio.
+     * The message only exists inside the post processor, so the event fields are filled there and the event is
+     * recorded after the send.
+     */
+    private static Message describe(MessagePublishedEvent publishedEvent, Message message) {
+        if (publishedEvent != null && publishedEvent.shouldCommit()) {
+            publishedEvent.describe(message);
+        }
+        return message;
+    }
+
+    private static void commit(MessagePublishedEvent publishedEvent) {
+        if (publishedEvent != null) {
+            publishedEvent.commit();
+        }
+    }
+
+    /**
+     * Remove o header {@code __TypeId__} do conversor. O dispatcher roteia pelo header {@code BODY_TYPE} e o consumidor
+     * infere o tipo do payload pelo parâmetro do handler, então o nome da classe do publicador não é publicado; isso
+     * também permite que publicador e consumidor usem classes de pacotes diferentes. Aplicado como before publish post
+     * processor do {@link RabbitTemplate} (envio direto, respostas assíncronas e outbox) e em cada mensagem dos lotes.
+     * <p>
+     * Removes the converter's {@code __TypeId__} header. The dispatcher routes by the {@code BODY_TYPE} header and the
+     * consumer infers the payload type from the handler parameter, so the publisher's class name is not published; this
+     * also lets publisher and consumer use classes from different packages. Applied as a before publish post processor
+     * of the {@link RabbitTemplate} (direct sends, asynchronous requests and outbox) and to each message of a batch.
+     */
+    public static Message removeTypeId(Message message) {
+        message.getMessageProperties().getHeaders().remove(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME);
+        return message;
     }
 
-    private Message setMessageHeaders(Object body, Message message, MessageType action) {
+    Message setMessageHeaders(Object body, Message message, MessageType action) {
         var messageProperties = message.getMessageProperties();
         messageProperties.setHeader(MESSAGE_TIMESTAMP, OffsetDateTime.now());
-        messageProperties.setHeader(BODY_TYPE, body.getClass().getSimpleName());
+        messageProperties.setHeader(BODY_TYPE, properties.isQualifiedBodyType() ? body.getClass().getName() : body.getClass().getSimpleName());
         messageProperties.setHeader(MESSAGE_TYPE, action);
         messageProperties.setHeader(MESSAGE_SOURCE, EnvironmentUtils.getAppName());
 
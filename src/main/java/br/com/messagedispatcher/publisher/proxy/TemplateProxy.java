@@ -2,6 +2,10 @@ package br.com.messagedispatcher.publisher.proxy;
 
 import br.com.messagedispatcher.model.MessageType;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
 public interface TemplateProxy {
 
     /**
@@ -19,6 +23,23 @@ public interface TemplateProxy {
     <T> T convertSendAndReceive(String exchange, String routingKey, Object body, Class<T> responseClass,
                                 MessageType messageType);
 
+    /**
+     * Publica uma mensagem para uma aplicação através da exchange informada sem bloquear a thread chamadora.
+     * A resposta é decodificada fora da thread chamadora. Cancelar o future descarta a correlação da resposta.
+     * <p>
+     * Publishes a body to an application through the defined exchange without blocking the calling thread.
+     * The response is decoded off the calling thread. Cancelling the future discards the reply correlation.
+     *
+     * @param exchange      - nome da exchange
+     * @param routingKey    - chave de roteamento
+     * @param body          - corpo da mensagem
+     * @param responseClass - classe de retorno esperado
+     * @param timeout       - tempo máximo de espera pela resposta
+     * @param <T>           tipo de retorno esperado
+     * @return future completado com o (responseClass) object
+     */
+    <T> CompletableFuture<T> convertSendAndReceiveAsync(String exchange, String routingKey, Object body, Class<T> responseClass,
+                                                        MessageType messageType, Duration timeout);
 
     /**
      * Publica uma mensagem para uma aplicação através da exchange informada e não espera por uma resposta.
@@ -28,6 +49,33 @@ public interface TemplateProxy {
      * @param exchange   - nome da exchange
      * @param routingKey - chave de roteamento
      * @param body       - corpo da mensagem
+     * @return future completado quando o broker confirma a mensagem (em lotes, quando a mensagem entra no lote)
+     */
+    CompletableFuture<Void> convertAndSend(String exchange, String routingKey, Object body, MessageType messageType);
+
+    /**
+     * Publica várias mensagens através da exchange informada sem esperar por respostas. Com
+     * {@code message.dispatcher.batch.enabled} as mensagens são agrupadas em lotes, caso contrário são publicadas
+     * em um único canal.
+     * <p>
+     * Publishes several messages through the defined exchange without waiting for responses. With
+     * {@code message.dispatcher.batch.enabled} the messages are grouped in batches, otherwise they are published
+     * on a single channel.
+     *
+     * @param exchange   - nome da exchange
+     * @param routingKey - chave de roteamento
+     * @param bodies     - corpos das mensagens
+     * @return future completado quando o broker confirma todas as mensagens (em lotes, quando os lotes são publicados)
+     */
+    CompletableFuture<Void> convertAndSendAll(String exchange, String routingKey, Collection<?> bodies, MessageType messageType);
+
+    /**
+     * Indica se o future de {@link #convertAndSend} e {@link #convertAndSendAll} reflete a confirmação da mensagem
+     * (ou a gravação no outbox) para o tipo informado; em lotes ele é completado apenas quando a mensagem entra no lote.
+     * <p>
+     * Whether the future of {@link #convertAndSend} and {@link #convertAndSendAll} reflects the confirmation of the
+     * message (or its storage in the outbox) for the given type; in batches it only completes when the message is
+     * added to the batch.
      */
-    void convertAndSend(String exchange, String routingKey, Object body, MessageType messageType);
+    boolean isConfirmed(MessageType messageType);
 }
@@ -0,0 +1,81 @@
+package br.com.messagedispatcher.retry;
+
+import io.micrometer.core.instrument.Counter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.retry.MessageRecoverer;
+
+import static br.com.messagedispatcher.constants.MessageDispatcherConstants.MessageDispatcherHeaders.RETRY_ATTEMPT;
+
+/**
+ * {@link MessageRecoverer} do modo {@link RetryMode#BROKER}.
+ * <p>
+ * Enquanto houver tentativas, a mensagem é republicada (pela exchange padrão) na fila de retentativa da camada
+ * correspondente, com o header {@code RETRY_ATTEMPT} incrementado. Ao expirar o TTL o broker devolve a mensagem
+ * para a fila principal. Quando as tentativas se esgotam a mensagem é entregue ao recoverer da dead letter queue.
+ * <p>
+ * {@link MessageRecoverer} of the {@link RetryMode#BROKER} mode.
+ * <p>
+ * While there are attempts left, the message is republished (through the default exchange) to the retry queue
+ * of the matching tier, with the {@code RETRY_ATTEMPT} header incremented. Once the TTL expires the broker routes
+ * the message back to the main queue. When attempts run out the message is handed to the dead letter queue recoverer.
+ */
+public class BrokerRetryMessageRecoverer implements MessageRecoverer {
+
+    private static final Logger log = LoggerFactory.getLogger(BrokerRetryMessageRecoverer.class);
+
+    private static final String DEFAULT_EXCHANGE = "";
+
+    private final RabbitTemplate rabbitTemplate;
+    private final RetryTiers retryTiers;
+    private final MessageRecoverer deadLetterRecoverer;
+    private final Counter retries;
+
+    public BrokerRetryMessageRecoverer(RabbitTemplate rabbitTemplate, RetryTiers retryTiers, MessageRecoverer deadLetterRecoverer,
+                                       Counter retries) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.retryTiers = retryTiers;
+        this.deadLetterRecoverer = deadLetterRecoverer;
+        this.retries = retries;
+    }
+
+    @Override
+    public void recover(Message message, Throwable cause) {
+        var properties = message.getMessageProperties();
+        var attempt = attemptOf(message);
+
+        if (attempt >= retryTiers.getMaxAttempts()) {
+            deadLetterRecoverer.recover(message, cause);
+            return;
+        }
+
+        var retryQueue = retryTiers.retryQueueName(retryTiers.delayForRetry(attempt));
+        properties.setHeader(RETRY_ATTEMPT, attempt + 1);
+        if (properties.getDeliveryMode() == null) {
+            properties.setDeliveryMode(properties.getReceivedDeliveryMode() != null
+                    ? properties.getReceivedDeliveryMode() : MessageDeliveryMode.PERSISTENT);
+        }
+
+        log.debug("Tentativa {} de {} falhou, reenviando a mensagem para {}", attempt, retryTiers.getMaxAttempts(), retryQueue);
+        rabbitTemplate.send(DEFAULT_EXCHANGE, retryQueue, message);
+        retries.increment();
+    }
+
+    /**
+     * Número da tentativa que acabou de falhar (1 para a primeira entrega).
+     * Number of the attempt that just failed (1 for the first delivery).
+     */
+    static int attemptOf(Message message) {
+        Object header = message.getMessageProperties().getHeader(RETRY_ATTEMPT);
+        if (header instanceof Number number) {
+            return number.intValue();
+        }
+        if (header != null) {
+            return Integer.parseInt(header.toString());
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.messagedispatcher.retry;
+
+import br.com.messagedispatcher.annotation.NonRetryable;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.retry.MessageRecoverer;
+
+/**
+ * {@link MessageRecoverer} que envia as falhas não retentáveis diretamente para a dead letter queue,
+ * contabilizando o motivo em {@value #SKIPPED_METRIC}. As demais falhas seguem para o recoverer configurado
+ * (dead letter queue no modo {@link RetryMode#LOCAL} ou filas de retentativa no modo {@link RetryMode#BROKER}).
+ * <p>
+ * {@link MessageRecoverer} that sends non-retryable failures straight to the dead letter queue,
+ * counting the reason in {@value #SKIPPED_METRIC}. Other failures go to the configured recoverer
+ * (dead letter queue in {@link RetryMode#LOCAL} mode or retry queues in {@link RetryMode#BROKER} mode).
+ */
+public class ClassifyingMessageRecoverer implements MessageRecoverer {
+
+    public static final String SKIPPED_METRIC = "message.dispatcher.retry.skipped";
+
+    static final String REASON_ANNOTATION = "annotation";
+    static final String REASON_CLASSIFIER = "classifier";
+
+    private static final Logger log = LoggerFactory.getLogger(ClassifyingMessageRecoverer.class);
+
+    private final MessageDispatcherRetryClassifier classifier;
+    private final MessageRecoverer delegate;
+    private final MessageRecoverer deadLetterRecoverer;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Contador de cada exceção não retentável, resolvido uma única vez por classe.
+     * Counter of each non-retryable exception, resolved once per class.
+     */
+    private final ClassValue<Counter> skipped = new ClassValue<>() {
+        @Override
+        protected Counter computeValue(Class<?> exceptionType) {
+            var reason = exceptionType.isAnnotationPresent(NonRetryable.class) ? REASON_ANNOTATION : REASON_CLASSIFIER;
+            return Counter.builder(SKIPPED_METRIC)
+                    .description("Mensagens enviadas para a dead letter queue sem retentativas")
+                    .tag("reason", reason)
+                    .tag("exception", exceptionType.getSimpleName())
+                    .register(meterRegistry);
+        }
+    };
+
+    public ClassifyingMessageRecoverer(MessageDispatcherRetryClassifier classifier, MessageRecoverer delegate,
+                                       MessageRecoverer deadLetterRecoverer, MeterRegistry meterRegistry) {
+        this.classifier = classifier;
+        this.delegate = delegate;
+        this.deadLetterRecoverer = deadLetterRecoverer;
+        this.meterRegistry = meterRegistry;
+
+        // os tipos configurados são conhecidos de antemão; os anotados com @NonRetryable são resolvidos na primeira falha
+        classifier.getNonRetryableTypes().forEach(skipped::get);
+    }
+
+    @Override
+    public void recover(Message message, Throwable cause) {
+        var nonRetryableCause = classifier.nonRetryableCause(cause);
+
+        if (nonRetryableCause == null) {
+            delegate.recover(message, cause);
+            return;
+        }
+
+        log.debug("Falha não retentável ({}), enviando a mensagem para a dead letter queue.", nonRetryableCause.getClass().getName());
+        skipped.get(nonRetryableCause.getClass()).increment();
+
+        deadLetterRecoverer.recover(message, cause);
+    }
+}
@@ -0,0 +1,88 @@
+package br.com.messagedispatcher.retry;
+
+import br.com.messagedispatcher.annotation.NonRetryable;
+import br.com.messagedispatcher.exceptions.MessageHandlerNotFoundException;
+import br.com.messagedispatcher.exceptions.MessageRouterMissingHeaderException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import jakarta.validation.ConstraintViolationException;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.classify.BinaryExceptionClassifier;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Classifica as falhas de processamento em retentáveis ou não. A cadeia de causas é percorrida, de forma que
+ * exceções encapsuladas pelo listener ou pelo router também são classificadas.
+ * <p>
+ * Não são retentáveis as exceções anotadas com {@link NonRetryable}, as {@link #DEFAULT_NON_RETRYABLE_EXCEPTIONS}
+ * e as configuradas em {@code message.dispatcher.non-retryable-exceptions}.
+ * <p>
+ * Classifies processing failures as retryable or not. The cause chain is traversed, so exceptions wrapped
+ * by the listener or by the router are classified as well.
+ * <p>
+ * Exceptions annotated with {@link NonRetryable}, the {@link #DEFAULT_NON_RETRYABLE_EXCEPTIONS}
+ * and the ones configured in {@code message.dispatcher.non-retryable-exceptions} are not retryable.
+ */
+public class MessageDispatcherRetryClassifier extends BinaryExceptionClassifier {
+
+    public static final List<Class<? extends Throwable>> DEFAULT_NON_RETRYABLE_EXCEPTIONS = List.of(
+            MessageHandlerNotFoundException.class,
+            MessageRouterMissingHeaderException.class,
+            MessageConversionException.class,
+            JsonProcessingException.class,
+            ConstraintViolationException.class);
+
+    private final Set<Class<? extends Throwable>> nonRetryableTypes;
+
+    public MessageDispatcherRetryClassifier(Collection<Class<? extends Throwable>> nonRetryableExceptions) {
+        super(toTypeMap(nonRetryableTypes(nonRetryableExceptions)), true, false);
+        this.nonRetryableTypes = nonRetryableTypes(nonRetryableExceptions);
+    }
+
+    private static Set<Class<? extends Throwable>> nonRetryableTypes(Collection<Class<? extends Throwable>> nonRetryableExceptions) {
+        var types = new LinkedHashSet<>(DEFAULT_NON_RETRYABLE_EXCEPTIONS);
+        types.addAll(nonRetryableExceptions);
+        return Collections.unmodifiableSet(types);
+    }
+
+    private static Map<Class<? extends Throwable>, Boolean> toTypeMap(Set<Class<? extends Throwable>> types) {
+        var typeMap = new HashMap<Class<? extends Throwable>, Boolean>();
+        types.forEach(type -> typeMap.put(type, false));
+        return typeMap;
+    }
+
+    /**
+     * Tipos não retentáveis por configuração: os {@link #DEFAULT_NON_RETRYABLE_EXCEPTIONS} e os configurados.
+     * Non-retryable types by configuration: the {@link #DEFAULT_NON_RETRYABLE_EXCEPTIONS} and the configured ones.
+     */
+    public Set<Class<? extends Throwable>> getNonRetryableTypes() {
+        return nonRetryableTypes;
+    }
+
+    @Override
+    public Boolean classify(Throwable classifiable) {
+        return nonRetryableCause(classifiable) == null;
+    }
+
+    /**
+     * Primeira exceção da cadeia de causas que impede a retentativa.
+     * First exception of the cause chain that prevents retrying.
+     *
+     * @return a exceção não retentável, ou {@code null} se a falha for retentável /
+     * the non-retryable exception, or {@code null} when the failure is retryable
+     */
+    public Throwable nonRetryableCause(Throwable throwable) {
+        for (var cause = throwable; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+            if (cause.getClass().isAnnotationPresent(NonRetryable.class) || !super.classify(cause)) {
+                return cause;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,22 @@
+package br.com.messagedispatcher.retry;
+
+/**
+ * Modo de retentativa das mensagens que falharam.
+ * Retry mode of failed messages.
+ */
+public enum RetryMode {
+
+    /**
+     * Retentativas na thread do consumidor, aguardando o backoff antes de cada nova tentativa.
+     * Retries on the consumer thread, sleeping the backoff before each new attempt.
+     */
+    LOCAL,
+
+    /**
+     * A mensagem é rejeitada imediatamente e republicada em filas de retentativa com TTL no broker,
+     * liberando o consumidor para as próximas mensagens.
+     * The message is rejected right away and republished to retry queues with TTL on the broker,
+     * releasing the consumer for the next messages.
+     */
+    BROKER
+}
@@ -0,0 +1,76 @@
+package br.com.messagedispatcher.retry;
+
+import br.com.messagedispatcher.config.properties.MessageDispatcherProperties;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Camadas de atraso das retentativas no broker, calculadas a partir do backoff configurado
+ * ({@code initialInterval}, {@code multiplier} e {@code maxInterval}).
+ * <p>
+ * Cada atraso distinto possui uma fila {@code {queueName}.retry.{delay}} com TTL igual ao atraso, cujo dead letter
+ * devolve a mensagem para a fila principal.
+ * <p>
+ * Broker retry delay tiers, computed from the configured backoff
+ * ({@code initialInterval}, {@code multiplier} and {@code maxInterval}).
+ * <p>
+ * Each distinct delay has a {@code {queueName}.retry.{delay}} queue with a TTL equal to the delay, whose dead letter
+ * routes the message back to the main queue.
+ */
+public final class RetryTiers {
+
+    private final String queueName;
+    private final int maxAttempts;
+    private final List<Long> delays;
+
+    private RetryTiers(String queueName, int maxAttempts, List<Long> delays) {
+        this.queueName = queueName;
+        this.maxAttempts = maxAttempts;
+        this.delays = Collections.unmodifiableList(delays);
+    }
+
+    public static RetryTiers of(MessageDispatcherProperties properties) {
+        var delays = new ArrayList<Long>();
+        double delay = properties.getInitialInterval();
+        for (int retry = 1; retry < properties.getMaxRetryAttempts(); retry++) {
+            delays.add((long) Math.min(delay, properties.getMaxInterval()));
+            delay *= properties.getMultiplier();
+        }
+        return new RetryTiers(properties.getQueueName(), properties.getMaxRetryAttempts(), delays);
+    }
+
+    /**
+     * Atraso antes da retentativa informada (1 para a primeira retentativa).
+     * Delay before the given retry (1 for the first retry).
+     */
+    public long delayForRetry(int retry) {
+        return delays.get(retry - 1);
+    }
+
+    /**
+     * Total de tentativas, incluindo a primeira entrega.
+     * Total attempts, including the first delivery.
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public String getQueueName() {
+        return queueName;
+    }
+
+    public String retryQueueName(long delay) {
+        return queueName + ".retry." + delay;
+    }
+
+    /**
+     * Atrasos distintos, um por fila de retentativa.
+     * Distinct delays, one per retry queue.
+     */
+    public List<Long> distinctDelays() {
+        return List.copyOf(new LinkedHashSet<>(delays));
+    }
+}
@@ -1,18 +1,21 @@
 package br.com.messagedispatcher.router.impl;
 
 import br.com.messagedispatcher.beandiscover.MessageDispatcherAnnotatedMethodDiscover;
+import br.com.messagedispatcher.codec.MessageCodecs;
 import br.com.messagedispatcher.exceptions.MessageRouterMissingHeaderException;
+import br.com.messagedispatcher.exceptions.MessageRouterProcessingException;
+import br.com.messagedispatcher.jfr.HandlerInvokedEvent;
+import br.com.messagedispatcher.jfr.MessageDeserializedEvent;
 import br.com.messagedispatcher.model.MessageType;
 import br.com.messagedispatcher.router.MessageRouter;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.amqp.core.Message;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Component;
 
-import java.lang.reflect.InvocationTargetException;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 import static br.com.messagedispatcher.constants.MessageDispatcherConstants.MessageDispatcherHeaders.BODY_TYPE;
 import static br.com.messagedispatcher.constants.MessageDispatcherConstants.MessageDispatcherHeaders.MESSAGE_TYPE;
@@ -25,21 +28,20 @@ public class AnnotatedMessageRouter implements MessageRouter {
 
     private static final Logger log = LoggerFactory.getLogger(AnnotatedMessageRouter.class);
 
-    private final ObjectMapper objectMapper;
     private final MessageDispatcherAnnotatedMethodDiscover annotatedMethodDiscover;
-    private final ApplicationContext applicationContext;
 
-    public AnnotatedMessageRouter(ObjectMapper objectMapper, MessageDispatcherAnnotatedMethodDiscover annotatedMethodDiscover,
-                                  ApplicationContext applicationContext) {
-        this.objectMapper = objectMapper;
+    private final MessageCodecs messageCodecs;
+
+    public AnnotatedMessageRouter(MessageDispatcherAnnotatedMethodDiscover annotatedMethodDiscover,
+                                  MessageCodecs messageCodecs) {
         this.annotatedMethodDiscover = annotatedMethodDiscover;
-        this.applicationContext = applicationContext;
+        this.messageCodecs = messageCodecs;
     }
 
     @Override
     public Object routeMessage(Object objectMessage) {
         var message = (Message) objectMessage;
-        var bodyType = message.getMessageProperties().getHeaders().get(BODY_TYPE).toString();
+        var bodyType = Objects.toString(message.getMessageProperties().getHeader(BODY_TYPE), null);
 
         if (isEmpty(bodyType)) {
             throw new MessageRouterMissingHeaderException("Missing " + BODY_TYPE + " header in the message");
@@ -49,15 +51,78 @@ public class AnnotatedMessageRouter implements MessageRouter {
             var handler = annotatedMethodDiscover.getHandler(MessageType
                     .valueOf(message.getMessageProperties().getHeader(MESSAGE_TYPE)), bodyType);
 
-            var payload = objectMapper.readValue(message.getBody(), handler.getParameterTypes()[0]);
+            // medidores resolvidos no registro do handler
+            var metrics = handler.getMetrics();
+            // sem gravação JFR ativa os eventos não são alocados
+            var deserializedEvent = MessageDeserializedEvent.start();
+            var start = System.nanoTime();
+            // o formato do payload vem do content type: JSON e formatos binários convivem na mesma fila
+            var codec = messageCodecs.forContentType(message.getMessageProperties().getContentType());
+            var payload = handler.readPayload(message.getBody(), codec.objectMapper().getFactory());
+            var deserialized = System.nanoTime();
+            metrics.deserialization().record(deserialized - start, TimeUnit.NANOSECONDS);
+            if (deserializedEvent != null) {
+                deserializedEvent.commit(message, handler.getMethod());
+            }
 
-            return handler.invoke(applicationContext.getBean(handler.getDeclaringClass()), payload);
+            var invokedEvent = HandlerInvokedEvent.start();
+            try {
+                var result = handler.invoke(payload);
+                metrics.success().record(System.nanoTime() - deserialized, TimeUnit.NANOSECONDS);
+                return result;
+            } catch (Throwable e) {
+                metrics.failure().record(System.nanoTime() - deserialized, TimeUnit.NANOSECONDS);
+                if (invokedEvent != null) {
+                    invokedEvent.failed(e);
+                }
+                throw e;
+            } finally {
+                if (invokedEvent != null) {
+                    invokedEvent.commit(message, handler.getMethod());
+                }
+            }
 
-        } catch (InvocationTargetException e) {
-            throw new RuntimeException(e.getTargetException());
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new MessageRouterProcessingException("Erro processando mensagem do tipo: " + bodyType, e);
         }
     }
-}
 
+    /**
+     * Indica se há um handler local para o tipo exato do payload.
+     * Whether there is a local handler for the exact payload type.
+     */
+    public boolean hasHandler(MessageType messageType, Object payload) {
+        return annotatedMethodDiscover.findHandler(messageType, payload.getClass().getName()) != null;
+    }
+
+    /**
+     * Invoca o handler com um payload já desserializado, sem passar pelo broker (ver {@code LocalMessageDispatcher}).
+     * Registra os timers de sucesso e falha do handler; não há eventos JFR, que descrevem uma {@link Message}.
+     * <p>
+     * Invokes the handler with an already deserialized payload, without going through the broker (see
+     * {@code LocalMessageDispatcher}). Records the handler success and failure timers; there are no JFR events,
+     * which describe a {@link Message}.
+     */
+    public Object routePayload(MessageType messageType, Object payload) {
+        var bodyType = payload.getClass().getName();
+        try {
+            var handler = annotatedMethodDiscover.getHandler(messageType, bodyType);
+            var metrics = handler.getMetrics();
+            var start = System.nanoTime();
+            try {
+                var result = handler.invoke(payload);
+                metrics.success().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return result;
+            } catch (Throwable e) {
+                metrics.failure().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                throw e;
+            }
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new MessageRouterProcessingException("Erro processando mensagem do tipo: " + bodyType, e);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package br.com.messagedispatcher.tracing;
+
+import br.com.messagedispatcher.router.MessageRouter;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.amqp.core.Message;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Objects;
+
+import static br.com.messagedispatcher.constants.MessageDispatcherConstants.MessageDispatcherHeaders.BODY_TYPE;
+import static br.com.messagedispatcher.constants.MessageDispatcherConstants.MessageDispatcherHeaders.MESSAGE_TIMESTAMP;
+import static br.com.messagedispatcher.constants.MessageDispatcherConstants.MessageDispatcherHeaders.MESSAGE_TYPE;
+
+/**
+ * Observação ({@value #NAME}) do processamento de uma mensagem pelo {@link MessageRouter}, filha da observação do
+ * listener container que restaurou o contexto de trace da mensagem. O tempo de permanência no broker (da publicação
+ * ao consumo, pelo header {@code MESSAGE_TIMESTAMP}) é registrado no atributo {@value #BROKER_DWELL_KEY}.
+ * <p>
+ * Sem observação corrente (tracing desabilitado ou mensagem não amostrada) o router é chamado diretamente.
+ * <p>
+ * Observation ({@value #NAME}) of a message being processed by the {@link MessageRouter}, child of the listener
+ * container observation that restored the message trace context. The broker dwell time (from publish to consume, from
+ * the {@code MESSAGE_TIMESTAMP} header) is recorded in the {@value #BROKER_DWELL_KEY} attribute.
+ * <p>
+ * Without a current observation (tracing disabled or message not sampled) the router is called directly.
+ */
+public class HandlerObservation {
+
+    public static final String NAME = "message.dispatcher.handler";
+    public static final String BROKER_DWELL_KEY = "messaging.broker.dwell.ms";
+
+    private static final HandlerObservation NOOP = new HandlerObservation(ObservationRegistry.NOOP);
+
+    private final ObservationRegistry observationRegistry;
+
+    public HandlerObservation(ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
+    public static HandlerObservation noop() {
+        return NOOP;
+    }
+
+    public Object route(Message message, MessageRouter messageRouter) {
+        if (observationRegistry.isNoop() || observationRegistry.getCurrentObservation() == null) {
+            return messageRouter.routeMessage(message);
+        }
+
+        var properties = message.getMessageProperties();
+        var bodyType = Objects.toString(properties.getHeader(BODY_TYPE), "unknown");
+        var observation = Observation.createNotStarted(NAME, observationRegistry)
+                .contextualName("dispatch " + bodyType)
+                .lowCardinalityKeyValue("message.type", Objects.toString(properties.getHeader(MESSAGE_TYPE), "unknown"))
+                .lowCardinalityKeyValue("body.type", bodyType);
+
+        var dwell = brokerDwell(properties.getHeader(MESSAGE_TIMESTAMP));
+        if (dwell != null) {
+            observation.highCardinalityKeyValue(BROKER_DWELL_KEY, Long.toString(dwell.toMillis()));
+        }
+
+        return observation.observe(() -> messageRouter.routeMessage(message));
+    }
+
+    /**
+     * Tempo entre a publicação e o consumo; null quando o header está ausente ou inválido.
+     * Time between publish and consume; null when the header is missing or invalid.
+     */
+    static Duration brokerDwell(Object timestamp) {
+        try {
+            OffsetDateTime publishedAt = timestamp instanceof OffsetDateTime offsetDateTime ? offsetDateTime
+                    : timestamp != null ? OffsetDateTime.parse(timestamp.toString()) : null;
+            return publishedAt == null ? null : Duration.between(publishedAt, OffsetDateTime.now());
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.messagedispatcher.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationPredicate;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.support.micrometer.RabbitMessageReceiverContext;
+import org.springframework.amqp.rabbit.support.micrometer.RabbitMessageSenderContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Amostragem das observações do RabbitMQ. Uma publicação é observada quando já existe uma observação corrente
+ * (ex.: requisição HTTP ou handler observados) ou, na raiz da cadeia, com probabilidade {@code samplingProbability}.
+ * Um consumo é observado quando a mensagem traz o contexto de trace ou, sem ele, com a mesma probabilidade.
+ * Observações descartadas são NOOP, de forma que o caminho não amostrado não cria contexto, spans nem headers.
+ * <p>
+ * Sampling of RabbitMQ observations. A publish is observed when there is already a current observation
+ * (e.g. an observed HTTP request or handler) or, at the root of the chain, with probability {@code samplingProbability}.
+ * A consume is observed when the message carries the trace context or, without it, with the same probability.
+ * Discarded observations are NOOP, so the unsampled path creates no context, spans or headers.
+ */
+public class MessageDispatcherObservationPredicate implements ObservationPredicate {
+
+    /**
+     * Headers de propagação W3C e B3.
+     * W3C and B3 propagation headers.
+     */
+    static final List<String> TRACE_HEADERS = List.of("traceparent", "b3", "X-B3-TraceId");
+
+    private final ObservationRegistry observationRegistry;
+    private final double samplingProbability;
+
+    public MessageDispatcherObservationPredicate(ObservationRegistry observationRegistry, double samplingProbability) {
+        this.observationRegistry = observationRegistry;
+        this.samplingProbability = samplingProbability;
+    }
+
+    @Override
+    public boolean test(String name, Observation.Context context) {
+        if (context instanceof RabbitMessageSenderContext) {
+            return observationRegistry.getCurrentObservation() != null || sample();
+        }
+        if (context instanceof RabbitMessageReceiverContext receiverContext) {
+            return hasTraceContext(receiverContext.getCarrier()) || sample();
+        }
+        return true;
+    }
+
+    private boolean sample() {
+        return samplingProbability >= 1 || (samplingProbability > 0 && ThreadLocalRandom.current().nextDouble() < samplingProbability);
+    }
+
+    private static boolean hasTraceContext(Message message) {
+        if (message == null) {
+            return false;
+        }
+        var headers = message.getMessageProperties().getHeaders();
+        for (var header : TRACE_HEADERS) {
+            if (headers.containsKey(header)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -13,7 +13,7 @@ public final class HandlerValidatorUtil {
     public static void validate(MessageType messageType, Method method, HashMap<String, Method> handlers) {
         String parameterType;
         try {
-            parameterType = method.getParameterTypes()[0].getSimpleName();
+            parameterType = method.getParameterTypes()[0].getName();
         } catch (ArrayIndexOutOfBoundsException e) {
             throw new MessageHandlerNoInputParameterException(String.format(
                     "Handler: @%s %s não possui parâmetros de entrada.", messageType, method));
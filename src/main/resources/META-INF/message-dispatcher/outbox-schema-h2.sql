@@ -0,0 +1,9 @@
+CREATE TABLE IF NOT EXISTS message_dispatcher_outbox (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    exchange         VARCHAR(255) NOT NULL,
+    routing_key      VARCHAR(255) NOT NULL,
+    properties       BLOB NOT NULL,
+    body             BLOB NOT NULL,
+    created_at       TIMESTAMP NOT NULL,
+    claimed_until    TIMESTAMP
+);
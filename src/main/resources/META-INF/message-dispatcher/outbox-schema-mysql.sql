@@ -0,0 +1,9 @@
+CREATE TABLE IF NOT EXISTS message_dispatcher_outbox (
+    id               BIGINT AUTO_INCREMENT PRIMARY KEY,
+    exchange         VARCHAR(255) NOT NULL,
+    routing_key      VARCHAR(255) NOT NULL,
+    properties       MEDIUMBLOB NOT NULL,
+    body             LONGBLOB NOT NULL,
+    created_at       DATETIME(6) NOT NULL,
+    claimed_until    DATETIME(6)
+);
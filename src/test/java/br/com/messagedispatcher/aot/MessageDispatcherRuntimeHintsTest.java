@@ -0,0 +1,100 @@
+package br.com.messagedispatcher.aot;
+
+import br.com.messagedispatcher.annotation.Command;
+import br.com.messagedispatcher.annotation.Event;
+import br.com.messagedispatcher.annotation.MessageListener;
+import br.com.messagedispatcher.config.properties.MessageDispatcherProperties;
+import br.com.messagedispatcher.constants.MessageDispatcherConstants;
+import br.com.messagedispatcher.model.MessageDispatcherRemoteInvocationResult;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.aot.generate.GenerationContext;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationCode;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MessageDispatcherRuntimeHintsTest {
+
+    public static class CreateOrder {
+        private String id;
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+    }
+
+    public static class OrderCreated {
+        private String id;
+
+        public String getId() {
+            return id;
+        }
+    }
+
+    @MessageListener
+    public static class OrderListener {
+        @Command
+        public OrderCreated create(CreateOrder command) {
+            return new OrderCreated();
+        }
+
+        @Event
+        public void created(OrderCreated event) {
+        }
+
+        public void notAHandler(String value) {
+        }
+    }
+
+    @Test
+    void shouldRegisterDispatcherHints() {
+        var hints = new RuntimeHints();
+        new MessageDispatcherRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        assertTrue(RuntimeHintsPredicates.reflection().onType(MessageDispatcherRemoteInvocationResult.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(MessageDispatcherProperties.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_METHODS).test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource(MessageDispatcherConstants.HANDLER_INDEX_LOCATION).test(hints));
+    }
+
+    @Test
+    void shouldRegisterHandlersAndPayloadsOfMessageListeners() throws NoSuchMethodException {
+        var beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("orderListener", new RootBeanDefinition(OrderListener.class));
+        beanFactory.registerBeanDefinition("other", new RootBeanDefinition(String.class));
+
+        var contribution = new MessageHandlerBeanFactoryInitializationAotProcessor().processAheadOfTime(beanFactory);
+        assertNotNull(contribution);
+
+        var hints = new RuntimeHints();
+        var generationContext = Mockito.mock(GenerationContext.class);
+        Mockito.when(generationContext.getRuntimeHints()).thenReturn(hints);
+        contribution.applyTo(generationContext, Mockito.mock(BeanFactoryInitializationCode.class));
+
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onMethod(OrderListener.class.getMethod("create", CreateOrder.class)).invoke().test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onMethod(OrderListener.class.getMethod("created", OrderCreated.class)).invoke().test(hints));
+        assertFalse(RuntimeHintsPredicates.reflection()
+                .onMethod(OrderListener.class.getMethod("notAHandler", String.class)).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(CreateOrder.class.getMethod("setId", String.class)).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(OrderCreated.class.getMethod("getId")).test(hints));
+    }
+
+    @Test
+    void shouldNotContributeWithoutMessageListeners() {
+        var beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("other", new RootBeanDefinition(String.class));
+
+        assertNull(new MessageHandlerBeanFactoryInitializationAotProcessor().processAheadOfTime(beanFactory));
+    }
+}
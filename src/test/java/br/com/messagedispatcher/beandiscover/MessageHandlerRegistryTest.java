@@ -0,0 +1,59 @@
+package br.com.messagedispatcher.beandiscover;
+
+import br.com.messagedispatcher.beandiscover.invoker.MessageHandlerInvoker;
+import br.com.messagedispatcher.beandiscover.invoker.MessageHandlerInvokerFactory;
+import br.com.messagedispatcher.model.MessageType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MessageHandlerRegistryTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    static class DummyListener {
+        public void utilDateHandler(java.util.Date input) {}
+        public void sqlDateHandler(java.sql.Date input) {}
+        public void stringHandler(String input) {}
+    }
+
+    private MessageHandlerInvoker invoker(String methodName, Class<?> parameterType) throws NoSuchMethodException {
+        return MessageHandlerInvokerFactory.create(new DummyListener(),
+                DummyListener.class.getMethod(methodName, parameterType), objectMapper);
+    }
+
+    @Test
+    void shouldFindHandlerByQualifiedAndSimpleName() throws NoSuchMethodException {
+        var stringHandler = invoker("stringHandler", String.class);
+        var registry = MessageHandlerRegistry.builder()
+                .register(MessageType.EVENT, stringHandler)
+                .build();
+
+        assertSame(stringHandler, registry.get(MessageType.EVENT, "java.lang.String"));
+        assertSame(stringHandler, registry.get(MessageType.EVENT, "String"));
+        assertNull(registry.get(MessageType.COMMAND, "String"));
+        assertEquals(1, registry.size(MessageType.EVENT));
+    }
+
+    @Test
+    void shouldNotAliasSimpleNameDeclaredInDifferentPackages() throws NoSuchMethodException {
+        var utilDateHandler = invoker("utilDateHandler", java.util.Date.class);
+        var sqlDateHandler = invoker("sqlDateHandler", java.sql.Date.class);
+        var registry = MessageHandlerRegistry.builder()
+                .register(MessageType.COMMAND, utilDateHandler)
+                .register(MessageType.COMMAND, sqlDateHandler)
+                .build();
+
+        assertSame(utilDateHandler, registry.get(MessageType.COMMAND, "java.util.Date"));
+        assertSame(sqlDateHandler, registry.get(MessageType.COMMAND, "java.sql.Date"));
+        assertNull(registry.get(MessageType.COMMAND, "Date"));
+        assertTrue(registry.isAmbiguous(MessageType.COMMAND, "Date"));
+    }
+
+    @Test
+    void shouldReturnNullWhenRegistryIsEmpty() {
+        assertNull(MessageHandlerRegistry.empty().get(MessageType.QUERY, "String"));
+        assertFalse(MessageHandlerRegistry.empty().isAmbiguous(MessageType.QUERY, "String"));
+    }
+}
@@ -0,0 +1,122 @@
+package br.com.messagedispatcher.beandiscover.impl;
+
+import br.com.messagedispatcher.annotation.Event;
+import br.com.messagedispatcher.annotation.MessageListener;
+import br.com.messagedispatcher.config.properties.MessageDispatcherProperties;
+import br.com.messagedispatcher.constants.MessageDispatcherConstants;
+import br.com.messagedispatcher.exceptions.MessageHandlerNotFoundException;
+import br.com.messagedispatcher.metrics.DispatcherMetrics;
+import br.com.messagedispatcher.model.MessageType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Profile;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+class IndexedHandlerDiscoveryTest {
+
+    public record OrderCreated(String id) {
+    }
+
+    public record PaymentCreated(String id) {
+    }
+
+    public record InvoiceCreated(String id) {
+    }
+
+    @MessageListener
+    public static class IndexedListener {
+        @Event
+        public void on(OrderCreated event) {
+        }
+    }
+
+    @MessageListener
+    @Profile("other")
+    public static class ProfiledListener {
+        @Event
+        public void on(InvoiceCreated event) {
+        }
+    }
+
+    @MessageListener
+    public static class NotIndexedListener {
+        @Event
+        public void on(PaymentCreated event) {
+        }
+    }
+
+    @TempDir
+    Path indexDir;
+
+    private URLClassLoader classLoader;
+    private AnnotationConfigApplicationContext context;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        var index = indexDir.resolve(MessageDispatcherConstants.HANDLER_INDEX_LOCATION);
+        Files.createDirectories(index.getParent());
+        Files.writeString(index, String.join("\n",
+                entry(IndexedListener.class, OrderCreated.class),
+                entry(ProfiledListener.class, InvoiceCreated.class)));
+
+        classLoader = new URLClassLoader(new URL[]{indexDir.toUri().toURL()}, getClass().getClassLoader());
+        context = new AnnotationConfigApplicationContext();
+        context.setClassLoader(classLoader);
+        context.register(IndexedListener.class, ProfiledListener.class, NotIndexedListener.class);
+        context.refresh();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        context.close();
+        classLoader.close();
+    }
+
+    @Test
+    void shouldRegisterFromIndexWithoutScanningListenerBeans() {
+        var properties = new MessageDispatcherProperties();
+        properties.setHandlerIndexEnabled(true);
+        var spiedContext = spy(context);
+        var discover = new MessageDispatcherAnnotatedMethodDiscoverImpl(spiedContext, new ObjectMapper(), properties,
+                DispatcherMetrics.noop());
+
+        assertNotNull(discover.getHandler(MessageType.EVENT, OrderCreated.class.getName()));
+        assertNull(discover.findHandler(MessageType.EVENT, PaymentCreated.class.getName()));
+        verify(spiedContext, never()).getBeansWithAnnotation(any());
+    }
+
+    @Test
+    void shouldSkipIndexEntriesWithoutBeanAndScanListenersMissingFromIndexWhenVerifying() {
+        var properties = new MessageDispatcherProperties();
+        properties.setHandlerIndexEnabled(true);
+        properties.setHandlerIndexVerify(true);
+        var discover = new MessageDispatcherAnnotatedMethodDiscoverImpl(context, new ObjectMapper(), properties,
+                DispatcherMetrics.noop());
+
+        assertNotNull(discover.getHandler(MessageType.EVENT, OrderCreated.class.getName()));
+        assertNotNull(discover.getHandler(MessageType.EVENT, PaymentCreated.class.getName()));
+        assertThrows(MessageHandlerNotFoundException.class,
+                () -> discover.getHandler(MessageType.EVENT, InvoiceCreated.class.getName()));
+    }
+
+    private static String entry(Class<?> listener, Class<?> parameterType) {
+        return String.join("|", MessageType.EVENT.name(), listener.getName(), "on", parameterType.getName());
+    }
+}
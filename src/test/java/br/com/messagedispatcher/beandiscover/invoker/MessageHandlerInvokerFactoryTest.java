@@ -0,0 +1,120 @@
+package br.com.messagedispatcher.beandiscover.invoker;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MessageHandlerInvokerFactoryTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    record DummyPayload(String name) {
+    }
+
+    static class DummyListener {
+        final List<Object> received = new ArrayList<>();
+
+        public String returningHandler(String input) {
+            return "handled " + input;
+        }
+
+        public void voidHandler(String input) {
+            received.add(input);
+        }
+
+        public int primitiveHandler(Integer input) {
+            return input * 2;
+        }
+
+        public String failingHandler(String input) {
+            throw new IllegalStateException(input);
+        }
+
+        public int listHandler(List<DummyPayload> input) {
+            return input.size();
+        }
+
+        public String mapHandler(Map<String, DummyPayload> input) {
+            return input.get("key").name();
+        }
+    }
+
+    @Test
+    void shouldInvokeHandlerWithReturnValue() throws Throwable {
+        var listener = new DummyListener();
+        var invoker = MessageHandlerInvokerFactory.create(listener,
+                DummyListener.class.getMethod("returningHandler", String.class), objectMapper);
+
+        assertEquals("handled test", invoker.invoke("test"));
+        assertEquals(String.class, invoker.getPayloadType().getRawClass());
+        assertSame(listener, invoker.getBean());
+    }
+
+    @Test
+    void shouldInvokeVoidHandlerAndReturnNull() throws Throwable {
+        var listener = new DummyListener();
+        var invoker = MessageHandlerInvokerFactory.create(listener,
+                DummyListener.class.getMethod("voidHandler", String.class), objectMapper);
+
+        assertNull(invoker.invoke("test"));
+        assertEquals(List.of("test"), listener.received);
+    }
+
+    @Test
+    void shouldBoxPrimitiveReturnValue() throws Throwable {
+        var invoker = MessageHandlerInvokerFactory.create(new DummyListener(),
+                DummyListener.class.getMethod("primitiveHandler", Integer.class), objectMapper);
+
+        assertEquals(4, invoker.invoke(2));
+    }
+
+    @Test
+    void shouldPropagateHandlerExceptionWithoutWrapping() throws NoSuchMethodException {
+        var invoker = MessageHandlerInvokerFactory.create(new DummyListener(),
+                DummyListener.class.getMethod("failingHandler", String.class), objectMapper);
+
+        var exception = assertThrows(IllegalStateException.class, () -> invoker.invoke("fail"));
+        assertEquals("fail", exception.getMessage());
+    }
+
+    @Test
+    void shouldReadGenericListPayload() throws Throwable {
+        var invoker = MessageHandlerInvokerFactory.create(new DummyListener(),
+                DummyListener.class.getMethod("listHandler", List.class), objectMapper);
+
+        var payload = invoker.readPayload("[{\"name\":\"a\"},{\"name\":\"b\"}]".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(List.of(new DummyPayload("a"), new DummyPayload("b")), payload);
+        assertEquals(2, invoker.invoke(payload));
+    }
+
+    @Test
+    void shouldReadGenericMapPayload() throws Throwable {
+        var invoker = MessageHandlerInvokerFactory.create(new DummyListener(),
+                DummyListener.class.getMethod("mapHandler", Map.class), objectMapper);
+
+        var payload = invoker.readPayload("{\"key\":{\"name\":\"value\"}}".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("value", invoker.invoke(payload));
+    }
+
+    @Test
+    void shouldReadPayloadInOtherFormat() throws Throwable {
+        var invoker = MessageHandlerInvokerFactory.create(new DummyListener(),
+                DummyListener.class.getMethod("listHandler", List.class), objectMapper);
+        var smileMapper = objectMapper.copyWith(new SmileFactory());
+
+        var body = smileMapper.writeValueAsBytes(List.of(new DummyPayload("a")));
+
+        assertEquals(List.of(new DummyPayload("a")), invoker.readPayload(body, smileMapper.getFactory()));
+        assertEquals(List.of(new DummyPayload("b")), invoker.readPayload(
+                "[{\"name\":\"b\"}]".getBytes(StandardCharsets.UTF_8), objectMapper.getFactory()));
+    }
+}
@@ -0,0 +1,115 @@
+package br.com.messagedispatcher.benchmark;
+
+import br.com.messagedispatcher.listener.ContainerType;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageListener;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.AbstractMessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.DirectMessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara a vazão de consumo entre os {@link ContainerType} contra o broker embarcado, com a mesma quantidade
+ * de consumidores e prefetch nos dois containers.
+ * <p>
+ * Compares consumption throughput across {@link ContainerType}s against the embedded broker, with the same number
+ * of consumers and prefetch on both containers.
+ * <p>
+ * {@code mvn -Pbenchmark test -Dtest=ContainerTypeBenchmark}
+ */
+@Tag("benchmark")
+class ContainerTypeBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(ContainerTypeBenchmark.class);
+
+    private static final String QUEUE = "benchmark.container";
+    private static final int CONSUMERS = 4;
+    private static final int PREFETCH = 50;
+    private static final int MESSAGES = 50_000;
+    private static final int WARMUP_MESSAGES = 5_000;
+
+    private static EmbeddedAmqpBroker broker;
+    private static CachingConnectionFactory connectionFactory;
+    private static RabbitTemplate template;
+
+    @BeforeAll
+    static void startBroker() throws Exception {
+        broker = EmbeddedAmqpBroker.start();
+        connectionFactory = broker.connectionFactory();
+        // mesma configuração do ConnectionFactoryConfig no modo DIRECT
+        connectionFactory.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        new RabbitAdmin(connectionFactory).declareQueue(new Queue(QUEUE, false, false, false));
+        template = new RabbitTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void stopBroker() {
+        connectionFactory.destroy();
+        broker.close();
+    }
+
+    @ParameterizedTest
+    @EnumSource(ContainerType.class)
+    void consume(ContainerType containerType) throws Exception {
+        consume(containerType, WARMUP_MESSAGES);
+
+        var elapsed = consume(containerType, MESSAGES);
+        log.info("container-type={} messages={} consumers={} prefetch={} throughput={} msg/s",
+                containerType, MESSAGES, CONSUMERS, PREFETCH, Math.round(MESSAGES / (elapsed / 1e9)));
+    }
+
+    private static long consume(ContainerType containerType, int messages) throws InterruptedException {
+        var body = "{\"id\":\"benchmark\"}".getBytes();
+        for (int i = 0; i < messages; i++) {
+            template.send("", QUEUE, new Message(body, new MessageProperties()));
+        }
+
+        var received = new CountDownLatch(messages);
+        var container = container(containerType, message -> received.countDown());
+
+        var start = System.nanoTime();
+        container.start();
+        try {
+            assertTrue(received.await(2, TimeUnit.MINUTES), "Mensagens não consumidas");
+            return System.nanoTime() - start;
+        } finally {
+            container.stop();
+        }
+    }
+
+    private static AbstractMessageListenerContainer container(ContainerType containerType, MessageListener listener) {
+        AbstractMessageListenerContainer container;
+        if (containerType == ContainerType.DIRECT) {
+            var direct = new DirectMessageListenerContainer(connectionFactory);
+            direct.setConsumersPerQueue(CONSUMERS);
+            direct.setTaskExecutor(Executors.newVirtualThreadPerTaskExecutor());
+            container = direct;
+        } else {
+            var simple = new SimpleMessageListenerContainer(connectionFactory);
+            simple.setConcurrentConsumers(CONSUMERS);
+            simple.setTaskExecutor(Executors.newFixedThreadPool(CONSUMERS, Thread.ofVirtual().factory()));
+            container = simple;
+        }
+        container.setQueueNames(QUEUE);
+        container.setPrefetchCount(PREFETCH);
+        container.setMessageListener(listener);
+        return container;
+    }
+}
@@ -0,0 +1,84 @@
+package br.com.messagedispatcher.benchmark;
+
+import org.apache.qpid.server.SystemLauncher;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Broker AMQP 0-9-1 em memória (Qpid Broker-J) usado como substituto local do RabbitMQ nos benchmarks.
+ * Não suporta extensões do RabbitMQ como o direct reply-to.
+ * <p>
+ * In-memory AMQP 0-9-1 broker (Qpid Broker-J) used as a local RabbitMQ stand-in by the benchmarks.
+ * It does not support RabbitMQ extensions such as direct reply-to.
+ */
+public final class EmbeddedAmqpBroker implements AutoCloseable {
+
+    /**
+     * Argumentos de fila do RabbitMQ recusados pelo Qpid no queue.declare.
+     * RabbitMQ queue arguments rejected by Qpid on queue.declare.
+     */
+    private static final List<String> UNSUPPORTED_QUEUE_ARGUMENTS = List.of("x-dead-letter-exchange",
+            "x-dead-letter-routing-key", "x-message-ttl", "x-expires");
+
+    private final SystemLauncher launcher = new SystemLauncher();
+    private final int port;
+
+    private EmbeddedAmqpBroker(int port) {
+        this.port = port;
+    }
+
+    public static EmbeddedAmqpBroker start() throws Exception {
+        var broker = new EmbeddedAmqpBroker(freePort());
+        var config = Objects.requireNonNull(EmbeddedAmqpBroker.class.getClassLoader().getResource("qpid-embedded.json"));
+        var work = Files.createTempDirectory("qpid-work");
+
+        broker.launcher.startup(Map.of(
+                "type", "Memory",
+                "initialConfigurationLocation", config.toExternalForm(),
+                "startupLoggedToSystemOut", false,
+                "context", Map.of(
+                        "qpid.amqp_port", String.valueOf(broker.port),
+                        "qpid.work_dir", work.toString(),
+                        "qpid.broker.defaultPreferenceStoreAttributes", "{\"type\": \"Noop\"}")));
+        return broker;
+    }
+
+    private static int freePort() throws IOException {
+        try (var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    /**
+     * Remove da fila os argumentos que o Qpid não suporta, para declarar as filas do starter no broker embarcado.
+     * Removes from the queue the arguments Qpid does not support, to declare the starter queues on the embedded broker.
+     */
+    public static Queue withSupportedArguments(Queue queue) {
+        UNSUPPORTED_QUEUE_ARGUMENTS.forEach(queue.getArguments()::remove);
+        return queue;
+    }
+
+    public CachingConnectionFactory connectionFactory() {
+        var connectionFactory = new CachingConnectionFactory("localhost", port);
+        connectionFactory.setUsername("guest");
+        connectionFactory.setPassword("guest");
+        connectionFactory.setVirtualHost("default");
+        return connectionFactory;
+    }
+
+    @Override
+    public void close() {
+        launcher.shutdown();
+    }
+}
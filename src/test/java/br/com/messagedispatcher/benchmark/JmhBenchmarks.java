@@ -0,0 +1,37 @@
+package br.com.messagedispatcher.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Executa os microbenchmarks JMH do caminho de despacho com o profiler de GC, que reporta a alocação por operação
+ * ({@code gc.alloc.rate.norm}). O resultado é gravado em {@code target/jmh-result.json} para comparação com a
+ * linha de base publicada no README.
+ * <p>
+ * Runs the dispatch path JMH microbenchmarks with the GC profiler, which reports the allocation per operation
+ * ({@code gc.alloc.rate.norm}). The result is written to {@code target/jmh-result.json} for comparison with the
+ * baseline published in the README.
+ * <p>
+ * {@code mvn -Pbenchmark test -Dtest=JmhBenchmarks [-Djmh.include=RouteMessage]}
+ */
+@Tag("benchmark")
+class JmhBenchmarks {
+
+    @Test
+    void run() throws Exception {
+        var options = new OptionsBuilder()
+                .include(System.getProperty("jmh.include", ".*"))
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-result.json")
+                .build();
+
+        assertFalse(new Runner(options).run().isEmpty(), "Nenhum benchmark executado, compile com -Pbenchmark");
+    }
+}
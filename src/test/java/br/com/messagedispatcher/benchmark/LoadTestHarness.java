@@ -0,0 +1,266 @@
+package br.com.messagedispatcher.benchmark;
+
+import br.com.messagedispatcher.annotation.Command;
+import br.com.messagedispatcher.annotation.EnableMessageDispatcher;
+import br.com.messagedispatcher.annotation.Event;
+import br.com.messagedispatcher.annotation.MessageListener;
+import br.com.messagedispatcher.annotation.Query;
+import br.com.messagedispatcher.publisher.MessagePublisher;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.Queue;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Teste de carga de ponta a ponta: sobe o starter contra o broker embarcado (ou um RabbitMQ externo com
+ * {@code -Dload.host}) e publica eventos, comandos e consultas pelo {@link MessagePublisher} na taxa e nos tamanhos
+ * de payload configurados. Reporta vazão, latência p50/p99/p999 e bytes alocados por mensagem.
+ * <p>
+ * A latência é medida a partir do instante planejado de envio, de forma que atrasos do publicador entram na medida
+ * (sem coordinated omission). Eventos medem da publicação ao handler; comandos e consultas, a ida e volta.
+ * A alocação é a da JVM inteira dividida pelas mensagens, incluindo o broker quando embarcado.
+ * <p>
+ * End-to-end load test: boots the starter against the embedded broker (or an external RabbitMQ with
+ * {@code -Dload.host}) and publishes events, commands and queries through the {@link MessagePublisher} at the
+ * configured rate and payload sizes. Reports throughput, p50/p99/p999 latency and allocated bytes per message.
+ * <p>
+ * Latency is measured from the planned send instant, so publisher delays are part of the measurement
+ * (no coordinated omission). Events measure from publish to handler; commands and queries, the round trip.
+ * Allocation is the whole JVM's divided by the messages, including the broker when embedded.
+ * <p>
+ * {@code mvn -Pbenchmark test -Dtest=LoadTestHarness -Dload.modes=event,command -Dload.rate=5000
+ * -Dload.payload-sizes=256,4096 -Dload.messages=20000 -Dload.callers=32 -Dmessage.dispatcher.concurrency=4-4}
+ */
+@Tag("benchmark")
+class LoadTestHarness {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestHarness.class);
+
+    private static final List<String> MODES = List.of(System.getProperty("load.modes", "event,command,query").split(","));
+    private static final int[] PAYLOAD_SIZES = Arrays.stream(System.getProperty("load.payload-sizes", "256,4096").split(","))
+            .mapToInt(Integer::parseInt).toArray();
+    private static final int MESSAGES = Integer.getInteger("load.messages", 20_000);
+    private static final int WARMUP_MESSAGES = Integer.getInteger("load.warmup", 5_000);
+    private static final int RATE = Integer.getInteger("load.rate", 0);
+    private static final int CALLERS = Integer.getInteger("load.callers", 32);
+
+    private static final Recorder EVENT_LATENCY = new Recorder(3);
+    private static volatile CountDownLatch eventsReceived;
+
+    private static EmbeddedAmqpBroker broker;
+    private static ConfigurableApplicationContext context;
+    private static MessagePublisher publisher;
+
+    public record LoadMessage(long sentAt, String data) {
+    }
+
+    public record LoadReply(long sentAt) {
+    }
+
+    @MessageListener
+    public static class LoadListener {
+
+        @Event
+        public void onEvent(LoadMessage message) {
+            EVENT_LATENCY.recordValue(System.nanoTime() - message.sentAt());
+            eventsReceived.countDown();
+        }
+
+        @Command
+        public LoadReply onCommand(LoadMessage message) {
+            return new LoadReply(message.sentAt());
+        }
+
+        @Query
+        public LoadReply onQuery(LoadMessage message) {
+            return new LoadReply(message.sentAt());
+        }
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EnableMessageDispatcher
+    @Import(LoadListener.class)
+    static class LoadApplication {
+
+        @Bean
+        @ConditionalOnProperty(name = "load.embedded-broker", havingValue = "true")
+        static BeanPostProcessor embeddedBrokerQueues() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof Queue queue) {
+                        EmbeddedAmqpBroker.withSupportedArguments(queue);
+                    } else if (bean instanceof Declarables declarables) {
+                        declarables.getDeclarablesByType(Queue.class).forEach(EmbeddedAmqpBroker::withSupportedArguments);
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    @BeforeAll
+    static void startApplication() throws Exception {
+        var host = System.getProperty("load.host");
+        Map<String, Object> defaults;
+        if (host == null) {
+            broker = EmbeddedAmqpBroker.start();
+            defaults = Map.of("message.dispatcher.host", "localhost",
+                    "message.dispatcher.port", broker.getPort(),
+                    "message.dispatcher.virtual-host", "default",
+                    "load.embedded-broker", true);
+        } else {
+            defaults = Map.of("message.dispatcher.host", host,
+                    "message.dispatcher.port", Integer.getInteger("load.port", 5672));
+        }
+
+        // propriedades message.dispatcher.* passadas com -D têm precedência sobre os padrões
+        context = new SpringApplicationBuilder(LoadApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(defaults)
+                .properties("spring.application.name=message-dispatcher-load-test")
+                .run();
+        publisher = context.getBean(MessagePublisher.class);
+    }
+
+    @AfterAll
+    static void stopApplication() {
+        if (context != null) {
+            context.close();
+        }
+        if (broker != null) {
+            broker.close();
+        }
+    }
+
+    @Test
+    void run() throws Exception {
+        for (var mode : MODES) {
+            for (var payloadSize : PAYLOAD_SIZES) {
+                var data = "x".repeat(payloadSize);
+                load(mode.trim(), data, WARMUP_MESSAGES);
+
+                var result = load(mode.trim(), data, MESSAGES);
+                log.info("mode={} messages={} payload={} B rate={} callers={} throughput={} msg/s " +
+                                "p50={} us p99={} us p999={} us alloc={} B/msg",
+                        mode, MESSAGES, payloadSize, RATE == 0 ? "max" : RATE, CALLERS,
+                        Math.round(MESSAGES / (result.elapsed() / 1e9)),
+                        micros(result.latency(), 50), micros(result.latency(), 99), micros(result.latency(), 99.9),
+                        result.allocatedBytes() / MESSAGES);
+            }
+        }
+    }
+
+    private record Result(long elapsed, Histogram latency, long allocatedBytes) {
+    }
+
+    private static Result load(String mode, String data, int messages) throws Exception {
+        var allocatedBefore = allocatedBytes();
+        var start = System.nanoTime();
+        var latency = switch (mode) {
+            case "event" -> events(data, messages, start);
+            case "command", "query" -> requests(mode, data, messages, start);
+            default -> throw new IllegalArgumentException("load.modes aceita event, command e query: " + mode);
+        };
+        var elapsed = System.nanoTime() - start;
+        return new Result(elapsed, latency, allocatedBytes() - allocatedBefore);
+    }
+
+    private static Histogram events(String data, int messages, long start) throws InterruptedException {
+        EVENT_LATENCY.reset();
+        eventsReceived = new CountDownLatch(messages);
+
+        var interval = interval(RATE);
+        for (int i = 0; i < messages; i++) {
+            publisher.sendEvent(new LoadMessage(pace(start, interval, i), data));
+        }
+
+        assertTrue(eventsReceived.await(5, TimeUnit.MINUTES), "Eventos não consumidos");
+        return EVENT_LATENCY.getIntervalHistogram();
+    }
+
+    private static Histogram requests(String mode, String data, int messages, long start) throws Exception {
+        var latency = new Recorder(3);
+        // cada chamador envia na sua fração da taxa, deslocado para que os envios se intercalem
+        var interval = interval(RATE) * CALLERS;
+        var perCaller = messages / CALLERS;
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> callers = new ArrayList<>();
+            for (int c = 0; c < CALLERS; c++) {
+                var offset = start + c * interval(RATE);
+                callers.add(executor.submit(() -> {
+                    for (int i = 0; i < perCaller; i++) {
+                        var message = new LoadMessage(pace(offset, interval, i), data);
+                        var reply = mode.equals("command")
+                                ? publisher.doCommand(message, LoadReply.class)
+                                : publisher.doQuery(message, LoadReply.class);
+                        latency.recordValue(System.nanoTime() - reply.sentAt());
+                    }
+                    return null;
+                }));
+            }
+            for (var caller : callers) {
+                caller.get(5, TimeUnit.MINUTES);
+            }
+        }
+        return latency.getIntervalHistogram();
+    }
+
+    private static long interval(int rate) {
+        return rate == 0 ? 0 : TimeUnit.SECONDS.toNanos(1) / rate;
+    }
+
+    /**
+     * Aguarda o instante planejado do envio {@code i} e o retorna; sem taxa configurada, envia imediatamente.
+     * Waits for the planned instant of send {@code i} and returns it; without a configured rate, sends immediately.
+     */
+    private static long pace(long start, long interval, int i) {
+        if (interval == 0) {
+            return System.nanoTime();
+        }
+        var planned = start + interval * i;
+        long now;
+        while ((now = System.nanoTime()) < planned) {
+            LockSupport.parkNanos(planned - now);
+        }
+        return planned;
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getTotalThreadAllocatedBytes();
+    }
+
+    private static long micros(Histogram histogram, double percentile) {
+        return TimeUnit.NANOSECONDS.toMicros(histogram.getValueAtPercentile(percentile));
+    }
+}
@@ -0,0 +1,145 @@
+package br.com.messagedispatcher.benchmark;
+
+import br.com.messagedispatcher.publisher.ReplyMode;
+import br.com.messagedispatcher.publisher.ReplyModeConfigurer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Compara vazão e latência de request/reply entre os {@link ReplyMode} contra o broker embarcado.
+ * No Qpid o modo DIRECT recai em filas temporárias, pois o broker não suporta direct reply-to.
+ * <p>
+ * Compares request/reply throughput and latency across {@link ReplyMode}s against the embedded broker.
+ * On Qpid the DIRECT mode falls back to temporary queues, since the broker has no direct reply-to support.
+ * <p>
+ * {@code mvn -Pbenchmark test -Dtest=ReplyModeBenchmark}
+ */
+@Tag("benchmark")
+class ReplyModeBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplyModeBenchmark.class);
+
+    private static final String REQUEST_QUEUE = "benchmark.requests";
+    private static final int CALLERS = 32;
+    private static final int REQUESTS_PER_CALLER = 200;
+    private static final int WARMUP_REQUESTS = 200;
+
+    private static EmbeddedAmqpBroker broker;
+    private static CachingConnectionFactory connectionFactory;
+    private static SimpleMessageListenerContainer responder;
+
+    @BeforeAll
+    static void startBroker() throws Exception {
+        broker = EmbeddedAmqpBroker.start();
+        connectionFactory = broker.connectionFactory();
+        connectionFactory.setChannelCacheSize(CALLERS * 2);
+
+        new RabbitAdmin(connectionFactory).declareQueue(new Queue(REQUEST_QUEUE, false, false, true));
+
+        var replier = new RabbitTemplate(connectionFactory);
+        responder = new SimpleMessageListenerContainer(connectionFactory);
+        responder.setQueueNames(REQUEST_QUEUE);
+        responder.setConcurrentConsumers(8);
+        responder.setPrefetchCount(50);
+        responder.setMessageListener(request -> {
+            var properties = new MessageProperties();
+            properties.setCorrelationId(request.getMessageProperties().getCorrelationId());
+            replier.send("", request.getMessageProperties().getReplyTo(), new Message(request.getBody(), properties));
+        });
+        responder.start();
+    }
+
+    @AfterAll
+    static void stopBroker() {
+        responder.stop();
+        connectionFactory.destroy();
+        broker.close();
+    }
+
+    @ParameterizedTest
+    @EnumSource(ReplyMode.class)
+    void requestReply(ReplyMode replyMode) throws Exception {
+        var template = new RabbitTemplate(connectionFactory);
+        template.setReplyTimeout(10_000);
+
+        SimpleMessageListenerContainer replyContainer = null;
+        Queue replyQueue = null;
+        if (replyMode == ReplyMode.FIXED) {
+            replyQueue = ReplyModeConfigurer.replyQueue("benchmark");
+            new RabbitAdmin(connectionFactory).declareQueue(replyQueue);
+        }
+        ReplyModeConfigurer.configure(template, replyMode, replyQueue);
+        if (replyQueue != null) {
+            replyContainer = ReplyModeConfigurer.replyListenerContainer(connectionFactory, template, replyQueue);
+            replyContainer.start();
+        }
+
+        try {
+            for (int i = 0; i < WARMUP_REQUESTS; i++) {
+                assertNotNull(template.sendAndReceive("", REQUEST_QUEUE, request()));
+            }
+
+            var latencies = new long[CALLERS * REQUESTS_PER_CALLER];
+            var start = System.nanoTime();
+            try (var callers = Executors.newVirtualThreadPerTaskExecutor()) {
+                var results = new ArrayList<Future<?>>();
+                for (int caller = 0; caller < CALLERS; caller++) {
+                    var offset = caller * REQUESTS_PER_CALLER;
+                    results.add(callers.submit(() -> {
+                        for (int i = 0; i < REQUESTS_PER_CALLER; i++) {
+                            var sent = System.nanoTime();
+                            assertNotNull(template.sendAndReceive("", REQUEST_QUEUE, request()), "Resposta não recebida");
+                            latencies[offset + i] = System.nanoTime() - sent;
+                        }
+                        return null;
+                    }));
+                }
+                for (var result : results) {
+                    result.get(2, TimeUnit.MINUTES);
+                }
+            }
+            var elapsed = System.nanoTime() - start;
+
+            Arrays.sort(latencies);
+            log.info("reply-mode={} requests={} throughput={} req/s p50={} ms p99={} ms max={} ms",
+                    replyMode, latencies.length,
+                    Math.round(latencies.length / (elapsed / 1e9)),
+                    millis(latencies[latencies.length / 2]),
+                    millis(latencies[(int) (latencies.length * 0.99)]),
+                    millis(latencies[latencies.length - 1]));
+        } finally {
+            if (replyContainer != null) {
+                replyContainer.stop();
+            }
+            template.stop();
+        }
+    }
+
+    private static Message request() {
+        return new Message("{\"id\":\"benchmark\"}".getBytes(), new MessageProperties());
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.2f", nanos / 1e6);
+    }
+}
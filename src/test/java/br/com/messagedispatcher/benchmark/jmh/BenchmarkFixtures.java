@@ -0,0 +1,85 @@
+package br.com.messagedispatcher.benchmark.jmh;
+
+import br.com.messagedispatcher.annotation.Event;
+import br.com.messagedispatcher.annotation.MessageListener;
+import br.com.messagedispatcher.beandiscover.impl.MessageDispatcherAnnotatedMethodDiscoverImpl;
+import br.com.messagedispatcher.config.ObjectMapperConfig;
+import br.com.messagedispatcher.config.properties.MessageDispatcherProperties;
+import br.com.messagedispatcher.metrics.DispatcherMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.context.ApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Payloads e componentes do dispatcher montados sem contexto Spring para os microbenchmarks.
+ * Payloads and dispatcher components assembled without a Spring context for the microbenchmarks.
+ */
+final class BenchmarkFixtures {
+
+    /**
+     * Tamanho aproximado de um item serializado, usado para chegar ao tamanho de payload pedido.
+     * Approximate size of a serialized item, used to reach the requested payload size.
+     */
+    private static final int ITEM_SIZE = 110;
+
+    private BenchmarkFixtures() {
+    }
+
+    static ObjectMapper objectMapper() {
+        return new ObjectMapperConfig().objectMapper();
+    }
+
+    /**
+     * Pedido com itens suficientes para o JSON ficar próximo de {@code payloadSize} bytes.
+     * Order with enough items for the JSON to be close to {@code payloadSize} bytes.
+     */
+    static OrderCreated order(int payloadSize) {
+        var items = new ArrayList<OrderItem>();
+        for (int i = 0; i < Math.max(1, payloadSize / ITEM_SIZE); i++) {
+            items.add(new OrderItem("SKU-" + i, "Produto de benchmark " + i, i % 5 + 1, BigDecimal.valueOf(19.9 + i)));
+        }
+        return new OrderCreated("order-1", "customer-1", OffsetDateTime.now(), items);
+    }
+
+    /**
+     * Descoberta real dos handlers sobre um {@link ApplicationContext} que expõe apenas os listeners informados.
+     * Real handler discovery over an {@link ApplicationContext} that only exposes the given listeners.
+     */
+    static MessageDispatcherAnnotatedMethodDiscoverImpl discover(ObjectMapper objectMapper, Object... listeners) {
+        Map<String, Object> beans = new LinkedHashMap<>();
+        for (var listener : listeners) {
+            beans.put(listener.getClass().getName(), listener);
+        }
+        var applicationContext = mock(ApplicationContext.class);
+        when(applicationContext.getBeansWithAnnotation(MessageListener.class)).thenReturn(beans);
+
+        var properties = new MessageDispatcherProperties();
+        properties.setHandlerIndexEnabled(false);
+        return new MessageDispatcherAnnotatedMethodDiscoverImpl(applicationContext, objectMapper, properties,
+                new DispatcherMetrics(new SimpleMeterRegistry(), false));
+    }
+
+    public record OrderCreated(String orderId, String customerId, OffsetDateTime createdAt, List<OrderItem> items) {
+    }
+
+    public record OrderItem(String sku, String description, int quantity, BigDecimal price) {
+    }
+
+    @MessageListener
+    public static class OrderListener {
+
+        @Event
+        public void onOrderCreated(OrderCreated event) {
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package br.com.messagedispatcher.benchmark.jmh;
+
+import br.com.messagedispatcher.beandiscover.impl.MessageDispatcherAnnotatedMethodDiscoverImpl;
+import br.com.messagedispatcher.beandiscover.invoker.MessageHandlerInvoker;
+import br.com.messagedispatcher.model.MessageType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.tools.ToolProvider;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Busca de handler no {@link MessageDispatcherAnnotatedMethodDiscoverImpl} com 10, 100 e 1000 handlers. Os listeners
+ * são gerados e compilados no setup, com um tipo de payload por handler, e a busca percorre todos os tipos pelo nome
+ * simples, como publicado por padrão.
+ * <p>
+ * Handler lookup in {@link MessageDispatcherAnnotatedMethodDiscoverImpl} with 10, 100 and 1000 handlers. The listeners
+ * are generated and compiled during setup, with one payload type per handler, and the lookup walks every type by its
+ * simple name, as published by default.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HandlerLookupBenchmark {
+
+    private static final String PACKAGE = "br.com.messagedispatcher.benchmark.generated";
+
+    @Param({"10", "100", "1000"})
+    int handlers;
+
+    private MessageDispatcherAnnotatedMethodDiscoverImpl discover;
+    private String[] bodyTypes;
+    private int cursor;
+
+    @Setup
+    public void setup() throws Exception {
+        var listener = compileListener(handlers).getConstructor().newInstance();
+        discover = BenchmarkFixtures.discover(BenchmarkFixtures.objectMapper(), listener);
+
+        bodyTypes = new String[handlers];
+        for (int i = 0; i < handlers; i++) {
+            bodyTypes[i] = "Payload" + i;
+        }
+    }
+
+    @Benchmark
+    public MessageHandlerInvoker getHandler() {
+        if (++cursor == bodyTypes.length) {
+            cursor = 0;
+        }
+        return discover.getHandler(MessageType.EVENT, bodyTypes[cursor]);
+    }
+
+    private static Class<?> compileListener(int handlers) throws Exception {
+        var source = new StringBuilder()
+                .append("package ").append(PACKAGE).append(";\n")
+                .append("@br.com.messagedispatcher.annotation.MessageListener\n")
+                .append("public class GeneratedListener {\n");
+        for (int i = 0; i < handlers; i++) {
+            source.append("  public record Payload").append(i).append("(String id) {}\n")
+                    .append("  @br.com.messagedispatcher.annotation.Event public void on").append(i)
+                    .append("(Payload").append(i).append(" payload) {}\n");
+        }
+        source.append("}\n");
+
+        var sourceDir = Files.createTempDirectory("jmh-handlers-src");
+        var classesDir = Files.createTempDirectory("jmh-handlers-classes");
+        var sourceFile = sourceDir.resolve("GeneratedListener.java");
+        Files.writeString(sourceFile, source);
+
+        var result = ToolProvider.getSystemJavaCompiler().run(null, null, null, "-proc:none",
+                "-classpath", System.getProperty("java.class.path"), "-d", classesDir.toString(), sourceFile.toString());
+        if (result != 0) {
+            throw new IllegalStateException("Falha ao compilar os listeners gerados");
+        }
+
+        var classLoader = new URLClassLoader(new URL[]{classesDir.toUri().toURL()},
+                HandlerLookupBenchmark.class.getClassLoader());
+        return classLoader.loadClass(PACKAGE + ".GeneratedListener");
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.messagedispatcher.benchmark.jmh;
+
+import br.com.messagedispatcher.codec.CodecMessageConverter;
+import br.com.messagedispatcher.codec.MessageCodecs;
+import br.com.messagedispatcher.config.MessageConverterConfig;
+import br.com.messagedispatcher.config.properties.MessageDispatcherProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.MessageProperties;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ida e volta pelo {@link CodecMessageConverter} configurado pelo {@link MessageConverterConfig}, usado na
+ * publicação e nas respostas de comandos e consultas, em cada formato ({@code format}). O tamanho da mensagem em cada
+ * formato é registrado no início do benchmark.
+ * <p>
+ * Round trip through the {@link CodecMessageConverter} configured by {@link MessageConverterConfig}, used for
+ * publishing and for command and query replies, in each format ({@code format}). The message size in each format is
+ * printed when the benchmark starts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageConverterBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(MessageConverterBenchmark.class);
+
+    @Param({"256", "4096", "65536"})
+    int payloadSize;
+
+    @Param({"json", "smile", "cbor"})
+    String format;
+
+    private CodecMessageConverter converter;
+    private BenchmarkFixtures.OrderCreated order;
+
+    @Setup
+    public void setup() {
+        var properties = new MessageDispatcherProperties();
+        properties.getCodec().setFormat(format);
+        converter = new MessageConverterConfig().codecMessageConverter(MessageCodecs.of(BenchmarkFixtures.objectMapper()),
+                properties);
+        order = BenchmarkFixtures.order(payloadSize);
+        log.info("format={} payloadSize={} bytes={}", format, payloadSize,
+                converter.toMessage(order, new MessageProperties()).getBody().length);
+    }
+
+    @Benchmark
+    public Object roundTrip() {
+        return converter.fromMessage(converter.toMessage(order, new MessageProperties()));
+    }
+}
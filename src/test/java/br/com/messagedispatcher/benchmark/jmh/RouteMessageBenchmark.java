@@ -0,0 +1,66 @@
+package br.com.messagedispatcher.benchmark.jmh;
+
+import br.com.messagedispatcher.codec.MessageCodecs;
+import br.com.messagedispatcher.router.impl.AnnotatedMessageRouter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+
+import java.util.concurrent.TimeUnit;
+
+import static br.com.messagedispatcher.constants.MessageDispatcherConstants.MessageDispatcherHeaders.BODY_TYPE;
+import static br.com.messagedispatcher.constants.MessageDispatcherConstants.MessageDispatcherHeaders.MESSAGE_TYPE;
+
+/**
+ * Custo por mensagem do {@link AnnotatedMessageRouter}: busca do handler, deserialização do payload, invocação
+ * e métricas, sem o broker, com o payload em cada formato ({@code format}).
+ * <p>
+ * Per-message cost of the {@link AnnotatedMessageRouter}: handler lookup, payload deserialization, invocation
+ * and metrics, without the broker, with the payload in each format ({@code format}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouteMessageBenchmark {
+
+    @Param({"256", "4096", "65536"})
+    int payloadSize;
+
+    @Param({"json", "smile", "cbor"})
+    String format;
+
+    private AnnotatedMessageRouter router;
+    private Message message;
+
+    @Setup
+    public void setup() throws Exception {
+        var objectMapper = BenchmarkFixtures.objectMapper();
+        var codecs = MessageCodecs.of(objectMapper);
+        router = new AnnotatedMessageRouter(BenchmarkFixtures.discover(objectMapper, new BenchmarkFixtures.OrderListener()), codecs);
+
+        var codec = codecs.get(format);
+        var properties = new MessageProperties();
+        properties.setContentType(codec.contentType());
+        properties.setHeader(MESSAGE_TYPE, "EVENT");
+        properties.setHeader(BODY_TYPE, BenchmarkFixtures.OrderCreated.class.getSimpleName());
+        message = new Message(codec.objectMapper().writeValueAsBytes(BenchmarkFixtures.order(payloadSize)), properties);
+    }
+
+    @Benchmark
+    public Object routeMessage() {
+        return router.routeMessage(message);
+    }
+}
@@ -0,0 +1,109 @@
+package br.com.messagedispatcher.codec;
+
+import br.com.messagedispatcher.config.properties.MessageDispatcherProperties;
+import br.com.messagedispatcher.exceptions.MessageDispatcherRuntimeException;
+import br.com.messagedispatcher.model.MessageDispatcherRemoteInvocationResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static br.com.messagedispatcher.codec.MessageCodec.CBOR_CONTENT_TYPE;
+import static br.com.messagedispatcher.codec.MessageCodec.SMILE_CONTENT_TYPE;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CodecMessageConverterTest {
+
+    public record OrderCreated(String id, int items) {
+    }
+
+    public record PaymentCreated(String id) {
+    }
+
+    private final MessageCodecs codecs = MessageCodecs.of(new ObjectMapper());
+
+    @Test
+    void shouldPublishInDefaultFormatAndReadItBack() {
+        var converter = converter("smile", Map.of());
+
+        var message = converter.toMessage(new OrderCreated("1", 2), new MessageProperties());
+
+        assertEquals(SMILE_CONTENT_TYPE, message.getMessageProperties().getContentType());
+        assertNull(message.getMessageProperties().getContentEncoding());
+        assertNotNull(message.getMessageProperties().getMessageId());
+        assertEquals(new OrderCreated("1", 2), converter.fromMessage(message));
+    }
+
+    @Test
+    void shouldUseFormatConfiguredForPayloadType() {
+        var converter = converter("json", Map.of("cbor", List.of(OrderCreated.class)));
+
+        var order = converter.toMessage(new OrderCreated("1", 2), new MessageProperties());
+        var payment = converter.toMessage(new PaymentCreated("2"), new MessageProperties());
+
+        assertEquals(CBOR_CONTENT_TYPE, order.getMessageProperties().getContentType());
+        assertEquals(MessageProperties.CONTENT_TYPE_JSON, payment.getMessageProperties().getContentType());
+        assertEquals("{\"id\":\"2\"}", new String(payment.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldKeepContentTypeAlreadySetInProperties() {
+        var converter = converter("smile", Map.of());
+        var request = new Message(new byte[0], new MessageProperties());
+        request.getMessageProperties().setContentType(MessageProperties.CONTENT_TYPE_JSON + ";charset=UTF-8");
+
+        var reply = converter.toMessage(MessageDispatcherRemoteInvocationResult.of("ok"), codecs.replyProperties(request));
+
+        assertEquals(MessageProperties.CONTENT_TYPE_JSON, reply.getMessageProperties().getContentType());
+        assertTrue(new String(reply.getBody(), StandardCharsets.UTF_8).startsWith("{\"value\":\"ok\""));
+    }
+
+    @Test
+    void shouldReadEachMessageWithCodecOfItsContentType() {
+        var json = converter("json", Map.of());
+        var cbor = converter("cbor", Map.of());
+
+        var jsonMessage = json.toMessage(new OrderCreated("1", 1), new MessageProperties());
+        var cborMessage = cbor.toMessage(new OrderCreated("2", 2), new MessageProperties());
+
+        // o mesmo converter lê os dois formatos, como um consumidor durante a migração
+        assertEquals(new OrderCreated("1", 1), cbor.fromMessage(jsonMessage));
+        assertEquals(new OrderCreated("2", 2), json.fromMessage(cborMessage));
+    }
+
+    @Test
+    void shouldHandleUnknownContentTypeAsJson() {
+        assertSame(codecs.json(), codecs.forContentType(null));
+        assertSame(codecs.json(), codecs.forContentType("text/plain"));
+        assertEquals(MessageCodec.SMILE, codecs.forContentType("Application/X-Jackson-Smile; v=1").name());
+    }
+
+    @Test
+    void shouldRejectUnknownFormat() {
+        assertThrows(MessageDispatcherRuntimeException.class, () -> converter("msgpack", Map.of()));
+        assertThrows(MessageDispatcherRuntimeException.class,
+                () -> converter("json", Map.of("avro", List.of(OrderCreated.class))));
+    }
+
+    @Test
+    void shouldRegisterAdditionalCodecs() {
+        var objectMapper = new ObjectMapper();
+        var custom = new MessageCodec("custom", "application/x-custom", objectMapper);
+        var registry = new MessageCodecs(objectMapper, List.of(custom));
+
+        assertSame(custom, registry.get("custom"));
+        assertSame(custom, registry.find("application/x-custom"));
+        assertEquals(List.of("json", "smile", "cbor", "custom"), registry.codecs().stream().map(MessageCodec::name).toList());
+    }
+
+    private CodecMessageConverter converter(String format, Map<String, List<Class<?>>> types) {
+        var properties = new MessageDispatcherProperties();
+        properties.getCodec().setFormat(format);
+        properties.getCodec().getTypes().putAll(types);
+        return new CodecMessageConverter(codecs, properties.getCodec());
+    }
+}
@@ -0,0 +1,54 @@
+package br.com.messagedispatcher.config;
+
+import br.com.messagedispatcher.config.properties.MessageDispatcherProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionFactoryConfigTest {
+
+    private final ConnectionFactoryConfig config = new ConnectionFactoryConfig();
+
+    @Test
+    void shouldApplyChannelCacheSettingsToDedicatedPublisherConnection() {
+        var properties = properties();
+        properties.getConnection().setChannelCacheSize(50);
+        properties.getConnection().setCacheMode(CachingConnectionFactory.CacheMode.CONNECTION);
+        properties.getConnection().setConnectionCacheSize(4);
+
+        var connectionFactory = (CachingConnectionFactory) config.connectionFactory(properties);
+        var publisherConnectionFactory = (CachingConnectionFactory) connectionFactory.getPublisherConnectionFactory();
+
+        assertNotNull(publisherConnectionFactory);
+        assertNotSame(connectionFactory, publisherConnectionFactory);
+        for (var factory : List.of(connectionFactory, publisherConnectionFactory)) {
+            assertEquals(50, factory.getChannelCacheSize());
+            assertEquals(CachingConnectionFactory.CacheMode.CONNECTION, factory.getCacheMode());
+            assertEquals(4, factory.getConnectionCacheSize());
+            assertTrue(factory.isPublisherConfirms());
+        }
+    }
+
+    @Test
+    void shouldFallBackToDefaultConnectionFactoryWhenQueueLeaderIsUnknown() {
+        var properties = properties();
+        properties.getConnection().setAddresses(List.of("localhost:5672", "localhost:5673"));
+        properties.getConnection().setAdminUris(List.of("http://localhost:1", "http://localhost:2"));
+        properties.getConnection().setNodes(List.of("rabbit@node1", "rabbit@node2"));
+
+        var connectionFactory = config.connectionFactory(properties);
+        var queueLeaderConnectionFactory = config.queueLeaderConnectionFactory(connectionFactory, properties);
+
+        assertSame(connectionFactory, queueLeaderConnectionFactory.getTargetConnectionFactory("[orders]"));
+        queueLeaderConnectionFactory.destroy();
+    }
+
+    private static MessageDispatcherProperties properties() {
+        var properties = new MessageDispatcherProperties();
+        properties.setRoutingKey("orders");
+        return properties;
+    }
+}
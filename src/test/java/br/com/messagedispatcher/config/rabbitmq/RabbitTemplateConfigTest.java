@@ -0,0 +1,54 @@
+package br.com.messagedispatcher.config.rabbitmq;
+
+import br.com.messagedispatcher.config.properties.MessageDispatcherProperties;
+import br.com.messagedispatcher.publisher.FixedReplyQueues;
+import br.com.messagedispatcher.publisher.ReplyMode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.amqp.rabbit.AsyncRabbitTemplate;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class RabbitTemplateConfigTest {
+
+    private final RabbitTemplateConfig config = new RabbitTemplateConfig();
+    private final ConnectionFactory connectionFactory = mock(ConnectionFactory.class);
+
+    @ParameterizedTest
+    @EnumSource(value = ReplyMode.class, names = "DIRECT", mode = EnumSource.Mode.EXCLUDE)
+    void shouldReceiveAsyncRepliesOnFixedQueueUnlessDirectReplyTo(ReplyMode replyMode) {
+        var properties = properties(replyMode);
+        var replyQueues = new FixedReplyQueues(connectionFactory, properties.getQueueName());
+
+        var asyncTemplate = config.asyncRabbitTemplate(new RabbitTemplate(connectionFactory), properties, replyQueues);
+
+        assertNull(ReflectionTestUtils.getField(asyncTemplate, "directReplyToContainer"));
+        assertNotNull(ReflectionTestUtils.getField(asyncTemplate, "container"));
+        assertTrue(replyQueues.getQueueNames().contains((String) ReflectionTestUtils.getField(asyncTemplate, "replyAddress")));
+        assertFalse(asyncTemplate.isAutoStartup());
+    }
+
+    @Test
+    void shouldReceiveAsyncRepliesThroughDirectReplyToInDirectMode() {
+        var properties = properties(ReplyMode.DIRECT);
+        var replyQueues = new FixedReplyQueues(connectionFactory, properties.getQueueName());
+
+        AsyncRabbitTemplate asyncTemplate = config.asyncRabbitTemplate(new RabbitTemplate(connectionFactory), properties, replyQueues);
+
+        assertNotNull(ReflectionTestUtils.getField(asyncTemplate, "directReplyToContainer"));
+        assertNull(ReflectionTestUtils.getField(asyncTemplate, "container"));
+        assertTrue(replyQueues.getQueueNames().isEmpty());
+    }
+
+    private static MessageDispatcherProperties properties(ReplyMode replyMode) {
+        var properties = new MessageDispatcherProperties();
+        properties.setQueueName("orders");
+        properties.setReplyMode(replyMode);
+        return properties;
+    }
+}
@@ -0,0 +1,104 @@
+package br.com.messagedispatcher.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static br.com.messagedispatcher.constants.MessageDispatcherConstants.MessageDispatcherHeaders.BODY_TYPE;
+import static br.com.messagedispatcher.constants.MessageDispatcherConstants.MessageDispatcherHeaders.MESSAGE_TYPE;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DispatchEventTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldRecordMessageFieldsAndHandler() throws Exception {
+        var message = message();
+        var handlerMethod = OrderListener.class.getMethod("onOrderCreated", String.class);
+
+        var events = record(HandlerInvokedEvent.class, () -> {
+            var invokedEvent = HandlerInvokedEvent.start();
+            invokedEvent.failed(new IllegalStateException());
+            invokedEvent.commit(message, handlerMethod);
+        });
+
+        assertEquals(1, events.size());
+        var event = events.getFirst();
+        assertEquals("br.com.messagedispatcher.HandlerInvoked", event.getEventType().getName());
+        assertEquals("EVENT", event.getString("messageType"));
+        assertEquals("OrderCreated", event.getString("bodyType"));
+        assertEquals("OrderListener#onOrderCreated", event.getString("handler"));
+        assertEquals(2, event.getInt("payloadSize"));
+        assertEquals(IllegalStateException.class.getName(), event.getString("exception"));
+        assertNull(event.getStackTrace());
+        assertNull(message.getMessageProperties().getTargetMethod());
+    }
+
+    @Test
+    void shouldRecordReplyWithRequestTypesAndReplySize() throws Exception {
+        var reply = new Message("{\"value\":\"ok\"}".getBytes(), new MessageProperties());
+
+        var events = record(ReplySentEvent.class, () -> {
+            var replyEvent = ReplySentEvent.start();
+            replyEvent.commit(message(), reply);
+        });
+
+        assertEquals(1, events.size());
+        var event = events.getFirst();
+        assertEquals("EVENT", event.getString("messageType"));
+        assertEquals("OrderCreated", event.getString("bodyType"));
+        assertEquals(reply.getBody().length, event.getInt("payloadSize"));
+    }
+
+    @Test
+    void shouldNotCreateEventsWithoutRecording() {
+        assertNull(MessageReceivedEvent.start());
+        assertNull(MessageDeserializedEvent.start());
+        assertNull(HandlerInvokedEvent.start());
+        assertNull(ReplySentEvent.start());
+        assertNull(MessagePublishedEvent.start());
+    }
+
+    @Test
+    void shouldNotRecordWithoutRecording() {
+        var event = new MessageReceivedEvent();
+        event.begin();
+        event.commit(message());
+
+        assertFalse(event.shouldCommit());
+        assertNull(event.messageType);
+    }
+
+    private List<RecordedEvent> record(Class<? extends DispatchEvent> eventType, Runnable emitter) throws Exception {
+        var file = tempDir.resolve("dispatch.jfr");
+        try (var recording = new Recording()) {
+            recording.enable(eventType);
+            recording.start();
+            emitter.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file);
+    }
+
+    private static Message message() {
+        var properties = new MessageProperties();
+        properties.setHeader(MESSAGE_TYPE, "EVENT");
+        properties.setHeader(BODY_TYPE, "OrderCreated");
+        return new Message("{}".getBytes(), properties);
+    }
+
+    static class OrderListener {
+        public void onOrderCreated(String event) {
+        }
+    }
+}
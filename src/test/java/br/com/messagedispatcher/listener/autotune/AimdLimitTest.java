@@ -0,0 +1,68 @@
+package br.com.messagedispatcher.listener.autotune;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class AimdLimitTest {
+
+    private final AimdLimit limit = new AimdLimit(1, 10, 1, 100, 10, 500, 0.1);
+
+    @Test
+    void shouldIncreaseAdditivelyWhenQueueHasBacklog() {
+        var decision = limit.next(stats(100, 0, 20), 1_000, 2, 20);
+
+        assertEquals(3, decision.consumers());
+        assertEquals(30, decision.prefetch());
+        assertEquals(AimdLimit.Reason.BACKLOG, decision.reason());
+    }
+
+    @Test
+    void shouldHalveWhenLatencyIsAboveTarget() {
+        var decision = limit.next(stats(100, 0, 800), 1_000, 8, 40);
+
+        assertEquals(4, decision.consumers());
+        assertEquals(20, decision.prefetch());
+        assertEquals(AimdLimit.Reason.LATENCY, decision.reason());
+    }
+
+    @Test
+    void shouldHalveWhenErrorRateIsAboveLimit() {
+        var decision = limit.next(stats(100, 30, 20), 1_000, 8, 40);
+
+        assertEquals(4, decision.consumers());
+        assertEquals(20, decision.prefetch());
+        assertEquals(AimdLimit.Reason.ERROR_RATE, decision.reason());
+    }
+
+    @Test
+    void shouldReportLimitWhenBoundsAreReached() {
+        var increase = limit.next(stats(100, 0, 20), 10_000, 10, 100);
+        var decrease = limit.next(stats(100, 0, 800), 0, 1, 1);
+
+        assertEquals(AimdLimit.Reason.AT_LIMIT, increase.reason());
+        assertFalse(increase.changed(10, 100));
+        assertEquals(AimdLimit.Reason.AT_LIMIT, decrease.reason());
+        assertFalse(decrease.changed(1, 1));
+    }
+
+    @Test
+    void shouldKeepValuesWhenConsumersKeepUp() {
+        var decision = limit.next(stats(100, 0, 20), 10, 2, 20);
+
+        assertEquals(AimdLimit.Reason.STABLE, decision.reason());
+        assertFalse(decision.changed(2, 20));
+    }
+
+    @Test
+    void shouldIgnoreLatencyAndErrorsWithoutProcessedMessages() {
+        var decision = limit.next(stats(0, 0, 0), 1_000, 2, 20);
+
+        assertEquals(AimdLimit.Reason.BACKLOG, decision.reason());
+    }
+
+    private static ListenerStatsInterceptor.Stats stats(long processed, long errors, double averageLatencyMs) {
+        return new ListenerStatsInterceptor.Stats(processed, errors, averageLatencyMs);
+    }
+}
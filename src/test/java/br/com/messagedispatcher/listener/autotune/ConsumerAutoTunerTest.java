@@ -0,0 +1,176 @@
+package br.com.messagedispatcher.listener.autotune;
+
+import br.com.messagedispatcher.benchmark.EmbeddedAmqpBroker;
+import br.com.messagedispatcher.config.properties.MessageDispatcherProperties;
+import br.com.messagedispatcher.listener.ContainerType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.MessageListener;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.core.ChannelCallback;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.AbstractMessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.DirectMessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static br.com.messagedispatcher.constants.MessageDispatcherConstants.LISTENER_ID;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Executa o auto tuner contra listener containers reais no broker embarcado e verifica o prefetch e a quantidade de
+ * consumidores efetivamente aplicados. A profundidade da fila e as estatísticas são simuladas para forçar o ajuste.
+ * <p>
+ * Runs the auto tuner against real listener containers on the embedded broker and checks the prefetch and number of
+ * consumers actually applied. The queue depth and the stats are simulated to force the adjustment.
+ */
+class ConsumerAutoTunerTest {
+
+    private static final String QUEUE = "autotune-test";
+
+    private static EmbeddedAmqpBroker broker;
+    private static CachingConnectionFactory connectionFactory;
+
+    private final RabbitListenerEndpointRegistry registry = mock(RabbitListenerEndpointRegistry.class);
+    private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AbstractMessageListenerContainer container;
+
+    @BeforeAll
+    static void startBroker() throws Exception {
+        broker = EmbeddedAmqpBroker.start();
+        connectionFactory = broker.connectionFactory();
+        new RabbitAdmin(connectionFactory).declareQueue(new Queue(QUEUE, false));
+    }
+
+    @AfterAll
+    static void stopBroker() {
+        connectionFactory.destroy();
+        broker.close();
+    }
+
+    @AfterEach
+    void stopContainer() {
+        container.stop();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldRestartSimpleConsumersWithTheNewPrefetch() throws Exception {
+        var simple = new SimpleMessageListenerContainer(connectionFactory);
+        simple.setConcurrentConsumers(1);
+        simple.setMaxConcurrentConsumers(1);
+        simple.setPrefetchCount(5);
+        start(simple);
+        var tuner = tuner(ContainerType.SIMPLE, new ListenerStatsInterceptor());
+        when(rabbitTemplate.execute(any(ChannelCallback.class))).thenReturn(1_000L);
+
+        tuner.tune();
+
+        await(() -> simple.getActiveConsumerCount() == 2);
+        var consumers = (Collection<Object>) ReflectionTestUtils.getField(simple, "consumers");
+        assertEquals(List.of(15, 15), consumers.stream()
+                .map(consumer -> ReflectionTestUtils.getField(consumer, "prefetchCount"))
+                .toList());
+        assertEquals(2, gauge(ConsumerAutoTuner.CONSUMERS_METRIC));
+        assertEquals(15, gauge(ConsumerAutoTuner.PREFETCH_METRIC));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldKeepAsyncDispatchPrefetchWhenAddingConsumers() throws Exception {
+        var properties = properties(ContainerType.SIMPLE);
+        properties.getAsyncDispatch().setEnabled(true);
+        properties.getAsyncDispatch().setMaxInFlight(1_000);
+        // 1000 mensagens em processamento divididas entre até 4 consumidores
+        assertEquals(250, properties.listenerPrefetch());
+
+        var simple = new SimpleMessageListenerContainer(connectionFactory);
+        simple.setConcurrentConsumers(1);
+        simple.setMaxConcurrentConsumers(1);
+        simple.setPrefetchCount(properties.listenerPrefetch());
+        start(simple);
+        var tuner = new ConsumerAutoTuner(registry, rabbitTemplate, new ListenerStatsInterceptor(), properties, meterRegistry);
+        when(rabbitTemplate.execute(any(ChannelCallback.class))).thenReturn(1_000L);
+
+        tuner.tune();
+
+        await(() -> simple.getActiveConsumerCount() == 2);
+        var consumers = (Collection<Object>) ReflectionTestUtils.getField(simple, "consumers");
+        assertEquals(List.of(250, 250), consumers.stream()
+                .map(consumer -> ReflectionTestUtils.getField(consumer, "prefetchCount"))
+                .toList());
+        assertEquals(2, gauge(ConsumerAutoTuner.CONSUMERS_METRIC));
+        assertEquals(250, gauge(ConsumerAutoTuner.PREFETCH_METRIC));
+    }
+
+    @Test
+    void shouldKeepDirectPrefetchAndReportOnlyConsumerChanges() throws Exception {
+        // com container DIRECT o auto tuner começa do limite superior de concurrency
+        var direct = new DirectMessageListenerContainer(connectionFactory);
+        direct.setConsumersPerQueue(4);
+        direct.setPrefetchCount(5);
+        start(direct);
+        var statsInterceptor = mock(ListenerStatsInterceptor.class);
+        when(statsInterceptor.snapshot()).thenReturn(new ListenerStatsInterceptor.Stats(10, 0, 10_000));
+        var tuner = tuner(ContainerType.DIRECT, statsInterceptor);
+
+        tuner.tune();
+
+        var consumers = (List<?>) ReflectionTestUtils.getField(direct, "consumers");
+        await(() -> consumers.size() == 2);
+        assertEquals(5, ReflectionTestUtils.getField(direct, "prefetchCount"));
+        assertEquals(2, gauge(ConsumerAutoTuner.CONSUMERS_METRIC));
+        assertEquals(5, gauge(ConsumerAutoTuner.PREFETCH_METRIC));
+    }
+
+    private void start(AbstractMessageListenerContainer listenerContainer) {
+        container = listenerContainer;
+        container.setQueueNames(QUEUE);
+        container.setMessageListener((MessageListener) message -> {
+        });
+        container.afterPropertiesSet();
+        container.start();
+        when(registry.getListenerContainer(LISTENER_ID)).thenReturn(container);
+    }
+
+    private ConsumerAutoTuner tuner(ContainerType containerType, ListenerStatsInterceptor statsInterceptor) {
+        return new ConsumerAutoTuner(registry, rabbitTemplate, statsInterceptor, properties(containerType), meterRegistry);
+    }
+
+    private static MessageDispatcherProperties properties(ContainerType containerType) {
+        var properties = new MessageDispatcherProperties();
+        properties.setQueueName(QUEUE);
+        properties.setContainerType(containerType);
+        properties.setConcurrency("1-4");
+        properties.setPrefetchCount(5);
+        properties.getAutoTune().setMaxPrefetch(50);
+        properties.getAutoTune().setPrefetchStep(10);
+        return properties;
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
@@ -0,0 +1,107 @@
+package br.com.messagedispatcher.listener.batch;
+
+import br.com.messagedispatcher.publisher.batch.HeaderPreservingBatchingStrategy;
+import com.rabbitmq.client.Channel;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.config.RetryInterceptorBuilder;
+import org.springframework.amqp.rabbit.retry.MessageRecoverer;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class DebatchingInterceptorTest {
+
+    /**
+     * Mesmo formato do {@code ContainerDelegate} do container.
+     * Same shape as the container's {@code ContainerDelegate}.
+     */
+    interface ListenerInvoker {
+        void invokeListener(Channel channel, Object data);
+    }
+
+    private final HeaderPreservingBatchingStrategy strategy = new HeaderPreservingBatchingStrategy(100, 65_536, 50);
+
+    @Test
+    void shouldRetryAndRecoverOnlyTheFailingMessageOfTheBatch() {
+        List<String> invocations = new ArrayList<>();
+        ListenerInvoker listener = (channel, data) -> {
+            var body = new String(((Message) data).getBody(), StandardCharsets.UTF_8);
+            invocations.add(body);
+            if (body.equals("poison")) {
+                throw new IllegalStateException("falha");
+            }
+        };
+        var recoverer = mock(MessageRecoverer.class);
+        var proxy = proxy(listener, recoverer);
+
+        proxy.invokeListener(mock(Channel.class), batch("first", "poison", "last"));
+
+        assertEquals(List.of("first", "poison", "poison", "last"), invocations);
+        verify(recoverer).recover(argThat(message -> "poison".equals(new String(message.getBody(), StandardCharsets.UTF_8))),
+                any());
+    }
+
+    @Test
+    void shouldProcessFollowingMessagesWhenRecoveryOfAMiddleMessageFails() {
+        List<String> invocations = new ArrayList<>();
+        ListenerInvoker listener = (channel, data) -> {
+            var body = new String(((Message) data).getBody(), StandardCharsets.UTF_8);
+            invocations.add(body);
+            if (body.startsWith("poison")) {
+                throw new IllegalStateException("falha");
+            }
+        };
+        var recoverer = mock(MessageRecoverer.class);
+        doAnswer(i -> {
+            throw new IllegalStateException("dead letter indisponível");
+        }).when(recoverer).recover(any(), any());
+        var proxy = proxy(listener, recoverer);
+
+        var thrown = assertThrows(IllegalStateException.class,
+                () -> proxy.invokeListener(mock(Channel.class), batch("first", "poison-1", "middle", "poison-2", "last")));
+
+        assertEquals(List.of("first", "poison-1", "poison-1", "middle", "poison-2", "poison-2", "last"), invocations);
+        assertEquals("dead letter indisponível", thrown.getMessage());
+        assertEquals(1, thrown.getSuppressed().length);
+    }
+
+    @Test
+    void shouldPassThroughMessagesThatAreNotBatches() {
+        List<Object> invocations = new ArrayList<>();
+        var proxy = proxy((channel, data) -> invocations.add(data), mock(MessageRecoverer.class));
+        var message = new Message("single".getBytes(StandardCharsets.UTF_8), new MessageProperties());
+
+        proxy.invokeListener(mock(Channel.class), message);
+
+        assertEquals(List.of(message), invocations);
+    }
+
+    private ListenerInvoker proxy(ListenerInvoker target, MessageRecoverer recoverer) {
+        var factory = new ProxyFactory(target);
+        factory.addAdvice(new DebatchingInterceptor(strategy));
+        factory.addAdvice(RetryInterceptorBuilder.stateless().maxAttempts(2).backOffOptions(1, 1, 1)
+                .recoverer(recoverer).build());
+        return (ListenerInvoker) factory.getProxy();
+    }
+
+    private Message batch(String... bodies) {
+        for (var body : bodies) {
+            var properties = new MessageProperties();
+            properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+            strategy.addToBatch("exchange", "key", new Message(body.getBytes(StandardCharsets.UTF_8), properties));
+        }
+        return strategy.releaseBatches().iterator().next().getMessage();
+    }
+}
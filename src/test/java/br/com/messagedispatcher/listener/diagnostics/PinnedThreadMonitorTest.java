@@ -0,0 +1,75 @@
+package br.com.messagedispatcher.listener.diagnostics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PinnedThreadMonitorTest {
+
+    private static final String LISTENER = PinningListener.class.getName();
+
+    @Test
+    void shouldAttributeToOutermostListenerFrame() {
+        var monitor = new PinnedThreadMonitor(Set.of(LISTENER), Duration.ofMillis(20), new SimpleMeterRegistry());
+
+        var handler = monitor.attribute(List.of(
+                "java.lang.Thread#sleep",
+                LISTENER + "#helper",
+                LISTENER + "#onOrderCreated",
+                "br.com.messagedispatcher.beandiscover.invoker.MessageHandlerInvoker#invoke"));
+
+        assertEquals("PinningListener#onOrderCreated", handler);
+        assertEquals(PinnedThreadMonitor.NO_HANDLER, monitor.attribute(List.of("java.lang.Thread#sleep")));
+    }
+
+    @Test
+    void shouldListSynchronizedMethods() {
+        assertEquals(List.of("helper", "onOrderCreated"), PinnedThreadMonitor.synchronizedMethods(PinningListener.class));
+        assertTrue(PinnedThreadMonitor.synchronizedMethods(Object.class).isEmpty());
+    }
+
+    @Test
+    void shouldRecordPinnedTimePerHandler() throws Exception {
+        var meterRegistry = new SimpleMeterRegistry();
+        try (var monitor = new PinnedThreadMonitor(Set.of(LISTENER), Duration.ofMillis(10), meterRegistry)) {
+            monitor.start();
+
+            var listener = new PinningListener();
+            var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (System.nanoTime() < deadline && !recorded(meterRegistry)) {
+                Thread.ofVirtual().start(listener::onOrderCreated).join();
+                Thread.sleep(200);
+            }
+
+            assertTrue(recorded(meterRegistry), "Evento jdk.VirtualThreadPinned não atribuído ao handler");
+        }
+    }
+
+    private static boolean recorded(SimpleMeterRegistry meterRegistry) {
+        var timer = meterRegistry.find(PinnedThreadMonitor.PINNED_METRIC)
+                .tag("handler", "PinningListener#onOrderCreated").timer();
+        return timer != null && timer.count() > 0;
+    }
+
+    static class PinningListener {
+
+        synchronized void onOrderCreated() {
+            helper();
+        }
+
+        private synchronized void helper() {
+            try {
+                Thread.sleep(30);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package br.com.messagedispatcher.listener.dispatch;
+
+import com.rabbitmq.client.Channel;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.ImmediateRequeueAmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.ChannelCallback;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.support.ListenerExecutionFailedException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class VirtualThreadDispatchInterceptorTest {
+
+    private final Channel channel = mock(Channel.class);
+    private final RabbitOperations replyTemplate = mock(RabbitOperations.class);
+    private final VirtualThreadDispatchInterceptor interceptor = new VirtualThreadDispatchInterceptor(2, replyTemplate);
+
+    @AfterEach
+    void tearDown() {
+        interceptor.close();
+    }
+
+    @Test
+    void shouldAckWhenHandlerCompletes() throws Throwable {
+        var release = new CountDownLatch(1);
+        var invocation = invocation(1L, () -> release.await());
+
+        assertNull(interceptor.invoke(invocation));
+        assertEquals(1, interceptor.inFlight());
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+
+        release.countDown();
+        verify(channel, timeout(1_000)).basicAck(1L, false);
+        await(() -> interceptor.inFlight() == 0);
+    }
+
+    @Test
+    void shouldNackWithoutRequeueWhenHandlerFails() throws Throwable {
+        interceptor.invoke(invocation(2L, () -> {
+            throw new ListenerExecutionFailedException("falha", new IllegalStateException());
+        }));
+
+        verify(channel, timeout(1_000)).basicNack(2L, false, false);
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+    }
+
+    @Test
+    void shouldRequeueWhenHandlerAsksForImmediateRequeue() throws Throwable {
+        interceptor.invoke(invocation(3L, () -> {
+            throw new ListenerExecutionFailedException("falha", new ImmediateRequeueAmqpException("requeue"));
+        }));
+
+        verify(channel, timeout(1_000)).basicNack(3L, false, true);
+    }
+
+    @Test
+    void shouldBlockConsumerWhenMaxInFlightIsReached() throws Throwable {
+        var release = new CountDownLatch(1);
+        interceptor.invoke(invocation(1L, release::await));
+        interceptor.invoke(invocation(2L, release::await));
+
+        var third = CompletableFuture.runAsync(() -> {
+            try {
+                interceptor.invoke(invocation(3L, () -> {
+                }));
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        Thread.sleep(200);
+        assertFalse(third.isDone());
+        assertEquals(2, interceptor.inFlight());
+
+        release.countDown();
+        third.get(1, TimeUnit.SECONDS);
+        verify(channel, timeout(1_000)).basicAck(3L, false);
+    }
+
+    @Test
+    void shouldRequeueWhenConsumerIsInterruptedWaitingForPermit() throws Throwable {
+        var invocation = invocation(4L, () -> {
+        });
+
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(ImmediateRequeueAmqpException.class, () -> interceptor.invoke(invocation));
+        } finally {
+            assertTrue(Thread.interrupted());
+        }
+
+        verify(channel).basicNack(4L, false, true);
+        verify(invocation, never()).proceed();
+        assertEquals(0, interceptor.inFlight());
+    }
+
+    @Test
+    void shouldSerializeAcksOnTheConsumerChannel() throws Throwable {
+        var acking = new AtomicInteger();
+        var overlapped = new AtomicBoolean();
+        doAnswer(i -> {
+            if (acking.incrementAndGet() > 1) {
+                overlapped.set(true);
+            }
+            Thread.sleep(50);
+            acking.decrementAndGet();
+            return null;
+        }).when(channel).basicAck(anyLong(), anyBoolean());
+
+        interceptor.invoke(invocation(1L, () -> {
+        }));
+        interceptor.invoke(invocation(2L, () -> {
+        }));
+
+        verify(channel, timeout(1_000)).basicAck(1L, false);
+        verify(channel, timeout(1_000)).basicAck(2L, false);
+        assertFalse(overlapped.get());
+    }
+
+    @Test
+    void shouldPublishRepliesThroughTheTemplate() throws Throwable {
+        var replyChannel = mock(Channel.class);
+        when(replyTemplate.execute(any())).thenAnswer(i -> i.<ChannelCallback<?>>getArgument(0).doInRabbit(replyChannel));
+        var properties = new MessageProperties();
+        properties.setDeliveryTag(5L);
+        var arguments = new Object[]{channel, new Message(new byte[0], properties)};
+        var invocation = mock(MethodInvocation.class);
+        when(invocation.getArguments()).thenReturn(arguments);
+        when(invocation.proceed()).thenAnswer(i -> {
+            // como o MessagingMessageListenerAdapter ao enviar a resposta
+            ((Channel) arguments[0]).basicPublish("", "replies", false, null, new byte[0]);
+            return null;
+        });
+
+        interceptor.invoke(invocation);
+
+        verify(channel, timeout(1_000)).basicAck(5L, false);
+        verify(replyChannel).basicPublish("", "replies", false, null, new byte[0]);
+        verify(channel, never()).basicPublish(any(), any(), anyBoolean(), any(), any());
+    }
+
+    @Test
+    void shouldDrainMessagesInFlightAndRequeueNewOnes() throws Throwable {
+        var release = new CountDownLatch(1);
+        interceptor.invoke(invocation(1L, release::await));
+
+        var drained = CompletableFuture.supplyAsync(() -> interceptor.drain(Duration.ofSeconds(5)));
+        Thread.sleep(100);
+        assertFalse(drained.isDone());
+
+        var late = invocation(2L, () -> {
+        });
+        interceptor.invoke(late);
+        verify(channel).basicNack(2L, false, true);
+        verify(late, never()).proceed();
+
+        release.countDown();
+        assertTrue(drained.get(1, TimeUnit.SECONDS));
+        verify(channel).basicAck(1L, false);
+    }
+
+    @Test
+    void shouldStopWaitingWhenDrainTimesOut() throws Throwable {
+        var release = new CountDownLatch(1);
+        interceptor.invoke(invocation(1L, release::await));
+
+        assertFalse(interceptor.drain(Duration.ofMillis(50)));
+        release.countDown();
+    }
+
+    @Test
+    void shouldProceedSynchronouslyWhenDataIsNotASingleMessage() throws Throwable {
+        var invocation = mock(MethodInvocation.class);
+        when(invocation.getArguments()).thenReturn(new Object[]{channel, List.of()});
+        when(invocation.proceed()).thenReturn("result");
+
+        assertEquals("result", interceptor.invoke(invocation));
+        verifyNoInteractions(channel);
+    }
+
+    private MethodInvocation invocation(long deliveryTag, Handler handler) throws Throwable {
+        var properties = new MessageProperties();
+        properties.setDeliveryTag(deliveryTag);
+        var invocation = mock(MethodInvocation.class);
+        when(invocation.getArguments()).thenReturn(new Object[]{channel, new Message(new byte[0], properties)});
+        when(invocation.proceed()).thenAnswer(i -> {
+            handler.handle();
+            return null;
+        });
+        return invocation;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        void handle() throws Exception;
+    }
+}
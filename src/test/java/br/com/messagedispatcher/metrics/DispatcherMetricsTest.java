@@ -0,0 +1,105 @@
+package br.com.messagedispatcher.metrics;
+
+import br.com.messagedispatcher.model.MessageType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.SimpleMessageConverter;
+import org.springframework.retry.support.RetryTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DispatcherMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DispatcherMetrics metrics = new DispatcherMetrics(meterRegistry, false);
+
+    @Test
+    void shouldResolvePublishMetricsOncePerBodyType() {
+        var first = metrics.publish(MessageType.COMMAND, OrderCreated.class);
+
+        assertSame(first, metrics.publish(MessageType.COMMAND, OrderCreated.class));
+        assertNotSame(first, metrics.publish(MessageType.QUERY, OrderCreated.class));
+
+        first.replyTimeout().record(10, TimeUnit.MILLISECONDS);
+
+        assertEquals(1, meterRegistry.get(DispatcherMetrics.REQUEST_REPLY_METRIC)
+                .tag("message.type", "COMMAND").tag("body.type", OrderCreated.class.getName())
+                .tag("outcome", "timeout").timer().count());
+    }
+
+    @Test
+    void shouldRegisterOnlyTheMetersEachMessageTypeProduces() {
+        assertTrue(meterRegistry.find(DispatcherMetrics.PUBLISH_METRIC).timers().isEmpty());
+
+        var event = metrics.publish(MessageType.EVENT, OrderCreated.class);
+        event.publish().record(5, TimeUnit.MILLISECONDS);
+
+        assertNull(event.replySuccess());
+        assertEquals(1, meterRegistry.get(DispatcherMetrics.PUBLISH_METRIC)
+                .tag("message.type", "EVENT").tag("body.type", OrderCreated.class.getName()).timer().count());
+        assertTrue(meterRegistry.find(DispatcherMetrics.REQUEST_REPLY_METRIC).timers().isEmpty());
+
+        var command = metrics.publish(MessageType.COMMAND, OrderCreated.class);
+
+        assertNull(command.publish());
+        assertEquals(1, meterRegistry.find(DispatcherMetrics.PUBLISH_METRIC).timers().size());
+        assertEquals(3, meterRegistry.find(DispatcherMetrics.REQUEST_REPLY_METRIC).timers().size());
+    }
+
+    @Test
+    void shouldTagHandlerMetricsWithHandlerMethod() throws NoSuchMethodException {
+        var method = OrderListener.class.getDeclaredMethod("onOrderCreated", OrderCreated.class);
+        var handlerMetrics = metrics.handler(MessageType.EVENT, method, OrderCreated.class);
+
+        handlerMetrics.deserialization().record(1, TimeUnit.MILLISECONDS);
+        handlerMetrics.failure().record(2, TimeUnit.MILLISECONDS);
+
+        assertEquals(1, meterRegistry.get(DispatcherMetrics.DESERIALIZATION_METRIC)
+                .tag("handler", "OrderListener#onOrderCreated").tag("message.type", "EVENT")
+                .tag("body.type", OrderCreated.class.getName()).timer().count());
+        assertEquals(1, meterRegistry.get(DispatcherMetrics.HANDLER_METRIC)
+                .tag("handler", "OrderListener#onOrderCreated").tag("outcome", "error").timer().count());
+        assertEquals(0, handlerMetrics.success().count());
+    }
+
+    @Test
+    void shouldCountOnlyAttemptsFollowedByRetry() {
+        var retryTemplate = RetryTemplate.builder().maxAttempts(3).noBackoff().build();
+        retryTemplate.registerListener(new RetryMetricsListener(metrics.localRetries()));
+
+        var attempts = new int[1];
+        retryTemplate.execute(context -> {
+            if (attempts[0]++ == 0) {
+                throw new IllegalStateException("falha");
+            }
+            return null;
+        });
+        assertEquals(1, metrics.localRetries().count());
+
+        assertThrows(IllegalStateException.class, () -> retryTemplate.execute(context -> {
+            throw new IllegalStateException("falha");
+        }));
+        assertEquals(3, metrics.localRetries().count());
+    }
+
+    @Test
+    void shouldTimeReplySerialization() {
+        var converter = new TimedMessageConverter(new SimpleMessageConverter(), metrics.replySerialization());
+
+        var message = converter.toMessage("resposta", new MessageProperties());
+
+        assertEquals("resposta", converter.fromMessage(message));
+        assertEquals(1, metrics.replySerialization().count());
+    }
+
+    record OrderCreated(String id) {
+    }
+
+    static class OrderListener {
+        void onOrderCreated(OrderCreated event) {
+        }
+    }
+}
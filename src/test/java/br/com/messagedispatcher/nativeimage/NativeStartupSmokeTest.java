@@ -0,0 +1,82 @@
+package br.com.messagedispatcher.nativeimage;
+
+import br.com.messagedispatcher.annotation.EnableMessageDispatcher;
+import br.com.messagedispatcher.annotation.Event;
+import br.com.messagedispatcher.annotation.MessageListener;
+import br.com.messagedispatcher.publisher.MessagePublisher;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Smoke test da imagem nativa: mede o tempo entre o início do processo e o processamento da primeira mensagem.
+ * Executado somente com o profile {@code native} ({@code mvn -Pnative test}) e requer um RabbitMQ acessível
+ * em {@code message.dispatcher.host}/{@code message.dispatcher.port}.
+ * <p>
+ * Native image smoke test: measures the time between process start and the first processed message.
+ * Runs only with the {@code native} profile ({@code mvn -Pnative test}) and requires a reachable RabbitMQ
+ * at {@code message.dispatcher.host}/{@code message.dispatcher.port}.
+ */
+@Tag("native")
+@SpringBootTest(classes = NativeStartupSmokeTest.SmokeApplication.class,
+        properties = "spring.application.name=message-dispatcher-native-smoke")
+class NativeStartupSmokeTest {
+
+    private static final Logger log = LoggerFactory.getLogger(NativeStartupSmokeTest.class);
+
+    @Autowired
+    private MessagePublisher messagePublisher;
+
+    public record SmokeEvent(String id) {
+    }
+
+    @MessageListener
+    public static class SmokeListener {
+
+        static final CountDownLatch RECEIVED = new CountDownLatch(1);
+        static final AtomicReference<Instant> RECEIVED_AT = new AtomicReference<>();
+
+        @Event
+        public void on(SmokeEvent event) {
+            RECEIVED_AT.compareAndSet(null, Instant.now());
+            RECEIVED.countDown();
+        }
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EnableMessageDispatcher
+    @Import(SmokeListener.class)
+    static class SmokeApplication {
+    }
+
+    @Test
+    void shouldProcessFirstMessage() throws InterruptedException {
+        messagePublisher.sendEvent(new SmokeEvent("smoke"));
+
+        assertTrue(SmokeListener.RECEIVED.await(30, TimeUnit.SECONDS), "A primeira mensagem não foi processada");
+
+        var timeToFirstMessage = Duration.between(processStart(), SmokeListener.RECEIVED_AT.get());
+        log.info("Time-to-first-message: {} ms", timeToFirstMessage.toMillis());
+    }
+
+    private static Instant processStart() {
+        return ProcessHandle.current().info().startInstant()
+                .orElseGet(() -> Instant.ofEpochMilli(ManagementFactory.getRuntimeMXBean().getStartTime()));
+    }
+}
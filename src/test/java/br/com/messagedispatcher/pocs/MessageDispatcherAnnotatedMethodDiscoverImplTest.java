@@ -1,14 +1,46 @@
 package br.com.messagedispatcher.pocs;
 
+import br.com.messagedispatcher.annotation.Event;
+import br.com.messagedispatcher.annotation.MessageListener;
+import br.com.messagedispatcher.beandiscover.MessageDispatcherAnnotatedMethodDiscover;
 import br.com.messagedispatcher.beandiscover.impl.MessageDispatcherAnnotatedMethodDiscoverImpl;
+import br.com.messagedispatcher.config.properties.MessageDispatcherProperties;
+import br.com.messagedispatcher.exceptions.MessageHandlerNotFoundException;
+import br.com.messagedispatcher.metrics.DispatcherMetrics;
+import br.com.messagedispatcher.model.MessageType;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.context.ApplicationContext;
 
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
 
 public class MessageDispatcherAnnotatedMethodDiscoverImplTest {
 
+    public record OrderCreated(String id) {
+    }
+
+    public record PaymentCreated(String id) {
+    }
+
+    @MessageListener
+    public static class OrderListener {
+        @Event
+        public void on(OrderCreated event) {
+        }
+    }
+
+    @MessageListener
+    public static class PaymentListener {
+        @Event
+        public void on(PaymentCreated event) {
+        }
+    }
+
     /**
      * Test case for MessageDispatcherAnnotatedMethodDiscover constructor
      * This test verifies that the MessageDispatcherAnnotatedMethodDiscover
@@ -20,9 +52,45 @@ public class MessageDispatcherAnnotatedMethodDiscoverImplTest {
     public void test_MessageDispatcherAnnotatedMethodDiscover_Constructor() {
         ApplicationContext mockContext = Mockito.mock(ApplicationContext.class);
 
-        MessageDispatcherAnnotatedMethodDiscoverImpl discover = new MessageDispatcherAnnotatedMethodDiscoverImpl(mockContext);
+        MessageDispatcherAnnotatedMethodDiscoverImpl discover = new MessageDispatcherAnnotatedMethodDiscoverImpl(mockContext, new ObjectMapper(), new MessageDispatcherProperties(),
+                DispatcherMetrics.noop());
 
         assertNotNull(discover);
     }
 
+    @Test
+    void shouldKeepListenersOfEachContextApart() {
+        var orders = discover(context(Map.of("orderListener", new OrderListener())));
+        var payments = discover(context(Map.of("paymentListener", new PaymentListener())));
+
+        assertNotNull(orders.getHandler(MessageType.EVENT, OrderCreated.class.getName()));
+        assertNotNull(payments.getHandler(MessageType.EVENT, PaymentCreated.class.getName()));
+        assertThrows(MessageHandlerNotFoundException.class,
+                () -> orders.getHandler(MessageType.EVENT, PaymentCreated.class.getName()));
+    }
+
+    @Test
+    void shouldPickUpNewListenersOnRefresh() {
+        var context = context(Map.of("orderListener", new OrderListener()));
+        MessageDispatcherAnnotatedMethodDiscover discover = discover(context);
+
+        when(context.getBeansWithAnnotation(MessageListener.class))
+                .thenReturn(Map.of("orderListener", new OrderListener(), "paymentListener", new PaymentListener()));
+        discover.refresh();
+
+        assertNotNull(discover.getHandler(MessageType.EVENT, PaymentCreated.class.getName()));
+    }
+
+    private static ApplicationContext context(Map<String, Object> listeners) {
+        var context = Mockito.mock(ApplicationContext.class);
+        when(context.getBeansWithAnnotation(MessageListener.class)).thenReturn(listeners);
+        return context;
+    }
+
+    private static MessageDispatcherAnnotatedMethodDiscoverImpl discover(ApplicationContext context) {
+        var properties = new MessageDispatcherProperties();
+        properties.setHandlerIndexEnabled(false);
+        return new MessageDispatcherAnnotatedMethodDiscoverImpl(context, new ObjectMapper(), properties,
+                DispatcherMetrics.noop());
+    }
 }
@@ -0,0 +1,115 @@
+package br.com.messagedispatcher.processor;
+
+import br.com.messagedispatcher.beandiscover.MessageHandlerIndex;
+import br.com.messagedispatcher.constants.MessageDispatcherConstants;
+import br.com.messagedispatcher.model.MessageType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MessageHandlerIndexProcessorTest {
+
+    @TempDir
+    Path output;
+
+    private static JavaFileObject source(String className, String code) {
+        return new SimpleJavaFileObject(URI.create("string:///" + className.replace('.', '/') + ".java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return code;
+            }
+        };
+    }
+
+    private DiagnosticCollector<JavaFileObject> compile(JavaFileObject... sources) {
+        var compiler = ToolProvider.getSystemJavaCompiler();
+        var diagnostics = new DiagnosticCollector<JavaFileObject>();
+        var options = List.of("-d", output.toString(), "-classpath", System.getProperty("java.class.path"));
+        var task = compiler.getTask(null, null, diagnostics, options, null, List.of(sources));
+        task.setProcessors(List.of(new MessageHandlerIndexProcessor()));
+        task.call();
+        return diagnostics;
+    }
+
+    private static List<String> errors(DiagnosticCollector<JavaFileObject> diagnostics) {
+        return diagnostics.getDiagnostics().stream()
+                .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                .map(diagnostic -> diagnostic.getMessage(null))
+                .toList();
+    }
+
+    @Test
+    void shouldIndexHandlersOfMessageListeners() throws IOException {
+        var diagnostics = compile(source("acme.OrderListener", """
+                package acme;
+
+                import br.com.messagedispatcher.annotation.*;
+                import br.com.messagedispatcher.model.MessageType;
+
+                @MessageListener
+                public class OrderListener {
+                    public static class CreateOrder {}
+
+                    @Command
+                    public String create(CreateOrder command) { return "ok"; }
+
+                    @MessageHandler(messageType = MessageType.EVENT)
+                    public void created(String event) {}
+
+                    public void notAHandler(Integer value) {}
+                }
+                """));
+
+        assertEquals(List.of(), errors(diagnostics));
+        assertTrue(Files.exists(output.resolve(MessageDispatcherConstants.HANDLER_INDEX_LOCATION)));
+
+        try (var classLoader = new URLClassLoader(new java.net.URL[]{output.toUri().toURL()}, null)) {
+            var entries = MessageHandlerIndex.load(classLoader).getEntries();
+
+            assertEquals(2, entries.size());
+            assertTrue(entries.contains(new MessageHandlerIndex.Entry(MessageType.COMMAND,
+                    "acme.OrderListener", "create", "acme.OrderListener$CreateOrder")));
+            assertTrue(entries.contains(new MessageHandlerIndex.Entry(MessageType.EVENT,
+                    "acme.OrderListener", "created", "java.lang.String")));
+        }
+    }
+
+    @Test
+    void shouldFailCompilationOnInvalidHandlers() {
+        var diagnostics = compile(source("acme.InvalidListener", """
+                package acme;
+
+                import br.com.messagedispatcher.annotation.*;
+
+                @MessageListener
+                public class InvalidListener {
+                    @Event
+                    public void first(String event) {}
+
+                    @Event
+                    public void duplicated(String event) {}
+
+                    @Query
+                    public String noInput() { return ""; }
+                }
+                """));
+
+        var errors = errors(diagnostics);
+        assertEquals(2, errors.size(), errors::toString);
+        assertTrue(errors.stream().anyMatch(error -> error.contains("duplicados")));
+        assertTrue(errors.stream().anyMatch(error -> error.contains("não possui parâmetros")));
+    }
+}
@@ -0,0 +1,122 @@
+package br.com.messagedispatcher.publisher;
+
+import br.com.messagedispatcher.benchmark.EmbeddedAmqpBroker;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica, contra o broker embarcado, que as filas de resposta só existem a partir da primeira requisição e que
+ * funcionam com {@code cacheMode=CONNECTION}, em que declaração e consumo usam conexões diferentes.
+ * <p>
+ * Checks, against the embedded broker, that the reply queues only exist from the first request on and that they work
+ * with {@code cacheMode=CONNECTION}, where declaration and consumption use different connections.
+ */
+class FixedReplyQueuesTest {
+
+    private static final String REQUEST_QUEUE = "fixed-replies.requests";
+
+    private static EmbeddedAmqpBroker broker;
+    private static CachingConnectionFactory connectionFactory;
+    private static SimpleMessageListenerContainer responder;
+
+    private FixedReplyQueues replyQueues;
+
+    @BeforeAll
+    static void startBroker() throws Exception {
+        broker = EmbeddedAmqpBroker.start();
+        connectionFactory = broker.connectionFactory();
+        connectionFactory.setCacheMode(CachingConnectionFactory.CacheMode.CONNECTION);
+        new RabbitAdmin(connectionFactory).declareQueue(new Queue(REQUEST_QUEUE, false));
+
+        var replier = new RabbitTemplate(connectionFactory);
+        responder = new SimpleMessageListenerContainer(connectionFactory);
+        responder.setQueueNames(REQUEST_QUEUE);
+        responder.setMessageListener(request -> {
+            var properties = new MessageProperties();
+            properties.setCorrelationId(request.getMessageProperties().getCorrelationId());
+            replier.send("", request.getMessageProperties().getReplyTo(), new Message(request.getBody(), properties));
+        });
+        responder.start();
+    }
+
+    @AfterAll
+    static void stopBroker() {
+        responder.stop();
+        connectionFactory.destroy();
+        broker.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        replyQueues = new FixedReplyQueues(connectionFactory, "fixed-replies");
+    }
+
+    @AfterEach
+    void tearDown() {
+        replyQueues.destroy();
+    }
+
+    @Test
+    void shouldDeclareReplyQueueOnlyOnFirstRequest() {
+        var template = template();
+        var replyQueue = replyQueues.getQueueNames().getFirst();
+
+        assertNull(new RabbitAdmin(connectionFactory).getQueueProperties(replyQueue));
+
+        replyQueues.start();
+        var reply = template.sendAndReceive("", REQUEST_QUEUE, new Message("ping".getBytes(StandardCharsets.UTF_8)));
+
+        assertNotNull(reply);
+        assertEquals("ping", new String(reply.getBody(), StandardCharsets.UTF_8));
+        assertNotNull(new RabbitAdmin(connectionFactory).getQueueProperties(replyQueue));
+    }
+
+    @Test
+    void shouldReceiveAsyncRepliesOnItsOwnFixedQueue() throws Exception {
+        var template = template();
+        var asyncTemplate = replyQueues.asyncTemplate(template);
+        replyQueues.getQueues().forEach(EmbeddedAmqpBroker::withSupportedArguments);
+
+        replyQueues.start();
+        var reply = asyncTemplate.sendAndReceive("", REQUEST_QUEUE, new Message("pong".getBytes(StandardCharsets.UTF_8)))
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals("pong", new String(reply.getBody(), StandardCharsets.UTF_8));
+        assertEquals(2, replyQueues.getQueueNames().size());
+        assertTrue(asyncTemplate.isRunning());
+    }
+
+    @Test
+    void shouldDeleteReplyQueueOnShutdown() {
+        template();
+        var replyQueue = replyQueues.getQueueNames().getFirst();
+        replyQueues.start();
+
+        replyQueues.destroy();
+
+        assertNull(new RabbitAdmin(connectionFactory).getQueueProperties(replyQueue));
+    }
+
+    private RabbitTemplate template() {
+        var template = new RabbitTemplate(connectionFactory);
+        template.setReplyTimeout(5_000);
+        replyQueues.bind(template);
+        replyQueues.getQueues().forEach(EmbeddedAmqpBroker::withSupportedArguments);
+        return template;
+    }
+}
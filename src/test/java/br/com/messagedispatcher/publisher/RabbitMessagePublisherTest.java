@@ -0,0 +1,79 @@
+package br.com.messagedispatcher.publisher;
+
+import br.com.messagedispatcher.config.properties.MessageDispatcherProperties;
+import br.com.messagedispatcher.exceptions.MessagePublisherException;
+import br.com.messagedispatcher.publisher.proxy.TemplateProxy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static br.com.messagedispatcher.model.MessageType.EVENT;
+import static br.com.messagedispatcher.model.MessageType.NOTIFICATION;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RabbitMessagePublisherTest {
+
+    record OrderCreated(String id) {
+    }
+
+    private final TemplateProxy templateProxy = mock(TemplateProxy.class);
+    private final MessageDispatcherProperties properties = new MessageDispatcherProperties();
+    private RabbitMessagePublisher publisher;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        properties.setExchangeName("ex");
+        properties.setRoutingKey("orders");
+        publisher = new RabbitMessagePublisher(templateProxy, properties, mock(ObjectProvider.class));
+    }
+
+    @Test
+    void shouldReturnBrokerConfirmFromConfirmedMethods() {
+        var confirm = new CompletableFuture<Void>();
+        when(templateProxy.isConfirmed(EVENT)).thenReturn(true);
+        when(templateProxy.convertAndSend("ex", "orders", new OrderCreated("1"), EVENT)).thenReturn(confirm);
+
+        assertSame(confirm, publisher.sendEventConfirmed(new OrderCreated("1")));
+    }
+
+    @Test
+    void shouldFailFastOnConfirmedMethodsWhenMessagesAreBatched() {
+        when(templateProxy.isConfirmed(any())).thenReturn(false);
+
+        assertThrows(MessagePublisherException.class, () -> publisher.sendEventConfirmed(new OrderCreated("1")));
+        assertThrows(MessagePublisherException.class, () -> publisher.sendEventsConfirmed(List.of(new OrderCreated("1"))));
+        assertThrows(MessagePublisherException.class, () -> publisher.sendNotificationConfirmed(new OrderCreated("1")));
+
+        verify(templateProxy, never()).convertAndSend(any(), any(), any(), any());
+        verify(templateProxy, never()).convertAndSendAll(any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldPublishWithoutConfirmWhenMessagesAreBatched() {
+        when(templateProxy.isConfirmed(any())).thenReturn(false);
+        when(templateProxy.convertAndSend(any(), any(), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(templateProxy.convertAndSendAll(any(), any(), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        publisher.sendEvent(new OrderCreated("1"));
+        publisher.sendEvents(List.of(new OrderCreated("2")));
+        publisher.sendNotification(new OrderCreated("3"));
+
+        verify(templateProxy).convertAndSend("ex", "orders", new OrderCreated("1"), EVENT);
+        verify(templateProxy).convertAndSendAll("ex", "orders", List.of(new OrderCreated("2")), EVENT);
+        verify(templateProxy).convertAndSend("ex", "orders", new OrderCreated("3"), NOTIFICATION);
+    }
+
+    @Test
+    void shouldNotPublishEmptyCollections() {
+        when(templateProxy.isConfirmed(EVENT)).thenReturn(true);
+
+        assertTrue(publisher.sendEventsConfirmed(List.of()).isDone());
+        verify(templateProxy, never()).convertAndSendAll(any(), any(), any(), any());
+    }
+}
@@ -0,0 +1,164 @@
+package br.com.messagedispatcher.publisher.batch;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.batch.MessageBatch;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static br.com.messagedispatcher.constants.MessageDispatcherConstants.MessageDispatcherHeaders.BATCH_FORMAT;
+import static br.com.messagedispatcher.constants.MessageDispatcherConstants.MessageDispatcherHeaders.BATCH_SIZE;
+import static br.com.messagedispatcher.constants.MessageDispatcherConstants.MessageDispatcherHeaders.BODY_TYPE;
+import static br.com.messagedispatcher.constants.MessageDispatcherConstants.MessageDispatcherHeaders.MESSAGE_TYPE;
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeaderPreservingBatchingStrategyTest {
+
+    @Test
+    void shouldReleaseBatchWhenSizeIsReached() {
+        var strategy = new HeaderPreservingBatchingStrategy(3, 65_536, 50);
+
+        assertNull(strategy.addToBatch("exchange", "key", message("a", "OrderCreated")));
+        assertNull(strategy.addToBatch("exchange", "key", message("b", "OrderCreated")));
+        var batch = strategy.addToBatch("exchange", "key", message("c", "OrderCreated"));
+
+        assertNotNull(batch);
+        assertEquals(3, batch.getMessage().getMessageProperties().<Integer>getHeader(BATCH_SIZE));
+        assertNull(strategy.nextRelease());
+    }
+
+    @Test
+    void shouldReleaseBatchWhenBufferLimitIsExceeded() {
+        var strategy = new HeaderPreservingBatchingStrategy(100, 300, 50);
+
+        assertNull(strategy.addToBatch("exchange", "key", message("a".repeat(120), "OrderCreated")));
+        var batch = strategy.addToBatch("exchange", "key", message("b".repeat(120), "OrderCreated"));
+
+        assertNotNull(batch);
+        assertEquals(1, batch.getMessage().getMessageProperties().<Integer>getHeader(BATCH_SIZE));
+        assertNotNull(strategy.nextRelease());
+        assertEquals(1, strategy.releaseBatches().size());
+    }
+
+    @Test
+    void shouldReleaseBatchWhenRoutingKeyChanges() {
+        var strategy = new HeaderPreservingBatchingStrategy(100, 65_536, 50);
+
+        assertNull(strategy.addToBatch("exchange", "orders", message("a", "OrderCreated")));
+        var batch = strategy.addToBatch("exchange", "payments", message("b", "PaymentCreated"));
+
+        assertNotNull(batch);
+        assertEquals("orders", batch.getRoutingKey());
+        assertEquals("payments", strategy.releaseBatches().iterator().next().getRoutingKey());
+    }
+
+    @Test
+    void shouldReleaseBatchWhenContentTypeChanges() {
+        var strategy = new HeaderPreservingBatchingStrategy(100, 65_536, 50);
+        var smile = message("b", "PaymentCreated");
+        smile.getMessageProperties().setContentType("application/x-jackson-smile");
+
+        assertNull(strategy.addToBatch("exchange", "key", message("a", "OrderCreated")));
+        var batch = strategy.addToBatch("exchange", "key", smile);
+
+        assertNotNull(batch);
+        assertEquals(MessageProperties.CONTENT_TYPE_JSON, batch.getMessage().getMessageProperties().getContentType());
+        assertEquals("application/x-jackson-smile",
+                strategy.releaseBatches().iterator().next().getMessage().getMessageProperties().getContentType());
+    }
+
+    @Test
+    void shouldPreserveHeadersOfEachMessageWhenDebatching() {
+        var strategy = new HeaderPreservingBatchingStrategy(100, 65_536, 50);
+        strategy.addToBatch("exchange", "key", message("first", "OrderCreated"));
+        strategy.addToBatch("exchange", "key", message("second", "PaymentCreated"));
+        MessageBatch batch = strategy.releaseBatches().iterator().next();
+
+        var batchProperties = batch.getMessage().getMessageProperties();
+        assertTrue(strategy.canDebatch(batchProperties));
+        assertFalse(strategy.canDebatch(new MessageProperties()));
+
+        List<Message> fragments = new ArrayList<>();
+        strategy.deBatch(batch.getMessage(), fragments::add);
+
+        assertEquals(2, fragments.size());
+        assertEquals("first", new String(fragments.get(0).getBody(), StandardCharsets.UTF_8));
+        assertEquals("OrderCreated", fragments.get(0).getMessageProperties().getHeader(BODY_TYPE));
+        assertEquals("second", new String(fragments.get(1).getBody(), StandardCharsets.UTF_8));
+        assertEquals("PaymentCreated", fragments.get(1).getMessageProperties().getHeader(BODY_TYPE));
+        assertEquals("EVENT", fragments.get(1).getMessageProperties().getHeader(MESSAGE_TYPE));
+        assertEquals(MessageProperties.CONTENT_TYPE_JSON, fragments.get(1).getMessageProperties().getContentType());
+        assertFalse(fragments.get(0).getMessageProperties().isLastInBatch());
+        assertTrue(fragments.get(1).getMessageProperties().isLastInBatch());
+    }
+
+    @Test
+    void shouldPreserveTypedHeadersAndPropertiesOfEachMessage() {
+        var strategy = new HeaderPreservingBatchingStrategy(100, 1 << 20, 50);
+        var message = message("first", "OrderCreated");
+        var properties = message.getMessageProperties();
+        properties.setMessageId("message-1");
+        properties.setCorrelationId("correlation-1");
+        properties.setPriority(5);
+        properties.setExpiration("60000");
+        properties.setDeliveryMode(MessageDeliveryMode.NON_PERSISTENT);
+        properties.setHeader("attempt", 3);
+        properties.setHeader("sequence", 42L);
+        properties.setHeader("large", "x".repeat(70_000));
+        strategy.addToBatch("exchange", "key", message);
+
+        List<Message> fragments = new ArrayList<>();
+        strategy.deBatch(strategy.releaseBatches().iterator().next().getMessage(), fragments::add);
+
+        var fragment = fragments.getFirst().getMessageProperties();
+        assertEquals("message-1", fragment.getMessageId());
+        assertEquals("correlation-1", fragment.getCorrelationId());
+        assertEquals(5, fragment.getPriority());
+        assertEquals("60000", fragment.getExpiration());
+        assertEquals(MessageDeliveryMode.NON_PERSISTENT, fragment.getReceivedDeliveryMode());
+        assertEquals(3, fragment.<Integer>getHeader("attempt"));
+        assertEquals(42L, fragment.<Long>getHeader("sequence"));
+        assertTrue(fragment.getHeaders().containsKey("large"));
+        assertEquals("OrderCreated", fragment.getHeader(BODY_TYPE));
+        assertEquals("first", new String(fragments.getFirst().getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldReadBatchesInLegacyFormat() throws IOException {
+        var body = new ByteArrayOutputStream();
+        try (var data = new DataOutputStream(body)) {
+            data.writeInt(1);
+            data.writeUTF(BODY_TYPE);
+            data.writeUTF("OrderCreated");
+            data.writeInt(2);
+            data.write("{}".getBytes(StandardCharsets.UTF_8));
+        }
+        var properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        properties.setHeader(BATCH_FORMAT, HeaderPreservingBatchingStrategy.LEGACY_FORMAT);
+        var strategy = new HeaderPreservingBatchingStrategy(100, 65_536, 50);
+
+        List<Message> fragments = new ArrayList<>();
+        assertTrue(strategy.canDebatch(properties));
+        strategy.deBatch(new Message(body.toByteArray(), properties), fragments::add);
+
+        assertEquals(1, fragments.size());
+        assertEquals("OrderCreated", fragments.getFirst().getMessageProperties().getHeader(BODY_TYPE));
+        assertEquals(MessageProperties.CONTENT_TYPE_JSON, fragments.getFirst().getMessageProperties().getContentType());
+    }
+
+    private static Message message(String body, String bodyType) {
+        var properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        properties.setHeader(BODY_TYPE, bodyType);
+        properties.setHeader(MESSAGE_TYPE, "EVENT");
+        return new Message(body.getBytes(StandardCharsets.UTF_8), properties);
+    }
+}
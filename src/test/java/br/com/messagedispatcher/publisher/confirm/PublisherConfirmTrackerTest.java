@@ -0,0 +1,141 @@
+package br.com.messagedispatcher.publisher.confirm;
+
+import br.com.messagedispatcher.config.properties.MessageDispatcherProperties;
+import br.com.messagedispatcher.exceptions.MessagePublisherException;
+import br.com.messagedispatcher.exceptions.MessagePublisherWindowFullException;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PublisherConfirmTrackerTest {
+
+    private final List<CorrelationData> published = new ArrayList<>();
+
+    @Test
+    void shouldCompleteWhenBrokerAcks() {
+        var tracker = tracker(10, WindowFullPolicy.FAIL, 3);
+
+        var result = tracker.publish(published::add);
+        assertFalse(result.isDone());
+        assertEquals(1, tracker.inFlight());
+
+        ack(0);
+
+        assertTrue(result.isDone());
+        assertFalse(result.isCompletedExceptionally());
+        assertEquals(0, tracker.inFlight());
+    }
+
+    @Test
+    void shouldRepublishWhenBrokerNacksAndFailAfterMaxRetries() {
+        var tracker = tracker(10, WindowFullPolicy.FAIL, 2);
+
+        var result = tracker.publish(published::add);
+        nack(0);
+        nack(1);
+        assertEquals(3, published.size());
+        assertEquals(1, tracker.inFlight());
+
+        nack(2);
+
+        var error = assertThrows(ExecutionException.class, result::get);
+        assertInstanceOf(MessagePublisherException.class, error.getCause());
+        assertEquals(0, tracker.inFlight());
+    }
+
+    @Test
+    void shouldCompleteWhenRepublishedMessageIsAcked() {
+        var tracker = tracker(10, WindowFullPolicy.FAIL, 3);
+
+        var result = tracker.publish(published::add);
+        nack(0);
+        ack(1);
+
+        assertEquals(2, published.size());
+        assertFalse(result.isCompletedExceptionally());
+        assertTrue(result.isDone());
+    }
+
+    @Test
+    void shouldFailFastWhenWindowIsFull() {
+        var tracker = tracker(1, WindowFullPolicy.FAIL, 3);
+
+        tracker.publish(published::add);
+
+        assertThrows(MessagePublisherWindowFullException.class, () -> tracker.publish(published::add));
+        assertEquals(1, published.size());
+    }
+
+    @Test
+    void shouldBlockUntilWindowHasSlot() throws Exception {
+        var tracker = tracker(1, WindowFullPolicy.BLOCK, 3);
+        tracker.publish(published::add);
+
+        var second = CompletableFuture.supplyAsync(() -> tracker.publish(data -> {
+        }));
+        Thread.sleep(100);
+        assertFalse(second.isDone());
+
+        ack(0);
+
+        assertNotNull(second.get(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shouldReleaseSlotWhenPublishFails() {
+        var tracker = tracker(1, WindowFullPolicy.FAIL, 3);
+
+        assertThrows(IllegalStateException.class, () -> tracker.publish(data -> {
+            throw new IllegalStateException("channel closed");
+        }));
+
+        assertEquals(0, tracker.inFlight());
+    }
+
+    @Test
+    void shouldRepublishOffTheConfirmThread() throws Exception {
+        var republishThread = new CompletableFuture<Thread>();
+        var tracker = new PublisherConfirmTracker(properties(10, WindowFullPolicy.FAIL, 3));
+
+        var result = tracker.publish(data -> {
+            published.add(data);
+            if (published.size() > 1) {
+                republishThread.complete(Thread.currentThread());
+            }
+        });
+        nack(0);
+
+        assertNotSame(Thread.currentThread(), republishThread.get(2, TimeUnit.SECONDS));
+        ack(1);
+        assertNull(result.get(2, TimeUnit.SECONDS));
+    }
+
+    private PublisherConfirmTracker tracker(int maxInFlight, WindowFullPolicy policy, int maxNackRetries) {
+        // confirmações tratadas na própria thread para que os testes sejam determinísticos
+        return new PublisherConfirmTracker(properties(maxInFlight, policy, maxNackRetries), Runnable::run);
+    }
+
+    private static MessageDispatcherProperties properties(int maxInFlight, WindowFullPolicy policy, int maxNackRetries) {
+        var properties = new MessageDispatcherProperties();
+        properties.getConfirm().setMaxInFlight(maxInFlight);
+        properties.getConfirm().setWindowFullPolicy(policy);
+        properties.getConfirm().setBlockTimeout(2_000);
+        properties.getConfirm().setMaxNackRetries(maxNackRetries);
+        return properties;
+    }
+
+    private void ack(int index) {
+        published.get(index).getFuture().complete(new CorrelationData.Confirm(true, null));
+    }
+
+    private void nack(int index) {
+        published.get(index).getFuture().complete(new CorrelationData.Confirm(false, "nack"));
+    }
+}
@@ -0,0 +1,52 @@
+package br.com.messagedispatcher.publisher.connection;
+
+import com.rabbitmq.client.Channel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.connection.Connection;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+
+import static br.com.messagedispatcher.publisher.connection.MeteredConnectionFactory.CHANNEL_ACQUISITION_METRIC;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MeteredConnectionFactoryTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldRecordChannelAcquisitionOnPublisherConnection() {
+        var channel = mock(Channel.class);
+        var connection = mock(Connection.class);
+        when(connection.createChannel(false)).thenReturn(channel);
+
+        var publisherConnectionFactory = mock(ConnectionFactory.class);
+        when(publisherConnectionFactory.createConnection()).thenReturn(connection);
+
+        var connectionFactory = mock(ConnectionFactory.class);
+        when(connectionFactory.getPublisherConnectionFactory()).thenReturn(publisherConnectionFactory);
+
+        var metered = new MeteredConnectionFactory(connectionFactory, meterRegistry);
+        var publisher = metered.getPublisherConnectionFactory();
+
+        assertSame(publisher, metered.getPublisherConnectionFactory());
+        assertSame(channel, publisher.createConnection().createChannel(false));
+        assertEquals(1, meterRegistry.get(CHANNEL_ACQUISITION_METRIC).tag("connection", "publisher").timer().count());
+        assertEquals(0, meterRegistry.get(CHANNEL_ACQUISITION_METRIC).tag("connection", "shared").timer().count());
+    }
+
+    @Test
+    void shouldRecordFailedChannelAcquisition() {
+        var connection = mock(Connection.class);
+        when(connection.createChannel(false)).thenThrow(new IllegalStateException("checkout timeout"));
+
+        var connectionFactory = mock(ConnectionFactory.class);
+        when(connectionFactory.createConnection()).thenReturn(connection);
+
+        var metered = new MeteredConnectionFactory(connectionFactory, meterRegistry);
+
+        assertNull(metered.getPublisherConnectionFactory());
+        assertThrows(IllegalStateException.class, () -> metered.createConnection().createChannel(false));
+        assertEquals(1, meterRegistry.get(CHANNEL_ACQUISITION_METRIC).tag("connection", "shared").timer().count());
+    }
+}
@@ -0,0 +1,247 @@
+package br.com.messagedispatcher.publisher.local;
+
+import br.com.messagedispatcher.config.properties.MessageDispatcherProperties;
+import br.com.messagedispatcher.router.impl.AnnotatedMessageRouter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static br.com.messagedispatcher.model.MessageType.COMMAND;
+import static br.com.messagedispatcher.model.MessageType.EVENT;
+import static br.com.messagedispatcher.model.MessageType.NOTIFICATION;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class LocalMessageDispatcherTest {
+
+    private static final String EXCHANGE = "message.dispatcher.ex";
+    private static final String ROUTING_KEY = "orders";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private AnnotatedMessageRouter router;
+    private MessageDispatcherProperties properties;
+    private LocalMessageDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        router = mock(AnnotatedMessageRouter.class);
+        when(router.hasHandler(any(), any())).thenReturn(true);
+
+        properties = new MessageDispatcherProperties();
+        properties.setRoutingKey(ROUTING_KEY);
+        properties.getLocalDispatch().setTypes(List.of(OrderCreated.class, LocalEvent.class));
+        dispatcher = new LocalMessageDispatcher(properties, objectMapper, () -> router);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.close();
+    }
+
+    @Test
+    void shouldAcceptOnlyEventsAndNotificationsAddressedToTheApplication() {
+        var body = new OrderCreated("1");
+
+        assertTrue(dispatcher.accepts(EXCHANGE, ROUTING_KEY, body, EVENT));
+        assertTrue(dispatcher.accepts(EXCHANGE, ROUTING_KEY, body, NOTIFICATION));
+        assertFalse(dispatcher.accepts(EXCHANGE, ROUTING_KEY, body, COMMAND));
+        assertFalse(dispatcher.accepts(EXCHANGE, "payments", body, EVENT));
+        assertFalse(dispatcher.accepts("other.ex", ROUTING_KEY, body, EVENT));
+    }
+
+    @Test
+    void shouldAcceptOnlyOptedInTypesAndTheirSubtypes() {
+        assertTrue(dispatcher.accepts(EXCHANGE, ROUTING_KEY, new LocalEvent(), EVENT));
+        assertTrue(dispatcher.accepts(EXCHANGE, ROUTING_KEY, new PaymentSettled(), EVENT));
+        assertFalse(dispatcher.accepts(EXCHANGE, ROUTING_KEY, new OrderCancelled("1"), EVENT));
+    }
+
+    @Test
+    void shouldNotAcceptWithoutLocalHandler() {
+        var body = new OrderCreated("1");
+        when(router.hasHandler(EVENT, body)).thenReturn(false);
+
+        assertFalse(dispatcher.accepts(EXCHANGE, ROUTING_KEY, body, EVENT));
+    }
+
+    @Test
+    void shouldNotAcceptWithoutAnnotatedRouter() {
+        try (var withoutRouter = new LocalMessageDispatcher(properties, objectMapper, () -> null)) {
+            assertFalse(withoutRouter.accepts(EXCHANGE, ROUTING_KEY, new OrderCreated("1"), EVENT));
+        }
+    }
+
+    @Test
+    void shouldDeliverPayloadToRouterWithoutBroker() throws Exception {
+        var body = new OrderCreated("1");
+        var brokerCalls = new AtomicInteger();
+
+        dispatcher.dispatch(body, EVENT, () -> {
+            brokerCalls.incrementAndGet();
+            return CompletableFuture.completedFuture(null);
+        }).get(5, TimeUnit.SECONDS);
+
+        verify(router).routePayload(EVENT, body);
+        assertEquals(0, brokerCalls.get());
+        assertEquals(0, dispatcher.inFlight());
+    }
+
+    @Test
+    void shouldDeliverThePublishedInstanceByDefault() throws Exception {
+        var body = new OrderCreated("1");
+        var received = new CompletableFuture<Object>();
+        when(router.routePayload(eq(EVENT), any())).thenAnswer(invocation -> {
+            received.complete(invocation.getArgument(1));
+            return null;
+        });
+
+        dispatcher.dispatch(body, EVENT, CompletableFuture::new).get(5, TimeUnit.SECONDS);
+
+        assertSame(body, received.get());
+    }
+
+    @Test
+    void shouldDeliverACopyOfThePayloadWhenEnabled() throws Exception {
+        properties.getLocalDispatch().setCopyPayload(true);
+        dispatcher.close();
+        dispatcher = new LocalMessageDispatcher(properties, objectMapper, () -> router);
+        var body = new OrderItems(new ArrayList<>(List.of("a")));
+        var release = new CountDownLatch(1);
+        var received = new CompletableFuture<OrderItems>();
+        when(router.routePayload(eq(EVENT), any())).thenAnswer(invocation -> {
+            release.await();
+            received.complete(invocation.getArgument(1));
+            return null;
+        });
+
+        var future = dispatcher.dispatch(body, EVENT, CompletableFuture::new);
+        body.items().add("b");
+        release.countDown();
+        future.get(5, TimeUnit.SECONDS);
+
+        assertNotSame(body, received.get());
+        assertEquals(List.of("a"), received.get().items());
+    }
+
+    @Test
+    void shouldDeferDeliveryUntilTransactionCommits() throws Exception {
+        var body = new OrderCreated("1");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            var future = dispatcher.dispatch(body, EVENT, CompletableFuture::new);
+
+            verify(router, after(100).never()).routePayload(any(), any());
+            assertFalse(future.isDone());
+
+            TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(),
+                    TransactionSynchronization.STATUS_COMMITTED);
+            future.get(5, TimeUnit.SECONDS);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(router).routePayload(EVENT, body);
+    }
+
+    @Test
+    void shouldDiscardMessageWhenTransactionRollsBack() throws Exception {
+        var brokerCalls = new AtomicInteger();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            var future = dispatcher.dispatch(new OrderCreated("1"), EVENT, () -> {
+                brokerCalls.incrementAndGet();
+                return CompletableFuture.completedFuture(null);
+            });
+
+            TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(),
+                    TransactionSynchronization.STATUS_ROLLED_BACK);
+            future.get(5, TimeUnit.SECONDS);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(router, never()).routePayload(any(), any());
+        assertEquals(0, brokerCalls.get());
+    }
+
+    @Test
+    void shouldPublishToBrokerWhenHandlerFails() throws Exception {
+        var body = new OrderCreated("1");
+        when(router.routePayload(EVENT, body)).thenThrow(new IllegalStateException("falha"));
+        var brokerCalls = new AtomicInteger();
+
+        dispatcher.dispatch(body, EVENT, () -> {
+            brokerCalls.incrementAndGet();
+            return CompletableFuture.completedFuture(null);
+        }).get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, brokerCalls.get());
+    }
+
+    @Test
+    void shouldFailFutureWhenBrokerFallbackFails() {
+        var body = new OrderCreated("1");
+        when(router.routePayload(EVENT, body)).thenThrow(new IllegalStateException("falha"));
+
+        var future = dispatcher.dispatch(body, EVENT,
+                () -> CompletableFuture.failedFuture(new IllegalStateException("broker indisponível")));
+
+        assertThrows(Exception.class, () -> future.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shouldBoundMessagesInFlight() throws Exception {
+        properties.getLocalDispatch().setMaxInFlight(1);
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        when(router.routePayload(any(), any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return null;
+        });
+
+        try (var bounded = new LocalMessageDispatcher(properties, objectMapper, () -> router)) {
+            var first = bounded.dispatch(new OrderCreated("1"), EVENT, CompletableFuture::new);
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            assertEquals(1, bounded.inFlight());
+
+            var second = CompletableFuture.supplyAsync(() -> bounded.dispatch(new OrderCreated("2"), EVENT, CompletableFuture::new));
+            Thread.sleep(100);
+            assertFalse(second.isDone(), "O publicador deve aguardar com o limite atingido");
+
+            release.countDown();
+            first.get(5, TimeUnit.SECONDS);
+            second.get(5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    record OrderCreated(String id) {
+    }
+
+    record OrderCancelled(String id) {
+    }
+
+    record OrderItems(List<String> items) {
+    }
+
+    static class LocalEvent {
+    }
+
+    static class PaymentSettled extends LocalEvent {
+    }
+}
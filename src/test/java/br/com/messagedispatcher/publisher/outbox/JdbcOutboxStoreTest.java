@@ -0,0 +1,196 @@
+package br.com.messagedispatcher.publisher.outbox;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static br.com.messagedispatcher.constants.MessageDispatcherConstants.MessageDispatcherHeaders.BODY_TYPE;
+import static br.com.messagedispatcher.constants.MessageDispatcherConstants.MessageDispatcherHeaders.MESSAGE_TIMESTAMP;
+import static br.com.messagedispatcher.constants.MessageDispatcherConstants.MessageDispatcherHeaders.MESSAGE_TYPE;
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcOutboxStoreTest {
+
+    private EmbeddedDatabase dataSource;
+    private JdbcOutboxStore store;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        store = new JdbcOutboxStore(dataSource);
+        store.initializeSchema();
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.shutdown();
+    }
+
+    @Test
+    void shouldCreateSchemaOnlyOnce() {
+        assertDoesNotThrow(store::initializeSchema);
+    }
+
+    @Test
+    void shouldRestoreBodyAndProperties() {
+        var timestamp = OffsetDateTime.now();
+        var message = message("{\"id\":\"1\"}", timestamp);
+        var sentAt = Date.from(Instant.now().truncatedTo(ChronoUnit.SECONDS));
+        message.getMessageProperties().setMessageId("msg-1");
+        message.getMessageProperties().setCorrelationId("corr-1");
+        message.getMessageProperties().setPriority(5);
+        message.getMessageProperties().setExpiration("60000");
+        message.getMessageProperties().setContentEncoding("UTF-8");
+        message.getMessageProperties().setTimestamp(sentAt);
+        message.getMessageProperties().setDelayLong(5_000L);
+        store.append("message.dispatcher.ex", "orders", message);
+
+        var messages = claim(10);
+
+        assertEquals(1, messages.size());
+        var stored = messages.getFirst();
+        assertEquals("message.dispatcher.ex", stored.exchange());
+        assertEquals("orders", stored.routingKey());
+        assertNotNull(stored.createdAt());
+        assertEquals("{\"id\":\"1\"}", new String(stored.message().getBody(), StandardCharsets.UTF_8));
+
+        var properties = stored.message().getMessageProperties();
+        assertEquals(MessageProperties.CONTENT_TYPE_JSON, properties.getContentType());
+        assertEquals("OrderCreated", properties.getHeader(BODY_TYPE));
+        assertEquals("EVENT", properties.getHeader(MESSAGE_TYPE));
+        // como o RabbitTemplate, valores que não são texto, número ou booleano viram texto
+        assertEquals(timestamp.toString(), properties.getHeader(MESSAGE_TIMESTAMP));
+        assertEquals(3, properties.<Integer>getHeader("x-attempt"));
+        assertEquals("msg-1", properties.getMessageId());
+        assertEquals("corr-1", properties.getCorrelationId());
+        assertEquals(5, properties.getPriority());
+        assertEquals("60000", properties.getExpiration());
+        assertEquals("UTF-8", properties.getContentEncoding());
+        assertEquals(sentAt, properties.getTimestamp());
+        assertEquals(MessageDeliveryMode.PERSISTENT, properties.getDeliveryMode());
+        assertEquals(5_000L, properties.getDelayLong());
+    }
+
+    @Test
+    void shouldDiscardMessagesWhenCallerTransactionRollsBack() {
+        transactionTemplate.executeWithoutResult(status -> {
+            store.append("ex", "orders", message("{}", OffsetDateTime.now()));
+            status.setRollbackOnly();
+        });
+
+        assertTrue(claim(10).isEmpty());
+    }
+
+    @Test
+    void shouldClaimOldestMessagesUpToLimitAndDelete() {
+        append("1", "2", "3");
+
+        var firstTwo = claim(2);
+        assertEquals(List.of("1", "2"), bodies(firstTwo));
+
+        store.delete(ids(firstTwo));
+
+        assertEquals(List.of("3"), bodies(claim(10)));
+    }
+
+    @Test
+    void shouldSkipClaimedMessagesUntilReleased() {
+        append("1", "2");
+
+        var claimed = claim(1);
+        assertEquals(List.of("2"), bodies(claim(10)));
+
+        store.release(ids(claimed));
+        assertEquals(List.of("1"), bodies(claim(10)));
+    }
+
+    @Test
+    void shouldClaimAgainWhenTheClaimExpires() throws Exception {
+        append("1");
+
+        transactionTemplate.execute(status -> store.claim(10, Duration.ofMillis(1)));
+        Thread.sleep(10);
+
+        assertEquals(List.of("1"), bodies(claim(10)));
+    }
+
+    @Test
+    void shouldSkipRowsLockedByAnotherRelay() throws Exception {
+        append("1", "2", "3");
+        var locked = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        var otherRelay = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+            var messages = store.claim(2, Duration.ofMinutes(1));
+            locked.countDown();
+            await(release);
+            return messages;
+        }));
+        assertTrue(locked.await(5, TimeUnit.SECONDS));
+
+        try {
+            // as linhas bloqueadas pela reserva em andamento são puladas, sem aguardar o commit
+            assertEquals(List.of("3"), bodies(claim(10)));
+        } finally {
+            release.countDown();
+        }
+        assertEquals(List.of("1", "2"), bodies(otherRelay.get(5, TimeUnit.SECONDS)));
+    }
+
+    private void append(String... bodies) {
+        store.appendAll("ex", "orders", Arrays.stream(bodies)
+                .map(body -> message(body, OffsetDateTime.now())).toList());
+    }
+
+    private List<OutboxMessage> claim(int limit) {
+        return transactionTemplate.execute(status -> store.claim(limit, Duration.ofMinutes(1)));
+    }
+
+    private static List<String> bodies(List<OutboxMessage> messages) {
+        return messages.stream().map(stored -> new String(stored.message().getBody(), StandardCharsets.UTF_8)).toList();
+    }
+
+    private static List<Long> ids(List<OutboxMessage> messages) {
+        return messages.stream().map(OutboxMessage::id).toList();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Message message(String body, OffsetDateTime timestamp) {
+        var properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        properties.setHeader(BODY_TYPE, "OrderCreated");
+        properties.setHeader(MESSAGE_TYPE, "EVENT");
+        properties.setHeader(MESSAGE_TIMESTAMP, timestamp);
+        properties.setHeader("x-attempt", 3);
+        return new Message(body.getBytes(StandardCharsets.UTF_8), properties);
+    }
+}
@@ -0,0 +1,149 @@
+package br.com.messagedispatcher.publisher.outbox;
+
+import br.com.messagedispatcher.config.properties.MessageDispatcherProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.ConnectException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OutboxRelayTest {
+
+    private EmbeddedDatabase dataSource;
+    private JdbcOutboxStore store;
+    private RabbitTemplate rabbitTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        store = new JdbcOutboxStore(dataSource);
+        store.initializeSchema();
+        rabbitTemplate = mock(RabbitTemplate.class);
+        when(rabbitTemplate.invoke(any(RabbitOperations.OperationsCallback.class))).thenAnswer(invocation ->
+                invocation.<RabbitOperations.OperationsCallback<?>>getArgument(0).doInRabbit(rabbitTemplate));
+        meterRegistry = new SimpleMeterRegistry();
+
+        var properties = new MessageDispatcherProperties();
+        properties.getOutbox().setBatchSize(2);
+        properties.getOutbox().setConfirmTimeout(500);
+        relay = new OutboxRelay(store, new TransactionTemplate(new DataSourceTransactionManager(dataSource)),
+                rabbitTemplate, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        relay.shutdown();
+        dataSource.shutdown();
+    }
+
+    @Test
+    void shouldPublishBatchAndDeleteConfirmedMessages() {
+        confirm(true);
+        append(2);
+
+        assertEquals(2, relay.relayBatch());
+
+        verify(rabbitTemplate, times(2)).send(eq("ex"), eq("orders"), any(Message.class), any(CorrelationData.class));
+        assertEquals(0, pending());
+        assertEquals(2, meterRegistry.counter(OutboxRelay.RELAYED_METRIC).count());
+    }
+
+    @Test
+    void shouldDrainWhileBatchesAreFull() {
+        confirm(true);
+        append(5);
+
+        relay.drain();
+
+        verify(rabbitTemplate, times(5)).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+        assertEquals(0, pending());
+    }
+
+    @Test
+    void shouldPublishOutsideTheClaimTransaction() {
+        var inTransaction = new AtomicBoolean(true);
+        doAnswer(invocation -> {
+            inTransaction.set(TransactionSynchronizationManager.isActualTransactionActive());
+            CorrelationData correlationData = invocation.getArgument(3);
+            correlationData.getFuture().complete(new CorrelationData.Confirm(true, null));
+            return null;
+        }).when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+        append(1);
+
+        assertEquals(1, relay.relayBatch());
+
+        assertFalse(inTransaction.get());
+    }
+
+    @Test
+    void shouldKeepNackedMessagesAndPublishThemAgain() {
+        confirm(false);
+        append(2);
+
+        assertEquals(0, relay.relayBatch());
+
+        assertEquals(2, pending());
+        assertTrue(relay.lag() >= 0);
+
+        confirm(true);
+        assertEquals(2, relay.relayBatch());
+        assertEquals(0, pending());
+    }
+
+    @Test
+    void shouldKeepMessagesWhenBrokerIsUnavailable() {
+        doThrow(new AmqpConnectException(new ConnectException("broker indisponível")))
+                .when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+        append(1);
+
+        relay.drain();
+
+        assertEquals(1, pending());
+        assertEquals(1, meterRegistry.timer(OutboxRelay.RELAY_METRIC, "outcome", "error").count());
+
+        // a reserva é desfeita e a mensagem sai no próximo ciclo, sem esperar o claim-timeout
+        confirm(true);
+        assertEquals(1, relay.relayBatch());
+        assertEquals(0, pending());
+    }
+
+    private void confirm(boolean ack) {
+        doAnswer(invocation -> {
+            CorrelationData correlationData = invocation.getArgument(3);
+            correlationData.getFuture().complete(new CorrelationData.Confirm(ack, ack ? null : "nack"));
+            return null;
+        }).when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+    }
+
+    private void append(int messages) {
+        IntStream.range(0, messages).forEach(i -> store.append("ex", "orders",
+                new Message(String.valueOf(i).getBytes(StandardCharsets.UTF_8), new MessageProperties())));
+    }
+
+    private int pending() {
+        return new JdbcTemplate(dataSource).queryForObject("SELECT COUNT(*) FROM " + JdbcOutboxStore.TABLE, Integer.class);
+    }
+}
@@ -0,0 +1,92 @@
+package br.com.messagedispatcher.publisher.proxy;
+
+import br.com.messagedispatcher.config.properties.MessageDispatcherProperties;
+import br.com.messagedispatcher.metrics.DispatcherMetrics;
+import br.com.messagedispatcher.model.MessageType;
+import br.com.messagedispatcher.publisher.confirm.PublisherConfirmTracker;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.AsyncRabbitTemplate;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Custo dos headers aplicados pelo {@link RabbitTemplateProxy} em cada publicação, sem e com headers mapeados
+ * ({@code message.dispatcher.mapped.headers}) lidos do request HTTP corrente.
+ * <p>
+ * Cost of the headers applied by {@link RabbitTemplateProxy} on every publish, without and with mapped headers
+ * ({@code message.dispatcher.mapped.headers}) read from the current HTTP request.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageHeadersBenchmark {
+
+    private static final String[] MAPPED_HEADERS = {"x-tenant-id", "x-correlation-id", "x-user-id"};
+
+    record OrderCreated(String id) {
+    }
+
+    @Param({"0", "3"})
+    int mappedHeaders;
+
+    private RabbitTemplateProxy proxy;
+    private OrderCreated body;
+    private Message message;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        var properties = new MessageDispatcherProperties();
+        var mapped = new MessageDispatcherProperties.Mapped();
+        mapped.setHeaders(mappedHeaders > 0 ? String.join(",", MAPPED_HEADERS) : "");
+        properties.setMapped(mapped);
+
+        if (mappedHeaders > 0) {
+            var request = new MockHttpServletRequest();
+            for (var header : MAPPED_HEADERS) {
+                request.addHeader(header, header + "-value");
+            }
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        }
+
+        proxy = new RabbitTemplateProxy(mock(RabbitTemplate.class), mock(AsyncRabbitTemplate.class), mock(ObjectProvider.class), mock(ObjectProvider.class), mock(ObjectProvider.class),
+                mock(PublisherConfirmTracker.class), new ObjectMapper(), properties, DispatcherMetrics.noop());
+        body = new OrderCreated("order-1");
+        message = new Message("{}".getBytes(), new MessageProperties());
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        proxy.shutdown();
+    }
+
+    @Benchmark
+    public Message setMessageHeaders() {
+        return proxy.setMessageHeaders(body, message, MessageType.EVENT);
+    }
+}
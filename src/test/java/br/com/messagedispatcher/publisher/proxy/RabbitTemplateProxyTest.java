@@ -0,0 +1,120 @@
+package br.com.messagedispatcher.publisher.proxy;
+
+import br.com.messagedispatcher.config.properties.MessageDispatcherProperties;
+import br.com.messagedispatcher.constants.MessageDispatcherConstants;
+import br.com.messagedispatcher.exceptions.MessagePublisherTimeOutException;
+import br.com.messagedispatcher.metrics.DispatcherMetrics;
+import br.com.messagedispatcher.model.MessageType;
+import br.com.messagedispatcher.publisher.confirm.PublisherConfirmTracker;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.AsyncRabbitTemplate;
+import org.springframework.amqp.rabbit.RabbitConverterFuture;
+import org.springframework.amqp.rabbit.core.BatchingRabbitTemplate;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RabbitTemplateProxyTest {
+
+    record CreateOrder(String id) {
+    }
+
+    record OrderCreated(String id) {
+    }
+
+    private RabbitConverterFuture<Object> reply;
+    private RabbitTemplateProxy proxy;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        reply = mock(RabbitConverterFuture.class, withSettings().defaultAnswer(CALLS_REAL_METHODS));
+        doReturn(true).when(reply).cancel(anyBoolean());
+
+        var asyncRabbitTemplate = mock(AsyncRabbitTemplate.class);
+        when(asyncRabbitTemplate.convertSendAndReceive(anyString(), anyString(), any(), any(MessagePostProcessor.class)))
+                .thenAnswer(invocation -> reply);
+
+        proxy = new RabbitTemplateProxy(mock(RabbitTemplate.class), asyncRabbitTemplate, mock(ObjectProvider.class), mock(ObjectProvider.class), mock(ObjectProvider.class),
+                mock(PublisherConfirmTracker.class), new ObjectMapper(), new MessageDispatcherProperties(),
+                DispatcherMetrics.noop());
+    }
+
+    @AfterEach
+    void tearDown() {
+        proxy.shutdown();
+    }
+
+    @Test
+    void shouldCompleteWithDecodedResponse() throws Exception {
+        var future = proxy.convertSendAndReceiveAsync("ex", "orders", new CreateOrder("1"), OrderCreated.class,
+                MessageType.COMMAND, Duration.ofSeconds(5));
+
+        assertFalse(future.isDone());
+        reply.complete(Map.of("value", Map.of("id", "1"), "remoteService", "orders"));
+
+        assertEquals(new OrderCreated("1"), future.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shouldTimeOutPerCallAndDiscardPendingReply() {
+        var future = proxy.convertSendAndReceiveAsync("ex", "orders", new CreateOrder("1"), OrderCreated.class,
+                MessageType.QUERY, Duration.ofMillis(50));
+
+        var error = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(MessagePublisherTimeOutException.class, error.getCause());
+        verify(reply, timeout(1_000)).cancel(true);
+    }
+
+    @Test
+    void shouldPropagateCancellationToPendingReply() {
+        var future = proxy.convertSendAndReceiveAsync("ex", "orders", new CreateOrder("1"), OrderCreated.class,
+                MessageType.QUERY, Duration.ofSeconds(5));
+
+        future.cancel(true);
+
+        assertThrows(CancellationException.class, future::join);
+        verify(reply, timeout(1_000)).cancel(true);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldRemoveTypeIdFromEachBatchedMessage() {
+        var batchingRabbitTemplate = mock(BatchingRabbitTemplate.class);
+        ObjectProvider<BatchingRabbitTemplate> batchingProvider = mock(ObjectProvider.class);
+        when(batchingProvider.getIfAvailable()).thenReturn(batchingRabbitTemplate);
+        var batchingProxy = new RabbitTemplateProxy(mock(RabbitTemplate.class), mock(AsyncRabbitTemplate.class), batchingProvider, mock(ObjectProvider.class),
+                mock(ObjectProvider.class), mock(PublisherConfirmTracker.class), new ObjectMapper(),
+                new MessageDispatcherProperties(), DispatcherMetrics.noop());
+
+        batchingProxy.convertAndSend("ex", "orders", new OrderCreated("1"), MessageType.EVENT);
+
+        var postProcessor = ArgumentCaptor.forClass(MessagePostProcessor.class);
+        verify(batchingRabbitTemplate).convertAndSend(eq("ex"), eq("orders"), any(), postProcessor.capture());
+        var message = new Message(new byte[0], new MessageProperties());
+        message.getMessageProperties().setHeader("__TypeId__", OrderCreated.class.getName());
+
+        var published = postProcessor.getValue().postProcessMessage(message);
+
+        assertFalse(published.getMessageProperties().getHeaders().containsKey("__TypeId__"));
+        assertEquals("OrderCreated", published.getMessageProperties().getHeader(
+                MessageDispatcherConstants.MessageDispatcherHeaders.BODY_TYPE));
+        batchingProxy.shutdown();
+    }
+}
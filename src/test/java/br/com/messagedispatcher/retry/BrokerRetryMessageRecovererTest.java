@@ -0,0 +1,92 @@
+package br.com.messagedispatcher.retry;
+
+import br.com.messagedispatcher.config.properties.MessageDispatcherProperties;
+import br.com.messagedispatcher.metrics.DispatcherMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.retry.MessageRecoverer;
+
+import java.util.List;
+
+import static br.com.messagedispatcher.constants.MessageDispatcherConstants.MessageDispatcherHeaders.RETRY_ATTEMPT;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class BrokerRetryMessageRecovererTest {
+
+    private RabbitTemplate rabbitTemplate;
+    private MessageRecoverer deadLetterRecoverer;
+    private RetryTiers retryTiers;
+    private BrokerRetryMessageRecoverer recoverer;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new MessageDispatcherProperties();
+        properties.setQueueName("orders");
+        properties.setMaxRetryAttempts(4);
+        properties.setInitialInterval(2000);
+        properties.setMultiplier(2);
+        properties.setMaxInterval(5000);
+
+        rabbitTemplate = mock(RabbitTemplate.class);
+        deadLetterRecoverer = mock(MessageRecoverer.class);
+        retryTiers = RetryTiers.of(properties);
+        recoverer = new BrokerRetryMessageRecoverer(rabbitTemplate, retryTiers, deadLetterRecoverer,
+                DispatcherMetrics.noop().brokerRetries());
+    }
+
+    private static Message message(Integer attempt) {
+        var properties = new MessageProperties();
+        properties.setReceivedDeliveryMode(MessageDeliveryMode.PERSISTENT);
+        if (attempt != null) {
+            properties.setHeader(RETRY_ATTEMPT, attempt);
+        }
+        return new Message("{}".getBytes(), properties);
+    }
+
+    @Test
+    void shouldComputeTiersFromBackoff() {
+        assertEquals(List.of(2000L, 4000L, 5000L), List.of(retryTiers.delayForRetry(1), retryTiers.delayForRetry(2), retryTiers.delayForRetry(3)));
+        assertEquals(List.of(2000L, 4000L, 5000L), retryTiers.distinctDelays());
+        assertEquals("orders.retry.4000", retryTiers.retryQueueName(4000));
+    }
+
+    @Test
+    void shouldRepublishFirstFailureToFirstTier() {
+        var message = message(null);
+
+        recoverer.recover(message, new RuntimeException("boom"));
+
+        verify(rabbitTemplate).send("", "orders.retry.2000", message);
+        assertEquals(2, (Integer) message.getMessageProperties().getHeader(RETRY_ATTEMPT));
+        assertEquals(MessageDeliveryMode.PERSISTENT, message.getMessageProperties().getDeliveryMode());
+        verifyNoInteractions(deadLetterRecoverer);
+    }
+
+    @Test
+    void shouldRepublishToNextTier() {
+        var message = message(3);
+
+        recoverer.recover(message, new RuntimeException("boom"));
+
+        verify(rabbitTemplate).send("", "orders.retry.5000", message);
+        assertEquals(4, (Integer) message.getMessageProperties().getHeader(RETRY_ATTEMPT));
+    }
+
+    @Test
+    void shouldSendToDeadLetterWhenAttemptsRunOut() {
+        var message = message(4);
+        var cause = new RuntimeException("boom");
+
+        recoverer.recover(message, cause);
+
+        verify(deadLetterRecoverer).recover(message, cause);
+        verify(rabbitTemplate, never()).send(anyString(), anyString(), any(Message.class));
+    }
+}
@@ -0,0 +1,108 @@
+package br.com.messagedispatcher.retry;
+
+import br.com.messagedispatcher.annotation.NonRetryable;
+import br.com.messagedispatcher.exceptions.MessageHandlerNotFoundException;
+import br.com.messagedispatcher.exceptions.MessageRouterProcessingException;
+import com.fasterxml.jackson.core.JsonParseException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.retry.MessageRecoverer;
+import org.springframework.amqp.rabbit.support.ListenerExecutionFailedException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ClassifyingMessageRecovererTest {
+
+    @NonRetryable
+    static class InvalidOrderException extends RuntimeException {
+    }
+
+    static class OrderAlreadyShippedException extends InvalidOrderException {
+    }
+
+    static class PaymentDeclinedException extends RuntimeException {
+    }
+
+    private final MessageDispatcherRetryClassifier classifier =
+            new MessageDispatcherRetryClassifier(List.of(PaymentDeclinedException.class));
+
+    private MessageRecoverer delegate;
+    private MessageRecoverer deadLetterRecoverer;
+    private SimpleMeterRegistry meterRegistry;
+    private ClassifyingMessageRecoverer recoverer;
+
+    private final Message message = new Message(new byte[0], new MessageProperties());
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(MessageRecoverer.class);
+        deadLetterRecoverer = mock(MessageRecoverer.class);
+        meterRegistry = new SimpleMeterRegistry();
+        recoverer = new ClassifyingMessageRecoverer(classifier, delegate, deadLetterRecoverer, meterRegistry);
+    }
+
+    private static Throwable wrapped(Throwable cause) {
+        return new ListenerExecutionFailedException("falha", new MessageRouterProcessingException("falha", cause));
+    }
+
+    @Test
+    void shouldClassifyWrappedFailures() {
+        assertFalse(classifier.classify(wrapped(new MessageHandlerNotFoundException("sem handler"))));
+        assertFalse(classifier.classify(wrapped(new JsonParseException(null, "json inválido"))));
+        assertFalse(classifier.classify(wrapped(new OrderAlreadyShippedException())));
+        assertFalse(classifier.classify(wrapped(new PaymentDeclinedException())));
+        assertTrue(classifier.classify(wrapped(new IllegalStateException("indisponível"))));
+    }
+
+    @Test
+    void shouldSendNonRetryableFailuresToDeadLetter() {
+        var cause = wrapped(new OrderAlreadyShippedException());
+
+        recoverer.recover(message, cause);
+
+        verify(deadLetterRecoverer).recover(message, cause);
+        verifyNoInteractions(delegate);
+        assertEquals(1, meterRegistry.get(ClassifyingMessageRecoverer.SKIPPED_METRIC)
+                .tag("reason", ClassifyingMessageRecoverer.REASON_ANNOTATION)
+                .tag("exception", "OrderAlreadyShippedException")
+                .counter().count());
+    }
+
+    @Test
+    void shouldCountConfiguredFailures() {
+        recoverer.recover(message, wrapped(new MessageHandlerNotFoundException("sem handler")));
+
+        assertEquals(1, meterRegistry.get(ClassifyingMessageRecoverer.SKIPPED_METRIC)
+                .tag("reason", ClassifyingMessageRecoverer.REASON_CLASSIFIER)
+                .tag("exception", "MessageHandlerNotFoundException")
+                .counter().count());
+    }
+
+    @Test
+    void shouldDelegateRetryableFailures() {
+        var cause = wrapped(new IllegalStateException("indisponível"));
+
+        recoverer.recover(message, cause);
+
+        verify(delegate).recover(message, cause);
+        verifyNoInteractions(deadLetterRecoverer);
+        assertTrue(meterRegistry.find(ClassifyingMessageRecoverer.SKIPPED_METRIC).counters().stream()
+                .allMatch(counter -> counter.count() == 0));
+    }
+
+    @Test
+    void shouldPreRegisterCountersOfConfiguredTypes() {
+        assertEquals(0, meterRegistry.get(ClassifyingMessageRecoverer.SKIPPED_METRIC)
+                .tag("reason", ClassifyingMessageRecoverer.REASON_CLASSIFIER)
+                .tag("exception", "PaymentDeclinedException")
+                .counter().count());
+        assertEquals(MessageDispatcherRetryClassifier.DEFAULT_NON_RETRYABLE_EXCEPTIONS.size() + 1,
+                meterRegistry.find(ClassifyingMessageRecoverer.SKIPPED_METRIC).counters().size());
+    }
+}
@@ -0,0 +1,95 @@
+package br.com.messagedispatcher.tracing;
+
+import br.com.messagedispatcher.router.MessageRouter;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static br.com.messagedispatcher.constants.MessageDispatcherConstants.MessageDispatcherHeaders.BODY_TYPE;
+import static br.com.messagedispatcher.constants.MessageDispatcherConstants.MessageDispatcherHeaders.MESSAGE_TIMESTAMP;
+import static br.com.messagedispatcher.constants.MessageDispatcherConstants.MessageDispatcherHeaders.MESSAGE_TYPE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class HandlerObservationTest {
+
+    private final List<Observation.Context> stopped = new ArrayList<>();
+
+    private final ObservationRegistry registry = ObservationRegistry.create();
+
+    {
+        registry.observationConfig().observationHandler(new ObservationHandler<>() {
+            @Override
+            public void onStop(Observation.Context context) {
+                stopped.add(context);
+            }
+
+            @Override
+            public boolean supportsContext(Observation.Context context) {
+                return true;
+            }
+        });
+    }
+
+    @Test
+    void shouldObserveHandlerAsChildOfCurrentObservation() {
+        var message = message();
+        var router = mock(MessageRouter.class);
+        when(router.routeMessage(message)).thenReturn("result");
+        var handlerObservation = new HandlerObservation(registry);
+
+        var parent = Observation.start("spring.rabbit.listener", registry);
+        Object result;
+        try (var ignored = parent.openScope()) {
+            result = handlerObservation.route(message, router);
+        } finally {
+            parent.stop();
+        }
+
+        assertEquals("result", result);
+        var handler = stopped.getFirst();
+        assertEquals(HandlerObservation.NAME, handler.getName());
+        assertSame(parent.getContext(), handler.getParentObservation().getContextView());
+        assertEquals("EVENT", handler.getLowCardinalityKeyValue("message.type").getValue());
+        assertEquals("OrderCreated", handler.getLowCardinalityKeyValue("body.type").getValue());
+        assertTrue(Long.parseLong(handler.getHighCardinalityKeyValue(HandlerObservation.BROKER_DWELL_KEY).getValue()) >= 5_000);
+    }
+
+    @Test
+    void shouldRouteDirectlyWithoutCurrentObservation() {
+        var message = message();
+        var router = mock(MessageRouter.class);
+        when(router.routeMessage(message)).thenReturn("result");
+
+        assertEquals("result", new HandlerObservation(registry).route(message, router));
+        assertEquals("result", HandlerObservation.noop().route(message, router));
+        assertTrue(stopped.isEmpty());
+    }
+
+    @Test
+    void shouldParseBrokerDwellFromHeader() {
+        var publishedAt = OffsetDateTime.now().minusSeconds(2);
+
+        assertTrue(HandlerObservation.brokerDwell(publishedAt).compareTo(Duration.ofSeconds(2)) >= 0);
+        assertTrue(HandlerObservation.brokerDwell(publishedAt.toString()).compareTo(Duration.ofSeconds(2)) >= 0);
+        assertNull(HandlerObservation.brokerDwell("invalid"));
+        assertNull(HandlerObservation.brokerDwell(null));
+    }
+
+    private static Message message() {
+        var properties = new MessageProperties();
+        properties.setHeader(MESSAGE_TYPE, "EVENT");
+        properties.setHeader(BODY_TYPE, "OrderCreated");
+        properties.setHeader(MESSAGE_TIMESTAMP, OffsetDateTime.now().minusSeconds(5).toString());
+        return new Message("{}".getBytes(), properties);
+    }
+}
@@ -0,0 +1,63 @@
+package br.com.messagedispatcher.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.support.micrometer.RabbitMessageReceiverContext;
+import org.springframework.amqp.rabbit.support.micrometer.RabbitMessageSenderContext;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MessageDispatcherObservationPredicateTest {
+
+    private final ObservationRegistry registry = ObservationRegistry.create();
+
+    @Test
+    void shouldObserveConsumeWhenMessageCarriesTraceContext() {
+        var predicate = new MessageDispatcherObservationPredicate(registry, 0.0);
+
+        var traced = message();
+        traced.getMessageProperties().setHeader("traceparent", "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+
+        assertTrue(predicate.test("spring.rabbit.listener", receiverContext(traced)));
+        assertFalse(predicate.test("spring.rabbit.listener", receiverContext(message())));
+    }
+
+    @Test
+    void shouldObservePublishWhenThereIsCurrentObservation() {
+        registry.observationConfig().observationHandler(context -> true);
+        var predicate = new MessageDispatcherObservationPredicate(registry, 0.0);
+        var senderContext = new RabbitMessageSenderContext(message(), "bean", "destination");
+
+        assertFalse(predicate.test("spring.rabbit.template", senderContext));
+
+        Observation.start("parent", registry).observe(() ->
+                assertTrue(predicate.test("spring.rabbit.template", senderContext)));
+    }
+
+    @Test
+    void shouldSampleRootsWithConfiguredProbability() {
+        var senderContext = new RabbitMessageSenderContext(message(), "bean", "destination");
+
+        assertTrue(new MessageDispatcherObservationPredicate(registry, 1.0).test("spring.rabbit.template", senderContext));
+        assertFalse(new MessageDispatcherObservationPredicate(registry, 0.0).test("spring.rabbit.template", senderContext));
+    }
+
+    @Test
+    void shouldNotFilterOtherObservations() {
+        var predicate = new MessageDispatcherObservationPredicate(registry, 0.0);
+
+        assertTrue(predicate.test("http.server.requests", new Observation.Context()));
+    }
+
+    private static RabbitMessageReceiverContext receiverContext(Message message) {
+        return new RabbitMessageReceiverContext(message, "listener");
+    }
+
+    private static Message message() {
+        return new Message("{}".getBytes(), new MessageProperties());
+    }
+}
@@ -44,7 +44,7 @@ class HandlerValidatorUtilTest {
         Method existingMethod = DummyHandler.class.getMethod("validHandler", String.class);
         Method duplicateMethod = DummyHandler.class.getMethod("validHandler", String.class);
         HashMap<String, Method> handlers = new HashMap<>();
-        handlers.put("String", existingMethod);
+        handlers.put("java.lang.String", existingMethod);
 
         assertThrows(MessageHandlerDuplicatedInputParameterException.class, () ->
                 HandlerValidatorUtil.validate(MessageType.COMMAND, duplicateMethod, handlers)